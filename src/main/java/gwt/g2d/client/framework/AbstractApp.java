@@ -18,6 +18,7 @@ package gwt.g2d.client.framework;
 import gwt.g2d.client.graphics.Surface;
 import gwt.g2d.client.math.Vector2;
 import gwt.g2d.client.util.FpsTimer;
+import gwt.g2d.client.util.GameLoop;
 
 import com.google.gwt.user.client.Timer;
 
@@ -25,7 +26,7 @@ import com.google.gwt.user.client.Timer;
  * Abstract class for running and rendering an application.
  * 
  * This class is deprecated and will be removed in future release. Please
- * consider using {@link FpsTimer} instead.
+ * consider using {@link FpsTimer} or {@link GameLoop} instead.
  * 
  * @author hao1300@gmail.com
  */
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+/**
+ * Helpers for colors packed in an int as 0xAARRGGBB, which can be stored in
+ * arrays and interpolated without allocating.
+ * <p>
+ * The alpha channel has 256 levels. The CSS strings of packed colors are kept
+ * in a fixed-size cache, so that setting the same colors every frame does not
+ * build new strings.
+ *
+ * @see Surface#setFillStyle(int)
+ */
+public final class Argb {
+	/** Opaque black. */
+	public static final int BLACK = 0xFF000000;
+
+	/** Opaque white. */
+	public static final int WHITE = 0xFFFFFFFF;
+
+	/** Transparent black. */
+	public static final int TRANSPARENT = 0;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private static final int CACHE_SIZE = 1024;
+	private static final int[] cachedColors = new int[CACHE_SIZE];
+	private static final String[] cachedCodes = new String[CACHE_SIZE];
+
+	private Argb() {
+	}
+
+	/**
+	 * Packs the given channels, each in [0-255].
+	 */
+	public static int argb(int alpha, int red, int green, int blue) {
+		return (clamp(alpha) << 24) | (clamp(red) << 16) | (clamp(green) << 8)
+				| clamp(blue);
+	}
+
+	/**
+	 * Packs the given channels, with alpha in [0.0, 1.0].
+	 */
+	public static int argb(double alpha, int red, int green, int blue) {
+		return argb((int) Math.round(alpha * 255), red, green, blue);
+	}
+
+	/**
+	 * Packs an opaque color.
+	 */
+	public static int rgb(int red, int green, int blue) {
+		return argb(255, red, green, blue);
+	}
+
+	/**
+	 * Packs the given color, rounding its alpha to 256 levels.
+	 */
+	public static int fromColor(Color color) {
+		return argb(color.getAlpha(), color.getR(), color.getG(), color.getB());
+	}
+
+	/**
+	 * Creates an immutable color from the given packed color.
+	 */
+	public static Color toColor(int argb) {
+		return getAlpha(argb) == 255
+				? new Color(getRed(argb), getGreen(argb), getBlue(argb))
+				: new Color(getRed(argb), getGreen(argb), getBlue(argb),
+						getAlpha(argb) / 255.0);
+	}
+
+	/**
+	 * Gets the alpha channel in [0-255].
+	 */
+	public static int getAlpha(int argb) {
+		return argb >>> 24;
+	}
+
+	/**
+	 * Gets the red channel in [0-255].
+	 */
+	public static int getRed(int argb) {
+		return (argb >> 16) & 0xFF;
+	}
+
+	/**
+	 * Gets the green channel in [0-255].
+	 */
+	public static int getGreen(int argb) {
+		return (argb >> 8) & 0xFF;
+	}
+
+	/**
+	 * Gets the blue channel in [0-255].
+	 */
+	public static int getBlue(int argb) {
+		return argb & 0xFF;
+	}
+
+	/**
+	 * Replaces the alpha channel of a packed color.
+	 */
+	public static int withAlpha(int argb, int alpha) {
+		return (argb & 0xFFFFFF) | (clamp(alpha) << 24);
+	}
+
+	/**
+	 * Linear interpolation between two packed colors, channel by channel.
+	 *
+	 * @param amount the amount to interpolate [0.0, 1.0].
+	 */
+	public static int lerp(int argb1, int argb2, double amount) {
+		return argb(
+				channel(getAlpha(argb1), getAlpha(argb2), amount),
+				channel(getRed(argb1), getRed(argb2), amount),
+				channel(getGreen(argb1), getGreen(argb2), amount),
+				channel(getBlue(argb1), getBlue(argb2), amount));
+	}
+
+	/**
+	 * Smooth interpolation between two packed colors, channel by channel.
+	 *
+	 * @param amount the amount to interpolate [0.0, 1.0].
+	 */
+	public static int smoothStep(int argb1, int argb2, double amount) {
+		amount = amount <= 0 ? 0 : amount >= 1 ? 1 : amount;
+		return lerp(argb1, argb2, amount * amount * (3 - 2 * amount));
+	}
+
+	/**
+	 * Gets the CSS string of a packed color: "#rrggbb" when it is opaque, and
+	 * "rgba(r,g,b,a)" otherwise. The string is cached.
+	 */
+	public static String toCssString(int argb) {
+		int index = (argb ^ (argb >>> 10) ^ (argb >>> 20)) & (CACHE_SIZE - 1);
+		String code = cachedCodes[index];
+		if (code == null || cachedColors[index] != argb) {
+			code = buildCssString(argb);
+			cachedCodes[index] = code;
+			cachedColors[index] = argb;
+		}
+		return code;
+	}
+
+	/**
+	 * Builds the CSS string of a packed color, without using the cache.
+	 */
+	static String buildCssString(int argb) {
+		int alpha = getAlpha(argb);
+		if (alpha == 255) {
+			char[] chars = new char[7];
+			chars[0] = '#';
+			for (int i = 6; i > 0; i--, argb >>= 4) {
+				chars[i] = HEX_DIGITS[argb & 0xF];
+			}
+			return new String(chars);
+		}
+		// Three decimals are enough to tell apart the 256 levels of alpha.
+		int thousandths = (int) Math.round(alpha * 1000 / 255.0);
+		StringBuilder code = new StringBuilder(24).append("rgba(")
+				.append(getRed(argb)).append(',')
+				.append(getGreen(argb)).append(',')
+				.append(getBlue(argb)).append(',');
+		if (thousandths == 0) {
+			code.append('0');
+		} else {
+			code.append("0.");
+			if (thousandths < 100) {
+				code.append('0');
+			}
+			if (thousandths < 10) {
+				code.append('0');
+			}
+			code.append(thousandths);
+		}
+		return code.append(')').toString();
+	}
+
+	private static int channel(int value1, int value2, double amount) {
+		return (int) Math.round(value1 + (value2 - value1) * amount);
+	}
+
+	private static int clamp(int channel) {
+		return channel < 0 ? 0 : channel > 255 ? 255 : channel;
+	}
+}
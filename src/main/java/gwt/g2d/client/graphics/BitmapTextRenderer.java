@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Draws texts from {@link GlyphAtlas}es, for labels and counters that change
+ * every frame.
+ * <p>
+ * The renderer has its own font, color, scale, alignment and baseline, like
+ * the text settings of a {@link Surface}. An atlas is built for each
+ * combination of font, color and scale that is drawn with, so changing the
+ * font or the scale, such as when the page is zoomed, rebuilds the atlas.
+ * Only a bounded number of atlases is kept, the most recently used.
+ */
+public class BitmapTextRenderer {
+	/** The default number of atlases kept. */
+	public static final int DEFAULT_MAX_ATLAS_COUNT = 8;
+
+	private final LinkedHashMap<String, GlyphAtlas> atlases =
+			new LinkedHashMap<String, GlyphAtlas>(16, 0.75f, true);
+	private final int maxAtlasCount;
+	private String font = "10px sans-serif";
+	private int argb = Argb.BLACK;
+	private double scale = 1;
+	private TextAlign textAlign = TextAlign.START;
+	private TextBaseline textBaseline = TextBaseline.ALPHABETIC;
+	private GlyphAtlas atlas;
+
+	/**
+	 * Creates a renderer that keeps {@link #DEFAULT_MAX_ATLAS_COUNT} atlases.
+	 */
+	public BitmapTextRenderer() {
+		this(DEFAULT_MAX_ATLAS_COUNT);
+	}
+
+	/**
+	 * Creates a renderer that keeps the given number of atlases.
+	 */
+	public BitmapTextRenderer(int maxAtlasCount) {
+		if (maxAtlasCount < 1) {
+			throw new IllegalArgumentException("maxAtlasCount must be positive: "
+					+ maxAtlasCount);
+		}
+		this.maxAtlasCount = maxAtlasCount;
+	}
+
+	/**
+	 * Sets the CSS font string.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer setFont(String font) {
+		if (!font.equals(this.font)) {
+			this.font = font;
+			atlas = null;
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the CSS font string.
+	 */
+	public String getFont() {
+		return font;
+	}
+
+	/**
+	 * Sets the packed 0xAARRGGBB color of the texts.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer setColor(int argb) {
+		if (argb != this.argb) {
+			this.argb = argb;
+			atlas = null;
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the color of the texts, rounding its alpha to 256 levels.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer setColor(Color color) {
+		return setColor(Argb.fromColor(color));
+	}
+
+	/**
+	 * Gets the packed 0xAARRGGBB color of the texts.
+	 */
+	public int getColor() {
+		return argb;
+	}
+
+	/**
+	 * Sets the number of pixels per user unit the glyphs are rasterized at,
+	 * which should be the scale of the surfaces drawn onto times the device
+	 * pixel ratio.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer setScale(double scale) {
+		if (!(scale > 0)) {
+			throw new IllegalArgumentException("scale must be positive: " + scale);
+		}
+		if (scale != this.scale) {
+			this.scale = scale;
+			atlas = null;
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the number of pixels per user unit the glyphs are rasterized at.
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Sets the text alignment.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer setTextAlign(TextAlign textAlign) {
+		this.textAlign = textAlign;
+		return this;
+	}
+
+	/**
+	 * Gets the text alignment.
+	 */
+	public TextAlign getTextAlign() {
+		return textAlign;
+	}
+
+	/**
+	 * Sets the text baseline.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer setTextBaseline(TextBaseline textBaseline) {
+		this.textBaseline = textBaseline;
+		return this;
+	}
+
+	/**
+	 * Gets the text baseline.
+	 */
+	public TextBaseline getTextBaseline() {
+		return textBaseline;
+	}
+
+	/**
+	 * Gets the atlas of the current font, color and scale, building it if it
+	 * is not kept.
+	 */
+	public GlyphAtlas getAtlas() {
+		if (atlas == null) {
+			String key = font + '|' + argb + '|' + scale;
+			atlas = atlases.get(key);
+			if (atlas == null) {
+				atlas = new GlyphAtlas(font, argb, scale);
+				atlases.put(key, atlas);
+				for (Iterator<GlyphAtlas> it = atlases.values().iterator();
+						atlases.size() > maxAtlasCount && it.hasNext();) {
+					it.next();
+					it.remove();
+				}
+			}
+		}
+		return atlas;
+	}
+
+	/**
+	 * Gets the advance width of the given text in the current font.
+	 */
+	public double measureText(String text) {
+		return getAtlas().measureText(text);
+	}
+
+	/**
+	 * Draws a text at the given anchor point.
+	 *
+	 * @return self to support chaining.
+	 */
+	public BitmapTextRenderer fillText(Surface surface, String text, double x,
+			double y) {
+		getAtlas().drawText(surface, text, x, y, textAlign, textBaseline);
+		return this;
+	}
+
+	/**
+	 * Removes all the atlases.
+	 */
+	public void clear() {
+		atlases.clear();
+		atlas = null;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.user.client.DOM;
+
+/**
+ * Measures texts with cached {@link FontMetrics}, so that measuring many
+ * labels does not cause a layout of the page or a call to the canvas per
+ * label.
+ * <p>
+ * The metrics are keyed by the CSS font string of the surface. The vertical
+ * metrics of a font are measured once, with a hidden element on the page,
+ * and the advance of a character is measured once, with a canvas of the
+ * measurer. Only a bounded number of fonts is kept, the most recently used,
+ * and no reference to the measured surfaces is kept.
+ */
+public class CachedTextMeasurer extends TextMeasurer {
+	/** The default number of fonts kept. */
+	public static final int DEFAULT_MAX_FONT_COUNT = 32;
+
+	private final LinkedHashMap<String, FontMetrics> fonts =
+			new LinkedHashMap<String, FontMetrics>(16, 0.75f, true);
+	private int maxFontCount;
+	private Surface measuringSurface;
+	private String measuringFont;
+	private Element probe, probeText, probeBaseline;
+	private int nativeMeasureCount;
+
+	/**
+	 * Creates a measurer that keeps {@link #DEFAULT_MAX_FONT_COUNT} fonts.
+	 */
+	public CachedTextMeasurer() {
+		this(DEFAULT_MAX_FONT_COUNT);
+	}
+
+	/**
+	 * Creates a measurer that keeps the given number of fonts.
+	 */
+	public CachedTextMeasurer(int maxFontCount) {
+		setMaxFontCount(maxFontCount);
+	}
+
+	@Override
+	public double measureTextWidth(Surface surface, String text) {
+		return getFontMetrics(surface).getWidth(text);
+	}
+
+	@Override
+	public double measureTextHeight(Surface surface, String text) {
+		return getFontMetrics(surface).getHeight();
+	}
+
+	/**
+	 * Gets the metrics of the current font of the given surface.
+	 */
+	public FontMetrics getFontMetrics(Surface surface) {
+		return getFontMetrics(surface.getFont());
+	}
+
+	/**
+	 * Gets the metrics of the given CSS font string, measuring the font if it
+	 * is not kept.
+	 */
+	public FontMetrics getFontMetrics(String font) {
+		FontMetrics metrics = fonts.get(font);
+		if (metrics == null) {
+			metrics = measureFont(font);
+			fonts.put(font, metrics);
+			evict(maxFontCount);
+		}
+		return metrics;
+	}
+
+	/**
+	 * Gets the maximum number of fonts kept.
+	 */
+	public int getMaxFontCount() {
+		return maxFontCount;
+	}
+
+	/**
+	 * Sets the maximum number of fonts kept, evicting the least recently used
+	 * fonts if needed.
+	 */
+	public void setMaxFontCount(int maxFontCount) {
+		if (maxFontCount < 1) {
+			throw new IllegalArgumentException("maxFontCount must be positive: "
+					+ maxFontCount);
+		}
+		this.maxFontCount = maxFontCount;
+		evict(maxFontCount);
+	}
+
+	/**
+	 * Gets the number of fonts kept.
+	 */
+	public int getFontCount() {
+		return fonts.size();
+	}
+
+	/**
+	 * Gets the number of texts measured with the canvas, for monitoring how
+	 * well the cache works.
+	 */
+	public int getNativeMeasureCount() {
+		return nativeMeasureCount;
+	}
+
+	/**
+	 * Removes all the fonts, and the hidden element from the page.
+	 */
+	public void clear() {
+		fonts.clear();
+		if (probe != null) {
+			probe.removeFromParent();
+			probe = probeText = probeBaseline = null;
+		}
+	}
+
+	/**
+	 * Measures the advance width of a text with the canvas of the measurer.
+	 */
+	double measureNatively(String font, String text) {
+		if (measuringSurface == null) {
+			measuringSurface = new Surface(1, 1);
+		}
+		if (!font.equals(measuringFont)) {
+			measuringSurface.setFont(font);
+			measuringFont = font;
+		}
+		nativeMeasureCount++;
+		return measuringSurface.measureText(text);
+	}
+
+	private FontMetrics measureFont(String font) {
+		if (probe == null) {
+			// A text followed by an empty inline block, whose top is on the
+			// baseline of the text.
+			probe = DOM.createDiv();
+			Style style = probe.getStyle();
+			style.setProperty("position", "absolute");
+			style.setProperty("visibility", "hidden");
+			style.setProperty("left", "-1000px");
+			style.setProperty("top", "-1000px");
+			style.setProperty("margin", "0px");
+			style.setProperty("border", "0px");
+			style.setProperty("padding", "0px");
+			style.setProperty("whiteSpace", "nowrap");
+			probeText = DOM.createSpan();
+			probeText.setInnerText("Hg");
+			probeBaseline = DOM.createDiv();
+			style = probeBaseline.getStyle();
+			style.setProperty("display", "inline-block");
+			style.setProperty("width", "1px");
+			style.setProperty("height", "0px");
+			style.setProperty("verticalAlign", "baseline");
+			probe.appendChild(probeText);
+			probe.appendChild(probeBaseline);
+			Document.get().getBody().appendChild(probe);
+		}
+		probe.getStyle().setProperty("font", font);
+		double height = probe.getOffsetHeight();
+		double ascent = probeBaseline.getOffsetTop() - probeText.getOffsetTop();
+		double descent = probeText.getOffsetHeight() - ascent;
+		return new FontMetrics(this, font, height, ascent, descent);
+	}
+
+	/**
+	 * Evicts the least recently used fonts until at most the given number of
+	 * fonts are kept.
+	 */
+	private void evict(int maxCount) {
+		for (Iterator<FontMetrics> it = fonts.values().iterator();
+				fonts.size() > maxCount && it.hasNext();) {
+			it.next();
+			it.remove();
+		}
+	}
+}
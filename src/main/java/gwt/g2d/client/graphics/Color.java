@@ -24,13 +24,17 @@ import java.util.Arrays;
 /**
  * Stores a color. Color is immutable.
  * 
+ * The string representing the color is only built the first time it is 
+ * needed. For colors that change every frame, consider {@link MutableColor} 
+ * or packed {@link Argb} colors instead.
+ * 
  * @author hao1300@gmail.com
  */
 public class Color implements Serializable {	
 	protected static final double DEFAULT_ALPHA = 1.0;
 	
 	private static final long serialVersionUID = 5370658935618812361L;
-	private final String colorCode;
+	private String colorCode;
 	private final int red, green, blue;
 	private final double alpha;
 	
@@ -61,14 +65,7 @@ public class Color implements Serializable {
 	 * @param alpha alpha channel [0.0, 1.0]
 	 */
 	public Color(int red, int green, int blue, double alpha) {
-		this(new StringBuilder(21)
-				.append("rgba(")
-				.append(red).append(',')
-				.append(green).append(',')
-				.append(blue).append(',')
-				.append(alpha).append(')')
-				.toString(), 
-				red, green, blue, alpha);
+		this(null, red, green, blue, alpha);
 	}
 	
 	/**
@@ -80,16 +77,7 @@ public class Color implements Serializable {
 	 * @param blue blue channel [0-255]
 	 */
 	public Color(int red, int green, int blue) {
-		StringBuilder stringBuilder = new StringBuilder("#000000");
-		String hexString = Integer.toHexString(getHexValue(red, green, blue));
-		colorCode = stringBuilder.replace(
-				stringBuilder.length() - hexString.length(), 
-				stringBuilder.length(), 
-				hexString).toString();
-		this.red = red;
-		this.green = green;
-		this.blue = blue;
-		this.alpha = DEFAULT_ALPHA;
+		this(null, red, green, blue, DEFAULT_ALPHA);
 	}
 	
 	/**
@@ -128,9 +116,20 @@ public class Color implements Serializable {
 	 * Gets the string representation of the color.
 	 */
 	public final String getColorCode() {
+		if (colorCode == null) {
+			colorCode = buildColorCode();
+		}
 		return colorCode;
 	}
 	
+	/**
+	 * Gets the color packed in an int as 0xAARRGGBB, with the alpha rounded to
+	 * 256 levels.
+	 */
+	public final int getArgb() {
+		return Argb.fromColor(this);
+	}
+	
 	/**
 	 * Gets the value of the red channel.
 	 * 
@@ -187,6 +186,22 @@ public class Color implements Serializable {
 		return Arrays.hashCode(new double[]{getHexValue(getR(), getG(), getB()), getAlpha()});
 	}
 	
+	/**
+	 * Builds the color code: "#RRGGBB" for an opaque color, or "rgba(r,g,b,a)".
+	 */
+	private String buildColorCode() {
+		if (alpha == DEFAULT_ALPHA) {
+			return Argb.buildCssString(0xFF000000 | getHexValue(red, green, blue));
+		}
+		return new StringBuilder(21)
+				.append("rgba(")
+				.append(red).append(',')
+				.append(green).append(',')
+				.append(blue).append(',')
+				.append(alpha).append(')')
+				.toString();
+	}
+	
 	/**
 	 * Gets the integer value of the given rgb value.
 	 */
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+/**
+ * A lookup table of colors interpolated between color stops, for mapping
+ * values to colors, as in heat maps or color animations, without computing or
+ * allocating anything per lookup.
+ * <p>
+ * The ramp is sampled at a fixed number of steps when it is created. The CSS
+ * string of each step is built the first time it is needed and then kept.
+ */
+public class ColorRamp {
+	private final int[] colors;
+	private final String[] codes;
+
+	/**
+	 * Creates a ramp from color stops, which need not be sorted.
+	 *
+	 * @param steps the number of colors in the table, at least 2.
+	 * @param colorStops the color stops, at least one.
+	 */
+	public ColorRamp(int steps, ColorStop... colorStops) {
+		this(steps, offsets(colorStops), colors(colorStops));
+	}
+
+	/**
+	 * Creates a ramp from packed colors at the given offsets.
+	 *
+	 * @param steps the number of colors in the table, at least 2.
+	 * @param offsets the offsets of the stops in [0.0, 1.0], in increasing
+	 * 				order.
+	 * @param stopColors the packed 0xAARRGGBB colors of the stops.
+	 */
+	public ColorRamp(int steps, double[] offsets, int[] stopColors) {
+		if (steps < 2) {
+			throw new IllegalArgumentException("steps must be at least 2: " + steps);
+		}
+		if (offsets.length == 0 || offsets.length != stopColors.length) {
+			throw new IllegalArgumentException(
+					"offsets and stopColors must have the same non-zero length");
+		}
+		colors = new int[steps];
+		codes = new String[steps];
+		int stop = 0;
+		for (int i = 0; i < steps; i++) {
+			double t = i / (double) (steps - 1);
+			while (stop < offsets.length && offsets[stop] < t) {
+				stop++;
+			}
+			if (stop == 0) {
+				colors[i] = stopColors[0];
+			} else if (stop == offsets.length) {
+				colors[i] = stopColors[offsets.length - 1];
+			} else {
+				double span = offsets[stop] - offsets[stop - 1];
+				colors[i] = Argb.lerp(stopColors[stop - 1], stopColors[stop],
+						span > 0 ? (t - offsets[stop - 1]) / span : 1);
+			}
+		}
+	}
+
+	/**
+	 * Creates a ramp that goes evenly through the given packed colors.
+	 *
+	 * @param steps the number of colors in the table, at least 2.
+	 * @param stopColors the packed 0xAARRGGBB colors, at least one.
+	 */
+	public static ColorRamp evenly(int steps, int... stopColors) {
+		double[] offsets = new double[stopColors.length];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = offsets.length == 1 ? 0 : i / (double) (offsets.length - 1);
+		}
+		return new ColorRamp(steps, offsets, stopColors);
+	}
+
+	/**
+	 * Gets the number of colors in the table.
+	 */
+	public final int getSteps() {
+		return colors.length;
+	}
+
+	/**
+	 * Gets the index of the step nearest to the given amount, which is clamped
+	 * to [0.0, 1.0].
+	 */
+	public final int getIndex(double amount) {
+		if (!(amount > 0)) {
+			return 0;
+		}
+		if (amount >= 1) {
+			return colors.length - 1;
+		}
+		return (int) (amount * (colors.length - 1) + 0.5);
+	}
+
+	/**
+	 * Gets the packed color at the given amount in [0.0, 1.0].
+	 */
+	public final int getArgb(double amount) {
+		return colors[getIndex(amount)];
+	}
+
+	/**
+	 * Gets the packed color of the given step.
+	 */
+	public final int getArgbAt(int index) {
+		return colors[index];
+	}
+
+	/**
+	 * Gets the CSS string of the color at the given amount in [0.0, 1.0].
+	 */
+	public final String getColorCode(double amount) {
+		return getColorCodeAt(getIndex(amount));
+	}
+
+	/**
+	 * Gets the CSS string of the color of the given step.
+	 */
+	public final String getColorCodeAt(int index) {
+		String code = codes[index];
+		if (code == null) {
+			code = codes[index] = Argb.buildCssString(colors[index]);
+		}
+		return code;
+	}
+
+	private static double[] offsets(ColorStop[] colorStops) {
+		ColorStop[] sorted = sort(colorStops);
+		double[] offsets = new double[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			offsets[i] = sorted[i].getOffset();
+		}
+		return offsets;
+	}
+
+	private static int[] colors(ColorStop[] colorStops) {
+		ColorStop[] sorted = sort(colorStops);
+		int[] colors = new int[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			colors[i] = Argb.fromColor(sorted[i].getColor());
+		}
+		return colors;
+	}
+
+	/**
+	 * Sorts the color stops by offset, keeping the order of equal offsets.
+	 */
+	private static ColorStop[] sort(ColorStop[] colorStops) {
+		ColorStop[] sorted = new ColorStop[colorStops.length];
+		System.arraycopy(colorStops, 0, sorted, 0, colorStops.length);
+		for (int i = 1; i < sorted.length; i++) {
+			ColorStop stop = sorted[i];
+			int j = i;
+			while (j > 0 && sorted[j - 1].getOffset() > stop.getOffset()) {
+				sorted[j] = sorted[j - 1];
+				j--;
+			}
+			sorted[j] = stop;
+		}
+		return sorted;
+	}
+}
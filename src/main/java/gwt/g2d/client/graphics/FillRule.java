@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Determines which points are considered inside of a path when filling or
+ * clipping it.
+ */
+public enum FillRule {
+	/**
+	 * A point is inside of the path if the number of times the path winds
+	 * around it is not zero. (This is the rule used by the canvas)
+	 */
+	NON_ZERO("nonzero"),
+	/**
+	 * A point is inside of the path if a ray from the point crosses the path an
+	 * odd number of times.
+	 */
+	EVEN_ODD("evenodd");
+
+	private static Map<String, FillRule> fillRuleMap;
+	private final String fillRuleName;
+
+	private FillRule(String fillRuleName) {
+		this.fillRuleName = fillRuleName;
+	}
+
+	@Override
+	public String toString() {
+		return fillRuleName;
+	}
+
+	/**
+	 * Checks whether a point with the given winding number is inside of the
+	 * path.
+	 *
+	 * @param winding the sum of the directions of the path edges crossed by a
+	 * 				ray from the point.
+	 */
+	public boolean isInside(int winding) {
+		return this == NON_ZERO ? winding != 0 : (winding & 1) != 0;
+	}
+
+	/**
+	 * Parses a string into a FillRule.
+	 *
+	 * @param fillRule
+	 */
+	public static FillRule parseFillRule(String fillRule) {
+		if (fillRuleMap == null) {
+			fillRuleMap = new HashMap<String, FillRule>();
+			for (FillRule v : values()) {
+				fillRuleMap.put(v.toString(), v);
+			}
+		}
+		return fillRuleMap.get(fillRule);
+	}
+}
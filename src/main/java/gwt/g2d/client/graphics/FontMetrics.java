@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The metrics of a font: its height, ascent and descent, and the advance width
+ * of each character, so that the width of a text can be computed without
+ * calling the canvas.
+ * <p>
+ * The advance of a character is measured natively the first time it is
+ * needed and then kept. Widths are the sum of the advances of the characters,
+ * so they ignore kerning and ligatures, and may differ from
+ * {@link Surface#measureText(String)} by a fraction of a pixel. Texts with
+ * characters outside the Basic Multilingual Plane are measured natively.
+ *
+ * @see CachedTextMeasurer#getFontMetrics(String)
+ */
+public final class FontMetrics {
+	/** Characters whose advances are kept in an array: Latin-1. */
+	private static final int TABLE_SIZE = 256;
+
+	private final CachedTextMeasurer measurer;
+	private final String font;
+	private final double height, ascent, descent;
+	private final double[] advances = new double[TABLE_SIZE];
+	private Map<Character, Double> otherAdvances;
+
+	FontMetrics(CachedTextMeasurer measurer, String font, double height,
+			double ascent, double descent) {
+		this.measurer = measurer;
+		this.font = font;
+		this.height = height;
+		this.ascent = ascent;
+		this.descent = descent;
+		Arrays.fill(advances, Double.NaN);
+	}
+
+	/**
+	 * Gets the CSS font string of these metrics.
+	 */
+	public String getFont() {
+		return font;
+	}
+
+	/**
+	 * Gets the height of a line of text, in pixels.
+	 */
+	public double getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the distance from the top of a line of text to its baseline, in
+	 * pixels.
+	 */
+	public double getAscent() {
+		return ascent;
+	}
+
+	/**
+	 * Gets the distance from the baseline of a line of text to its bottom, in
+	 * pixels.
+	 */
+	public double getDescent() {
+		return descent;
+	}
+
+	/**
+	 * Gets the advance width of the given character, in pixels.
+	 */
+	public double getAdvance(char c) {
+		if (c < TABLE_SIZE) {
+			double advance = advances[c];
+			if (advance != advance) {
+				advance = advances[c] = measurer.measureNatively(font,
+						String.valueOf(c));
+			}
+			return advance;
+		}
+		if (otherAdvances == null) {
+			otherAdvances = new HashMap<Character, Double>();
+		}
+		Character key = Character.valueOf(c);
+		Double advance = otherAdvances.get(key);
+		if (advance == null) {
+			advance = measurer.measureNatively(font, String.valueOf(c));
+			otherAdvances.put(key, advance);
+		}
+		return advance;
+	}
+
+	/**
+	 * Gets the advance width of the given text, in pixels.
+	 */
+	public double getWidth(String text) {
+		return getWidth(text, 0, text.length());
+	}
+
+	/**
+	 * Gets the advance width of the characters of the given text from start,
+	 * inclusive, to end, exclusive, in pixels.
+	 */
+	public double getWidth(String text, int start, int end) {
+		double width = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c >= '\uD800' && c <= '\uDFFF') {
+				// Surrogate pairs cannot be measured one char at a time.
+				return measurer.measureNatively(font, text.substring(start, end));
+			}
+			width += getAdvance(c);
+		}
+		return width;
+	}
+
+	/**
+	 * Gets the number of characters whose advances have been measured.
+	 */
+	public int getMeasuredCharCount() {
+		int count = otherAdvances == null ? 0 : otherAdvances.size();
+		for (int i = 0; i < TABLE_SIZE; i++) {
+			if (advances[i] == advances[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The glyphs of a font in one color, rasterized once into an offscreen canvas,
+ * so that a text is drawn as one drawImage per character instead of going
+ * through the text shaping of the browser on every fillText.
+ * <p>
+ * A glyph is rasterized the first time it is drawn, at the given scale, which
+ * should be the scale from user units to pixels of the surfaces it is drawn
+ * onto, so that the glyphs stay sharp. The characters are placed with the
+ * advances of the {@link FontMetrics} of the font, which ignore kerning.
+ * Glyphs that do not fit in the atlas, and texts with characters outside the
+ * Basic Multilingual Plane, are drawn with fillText.
+ *
+ * @see BitmapTextRenderer
+ */
+public class GlyphAtlas {
+	/** The size of the canvas when the atlas is created. */
+	private static final int INITIAL_SIZE = 256;
+
+	/** The largest width and height of the canvas. */
+	private static final int MAX_SIZE = 2048;
+
+	/** Characters whose glyphs are kept in an array: Latin-1. */
+	private static final int TABLE_SIZE = 256;
+
+	private final String font;
+	private final int argb;
+	private final double scale;
+	private final FontMetrics metrics;
+	private final Glyph[] glyphs = new Glyph[TABLE_SIZE];
+	private Map<Character, Glyph> otherGlyphs;
+	private final int padding, baseline, cellHeight;
+	private Surface canvas;
+	private int shelfX, shelfY;
+	private int glyphCount;
+	private boolean full;
+
+	/**
+	 * Creates an atlas with a scale of 1.
+	 *
+	 * @param font the CSS font string.
+	 * @param argb the packed 0xAARRGGBB color of the glyphs.
+	 */
+	public GlyphAtlas(String font, int argb) {
+		this(font, argb, 1);
+	}
+
+	/**
+	 * Creates an atlas.
+	 *
+	 * @param font the CSS font string.
+	 * @param argb the packed 0xAARRGGBB color of the glyphs.
+	 * @param scale the number of pixels per user unit the glyphs are
+	 * 				rasterized at.
+	 */
+	public GlyphAtlas(String font, int argb, double scale) {
+		if (!(scale > 0)) {
+			throw new IllegalArgumentException("scale must be positive: " + scale);
+		}
+		this.font = font;
+		this.argb = argb;
+		this.scale = scale;
+		metrics = TextMeasurer.DEFAULT_TEXT_MEASURER.getFontMetrics(font);
+		double height = Math.max(metrics.getHeight(),
+				metrics.getAscent() + metrics.getDescent());
+		// Leaves room for the parts of glyphs outside of their advance and line.
+		padding = (int) Math.ceil(height * scale / 4);
+		baseline = padding + (int) Math.ceil(metrics.getAscent() * scale);
+		cellHeight = padding + (int) Math.ceil(height * scale) + padding;
+	}
+
+	/**
+	 * Gets the CSS font string of the glyphs.
+	 */
+	public String getFont() {
+		return font;
+	}
+
+	/**
+	 * Gets the packed 0xAARRGGBB color of the glyphs.
+	 */
+	public int getArgb() {
+		return argb;
+	}
+
+	/**
+	 * Gets the number of pixels per user unit the glyphs are rasterized at.
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Gets the metrics of the font.
+	 */
+	public FontMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Gets the number of glyphs rasterized.
+	 */
+	public int getGlyphCount() {
+		return glyphCount;
+	}
+
+	/**
+	 * Rasterizes the glyphs of the given characters ahead of drawing, such as
+	 * the digits of counters.
+	 *
+	 * @return self to support chaining.
+	 */
+	public GlyphAtlas addGlyphs(String characters) {
+		for (int i = 0; i < characters.length(); i++) {
+			getGlyph(characters.charAt(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the advance width of the given text, in user units.
+	 */
+	public double measureText(String text) {
+		return metrics.getWidth(text);
+	}
+
+	/**
+	 * Draws a text with its left edge at x and its alphabetic baseline at y.
+	 *
+	 * @return self to support chaining.
+	 */
+	public GlyphAtlas drawText(Surface surface, String text, double x, double y) {
+		return drawText(surface, text, x, y, TextAlign.LEFT,
+				TextBaseline.ALPHABETIC);
+	}
+
+	/**
+	 * Draws a text, placed as fillText places it with the given alignment and
+	 * baseline. The direction of the text is taken to be left to right, and
+	 * the hanging baseline is taken to be the top of the em box.
+	 *
+	 * @return self to support chaining.
+	 */
+	public GlyphAtlas drawText(Surface surface, String text, double x, double y,
+			TextAlign textAlign, TextBaseline textBaseline) {
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= '\uD800' && c <= '\uDFFF') {
+				fillText(surface, text, x, y, textAlign, textBaseline);
+				return this;
+			}
+		}
+		switch (textAlign) {
+			case RIGHT:
+			case END:
+				x -= metrics.getWidth(text);
+				break;
+			case CENTER:
+				x -= metrics.getWidth(text) / 2;
+				break;
+			default:
+				break;
+		}
+		y += getBaselineOffset(textBaseline);
+		// Snaps the baseline to the pixels the glyphs were rasterized on.
+		double top = Math.round(y * scale - baseline) / scale;
+		double height = cellHeight / scale;
+		double penX = x;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c != ' ') {
+				Glyph glyph = getGlyph(c);
+				if (glyph != null) {
+					surface.drawImage(canvas.getCanvas(), glyph.x, glyph.y,
+							glyph.width, cellHeight,
+							Math.round(penX * scale - padding) / scale, top,
+							glyph.width / scale, height);
+				} else {
+					fillText(surface, String.valueOf(c), penX, y, TextAlign.LEFT,
+							TextBaseline.ALPHABETIC);
+				}
+			}
+			penX += metrics.getAdvance(c);
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the distance from the anchor of the given baseline down to the
+	 * alphabetic baseline.
+	 */
+	private double getBaselineOffset(TextBaseline textBaseline) {
+		switch (textBaseline) {
+			case TOP:
+			case HANGING:
+				return metrics.getAscent();
+			case MIDDLE:
+				return (metrics.getAscent() - metrics.getDescent()) / 2;
+			case BOTTOM:
+			case IDEOGRAPHIC:
+				return -metrics.getDescent();
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Gets the glyph of the given character, rasterizing it if needed.
+	 *
+	 * @return the glyph, or null if it does not fit in the atlas.
+	 */
+	private Glyph getGlyph(char c) {
+		Glyph glyph;
+		if (c < TABLE_SIZE) {
+			glyph = glyphs[c];
+		} else {
+			if (otherGlyphs == null) {
+				otherGlyphs = new HashMap<Character, Glyph>();
+			}
+			glyph = otherGlyphs.get(Character.valueOf(c));
+		}
+		if (glyph == null && !full) {
+			glyph = rasterize(c);
+			if (glyph != null) {
+				if (c < TABLE_SIZE) {
+					glyphs[c] = glyph;
+				} else {
+					otherGlyphs.put(Character.valueOf(c), glyph);
+				}
+				glyphCount++;
+			}
+		}
+		return glyph;
+	}
+
+	private Glyph rasterize(char c) {
+		int width = padding + (int) Math.ceil(metrics.getAdvance(c) * scale)
+				+ padding;
+		if (canvas == null) {
+			canvas = createCanvas(Math.max(INITIAL_SIZE, width),
+					Math.max(INITIAL_SIZE, cellHeight));
+		}
+		int canvasWidth = canvas.getCanvas().getWidth();
+		if (shelfX + width > canvasWidth) {
+			shelfX = 0;
+			shelfY += cellHeight;
+		}
+		if (width > canvasWidth
+				|| shelfY + cellHeight > canvas.getCanvas().getHeight()) {
+			if (!grow(width)) {
+				full = true;
+				return null;
+			}
+		}
+		canvas.fillText(String.valueOf(c), (shelfX + padding) / scale,
+				(shelfY + baseline) / scale);
+		Glyph glyph = new Glyph(shelfX, shelfY, width);
+		shelfX += width;
+		return glyph;
+	}
+
+	/**
+	 * Makes room for a glyph of the given width at the current shelf, by
+	 * copying the glyphs to a larger canvas. The previous canvas is left
+	 * untouched, since draws of a batched surface may still refer to it.
+	 */
+	private boolean grow(int width) {
+		int canvasWidth = canvas.getCanvas().getWidth();
+		int canvasHeight = canvas.getCanvas().getHeight();
+		while (canvasWidth < width) {
+			canvasWidth *= 2;
+		}
+		while (canvasHeight < shelfY + cellHeight) {
+			canvasHeight *= 2;
+		}
+		if (canvasWidth > MAX_SIZE || canvasHeight > MAX_SIZE) {
+			return false;
+		}
+		Surface previous = canvas;
+		canvas = createCanvas(canvasWidth, canvasHeight);
+		canvas.setTransform(1, 0, 0, 1, 0, 0)
+				.drawImage(previous.getCanvas(), 0, 0)
+				.setTransform(scale, 0, 0, scale, 0, 0);
+		return true;
+	}
+
+	private Surface createCanvas(int width, int height) {
+		Surface surface = new Surface(width, height);
+		surface.setTransform(scale, 0, 0, scale, 0, 0)
+				.setFont(font)
+				.setFillStyle(argb)
+				.setTextAlign(TextAlign.LEFT)
+				.setTextBaseline(TextBaseline.ALPHABETIC);
+		return surface;
+	}
+
+	private void fillText(Surface surface, String text, double x, double y,
+			TextAlign textAlign, TextBaseline textBaseline) {
+		surface.save()
+				.setFont(font)
+				.setFillStyle(argb)
+				.setTextAlign(textAlign)
+				.setTextBaseline(textBaseline)
+				.fillText(text, x, y)
+				.restore();
+	}
+
+	/**
+	 * Where a glyph is in the atlas, in pixels.
+	 */
+	private static final class Glyph {
+		private final int x, y, width;
+
+		private Glyph(int x, int y, int width) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+		}
+	}
+}
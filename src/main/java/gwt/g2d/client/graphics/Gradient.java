@@ -19,16 +19,31 @@ import gwt.g2d.client.graphics.canvas.Context;
 import gwt.g2d.client.graphics.canvas.CanvasGradient;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents a gradient which can be used for fill style or stroke style.
  * 
+ * The native gradient created for a context is kept and reused until the 
+ * color stops or the geometry of the gradient change, so setting the same 
+ * gradient as the fill style many times does not recreate it. Only the native
+ * gradients of the last {@value #MAX_CACHED_CONTEXTS} contexts are kept.
+ * 
  * @author hao1300@gmail.com
  */
 public abstract class Gradient {
+	/** The number of contexts whose native gradient is kept. */
+	public static final int MAX_CACHED_CONTEXTS = 2;
+	
 	private final List<ColorStop> colorStops = new ArrayList<ColorStop>();
+	private final Context[] cachedContexts = new Context[MAX_CACHED_CONTEXTS];
+	private final CanvasGradient[] cachedAdapters = 
+			new CanvasGradient[MAX_CACHED_CONTEXTS];
+	private int version;
+	private int cachedVersion;
 	
 	/**
 	 * Adds a color at the given offset point.
@@ -49,6 +64,7 @@ public abstract class Gradient {
 	 */
 	public final Gradient addColorStop(ColorStop colorStop) {
 		colorStops.add(colorStop);
+		invalidate();
 		return this;
 	}
 	
@@ -79,17 +95,74 @@ public abstract class Gradient {
 	}
 	
 	/**
-	 * Gets the gradient adapter.
+	 * Removes all the color stops.
+	 * 
+	 * @return self to support chaining.
+	 */
+	public final Gradient clearColorStops() {
+		colorStops.clear();
+		invalidate();
+		return this;
+	}
+	
+	/**
+	 * Gets the color stops, in the order they were added.
+	 * 
+	 * @return an unmodifiable view of the color stops.
+	 */
+	public final List<ColorStop> getColorStops() {
+		return Collections.unmodifiableList(colorStops);
+	}
+	
+	/**
+	 * Gets the version of the gradient, which changes every time its color 
+	 * stops or geometry do.
+	 */
+	public final int getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Gets the gradient adapter for the given context, creating it only if the
+	 * gradient changed since it was last created for that context. The returned
+	 * adapter is shared and must not be modified.
 	 */
 	public final CanvasGradient getGradientAdapter(Context context) {
-		CanvasGradient gradientAdapter = createGradientAdapter(context);
-		for (ColorStop colorStop : colorStops) {
-			gradientAdapter.addColorStop(colorStop.getOffset(), 
-					colorStop.getColor().toString());
+		if (cachedVersion != version) {
+			Arrays.fill(cachedContexts, null);
+			Arrays.fill(cachedAdapters, null);
+			cachedVersion = version;
 		}
+		int i = 0;
+		while (i < MAX_CACHED_CONTEXTS - 1 && cachedContexts[i] != context) {
+			i++;
+		}
+		CanvasGradient gradientAdapter;
+		if (cachedContexts[i] == context) {
+			gradientAdapter = cachedAdapters[i];
+		} else {
+			gradientAdapter = createGradientAdapter(context);
+			for (ColorStop colorStop : colorStops) {
+				gradientAdapter.addColorStop(colorStop.getOffset(), 
+						colorStop.getColor().toString());
+			}
+		}
+		// Keeps the most recently used context first.
+		System.arraycopy(cachedContexts, 0, cachedContexts, 1, i);
+		System.arraycopy(cachedAdapters, 0, cachedAdapters, 1, i);
+		cachedContexts[0] = context;
+		cachedAdapters[0] = gradientAdapter;
 		return gradientAdapter;
 	}
 	
+	/**
+	 * Discards the native gradients, which must be called by subclasses when 
+	 * the geometry of the gradient changes.
+	 */
+	protected final void invalidate() {
+		version++;
+	}
+	
 	/**
 	 * Creates a new gradient adapter.
 	 */
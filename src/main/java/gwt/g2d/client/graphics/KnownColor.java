@@ -175,17 +175,29 @@ public final class KnownColor extends Color {
 	public static final Color TRANSPARENT = new KnownColor("", 0, 0, 0, 0.0);
 
 	private static final long serialVersionUID = -6337746115562976618L;
+	
+	private final String name;
 		
 	private KnownColor(String colorCode, int red, int blue, int green) {
 		super(red, blue, green);
+		this.name = colorCode;
 		KNOWN_COLORS.add(this);
 	}
 	
 	private KnownColor(String colorCode, int red, int blue, int green, double alpha) {
 		super(red, blue, green, alpha);
+		this.name = colorCode;
 		KNOWN_COLORS.add(this);
 	}
 	
+	/**
+	 * Gets the CSS name of the color, such as "AliceBlue", or an empty string
+	 * for {@link #TRANSPARENT}.
+	 */
+	public String getName() {
+		return name;
+	}
+	
 	/**
 	 * Gets a collection of known colors.
 	 */
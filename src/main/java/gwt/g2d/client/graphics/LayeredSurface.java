@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import gwt.g2d.client.math.Vector2;
+import gwt.g2d.client.util.Clock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.dom.client.Style.Position;
+import com.google.gwt.dom.client.Style.Unit;
+
+/**
+ * A surface made of a stack of canvases, each repainted independently.
+ * <p>
+ * The surface itself is the bottom layer; {@link #addLayer(String)} stacks a
+ * new canvas on top of the others, inside the same container element. Each
+ * {@link Layer} has its own {@link Surface} to draw on, a {@link Painter}, a
+ * dirty flag and a minimum interval between repaints. {@link #paintLayers()}
+ * only repaints the layers that have been invalidated, so a static background
+ * under a 60 frames per second animation is painted once, and the browser
+ * composites the canvases together.
+ * <p>
+ * Mouse and keyboard events on any layer are received by this surface.
+ *
+ * <h3>CSS Style Rules</h3>
+ * <ul class='css'>
+ * <li>.g2d-LayeredSurface { }</li>
+ * <li>.g2d-LayeredSurface-layer { }</li>
+ * </ul>
+ */
+public class LayeredSurface extends Surface {
+	/**
+	 * Paints the content of a layer.
+	 */
+	public interface Painter {
+		/**
+		 * Paints the layer onto the given surface. Unless
+		 * {@link Layer#setClearBeforePaint(boolean)} was turned off, the surface
+		 * has been cleared.
+		 */
+		void paint(Surface surface);
+	}
+
+	/**
+	 * A layer of a {@link LayeredSurface}.
+	 */
+	public static final class Layer {
+		private final String name;
+		private final Surface surface;
+		private Painter painter;
+		private boolean dirty = true, continuous, clearBeforePaint = true;
+		private boolean visible = true;
+		private double updateInterval;
+		private double lastPaintTime = Double.NEGATIVE_INFINITY;
+		private int paintCount;
+
+		private Layer(String name, Surface surface) {
+			this.name = name;
+			this.surface = surface;
+		}
+
+		/**
+		 * Gets the name of the layer.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Gets the surface to draw the layer on.
+		 */
+		public Surface getSurface() {
+			return surface;
+		}
+
+		/**
+		 * Gets the painter of the layer.
+		 */
+		public Painter getPainter() {
+			return painter;
+		}
+
+		/**
+		 * Sets the painter of the layer and invalidates it.
+		 *
+		 * @return self to support chaining.
+		 */
+		public Layer setPainter(Painter painter) {
+			this.painter = painter;
+			dirty = true;
+			return this;
+		}
+
+		/**
+		 * Marks the layer as needing to be repainted.
+		 */
+		public void invalidate() {
+			dirty = true;
+		}
+
+		/**
+		 * Checks whether the layer needs to be repainted.
+		 */
+		public boolean isDirty() {
+			return dirty;
+		}
+
+		/**
+		 * Checks whether the layer is repainted every time the layers are painted.
+		 */
+		public boolean isContinuous() {
+			return continuous;
+		}
+
+		/**
+		 * Sets whether the layer is repainted every time the layers are painted,
+		 * subject to the update interval, as for an animation. Default: false.
+		 *
+		 * @return self to support chaining.
+		 */
+		public Layer setContinuous(boolean continuous) {
+			this.continuous = continuous;
+			dirty |= continuous;
+			return this;
+		}
+
+		/**
+		 * Gets the minimum time between two repaints, in milliseconds.
+		 */
+		public double getUpdateInterval() {
+			return updateInterval;
+		}
+
+		/**
+		 * Sets the minimum time between two repaints, in milliseconds. An
+		 * invalidated layer is repainted once the interval has elapsed since its
+		 * last repaint. Default: 0.
+		 *
+		 * @return self to support chaining.
+		 */
+		public Layer setUpdateInterval(double updateInterval) {
+			this.updateInterval = updateInterval;
+			return this;
+		}
+
+		/**
+		 * Checks whether the surface is cleared before the layer is repainted.
+		 */
+		public boolean isClearBeforePaint() {
+			return clearBeforePaint;
+		}
+
+		/**
+		 * Sets whether the surface is cleared before the layer is repainted.
+		 * Default: true.
+		 *
+		 * @return self to support chaining.
+		 */
+		public Layer setClearBeforePaint(boolean clearBeforePaint) {
+			this.clearBeforePaint = clearBeforePaint;
+			return this;
+		}
+
+		/**
+		 * Checks whether the layer is shown.
+		 */
+		public boolean isVisible() {
+			return visible;
+		}
+
+		/**
+		 * Shows or hides the layer. A hidden layer is not repainted, but stays
+		 * invalidated until it is shown again.
+		 *
+		 * @return self to support chaining.
+		 */
+		public Layer setVisible(boolean visible) {
+			this.visible = visible;
+			surface.getCanvas().getStyle().setProperty("visibility",
+					visible ? "visible" : "hidden");
+			return this;
+		}
+
+		/**
+		 * Gets the number of times the layer has been repainted.
+		 */
+		public int getPaintCount() {
+			return paintCount;
+		}
+
+		/**
+		 * Repaints the layer now, regardless of its dirty flag and interval.
+		 */
+		public void paint() {
+			paint(Double.NEGATIVE_INFINITY);
+		}
+
+		private void paint(double now) {
+			if (clearBeforePaint) {
+				surface.clear();
+			}
+			if (painter != null) {
+				painter.paint(surface);
+			}
+			surface.flush();
+			lastPaintTime = now;
+			dirty = continuous;
+			paintCount++;
+		}
+
+		private boolean paintIfDue(double now) {
+			if (!dirty || !visible || now - lastPaintTime < updateInterval) {
+				return false;
+			}
+			paint(now);
+			return true;
+		}
+	}
+
+	private final List<Layer> layers = new ArrayList<Layer>();
+	private Clock clock = Clock.SYSTEM;
+
+	/**
+	 * Initialize a layered surface with a default size of 100 by 100.
+	 */
+	public LayeredSurface() {
+		this(100, 100);
+	}
+
+	/**
+	 * Initialize a layered surface of the given size.
+	 *
+	 * @param width width of the surface.
+	 * @param height height of the surface.
+	 */
+	public LayeredSurface(int width, int height) {
+		super(width, height);
+		setStylePrimaryName("g2d-LayeredSurface");
+		getElement().getStyle().setPosition(Position.RELATIVE);
+		layers.add(new Layer("base", this));
+	}
+
+	/**
+	 * Initialize a layered surface of the given size.
+	 *
+	 * @param size the size of the surface to initialize.
+	 */
+	public LayeredSurface(Vector2 size) {
+		this(size.getIntX(), size.getIntY());
+	}
+
+	/**
+	 * Adds a layer on top of the existing layers.
+	 *
+	 * @param name the name of the layer.
+	 * @return the new layer.
+	 */
+	public Layer addLayer(String name) {
+		Surface surface = new Surface(getCanvas().getWidth(),
+				getCanvas().getHeight());
+		surface.setStylePrimaryName("g2d-LayeredSurface-layer");
+		Style style = surface.getElement().getStyle();
+		style.setPosition(Position.ABSOLUTE);
+		style.setLeft(0, Unit.PX);
+		style.setTop(0, Unit.PX);
+		getElement().appendChild(surface.getElement());
+		Layer layer = new Layer(name, surface);
+		layers.add(layer);
+		return layer;
+	}
+
+	/**
+	 * Removes a layer added with {@link #addLayer(String)}.
+	 *
+	 * @return true if the layer was removed.
+	 */
+	public boolean removeLayer(Layer layer) {
+		if (layer == getBaseLayer() || !layers.remove(layer)) {
+			return false;
+		}
+		Element element = layer.surface.getElement();
+		element.removeFromParent();
+		return true;
+	}
+
+	/**
+	 * Gets the bottom layer, whose surface is this surface.
+	 */
+	public Layer getBaseLayer() {
+		return layers.get(0);
+	}
+
+	/**
+	 * Gets the number of layers, including the base layer.
+	 */
+	public int getLayerCount() {
+		return layers.size();
+	}
+
+	/**
+	 * Gets the layer at the given index, 0 being the base layer.
+	 */
+	public Layer getLayer(int index) {
+		return layers.get(index);
+	}
+
+	/**
+	 * Gets the layer with the given name.
+	 *
+	 * @return the layer, or null if there is no such layer.
+	 */
+	public Layer getLayer(String name) {
+		for (int i = 0, n = layers.size(); i < n; i++) {
+			Layer layer = layers.get(i);
+			if (layer.name.equals(name)) {
+				return layer;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Invalidates all the layers.
+	 */
+	public void invalidateLayers() {
+		for (int i = 0, n = layers.size(); i < n; i++) {
+			layers.get(i).invalidate();
+		}
+	}
+
+	/**
+	 * Repaints the layers that are invalidated and whose update interval has
+	 * elapsed, from the bottom to the top, using the time of the clock.
+	 *
+	 * @return the number of layers repainted.
+	 */
+	public int paintLayers() {
+		return paintLayers(clock.now());
+	}
+
+	/**
+	 * Repaints the layers that are invalidated and whose update interval has
+	 * elapsed at the given time, from the bottom to the top.
+	 *
+	 * @param now the current time, in milliseconds.
+	 * @return the number of layers repainted.
+	 */
+	public int paintLayers(double now) {
+		int painted = 0;
+		for (int i = 0, n = layers.size(); i < n; i++) {
+			if (layers.get(i).paintIfDue(now)) {
+				painted++;
+			}
+		}
+		return painted;
+	}
+
+	/**
+	 * Gets the clock used by {@link #paintLayers()}.
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Sets the clock used by {@link #paintLayers()}.
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	@Override
+	public void setWidth(int width) {
+		super.setWidth(width);
+		resizeLayers();
+	}
+
+	@Override
+	public void setWidth(String width) {
+		super.setWidth(width);
+		resizeLayers();
+	}
+
+	@Override
+	public void setHeight(int height) {
+		super.setHeight(height);
+		resizeLayers();
+	}
+
+	@Override
+	public void setHeight(String height) {
+		super.setHeight(height);
+		resizeLayers();
+	}
+
+	/**
+	 * Resizes the layers to the size of the base layer. Resizing a canvas
+	 * clears it, so all the layers are invalidated.
+	 */
+	private void resizeLayers() {
+		int width = getCanvas().getWidth(), height = getCanvas().getHeight();
+		for (int i = 1, n = layers.size(); i < n; i++) {
+			layers.get(i).surface.setSize(width, height);
+		}
+		invalidateLayers();
+	}
+}
@@ -45,6 +45,48 @@ public class LinearGradient extends Gradient {
 		this(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
 	}
 	
+	/**
+	 * Moves the gradient to the line from (x0, y0) to (x1, y1).
+	 * 
+	 * @return self to support chaining.
+	 */
+	public LinearGradient setLine(double x0, double y0, double x1, double y1) {
+		this.x0 = x0;
+		this.y0 = y0;
+		this.x1 = x1;
+		this.y1 = y1;
+		invalidate();
+		return this;
+	}
+	
+	/**
+	 * Gets the x-coordinate of the start of the line.
+	 */
+	public final double getX0() {
+		return x0;
+	}
+	
+	/**
+	 * Gets the y-coordinate of the start of the line.
+	 */
+	public final double getY0() {
+		return y0;
+	}
+	
+	/**
+	 * Gets the x-coordinate of the end of the line.
+	 */
+	public final double getX1() {
+		return x1;
+	}
+	
+	/**
+	 * Gets the y-coordinate of the end of the line.
+	 */
+	public final double getY1() {
+		return y1;
+	}
+	
 	@Override
 	protected CanvasGradient createGradientAdapter(Context context) {
 		return CanvasGradient.as(context.createLinearGradient(x0, y0, x1, y1));
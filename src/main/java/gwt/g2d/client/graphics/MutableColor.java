@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+/**
+ * A color that can be changed, to be used as a scratch color in animations
+ * instead of allocating a new {@link Color} every frame. The color is stored
+ * as a packed {@link Argb} value.
+ */
+public class MutableColor {
+	private int argb;
+
+	/**
+	 * Creates an opaque black color.
+	 */
+	public MutableColor() {
+		this(Argb.BLACK);
+	}
+
+	/**
+	 * Creates a color from a packed 0xAARRGGBB value.
+	 */
+	public MutableColor(int argb) {
+		this.argb = argb;
+	}
+
+	/**
+	 * Creates a copy of the given color.
+	 */
+	public MutableColor(Color color) {
+		set(color);
+	}
+
+	/**
+	 * Gets the packed 0xAARRGGBB value of the color.
+	 */
+	public final int getArgb() {
+		return argb;
+	}
+
+	/**
+	 * Sets the packed 0xAARRGGBB value of the color.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final MutableColor setArgb(int argb) {
+		this.argb = argb;
+		return this;
+	}
+
+	/**
+	 * Sets the channels of the color, each in [0-255].
+	 *
+	 * @return self to support chaining.
+	 */
+	public final MutableColor set(int red, int green, int blue, int alpha) {
+		argb = Argb.argb(alpha, red, green, blue);
+		return this;
+	}
+
+	/**
+	 * Sets the color to the given color.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final MutableColor set(Color color) {
+		argb = Argb.fromColor(color);
+		return this;
+	}
+
+	/**
+	 * Sets the alpha channel in [0.0, 1.0].
+	 *
+	 * @return self to support chaining.
+	 */
+	public final MutableColor setAlpha(double alpha) {
+		argb = Argb.withAlpha(argb, (int) Math.round(alpha * 255));
+		return this;
+	}
+
+	/**
+	 * Sets this color to the linear interpolation between two packed colors.
+	 *
+	 * @param amount the amount to interpolate [0.0, 1.0].
+	 * @return self to support chaining.
+	 */
+	public final MutableColor lerp(int argb1, int argb2, double amount) {
+		argb = Argb.lerp(argb1, argb2, amount);
+		return this;
+	}
+
+	/**
+	 * Sets this color to the smooth interpolation between two packed colors.
+	 *
+	 * @param amount the amount to interpolate [0.0, 1.0].
+	 * @return self to support chaining.
+	 */
+	public final MutableColor smoothStep(int argb1, int argb2, double amount) {
+		argb = Argb.smoothStep(argb1, argb2, amount);
+		return this;
+	}
+
+	/**
+	 * Gets the value of the red channel, between 0 to 255 inclusive.
+	 */
+	public final int getR() {
+		return Argb.getRed(argb);
+	}
+
+	/**
+	 * Gets the value of the green channel, between 0 to 255 inclusive.
+	 */
+	public final int getG() {
+		return Argb.getGreen(argb);
+	}
+
+	/**
+	 * Gets the value of the blue channel, between 0 to 255 inclusive.
+	 */
+	public final int getB() {
+		return Argb.getBlue(argb);
+	}
+
+	/**
+	 * Gets the value of the alpha channel, between 0.0 to 1.0 inclusive.
+	 */
+	public final double getAlpha() {
+		return Argb.getAlpha(argb) / 255.0;
+	}
+
+	/**
+	 * Gets the CSS string of the color, from the cache of {@link Argb}.
+	 */
+	public final String getColorCode() {
+		return Argb.toCssString(argb);
+	}
+
+	/**
+	 * Creates an immutable copy of the color.
+	 */
+	public final Color toColor() {
+		return Argb.toColor(argb);
+	}
+
+	@Override
+	public String toString() {
+		return getColorCode();
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import gwt.g2d.client.graphics.canvas.CanvasPattern;
+import gwt.g2d.client.graphics.canvas.Context;
+
+import java.util.Arrays;
+
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * Keeps the patterns created from images by a {@link Surface}, the most
+ * recently used first.
+ * <p>
+ * Only a bounded number of patterns is kept, so that the patterns of images
+ * that are no longer used are eventually released. A pattern is created again
+ * if the source of its image changed. Patterns of canvases and videos are not
+ * kept, since they capture the content of the element when they are created.
+ */
+final class PatternCache {
+	/** The number of patterns kept. */
+	static final int MAX_SIZE = 32;
+
+	private final ImageElement[] images = new ImageElement[MAX_SIZE];
+	private final String[] sources = new String[MAX_SIZE];
+	private final PatternRepetition[] repetitions =
+			new PatternRepetition[MAX_SIZE];
+	private final CanvasPattern[] patterns = new CanvasPattern[MAX_SIZE];
+	private int size;
+
+	/**
+	 * Gets the pattern of the given image, creating it with the given context
+	 * if it is not kept.
+	 */
+	CanvasPattern get(Context context, ImageElement image,
+			PatternRepetition repetition) {
+		String source = image.getSrc();
+		int i = 0;
+		while (i < size && (images[i] != image || repetitions[i] != repetition)) {
+			i++;
+		}
+		CanvasPattern pattern;
+		if (i < size && source.equals(sources[i])) {
+			pattern = patterns[i];
+		} else {
+			pattern = context.createPattern(image, repetition.toString());
+			if (pattern == null) {
+				// The image is not loaded yet.
+				return null;
+			}
+			if (i == size) {
+				if (size < MAX_SIZE) {
+					size++;
+				} else {
+					i = MAX_SIZE - 1;
+				}
+			}
+		}
+		System.arraycopy(images, 0, images, 1, i);
+		System.arraycopy(sources, 0, sources, 1, i);
+		System.arraycopy(repetitions, 0, repetitions, 1, i);
+		System.arraycopy(patterns, 0, patterns, 1, i);
+		images[0] = image;
+		sources[0] = source;
+		repetitions[0] = repetition;
+		patterns[0] = pattern;
+		return pattern;
+	}
+
+	/**
+	 * Releases all the patterns.
+	 */
+	void clear() {
+		Arrays.fill(images, null);
+		Arrays.fill(sources, null);
+		Arrays.fill(repetitions, null);
+		Arrays.fill(patterns, null);
+		size = 0;
+	}
+}
@@ -60,6 +60,66 @@ public class RadialGradient extends Gradient {
 				circle1.getCenter(), circle1.getRadius());
 	}
 	
+	/**
+	 * Moves the gradient to the cone between the circle at (x0, y0) of radius
+	 * radius0 and the circle at (x1, y1) of radius radius1.
+	 * 
+	 * @return self to support chaining.
+	 */
+	public RadialGradient setCircles(double x0, double y0, double radius0, 
+			double x1, double y1, double radius1) {
+		this.x0 = x0;
+		this.y0 = y0;
+		this.radius0 = radius0;
+		this.x1 = x1;
+		this.y1 = y1;
+		this.radius1 = radius1;
+		invalidate();
+		return this;
+	}
+	
+	/**
+	 * Gets the x-coordinate of the center of the start circle.
+	 */
+	public final double getX0() {
+		return x0;
+	}
+	
+	/**
+	 * Gets the y-coordinate of the center of the start circle.
+	 */
+	public final double getY0() {
+		return y0;
+	}
+	
+	/**
+	 * Gets the radius of the start circle.
+	 */
+	public final double getRadius0() {
+		return radius0;
+	}
+	
+	/**
+	 * Gets the x-coordinate of the center of the end circle.
+	 */
+	public final double getX1() {
+		return x1;
+	}
+	
+	/**
+	 * Gets the y-coordinate of the center of the end circle.
+	 */
+	public final double getY1() {
+		return y1;
+	}
+	
+	/**
+	 * Gets the radius of the end circle.
+	 */
+	public final double getRadius1() {
+		return radius1;
+	}
+	
 	@Override
 	public final CanvasGradient createGradientAdapter(Context context) {
 		return CanvasGradient.as(context.createRadialGradient(x0, y0, radius0, 
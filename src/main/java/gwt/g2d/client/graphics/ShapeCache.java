@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import gwt.g2d.client.graphics.shapes.Shape;
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A cache of shapes rendered to offscreen canvases, so that drawing a complex
+ * shape that rarely changes is a single drawImage.
+ * <p>
+ * An entry is keyed by the identity of the shape, the identity of the
+ * {@link ShapeStyle} and the scale it was rendered at, and is rendered again
+ * when the version of the style changes, including when the stops of one of
+ * its gradients do. The shape must not change once it is cached, or must be
+ * {@link #invalidate(Shape) invalidated} when it does; shapes built by
+ * {@link gwt.g2d.client.graphics.shapes.ShapeBuilder} never change. Shapes whose bounds are unknown are drawn directly.
+ * <p>
+ * The canvases are kept within a budget of pixels, evicting the least recently
+ * drawn entries first.
+ *
+ * @see Surface#setShapeCache(ShapeCache)
+ */
+public class ShapeCache {
+	/** Largest width or height of a cached canvas. */
+	private static final int MAX_CANVAS_SIZE = 4096;
+
+	private final LinkedHashMap<Key, Entry> entries =
+			new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+	private final Key lookup = new Key(null, null, 0);
+	private int pixelBudget;
+	private int pixelCount;
+	private int hitCount, missCount, evictionCount, bypassCount;
+
+	/**
+	 * Creates a cache with a budget of 4 million pixels, which is 16MB of
+	 * canvas memory.
+	 */
+	public ShapeCache() {
+		this(4 << 20);
+	}
+
+	/**
+	 * Creates a cache with the given budget.
+	 *
+	 * @param pixelBudget the maximum number of pixels of all cached canvases.
+	 */
+	public ShapeCache(int pixelBudget) {
+		setPixelBudget(pixelBudget);
+	}
+
+	/**
+	 * Draws a shape with the given style, from the cache if possible.
+	 *
+	 * @param surface the surface to draw onto.
+	 * @param shape the shape to draw.
+	 * @param style the style to draw the shape with.
+	 * @param scale the scale from the coordinates of the shape to pixels, under
+	 * 				the current transformation of the surface.
+	 * @return true if the shape was drawn from a cached canvas.
+	 */
+	public boolean draw(Surface surface, Shape shape, ShapeStyle style,
+			double scale) {
+		lookup.set(shape, style, scale);
+		Entry entry = entries.get(lookup);
+		lookup.set(null, null, 0);
+		if (entry != null && entry.styleVersion == style.getVersion()) {
+			hitCount++;
+			entry.drawTo(surface);
+			return true;
+		}
+		if (entry != null) {
+			remove(entry);
+		}
+		Rectangle bounds = shape.getBounds();
+		if (bounds == null || !(scale > 0)) {
+			bypassCount++;
+			style.draw(surface, shape);
+			return false;
+		}
+		double padding = style.getPadding(scale) + 1 / scale;
+		double x = bounds.getX() - padding, y = bounds.getY() - padding;
+		int width = (int) Math.ceil((bounds.getWidth() + 2 * padding) * scale);
+		int height = (int) Math.ceil((bounds.getHeight() + 2 * padding) * scale);
+		if (width > MAX_CANVAS_SIZE || height > MAX_CANVAS_SIZE
+				|| width * height > pixelBudget) {
+			bypassCount++;
+			style.draw(surface, shape);
+			return false;
+		}
+		missCount++;
+		evict(pixelBudget - width * height);
+		Surface canvas = new Surface(width, height);
+		canvas.setTransform(scale, 0, 0, scale, -x * scale, -y * scale);
+		style.draw(canvas, shape);
+		entry = new Entry(new Key(shape, style, scale), canvas, style.getVersion(),
+				x, y, width / scale, height / scale, width * height);
+		entries.put(entry.key, entry);
+		pixelCount += entry.pixels;
+		entry.drawTo(surface);
+		return true;
+	}
+
+	/**
+	 * Removes all the entries of the given shape, which must be done when the
+	 * shape changes.
+	 */
+	public void invalidate(Shape shape) {
+		for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+			Entry entry = it.next();
+			if (entry.key.shape == shape) {
+				it.remove();
+				pixelCount -= entry.pixels;
+			}
+		}
+	}
+
+	/**
+	 * Removes all the entries.
+	 */
+	public void clear() {
+		entries.clear();
+		pixelCount = 0;
+	}
+
+	/**
+	 * Gets the maximum number of pixels of all cached canvases.
+	 */
+	public int getPixelBudget() {
+		return pixelBudget;
+	}
+
+	/**
+	 * Sets the maximum number of pixels of all cached canvases, evicting
+	 * entries if needed.
+	 */
+	public void setPixelBudget(int pixelBudget) {
+		if (pixelBudget < 0) {
+			throw new IllegalArgumentException("pixelBudget must not be negative: "
+					+ pixelBudget);
+		}
+		this.pixelBudget = pixelBudget;
+		evict(pixelBudget);
+	}
+
+	/**
+	 * Gets the number of pixels of all cached canvases.
+	 */
+	public int getPixelCount() {
+		return pixelCount;
+	}
+
+	/**
+	 * Gets the number of cached entries.
+	 */
+	public int getEntryCount() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of draws served from a cached canvas.
+	 */
+	public int getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Gets the number of draws that rendered a new canvas.
+	 */
+	public int getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Gets the number of entries evicted to stay within the budget.
+	 */
+	public int getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Gets the number of draws that could not be cached, because the bounds of
+	 * the shape are unknown or its canvas would be too large.
+	 */
+	public int getBypassCount() {
+		return bypassCount;
+	}
+
+	/**
+	 * Resets the hit, miss, eviction and bypass counters.
+	 */
+	public void resetCounters() {
+		hitCount = missCount = evictionCount = bypassCount = 0;
+	}
+
+	/**
+	 * Evicts the least recently drawn entries until at most the given number of
+	 * pixels are cached.
+	 */
+	private void evict(int maxPixelCount) {
+		for (Iterator<Entry> it = entries.values().iterator();
+				pixelCount > maxPixelCount && it.hasNext();) {
+			Entry entry = it.next();
+			it.remove();
+			pixelCount -= entry.pixels;
+			evictionCount++;
+		}
+	}
+
+	private void remove(Entry entry) {
+		entries.remove(entry.key);
+		pixelCount -= entry.pixels;
+	}
+
+	/**
+	 * Identifies an entry. Shapes and styles are compared by identity.
+	 */
+	private static final class Key {
+		private Shape shape;
+		private ShapeStyle style;
+		private double scale;
+
+		private Key(Shape shape, ShapeStyle style, double scale) {
+			set(shape, style, scale);
+		}
+
+		private void set(Shape shape, ShapeStyle style, double scale) {
+			this.shape = shape;
+			this.style = style;
+			this.scale = scale;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key rhs = (Key) obj;
+			return shape == rhs.shape && style == rhs.style && scale == rhs.scale;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * System.identityHashCode(shape)
+					+ System.identityHashCode(style)) + (int) (scale * 1024);
+		}
+	}
+
+	/**
+	 * A cached canvas and where to draw it, in the coordinates of the shape.
+	 */
+	private static final class Entry {
+		private final Key key;
+		private final Surface canvas;
+		private final int styleVersion;
+		private final double x, y, width, height;
+		private final int pixels;
+
+		private Entry(Key key, Surface canvas, int styleVersion, double x,
+				double y, double width, double height, int pixels) {
+			this.key = key;
+			this.canvas = canvas;
+			this.styleVersion = styleVersion;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.pixels = pixels;
+		}
+
+		private void drawTo(Surface surface) {
+			surface.drawImage(canvas.getCanvas(), x, y, width, height);
+		}
+	}
+}
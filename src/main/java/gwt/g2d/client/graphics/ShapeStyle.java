@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import gwt.g2d.client.graphics.canvas.CanvasPattern;
+import gwt.g2d.client.graphics.canvas.Context;
+import gwt.g2d.client.graphics.shapes.Shape;
+
+/**
+ * The fill, stroke and shadow used to draw a shape with
+ * {@link Surface#drawShape(Shape, ShapeStyle)}.
+ * <p>
+ * Every change to the style, or to the stops of its gradients, increments its
+ * version, which lets a {@link ShapeCache} know when the bitmaps it rendered
+ * with the style are out of date.
+ */
+public class ShapeStyle {
+	private Object fill, stroke;
+	private double lineWidth = 1, miterLimit = 10;
+	private LineCap lineCap = LineCap.BUTT;
+	private LineJoin lineJoin = LineJoin.MITER;
+	private Color shadowColor;
+	private double shadowBlur, shadowOffsetX, shadowOffsetY;
+	private int version;
+	private int fillVersion, strokeVersion;
+
+	/**
+	 * Gets the version of the style, which changes every time the style or the
+	 * stops of its gradients do.
+	 */
+	public int getVersion() {
+		int fillVersion = fill instanceof Gradient
+				? ((Gradient) fill).getVersion() : 0;
+		int strokeVersion = stroke instanceof Gradient
+				? ((Gradient) stroke).getVersion() : 0;
+		if (fillVersion != this.fillVersion
+				|| strokeVersion != this.strokeVersion) {
+			this.fillVersion = fillVersion;
+			this.strokeVersion = strokeVersion;
+			version++;
+		}
+		return version;
+	}
+
+	/**
+	 * Fills the shape with the given color.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setFill(Color color) {
+		return setFillObject(color);
+	}
+
+	/**
+	 * Fills the shape with the given gradient.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setFill(Gradient gradient) {
+		return setFillObject(gradient);
+	}
+
+	/**
+	 * Fills the shape with the given pattern.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setFill(CanvasPattern pattern) {
+		return setFillObject(pattern);
+	}
+
+	/**
+	 * Removes the fill, so that the shape is only stroked.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle clearFill() {
+		return setFillObject(null);
+	}
+
+	/**
+	 * Checks whether the shape is filled.
+	 */
+	public boolean hasFill() {
+		return fill != null;
+	}
+
+	/**
+	 * Strokes the shape with the given color.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setStroke(Color color) {
+		return setStrokeObject(color);
+	}
+
+	/**
+	 * Strokes the shape with the given gradient.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setStroke(Gradient gradient) {
+		return setStrokeObject(gradient);
+	}
+
+	/**
+	 * Strokes the shape with the given pattern.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setStroke(CanvasPattern pattern) {
+		return setStrokeObject(pattern);
+	}
+
+	/**
+	 * Removes the stroke, so that the shape is only filled.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle clearStroke() {
+		return setStrokeObject(null);
+	}
+
+	/**
+	 * Checks whether the shape is stroked.
+	 */
+	public boolean hasStroke() {
+		return stroke != null;
+	}
+
+	/**
+	 * Sets the width of the stroke. Default: 1.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setLineWidth(double lineWidth) {
+		this.lineWidth = lineWidth;
+		version++;
+		return this;
+	}
+
+	/**
+	 * Gets the width of the stroke.
+	 */
+	public double getLineWidth() {
+		return lineWidth;
+	}
+
+	/**
+	 * Sets the ends of the stroke. Default: {@link LineCap#BUTT}.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setLineCap(LineCap lineCap) {
+		this.lineCap = lineCap;
+		version++;
+		return this;
+	}
+
+	/**
+	 * Sets the corners of the stroke. Default: {@link LineJoin#MITER}.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setLineJoin(LineJoin lineJoin) {
+		this.lineJoin = lineJoin;
+		version++;
+		return this;
+	}
+
+	/**
+	 * Sets the miter limit ratio of the stroke. Default: 10.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setMiterLimit(double miterLimit) {
+		this.miterLimit = miterLimit;
+		version++;
+		return this;
+	}
+
+	/**
+	 * Sets the shadow of the shape.
+	 *
+	 * @param color the color of the shadow, or null for no shadow.
+	 * @param blur the size of the blurring effect.
+	 * @param offsetX the horizontal offset of the shadow.
+	 * @param offsetY the vertical offset of the shadow.
+	 * @return self to support chaining.
+	 */
+	public ShapeStyle setShadow(Color color, double blur, double offsetX,
+			double offsetY) {
+		shadowColor = color;
+		shadowBlur = blur;
+		shadowOffsetX = offsetX;
+		shadowOffsetY = offsetY;
+		version++;
+		return this;
+	}
+
+	/**
+	 * Checks whether the shape casts a shadow.
+	 */
+	public boolean hasShadow() {
+		return shadowColor != null;
+	}
+
+	/**
+	 * Gets the distance that the style may paint outside of the path of a
+	 * shape, because of the stroke and the shadow.
+	 *
+	 * @param scale the scale from the coordinates of the shape to pixels,
+	 * 				since the shadow is not transformed.
+	 * @return the padding in the coordinates of the shape.
+	 */
+	public double getPadding(double scale) {
+		double padding = stroke == null ? 0
+				: getStrokePadding(lineWidth, lineCap, lineJoin, miterLimit);
+		if (shadowColor != null) {
+			padding += getShadowPadding(shadowBlur, shadowOffsetX, shadowOffsetY)
+					/ scale;
+		}
+		return padding;
+	}
+
+	/**
+	 * Gets the distance that a stroke may paint outside of the path it
+	 * strokes, in the same units as the line width.
+	 */
+	public static double getStrokePadding(double lineWidth, LineCap lineCap,
+			LineJoin lineJoin, double miterLimit) {
+		double factor = 1;
+		if (lineJoin == LineJoin.MITER) {
+			factor = Math.max(factor, miterLimit);
+		}
+		if (lineCap == LineCap.SQUARE) {
+			factor = Math.max(factor, Math.sqrt(2));
+		}
+		return lineWidth / 2 * factor;
+	}
+
+	/**
+	 * Gets the distance that a shadow may paint outside of the shape that
+	 * casts it, in pixels. The shadow is not transformed, and its blur
+	 * reaches about one and a half times the blur past the offset shape.
+	 */
+	public static double getShadowPadding(double shadowBlur,
+			double shadowOffsetX, double shadowOffsetY) {
+		return 1.5 * shadowBlur + Math.max(Math.abs(shadowOffsetX),
+				Math.abs(shadowOffsetY));
+	}
+
+	/**
+	 * Draws the shape with this style onto the given surface. The state of the
+	 * surface is saved and restored around the drawing.
+	 */
+	public void draw(Surface surface, Shape shape) {
+		surface.save();
+		if (fill instanceof Color) {
+			surface.setFillStyle((Color) fill);
+		} else if (fill instanceof Gradient) {
+			surface.setFillStyle((Gradient) fill);
+		} else if (fill != null) {
+			surface.setFillStyle((CanvasPattern) fill);
+		}
+		if (stroke instanceof Color) {
+			surface.setStrokeStyle((Color) stroke);
+		} else if (stroke instanceof Gradient) {
+			surface.setStrokeStyle((Gradient) stroke);
+		} else if (stroke != null) {
+			surface.setStrokeStyle((CanvasPattern) stroke);
+		}
+		if (stroke != null) {
+			surface.setLineWidth(lineWidth).setLineCap(lineCap)
+					.setLineJoin(lineJoin).setMiterLimit(miterLimit);
+		}
+		if (shadowColor != null) {
+			surface.setShadowColor(shadowColor).setShadowBlur(shadowBlur)
+					.setShadowOffsetX(shadowOffsetX).setShadowOffsetY(shadowOffsetY);
+		}
+		shape.draw(surface);
+		Context context = surface.getContext();
+		if (fill != null) {
+			context.fill();
+		}
+		if (stroke != null) {
+			context.stroke();
+		}
+		surface.restore();
+	}
+
+	private ShapeStyle setFillObject(Object fill) {
+		this.fill = fill;
+		version++;
+		return this;
+	}
+
+	private ShapeStyle setStrokeObject(Object stroke) {
+		this.stroke = stroke;
+		version++;
+		return this;
+	}
+}
@@ -0,0 +1,594 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import gwt.g2d.client.graphics.canvas.CanvasElement;
+import gwt.g2d.client.graphics.canvas.Context;
+import gwt.g2d.client.graphics.canvas.ContextImpl;
+import gwt.g2d.client.math.Matrix;
+import gwt.g2d.client.math.Rectangle;
+import gwt.g2d.resources.client.TextureAtlas;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * Draws large numbers of sprites from texture atlases onto a {@link Surface}.
+ * <p>
+ * Sprites are regions of an atlas image, registered once with
+ * {@link #addRegion(ImageElement, double, double, double, double)} and then
+ * referred to by their integer id. Between {@link #begin()} and
+ * {@link #end()}, {@link #draw(int, double, double, double, double, double)}
+ * only records the sprite into packed arrays. On {@link #end()}, the sprites
+ * are sorted by composition and atlas, and drawn in a single pass surrounded
+ * by a single save and restore. Sprites that are not rotated are drawn
+ * directly into their destination rectangle, so the transformation only
+ * changes for rotated sprites. In compiled mode, when the surface draws
+ * directly onto the canvas, the whole pass runs in JavaScript.
+ * <p>
+ * Sorting keeps the order of the sprites that share the same atlas and
+ * composition, but sprites from different atlases may be drawn in a different
+ * order than they were added. Use {@link #setSorted(boolean)} to keep the
+ * exact order when sprites from different atlases overlap.
+ * <p>
+ * The sprites are drawn in the coordinates of the view transformation given
+ * to {@link #begin(double, double, double, double, double, double)}, and the
+ * alpha of each sprite replaces the global alpha of the surface.
+ */
+public class SpriteBatch {
+	// sourceX, sourceY, sourceWidth, sourceHeight, originX, originY
+	private static final int REGION_STRIDE = 6;
+	// x, y, rotation, scale, alpha
+	private static final int SPRITE_STRIDE = 5;
+	private static final Composition[] COMPOSITIONS = Composition.values();
+	private static String[] compositionNames;
+
+	private final Surface surface;
+	private final double[] view = new double[6];
+	private Element[] atlases = new Element[4];
+	private boolean[] canvasAtlases = new boolean[4];
+	private int atlasCount;
+	private double[] regions = new double[16 * REGION_STRIDE];
+	private int[] regionAtlases = new int[16];
+	private int regionCount;
+	private double[] sprites = new double[64 * SPRITE_STRIDE];
+	private int[] spriteRegions = new int[64], spriteCompositions = new int[64];
+	private int[] order = new int[64], histogram = new int[0];
+	private int spriteCount;
+	private int composition = Composition.SOURCE_OVER.ordinal();
+	private boolean drawing, sorted = true;
+	private int lastSpriteCount, lastTransformCount, lastStateCount;
+
+	/**
+	 * Creates a sprite batch that draws onto the given surface.
+	 */
+	public SpriteBatch(Surface surface) {
+		this.surface = surface;
+	}
+
+	/**
+	 * Gets the surface the sprites are drawn onto.
+	 */
+	public final Surface getSurface() {
+		return surface;
+	}
+
+	/**
+	 * Registers a region of an image with its origin at its top-left corner.
+	 *
+	 * @return the id of the region.
+	 */
+	public int addRegion(ImageElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight) {
+		return addRegion(image, sourceX, sourceY, sourceWidth, sourceHeight, 0, 0);
+	}
+
+	/**
+	 * Registers a region of an image with its origin at its top-left corner.
+	 *
+	 * @return the id of the region.
+	 */
+	public int addRegion(ImageElement image, Rectangle sourceRectangle) {
+		return addRegion(image, sourceRectangle.getX(), sourceRectangle.getY(),
+				sourceRectangle.getWidth(), sourceRectangle.getHeight(), 0, 0);
+	}
+
+	/**
+	 * Registers a region of an image.
+	 *
+	 * @param originX the x-coordinate, relative to the region, of the point
+	 * 				that is drawn at the position of the sprite and that the sprite
+	 * 				rotates and scales around.
+	 * @param originY the y-coordinate of the origin, relative to the region.
+	 * @return the id of the region.
+	 */
+	public int addRegion(ImageElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double originX, double originY) {
+		return addRegion(image, false, sourceX, sourceY, sourceWidth, sourceHeight,
+				originX, originY);
+	}
+
+	/**
+	 * Registers a region of a canvas with its origin at its top-left corner.
+	 *
+	 * @return the id of the region.
+	 */
+	public int addRegion(CanvasElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight) {
+		return addRegion(image, sourceX, sourceY, sourceWidth, sourceHeight, 0, 0);
+	}
+
+	/**
+	 * Registers a region of a canvas.
+	 *
+	 * @see #addRegion(ImageElement, double, double, double, double, double,
+	 * 			double)
+	 * @return the id of the region.
+	 */
+	public int addRegion(CanvasElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double originX, double originY) {
+		return addRegion(image, true, sourceX, sourceY, sourceWidth, sourceHeight,
+				originX, originY);
+	}
+
+	/**
+	 * Registers all the regions of a loaded texture atlas, with their origin at
+	 * their top-left corner. The region at index i of the atlas gets the id
+	 * {@code firstId + i}.
+	 *
+	 * @return the id of the first region of the atlas.
+	 */
+	public int addRegions(TextureAtlas atlas) {
+		int firstId = regionCount;
+		for (int i = 0; i < atlas.getRegionCount(); i++) {
+			addRegion(atlas.getRegionImage(i), atlas.getRegionX(i),
+					atlas.getRegionY(i), atlas.getRegionWidth(i),
+					atlas.getRegionHeight(i));
+		}
+		return firstId;
+	}
+
+	/**
+	 * Gets the number of registered regions.
+	 */
+	public int getRegionCount() {
+		return regionCount;
+	}
+
+	/**
+	 * Removes all the registered regions. The ids of the previous regions
+	 * become invalid.
+	 */
+	public void clearRegions() {
+		checkNotDrawing();
+		for (int i = 0; i < atlasCount; i++) {
+			atlases[i] = null;
+		}
+		atlasCount = 0;
+		regionCount = 0;
+	}
+
+	/**
+	 * Checks whether the sprites are sorted by composition and atlas before
+	 * being drawn.
+	 */
+	public boolean isSorted() {
+		return sorted;
+	}
+
+	/**
+	 * Sets whether the sprites are sorted by composition and atlas before being
+	 * drawn. Default: true.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch setSorted(boolean sorted) {
+		this.sorted = sorted;
+		return this;
+	}
+
+	/**
+	 * Starts a new batch drawn with the identity transformation.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch begin() {
+		return begin(1, 0, 0, 1, 0, 0);
+	}
+
+	/**
+	 * Starts a new batch drawn with the given view transformation.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch begin(Matrix view) {
+		return begin(view.getM11(), view.getM12(), view.getM21(), view.getM22(),
+				view.getDx(), view.getDy());
+	}
+
+	/**
+	 * Starts a new batch drawn with the given view transformation, in the same
+	 * form as {@link Surface#setTransform(double, double, double, double,
+	 * double, double)}.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch begin(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		checkNotDrawing();
+		view[0] = m11;
+		view[1] = m12;
+		view[2] = m21;
+		view[3] = m22;
+		view[4] = dx;
+		view[5] = dy;
+		spriteCount = 0;
+		composition = Composition.SOURCE_OVER.ordinal();
+		drawing = true;
+		return this;
+	}
+
+	/**
+	 * Checks whether the batch is between {@link #begin()} and {@link #end()}.
+	 */
+	public boolean isDrawing() {
+		return drawing;
+	}
+
+	/**
+	 * Sets the composition of the sprites drawn after this call. Default:
+	 * {@link Composition#SOURCE_OVER}.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch setComposition(Composition composition) {
+		this.composition = composition.ordinal();
+		return this;
+	}
+
+	/**
+	 * Draws a region, not rotated nor scaled and fully opaque, with its origin
+	 * at the given position.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch draw(int regionId, double x, double y) {
+		return draw(regionId, x, y, 0, 1, 1);
+	}
+
+	/**
+	 * Draws a region with its origin at the given position.
+	 *
+	 * @param regionId the id of the region to draw.
+	 * @param x the x-coordinate of the origin of the sprite.
+	 * @param y the y-coordinate of the origin of the sprite.
+	 * @param rotation the clockwise rotation around the origin, in radians.
+	 * @param scale the scale around the origin.
+	 * @param alpha the opacity of the sprite, from 0 to 1.
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch draw(int regionId, double x, double y, double rotation,
+			double scale, double alpha) {
+		if (!drawing) {
+			throw new IllegalStateException("begin() must be called before draw().");
+		}
+		if (regionId < 0 || regionId >= regionCount) {
+			throw new IndexOutOfBoundsException("Unknown region: " + regionId);
+		}
+		if (alpha <= 0 || scale == 0) {
+			return this;
+		}
+		if (spriteCount == spriteRegions.length) {
+			growSprites();
+		}
+		int i = spriteCount * SPRITE_STRIDE;
+		sprites[i] = x;
+		sprites[i + 1] = y;
+		sprites[i + 2] = rotation;
+		sprites[i + 3] = scale;
+		sprites[i + 4] = alpha > 1 ? 1 : alpha;
+		spriteRegions[spriteCount] = regionId;
+		spriteCompositions[spriteCount] = composition;
+		spriteCount++;
+		return this;
+	}
+
+	/**
+	 * Gets the number of sprites recorded since {@link #begin()}.
+	 */
+	public int getSpriteCount() {
+		return spriteCount;
+	}
+
+	/**
+	 * Draws the recorded sprites onto the surface and ends the batch.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SpriteBatch end() {
+		return end(surface.getContext());
+	}
+
+	/**
+	 * Draws the recorded sprites onto the given context and ends the batch.
+	 * This lets the batch be drawn, and benchmarked, without a canvas.
+	 *
+	 * @return self to support chaining.
+	 */
+	SpriteBatch end(Context context) {
+		if (!drawing) {
+			throw new IllegalStateException("begin() must be called before end().");
+		}
+		drawing = false;
+		lastSpriteCount = spriteCount;
+		lastTransformCount = lastStateCount = 0;
+		if (spriteCount == 0) {
+			return this;
+		}
+		sort();
+		if (GWT.isScript() && context instanceof ContextImpl) {
+			if (compositionNames == null) {
+				compositionNames = new String[COMPOSITIONS.length];
+				for (int i = 0; i < COMPOSITIONS.length; i++) {
+					compositionNames[i] = COMPOSITIONS[i].toString();
+				}
+			}
+			int counts = drawImpl((ContextImpl) context, view, atlases, regions,
+					regionAtlases, sprites, spriteRegions, spriteCompositions, order,
+					spriteCount, compositionNames);
+			lastTransformCount = counts & 0xffff;
+			lastStateCount = counts >>> 16;
+		} else {
+			render(context);
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the number of sprites drawn by the last {@link #end()}.
+	 */
+	public int getLastSpriteCount() {
+		return lastSpriteCount;
+	}
+
+	/**
+	 * Gets the number of times the transformation was set by the last
+	 * {@link #end()}. The count saturates at 65535 in compiled mode.
+	 */
+	public int getLastTransformCount() {
+		return lastTransformCount;
+	}
+
+	/**
+	 * Gets the number of times the global alpha or composition was set by the
+	 * last {@link #end()}. The count saturates at 65535 in compiled mode.
+	 */
+	public int getLastStateCount() {
+		return lastStateCount;
+	}
+
+	private int addRegion(Element image, boolean canvas, double sourceX,
+			double sourceY, double sourceWidth, double sourceHeight, double originX,
+			double originY) {
+		checkNotDrawing();
+		int atlas = 0;
+		while (atlas < atlasCount && atlases[atlas] != image) {
+			atlas++;
+		}
+		if (atlas == atlasCount) {
+			if (atlasCount == atlases.length) {
+				Element[] newAtlases = new Element[atlasCount * 2];
+				System.arraycopy(atlases, 0, newAtlases, 0, atlasCount);
+				atlases = newAtlases;
+				boolean[] newCanvasAtlases = new boolean[atlasCount * 2];
+				System.arraycopy(canvasAtlases, 0, newCanvasAtlases, 0, atlasCount);
+				canvasAtlases = newCanvasAtlases;
+			}
+			atlases[atlasCount] = image;
+			canvasAtlases[atlasCount] = canvas;
+			atlasCount++;
+		}
+		if (regionCount == regionAtlases.length) {
+			int[] newRegionAtlases = new int[regionCount * 2];
+			System.arraycopy(regionAtlases, 0, newRegionAtlases, 0, regionCount);
+			regionAtlases = newRegionAtlases;
+			double[] newRegions = new double[regionCount * 2 * REGION_STRIDE];
+			System.arraycopy(regions, 0, newRegions, 0, regionCount * REGION_STRIDE);
+			regions = newRegions;
+		}
+		int i = regionCount * REGION_STRIDE;
+		regions[i] = sourceX;
+		regions[i + 1] = sourceY;
+		regions[i + 2] = sourceWidth;
+		regions[i + 3] = sourceHeight;
+		regions[i + 4] = originX;
+		regions[i + 5] = originY;
+		regionAtlases[regionCount] = atlas;
+		return regionCount++;
+	}
+
+	private void checkNotDrawing() {
+		if (drawing) {
+			throw new IllegalStateException("The batch has not ended.");
+		}
+	}
+
+	private void growSprites() {
+		int capacity = spriteCount * 2;
+		double[] newSprites = new double[capacity * SPRITE_STRIDE];
+		System.arraycopy(sprites, 0, newSprites, 0, spriteCount * SPRITE_STRIDE);
+		sprites = newSprites;
+		int[] newSpriteRegions = new int[capacity];
+		System.arraycopy(spriteRegions, 0, newSpriteRegions, 0, spriteCount);
+		spriteRegions = newSpriteRegions;
+		int[] newSpriteCompositions = new int[capacity];
+		System.arraycopy(spriteCompositions, 0, newSpriteCompositions, 0,
+				spriteCount);
+		spriteCompositions = newSpriteCompositions;
+		order = new int[capacity];
+	}
+
+	/**
+	 * Fills the order array with a stable counting sort of the sprites by
+	 * composition, then atlas.
+	 */
+	private void sort() {
+		int keyCount = COMPOSITIONS.length * atlasCount;
+		if (!sorted || keyCount <= 1) {
+			for (int i = 0; i < spriteCount; i++) {
+				order[i] = i;
+			}
+			return;
+		}
+		if (histogram.length < keyCount + 1) {
+			histogram = new int[keyCount + 1];
+		} else {
+			for (int i = 0; i <= keyCount; i++) {
+				histogram[i] = 0;
+			}
+		}
+		for (int i = 0; i < spriteCount; i++) {
+			histogram[key(i) + 1]++;
+		}
+		for (int i = 1; i <= keyCount; i++) {
+			histogram[i] += histogram[i - 1];
+		}
+		for (int i = 0; i < spriteCount; i++) {
+			order[histogram[key(i)]++] = i;
+		}
+	}
+
+	private int key(int sprite) {
+		return spriteCompositions[sprite] * atlasCount
+				+ regionAtlases[spriteRegions[sprite]];
+	}
+
+	/**
+	 * Draws the sorted sprites through the {@link Context} interface.
+	 */
+	private void render(Context ctx) {
+		double[] r = regions, s = sprites, v = view;
+		boolean viewTransform = false;
+		int currentComposition = -1;
+		double currentAlpha = Double.NaN;
+		ctx.save();
+		for (int k = 0; k < spriteCount; k++) {
+			int sprite = order[k];
+			int region = spriteRegions[sprite];
+			int ri = region * REGION_STRIDE, si = sprite * SPRITE_STRIDE;
+			if (spriteCompositions[sprite] != currentComposition) {
+				currentComposition = spriteCompositions[sprite];
+				ctx.setGlobalCompositeOperation(
+						COMPOSITIONS[currentComposition].toString());
+				lastStateCount++;
+			}
+			if (s[si + 4] != currentAlpha) {
+				currentAlpha = s[si + 4];
+				ctx.setGlobalAlpha(currentAlpha);
+				lastStateCount++;
+			}
+			double x = s[si], y = s[si + 1], rotation = s[si + 2], scale = s[si + 3];
+			double width = r[ri + 2], height = r[ri + 3];
+			double originX = r[ri + 4], originY = r[ri + 5];
+			if (rotation == 0) {
+				if (!viewTransform) {
+					ctx.setTransform(v[0], v[1], v[2], v[3], v[4], v[5]);
+					viewTransform = true;
+					lastTransformCount++;
+				}
+				drawRegion(ctx, region, x - originX * scale, y - originY * scale,
+						width * scale, height * scale);
+			} else {
+				double cos = Math.cos(rotation) * scale;
+				double sin = Math.sin(rotation) * scale;
+				ctx.setTransform(v[0] * cos + v[2] * sin, v[1] * cos + v[3] * sin,
+						v[2] * cos - v[0] * sin, v[3] * cos - v[1] * sin,
+						v[0] * x + v[2] * y + v[4], v[1] * x + v[3] * y + v[5]);
+				viewTransform = false;
+				lastTransformCount++;
+				drawRegion(ctx, region, -originX, -originY, width, height);
+			}
+		}
+		ctx.restore();
+	}
+
+	private void drawRegion(Context ctx, int region, double x, double y,
+			double width, double height) {
+		int atlas = regionAtlases[region], ri = region * REGION_STRIDE;
+		if (canvasAtlases[atlas]) {
+			ctx.drawImage((CanvasElement) atlases[atlas], regions[ri],
+					regions[ri + 1], regions[ri + 2], regions[ri + 3],
+					x, y, width, height);
+		} else {
+			ctx.drawImage((ImageElement) atlases[atlas], regions[ri],
+					regions[ri + 1], regions[ri + 2], regions[ri + 3],
+					x, y, width, height);
+		}
+	}
+
+	/**
+	 * Draws the sorted sprites in JavaScript, see {@link #render(Context)}.
+	 *
+	 * @return the number of transformation changes in the low 16 bits and the
+	 * 				number of state changes in the high 16 bits.
+	 */
+	private static native int drawImpl(ContextImpl ctx, double[] v,
+			Element[] atlases, double[] r, int[] regionAtlases, double[] s,
+			int[] spriteRegions, int[] spriteCompositions, int[] order, int count,
+			String[] compositionNames) /*-{
+		var viewTransform = false, composition = -1, alpha = NaN;
+		var transforms = 0, states = 0;
+		ctx.save();
+		for (var k = 0; k < count; k++) {
+			var sprite = order[k], region = spriteRegions[sprite];
+			var ri = region * 6, si = sprite * 5;
+			if (spriteCompositions[sprite] != composition) {
+				composition = spriteCompositions[sprite];
+				ctx.globalCompositeOperation = compositionNames[composition];
+				states++;
+			}
+			if (s[si + 4] != alpha) {
+				alpha = s[si + 4];
+				ctx.globalAlpha = alpha;
+				states++;
+			}
+			var x = s[si], y = s[si + 1], rotation = s[si + 2], scale = s[si + 3];
+			var image = atlases[regionAtlases[region]];
+			if (rotation == 0) {
+				if (!viewTransform) {
+					ctx.setTransform(v[0], v[1], v[2], v[3], v[4], v[5]);
+					viewTransform = true;
+					transforms++;
+				}
+				ctx.drawImage(image, r[ri], r[ri + 1], r[ri + 2], r[ri + 3],
+						x - r[ri + 4] * scale, y - r[ri + 5] * scale,
+						r[ri + 2] * scale, r[ri + 3] * scale);
+			} else {
+				var cos = Math.cos(rotation) * scale, sin = Math.sin(rotation) * scale;
+				ctx.setTransform(v[0] * cos + v[2] * sin, v[1] * cos + v[3] * sin,
+						v[2] * cos - v[0] * sin, v[3] * cos - v[1] * sin,
+						v[0] * x + v[2] * y + v[4], v[1] * x + v[3] * y + v[5]);
+				viewTransform = false;
+				transforms++;
+				ctx.drawImage(image, r[ri], r[ri + 1], r[ri + 2], r[ri + 3],
+						-r[ri + 4], -r[ri + 5], r[ri + 2], r[ri + 3]);
+			}
+		}
+		ctx.restore();
+		return Math.min(transforms, 0xffff) | (Math.min(states, 0xffff) << 16);
+	}-*/;
+}
@@ -15,17 +15,25 @@
  */
 package gwt.g2d.client.graphics;
 
+import gwt.g2d.client.graphics.canvas.BatchedContext;
 import gwt.g2d.client.graphics.canvas.CanvasElement;
 import gwt.g2d.client.graphics.canvas.CanvasInitializer;
 import gwt.g2d.client.graphics.canvas.CanvasPattern;
 import gwt.g2d.client.graphics.canvas.Context;
+import gwt.g2d.client.graphics.canvas.ContextImpl;
 import gwt.g2d.client.graphics.canvas.ImageData;
 import gwt.g2d.client.graphics.canvas.ImageDataAdapter;
+import gwt.g2d.client.graphics.canvas.StateShadowingContext;
+import gwt.g2d.client.graphics.filter.FilterChain;
+import gwt.g2d.client.graphics.filter.ImageFilter;
+import gwt.g2d.client.graphics.filter.PixelBuffer;
 import gwt.g2d.client.graphics.shapes.Shape;
 import gwt.g2d.client.math.Matrix;
 import gwt.g2d.client.math.Rectangle;
 import gwt.g2d.client.math.Vector2;
 import gwt.g2d.client.media.VideoElement;
+import gwt.g2d.client.util.AllocationAudit;
+import gwt.g2d.resources.client.TextureAtlas;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.Document;
@@ -50,7 +58,13 @@ public class Surface extends FocusWidget {
 	private static final CanvasInitializer canvasInitializer = 
 			GWT.create(CanvasInitializer.class);
 	private final CanvasElement canvas;
-	private final Context context;
+	private final ContextImpl nativeContext;
+	private BatchedContext batchedContext;
+	private StateShadowingContext stateShadowingContext;
+	private boolean batched, stateShadowing;
+	private Context context;
+	private ShapeCache shapeCache;
+	private final PatternCache patternCache = new PatternCache();
 	
 	/**
 	 * Initialize a surface with a default size of 100 by 100.
@@ -71,7 +85,8 @@ public class Surface extends FocusWidget {
 		getElement().appendChild(canvas);
 		canvasInitializer.init(canvas, width, height);
 		setStylePrimaryName("g2d-Surface");
-		context = canvas.getContext2D();
+		nativeContext = canvas.<ContextImpl>getContext("2d");
+		context = nativeContext;
 	}
 	
 	/**
@@ -87,8 +102,20 @@ public class Surface extends FocusWidget {
 	 * Gets the size of the surface.
 	 */
 	public Vector2 getSize() {
+		AllocationAudit.record("Surface.getSize");
 		return new Vector2(getWidth(), getHeight());
 	}
+	
+	/**
+	 * Gets the size of the surface without allocating a new vector.
+	 * 
+	 * @param result the vector to store the size into.
+	 * @return result.
+	 */
+	public Vector2 getSize(Vector2 result) {
+		result.set(getWidth(), getHeight());
+		return result;
+	}
 
 	/**
 	 * Gets the width of the surface.
@@ -119,34 +146,55 @@ public class Surface extends FocusWidget {
 	 * Sets the width of the surface.
 	 */
 	public void setWidth(int width) {
+		flush();
 		canvasInitializer.setWidth(canvas, width);
+		invalidateState();
 	}
 	
 	@Override
 	public void setWidth(String width) {
 		super.setWidth(width);
+		flush();
 		canvasInitializer.setWidth(canvas, this.getWidth());
+		invalidateState();
 	}
 	
 	/**
 	 * Sets the height of the surface.
 	 */
 	public void setHeight(int height) {
+		flush();
 		canvasInitializer.setHeight(canvas, height);
+		invalidateState();
 	}
 	
 	@Override
 	public void setHeight(String height) {
 		super.setHeight(height);
+		flush();
 		canvasInitializer.setHeight(canvas, this.getHeight());
+		invalidateState();
 	}
 	
 	/**
 	 * Gets the rectangle that encloses this surface.
 	 */
 	public Rectangle getViewRectangle() {
+		AllocationAudit.record("Surface.getViewRectangle");
 		return new Rectangle(0, 0, getWidth(), getHeight());
 	}
+	
+	/**
+	 * Gets the rectangle that encloses this surface without allocating a new
+	 * rectangle.
+	 * 
+	 * @param result the rectangle to store the bounds into.
+	 * @return result.
+	 */
+	public Rectangle getViewRectangle(Rectangle result) {
+		result.set(0, 0, getWidth(), getHeight());
+		return result;
+	}
 
 	/**
 	 * Gets the canvas element.
@@ -166,6 +214,120 @@ public class Surface extends FocusWidget {
 		return context;
 	}
 	
+	/**
+	 * Sets whether the drawing commands issued to this surface are recorded 
+	 * into a command buffer and sent to the canvas in a single pass, instead of 
+	 * being forwarded one by one. The buffer is flushed automatically at the 
+	 * end of the current browser event loop, or explicitly with {@link #flush()}.
+	 * 
+	 * @param batched true to enable batching.
+	 * @return self to support chaining.
+	 * @see BatchedContext
+	 */
+	public Surface setBatched(boolean batched) {
+		if (batched == this.batched) {
+			return this;
+		}
+		if (batched) {
+			if (batchedContext == null) {
+				batchedContext = new BatchedContext(nativeContext);
+			}
+		} else {
+			batchedContext.flush();
+		}
+		this.batched = batched;
+		updateContext();
+		return this;
+	}
+	
+	/**
+	 * Gets whether the drawing commands issued to this surface are batched.
+	 */
+	public boolean isBatched() {
+		return batched;
+	}
+	
+	/**
+	 * Sets whether the surface keeps track of the current drawing state 
+	 * (fill and stroke styles, line settings, font, alpha, composition, 
+	 * shadows and text alignment) and skips the setter calls that would not 
+	 * change it.
+	 * 
+	 * @param stateShadowing true to enable state shadowing.
+	 * @return self to support chaining.
+	 * @see StateShadowingContext
+	 */
+	public Surface setStateShadowing(boolean stateShadowing) {
+		if (stateShadowing == this.stateShadowing) {
+			return this;
+		}
+		if (stateShadowing) {
+			if (stateShadowingContext == null) {
+				stateShadowingContext = new StateShadowingContext(nativeContext);
+			} else {
+				// The state may have changed while shadowing was disabled.
+				stateShadowingContext.invalidate();
+			}
+		}
+		this.stateShadowing = stateShadowing;
+		updateContext();
+		return this;
+	}
+	
+	/**
+	 * Gets whether the surface skips the setter calls that would not change
+	 * the current drawing state.
+	 */
+	public boolean isStateShadowing() {
+		return stateShadowing;
+	}
+	
+	/**
+	 * Gets the state shadowing context, which exposes the number of elided
+	 * setter calls. 
+	 * 
+	 * @return the state shadowing context, or null if state shadowing has 
+	 * never been enabled.
+	 */
+	public StateShadowingContext getStateShadowingContext() {
+		return stateShadowingContext;
+	}
+	
+	/**
+	 * Sends all the batched drawing commands to the canvas. This does nothing
+	 * if the surface is not batched.
+	 * 
+	 * @return self to support chaining.
+	 */
+	public Surface flush() {
+		if (batchedContext != null) {
+			batchedContext.flush();
+		}
+		return this;
+	}
+	
+	/**
+	 * Rebuilds the chain of contexts that the drawing calls go through.
+	 */
+	private void updateContext() {
+		Context target = batched ? batchedContext : nativeContext;
+		if (stateShadowing) {
+			stateShadowingContext.setContext(target);
+			context = stateShadowingContext;
+		} else {
+			context = target;
+		}
+	}
+	
+	/**
+	 * Resizing the canvas resets its drawing state.
+	 */
+	private void invalidateState() {
+		if (stateShadowingContext != null) {
+			stateShadowingContext.invalidate();
+		}
+	}
+	
 	/**
 	 * Pushes the current state onto the stack.
 	 * 
@@ -406,6 +568,18 @@ public class Surface extends FocusWidget {
 		return this;
 	}
 	
+	/**
+	 * Sets the fill style to a packed color, whose string is taken from the
+	 * cache of {@link Argb}.
+	 * 
+	 * @param argb the color for the fill style, packed as 0xAARRGGBB.
+	 * @return self to support chaining.
+	 */
+	public Surface setFillStyle(int argb) {
+		context.setFillStyle(Argb.toCssString(argb));
+		return this;
+	}
+	
 	/**
 	 * Sets the fill style.
 	 * 
@@ -436,6 +610,17 @@ public class Surface extends FocusWidget {
 		return this;
 	}
 	
+	/**
+	 * Sets the stroke style to a packed color, whose string is taken from the
+	 * cache of {@link Argb}.
+	 * 
+	 * @param argb the color for the stroke style, packed as 0xAARRGGBB.
+	 */
+	public Surface setStrokeStyle(int argb) {
+		context.setStrokeStyle(Argb.toCssString(argb));
+		return this;
+	}
+	
 	/**
 	 * Sets the stroke style.
 	 */
@@ -610,6 +795,58 @@ public class Surface extends FocusWidget {
 				rectangle.getHeight());
 	}
 	
+	/**
+	 * Draws the specified shape with the given style. If the shape is marked
+	 * with {@link Shape#setCacheAsBitmap(boolean)} and the surface has a
+	 * {@link ShapeCache}, the shape is drawn from a cached canvas rendered at
+	 * scale 1.
+	 * 
+	 * @return self to support chaining.
+	 */
+	public Surface drawShape(Shape shape, ShapeStyle style) {
+		return drawShape(shape, style, 1);
+	}
+	
+	/**
+	 * Draws the specified shape with the given style. If the shape is marked
+	 * with {@link Shape#setCacheAsBitmap(boolean)} and the surface has a
+	 * {@link ShapeCache}, the shape is drawn from a cached canvas.
+	 * 
+	 * @param scale the scale from the coordinates of the shape to pixels under
+	 * 				the current transformation, at which the cached canvas is rendered.
+	 * @return self to support chaining.
+	 */
+	public Surface drawShape(Shape shape, ShapeStyle style, double scale) {
+		if (shapeCache != null && shape.isCacheAsBitmap()) {
+			shapeCache.draw(this, shape, style, scale);
+		} else {
+			style.draw(this, shape);
+		}
+		return this;
+	}
+	
+	/**
+	 * Gets the cache used to draw the shapes marked to be cached as bitmaps.
+	 * 
+	 * @return the cache, or null if there is none.
+	 */
+	public ShapeCache getShapeCache() {
+		return shapeCache;
+	}
+	
+	/**
+	 * Sets the cache used to draw the shapes marked to be cached as bitmaps by
+	 * {@link #drawShape(Shape, ShapeStyle)}. A cache may be shared between
+	 * surfaces.
+	 * 
+	 * @param shapeCache the cache, or null to draw every shape directly.
+	 * @return self to support chaining.
+	 */
+	public Surface setShapeCache(ShapeCache shapeCache) {
+		this.shapeCache = shapeCache;
+		return this;
+	}
+	
 	/**
 	 * Create a new clipping region by calculating the intersection of the 
 	 * current clipping region and the area described by the rectangle, using 
@@ -665,14 +902,14 @@ public class Surface extends FocusWidget {
 	 * Fills the background with the given color.
 	 */
 	public Surface fillBackground(Color color) {
-		return setFillStyle(color).fillRectangle(getViewRectangle());
+		return setFillStyle(color).fillRectangle(0, 0, getWidth(), getHeight());
 	}
 	
 	/**
 	 * Fills the background with the given gradient.
 	 */
 	public Surface fillBackground(Gradient gradient) {
-		return setFillStyle(gradient).fillRectangle(getViewRectangle());
+		return setFillStyle(gradient).fillRectangle(0, 0, getWidth(), getHeight());
 	}
 	
 	/**
@@ -899,6 +1136,34 @@ public class Surface extends FocusWidget {
 				destinationRectangle.getWidth(), destinationRectangle.getHeight());
 	}
 	
+	/**
+	 * Draws a region of a texture atlas with its natural size.
+	 * 
+	 * @param atlas the loaded atlas.
+	 * @param region the index of the region in the atlas.
+	 * @param x the x-coordinate to draw the region.
+	 * @param y the y-coordinate to draw the region.
+	 * @return self to support chaining.
+	 */
+	public Surface drawImage(TextureAtlas atlas, int region, double x, double y) {
+		return drawImage(atlas, region, x, y, atlas.getRegionWidth(region),
+				atlas.getRegionHeight(region));
+	}
+	
+	/**
+	 * Draws a region of a texture atlas into the given rectangle.
+	 * 
+	 * @param atlas the loaded atlas.
+	 * @param region the index of the region in the atlas.
+	 * @return self to support chaining.
+	 */
+	public Surface drawImage(TextureAtlas atlas, int region, double x, double y,
+			double width, double height) {
+		return drawImage(atlas.getRegionImage(region), atlas.getRegionX(region),
+				atlas.getRegionY(region), atlas.getRegionWidth(region),
+				atlas.getRegionHeight(region), x, y, width, height);
+	}
+	
 	/**
 	 * Draws the image at the given position.
 	 * 
@@ -992,6 +1257,16 @@ public class Surface extends FocusWidget {
 				destinationRectangle.getWidth(), destinationRectangle.getHeight());
 	}
 	
+	/**
+	 * Creates a sprite batch that draws many regions of atlas images onto this
+	 * surface in a single pass.
+	 * 
+	 * @return a new sprite batch.
+	 */
+	public SpriteBatch createSpriteBatch() {
+		return new SpriteBatch(this);
+	}
+	
 	/**
 	 * Instantiate new blank ImageData objects whose dimension is equal to
 	 * width x height.
@@ -1019,16 +1294,31 @@ public class Surface extends FocusWidget {
 	}
 	
 	/**
-	 * Creates a CanvasPattern object that uses the given image and repeats in 
+	 * Gets a CanvasPattern object that uses the given image and repeats in 
 	 * the direction(s) given by the repetition argument.
 	 * 
+	 * The last patterns created from images are kept by the surface, so calling
+	 * this method again with the same image returns the same pattern, unless the
+	 * source of the image changed.
+	 * 
 	 * @param image
 	 * @param repetition
-	 * @return a new CanvasPattern object.
+	 * @return a CanvasPattern object, or null if the image is not loaded.
 	 */
 	public CanvasPattern createPattern(ImageElement image, 
 			PatternRepetition repetition) {
-		return context.createPattern(image, repetition.toString());
+		return patternCache.get(context, image, repetition);
+	}
+	
+	/**
+	 * Releases the patterns kept by {@link #createPattern(ImageElement, 
+	 * PatternRepetition)}.
+	 * 
+	 * @return self to support chaining.
+	 */
+	public Surface clearPatternCache() {
+		patternCache.clear();
+		return this;
 	}
 	
 	/**
@@ -1166,6 +1456,49 @@ public class Surface extends FocusWidget {
 		putImageData(imageData, position.getX(), position.getY());
 	}
 	
+	/**
+	 * Filters a rectangle of the surface in place, in canvas pixels and 
+	 * ignoring the transformation. The rectangle is read along with the margin 
+	 * of the filter, and the filtered pixels are put back in a separate 
+	 * ImageData the size of the rectangle, so the margin is left untouched.
+	 * 
+	 * @param filter the filter to apply, such as a {@link FilterChain}.
+	 * @param x left of the rectangle.
+	 * @param y top of the rectangle.
+	 * @param width width of the rectangle.
+	 * @param height height of the rectangle.
+	 * @return self to support chaining.
+	 */
+	public Surface applyFilter(ImageFilter filter, int x, int y, int width, 
+			int height) {
+		int canvasWidth = getCanvas().getWidth();
+		int canvasHeight = getCanvas().getHeight();
+		int left = Math.max(0, x), top = Math.max(0, y);
+		int right = Math.min(canvasWidth, x + width);
+		int bottom = Math.min(canvasHeight, y + height);
+		if (left >= right || top >= bottom) {
+			return this;
+		}
+		int margin = filter.getMargin();
+		int readX = Math.max(0, left - margin), readY = Math.max(0, top - margin);
+		int readWidth = Math.min(canvasWidth, right + margin) - readX;
+		int readHeight = Math.min(canvasHeight, bottom + margin) - readY;
+		ImageDataAdapter imageData = getImageData(readX, readY, readWidth, 
+				readHeight);
+		PixelBuffer source = new PixelBuffer(readWidth, readHeight);
+		imageData.getPixels(0, 0, readWidth, readHeight, source.getPixels(), 0, 
+				readWidth);
+		PixelBuffer destination = new PixelBuffer(readWidth, readHeight);
+		int dirtyX = left - readX, dirtyY = top - readY;
+		filter.filter(source, destination, dirtyX, dirtyY, right - left, 
+				bottom - top);
+		ImageDataAdapter filtered = createImageData(right - left, bottom - top);
+		filtered.setPixels(0, 0, right - left, bottom - top, 
+				destination.getPixels(), dirtyY * readWidth + dirtyX, readWidth);
+		putImageData(filtered, left, top);
+		return this;
+	}
+	
 	/**
 	 * Sets the font settings. The syntax is the same as for the CSS 'font' 
 	 * property; values that cannot be parsed as CSS font values are ignored.
@@ -1341,6 +1674,7 @@ public class Surface extends FocusWidget {
 	 * horizontal and vertical direction.
 	 */
 	public Vector2 getShadowOffset() {
+		AllocationAudit.record("Surface.getShadowOffset");
 		return new Vector2(context.getShadowOffsetX(), context.getShadowOffsetY());
 	}
 	
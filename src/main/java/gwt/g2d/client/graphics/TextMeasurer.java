@@ -15,14 +15,6 @@
  */
 package gwt.g2d.client.graphics;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import com.google.gwt.dom.client.Element;
-import com.google.gwt.dom.client.Style;
-import com.google.gwt.user.client.DOM;
-import com.google.gwt.user.client.ui.UIObject;
-
 /**
  * Helper class for measure the size of a text in pixels.
  * 
@@ -30,9 +22,21 @@ import com.google.gwt.user.client.ui.UIObject;
  * @author Bulatju (contributor)
  */
 public abstract class TextMeasurer {
-	/** Measures the text's advance size using the font's property. */
-	public static final TextMeasurer DEFAULT_TEXT_MEASURER = 
-			new FontBoundedTextMeasurer();
+	/**
+	 * Measures texts with the cached metrics of their fonts, without calling the 
+	 * canvas or reading the layout of the page for known characters.
+	 * 
+	 * @see CachedTextMeasurer
+	 */
+	public static final CachedTextMeasurer DEFAULT_TEXT_MEASURER = 
+			new CachedTextMeasurer();
+	
+	/**
+	 * Measures the exact width of texts with the canvas, including kerning, and 
+	 * their height with the cached metrics of their fonts.
+	 */
+	public static final TextMeasurer NATIVE_TEXT_MEASURER = 
+			new NativeTextMeasurer();
 	
 	protected TextMeasurer() {
 	}
@@ -55,12 +59,9 @@ public abstract class TextMeasurer {
 	public abstract double measureTextHeight(Surface surface, String text);
 	
 	/**
-	 * Measures the text's advance size using the property of its font.
+	 * Measures the text's advance width with the canvas.
 	 */
-	private static class FontBoundedTextMeasurer extends TextMeasurer {
-		// Hidden html tag used for measuring the of the text.
-		private Map<Surface, Element> hiddenHtml;
-		
+	private static class NativeTextMeasurer extends TextMeasurer {
 		@Override
 		public double measureTextWidth(Surface surface, String text) {
 			return surface.measureText(text);
@@ -68,30 +69,7 @@ public abstract class TextMeasurer {
 		
 		@Override
 		public double measureTextHeight(Surface surface, String text) {
-			if (hiddenHtml == null) {
-				hiddenHtml = new HashMap<Surface, Element>();
-			}
-			// Caches the element for measuring height so we don't need to 
-			// reattach it every time.
-			Element elem = hiddenHtml.get(surface);
-			if (elem == null) {
-				elem = DOM.createDiv();
-				elem.setInnerText("o");
-				Style style = elem.getStyle();
-				style.setProperty("margin", "0px");
-				style.setProperty("border", "0px");
-				style.setProperty("padding", "0px");
-				surface.getElement().appendChild(elem);
-				hiddenHtml.put(surface, elem);
-			}
-			UIObject.setVisible(elem, true);
-			// All characters in the same font have the same height property, so we 
-			// only need to use an arbitrary character to figure out the height, 
-			// avoiding performance hit caused by long text.
-			elem.getStyle().setProperty("font", surface.getFont());
-			double height = elem.getOffsetHeight();
-			UIObject.setVisible(elem, false);
-			return height;
+			return DEFAULT_TEXT_MEASURER.measureTextHeight(surface, text);
 		}
 	}
 }
@@ -0,0 +1,1149 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.canvas;
+
+import gwt.g2d.client.media.VideoElement;
+
+import java.util.Arrays;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * A 2D context that records drawing commands into a flat command buffer
+ * instead of forwarding each of them to the canvas.
+ * <p>
+ * Each command is stored as an opcode followed by its numeric arguments in a
+ * double array; strings, images and styles are stored in a separate reference
+ * array. The buffer is replayed onto the underlying {@link ContextImpl} in a
+ * single native loop when {@link #flush()} is called, or automatically at the
+ * end of the current browser event loop.
+ * <p>
+ * Methods that return a value depending on the state of the canvas (such as
+ * {@link #getImageData(double, double, double, double)} or
+ * {@link #measureText(String)}) flush the buffer before querying the canvas,
+ * so the observable behavior is the same as drawing directly. Likewise, image
+ * data, canvases and videos may change after the call that draws them returns,
+ * so {@link #putImageData} and the {@code drawImage} methods taking a canvas or
+ * a video flush the buffer and draw immediately; only images are recorded.
+ * <p>
+ * In hosted mode, Java arrays cannot be read from JavaScript, so the buffer is
+ * replayed with one JSNI call per command instead.
+ */
+public class BatchedContext implements Context {
+	// Opcodes, the native replay loop in flushImpl must be kept in sync.
+	private static final int ARC = 0;
+	private static final int ARC_TO = 1;
+	private static final int BEGIN_PATH = 2;
+	private static final int BEZIER_CURVE_TO = 3;
+	private static final int CLEAR = 4;
+	private static final int CLEAR_RECT = 5;
+	private static final int CLIP = 6;
+	private static final int CLOSE_PATH = 7;
+	private static final int DRAW_IMAGE = 8;
+	private static final int DRAW_IMAGE_SCALED = 9;
+	private static final int DRAW_IMAGE_REGION = 10;
+	private static final int FILL = 11;
+	private static final int FILL_RECT = 12;
+	private static final int FILL_TEXT = 13;
+	private static final int FILL_TEXT_MAX_WIDTH = 14;
+	private static final int LINE_TO = 15;
+	private static final int MOVE_TO = 16;
+	private static final int QUADRATIC_CURVE_TO = 18;
+	private static final int RECT = 19;
+	private static final int RESTORE = 20;
+	private static final int ROTATE = 21;
+	private static final int SAVE = 22;
+	private static final int SCALE = 23;
+	private static final int SET_FILL_STYLE_COLOR = 24;
+	private static final int SET_FILL_STYLE_GRADIENT = 25;
+	private static final int SET_FILL_STYLE_PATTERN = 26;
+	private static final int SET_FONT = 27;
+	private static final int SET_GLOBAL_ALPHA = 28;
+	private static final int SET_GLOBAL_COMPOSITE_OPERATION = 29;
+	private static final int SET_LINE_CAP = 30;
+	private static final int SET_LINE_JOIN = 31;
+	private static final int SET_LINE_WIDTH = 32;
+	private static final int SET_MITER_LIMIT = 33;
+	private static final int SET_SHADOW_BLUR = 34;
+	private static final int SET_SHADOW_COLOR = 35;
+	private static final int SET_SHADOW_OFFSET_X = 36;
+	private static final int SET_SHADOW_OFFSET_Y = 37;
+	private static final int SET_STROKE_STYLE_COLOR = 38;
+	private static final int SET_STROKE_STYLE_GRADIENT = 39;
+	private static final int SET_STROKE_STYLE_PATTERN = 40;
+	private static final int SET_TEXT_ALIGN = 41;
+	private static final int SET_TEXT_BASELINE = 42;
+	private static final int SET_TRANSFORM = 43;
+	private static final int STROKE = 44;
+	private static final int STROKE_RECT = 45;
+	private static final int STROKE_TEXT = 46;
+	private static final int STROKE_TEXT_MAX_WIDTH = 47;
+	private static final int TRANSFORM = 48;
+	private static final int TRANSLATE = 49;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private final ContextImpl context;
+	private double[] commands;
+	private Object[] references;
+	private int commandCount, referenceCount;
+	private boolean autoFlush = true;
+	private boolean flushScheduled;
+	private final ScheduledCommand flushCommand = new ScheduledCommand() {
+		@Override
+		public void execute() {
+			flushScheduled = false;
+			flush();
+		}
+	};
+
+	/**
+	 * Creates a batched context that replays its commands onto the given
+	 * native context.
+	 */
+	public BatchedContext(ContextImpl context) {
+		this(context, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a batched context that replays its commands onto the given
+	 * native context.
+	 *
+	 * @param context the native context to draw onto.
+	 * @param initialCapacity the initial number of doubles in the command buffer.
+	 */
+	public BatchedContext(ContextImpl context, int initialCapacity) {
+		this.context = context;
+		commands = new double[Math.max(16, initialCapacity)];
+		references = new Object[Math.max(16, initialCapacity / 4)];
+	}
+
+	/**
+	 * Gets the native context that the commands are replayed onto.
+	 */
+	public final ContextImpl getNativeContext() {
+		return context;
+	}
+
+	/**
+	 * Sets whether the recorded commands are automatically flushed at the end
+	 * of the current browser event loop. Default: true.
+	 */
+	public final void setAutoFlush(boolean autoFlush) {
+		this.autoFlush = autoFlush;
+	}
+
+	/**
+	 * Gets whether the recorded commands are automatically flushed at the end
+	 * of the current browser event loop.
+	 */
+	public final boolean isAutoFlush() {
+		return autoFlush;
+	}
+
+	/**
+	 * Gets the number of doubles currently recorded in the command buffer.
+	 */
+	public final int getBufferedCommandSize() {
+		return commandCount;
+	}
+
+	/**
+	 * Replays all recorded commands onto the native context and empties the
+	 * command buffer.
+	 */
+	public final void flush() {
+		if (commandCount == 0) {
+			return;
+		}
+		if (GWT.isScript()) {
+			flushImpl(context, commands, commandCount, references);
+		} else {
+			replay(context);
+		}
+		commandCount = 0;
+		// Releases the references so that images and styles can be collected.
+		Arrays.fill(references, 0, referenceCount, null);
+		referenceCount = 0;
+	}
+
+	/**
+	 * Discards all recorded commands without drawing them.
+	 */
+	public final void discard() {
+		commandCount = 0;
+		Arrays.fill(references, 0, referenceCount, null);
+		referenceCount = 0;
+	}
+
+	@Override
+	public void arc(double x, double y, double radius, double startAngle,
+			double endAngle, boolean antiClockwise) {
+		ensureCapacity(7);
+		commands[commandCount++] = ARC;
+		commands[commandCount++] = x;
+		commands[commandCount++] = y;
+		commands[commandCount++] = radius;
+		commands[commandCount++] = startAngle;
+		commands[commandCount++] = endAngle;
+		commands[commandCount++] = antiClockwise ? 1 : 0;
+	}
+
+	@Override
+	public void arcTo(double x1, double y1, double x2, double y2, double radius) {
+		ensureCapacity(6);
+		commands[commandCount++] = ARC_TO;
+		commands[commandCount++] = x1;
+		commands[commandCount++] = y1;
+		commands[commandCount++] = x2;
+		commands[commandCount++] = y2;
+		commands[commandCount++] = radius;
+	}
+
+	@Override
+	public void beginPath() {
+		record(BEGIN_PATH);
+	}
+
+	@Override
+	public void bezierCurveTo(double cp1x, double cp1y, double cp2x,
+			double cp2y, double x, double y) {
+		ensureCapacity(7);
+		commands[commandCount++] = BEZIER_CURVE_TO;
+		commands[commandCount++] = cp1x;
+		commands[commandCount++] = cp1y;
+		commands[commandCount++] = cp2x;
+		commands[commandCount++] = cp2y;
+		commands[commandCount++] = x;
+		commands[commandCount++] = y;
+	}
+
+	@Override
+	public void clear() {
+		record(CLEAR);
+	}
+
+	@Override
+	public void clearRect(double x, double y, double width, double height) {
+		record(CLEAR_RECT, x, y, width, height);
+	}
+
+	@Override
+	public void clip() {
+		record(CLIP);
+	}
+
+	@Override
+	public void closePath() {
+		record(CLOSE_PATH);
+	}
+
+	@Override
+	public ImageData createImageData(ImageData imageData) {
+		return context.createImageData(imageData);
+	}
+
+	@Override
+	public ImageData createImageData(int width, int height) {
+		return context.createImageData(width, height);
+	}
+
+	@Override
+	public CanvasGradient createLinearGradient(double x0, double y0, double x1,
+			double y1) {
+		return context.createLinearGradient(x0, y0, x1, y1);
+	}
+
+	@Override
+	public CanvasPattern createPattern(CanvasElement image, String repetition) {
+		return context.createPattern(image, repetition);
+	}
+
+	@Override
+	public CanvasPattern createPattern(ImageElement image, String repetition) {
+		return context.createPattern(image, repetition);
+	}
+
+	@Override
+	public CanvasPattern createPattern(VideoElement image, String repetition) {
+		return context.createPattern(image, repetition);
+	}
+
+	@Override
+	public CanvasGradient createRadialGradient(double x0, double y0,
+			double radius0, double x1, double y1, double radius1) {
+		return context.createRadialGradient(x0, y0, radius0, x1, y1, radius1);
+	}
+
+	@Override
+	public boolean drawFocusRing(Element element, double x, double y) {
+		flush();
+		return context.drawFocusRing(element, x, y);
+	}
+
+	@Override
+	public boolean drawFocusRing(Element element, double x, double y,
+			boolean canDrawCustom) {
+		flush();
+		return context.drawFocusRing(element, x, y, canDrawCustom);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double x, double y) {
+		// The canvas may be drawn on before the buffer is flushed.
+		flush();
+		context.drawImage(image, x, y);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double x, double y, double width,
+			double height) {
+		flush();
+		context.drawImage(image, x, y, width, height);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		flush();
+		context.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+				destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	@Override
+	public void drawImage(ImageElement image, double x, double y) {
+		recordDrawImage(image, x, y);
+	}
+
+	@Override
+	public void drawImage(ImageElement image, double x, double y, double width,
+			double height) {
+		recordDrawImage(image, x, y, width, height);
+	}
+
+	@Override
+	public void drawImage(ImageElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		recordDrawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+				destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	@Override
+	public void drawImage(VideoElement image, double x, double y) {
+		// The frame of the video may change before the buffer is flushed.
+		flush();
+		context.drawImage(image, x, y);
+	}
+
+	@Override
+	public void drawImage(VideoElement image, double x, double y, double width,
+			double height) {
+		flush();
+		context.drawImage(image, x, y, width, height);
+	}
+
+	@Override
+	public void drawImage(VideoElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		flush();
+		context.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+				destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	@Override
+	public void fill() {
+		record(FILL);
+	}
+
+	@Override
+	public void fillRect(double x, double y, double width, double height) {
+		record(FILL_RECT, x, y, width, height);
+	}
+
+	@Override
+	public void fillText(String text, double x, double y) {
+		recordReference(FILL_TEXT, text);
+		record(x, y);
+	}
+
+	@Override
+	public void fillText(String text, double x, double y, double maxWidth) {
+		recordReference(FILL_TEXT_MAX_WIDTH, text);
+		record(x, y);
+		record(maxWidth);
+	}
+
+	@Override
+	public String getFont() {
+		flush();
+		return context.getFont();
+	}
+
+	@Override
+	public double getGlobalAlpha() {
+		flush();
+		return context.getGlobalAlpha();
+	}
+
+	@Override
+	public String getGlobalCompositeOperation() {
+		flush();
+		return context.getGlobalCompositeOperation();
+	}
+
+	@Override
+	public ImageData getImageData(double x, double y, double width,
+			double height) {
+		flush();
+		return context.getImageData(x, y, width, height);
+	}
+
+	@Override
+	public String getLineCap() {
+		flush();
+		return context.getLineCap();
+	}
+
+	@Override
+	public String getLineJoin() {
+		flush();
+		return context.getLineJoin();
+	}
+
+	@Override
+	public double getLineWidth() {
+		flush();
+		return context.getLineWidth();
+	}
+
+	@Override
+	public double getMiterLimit() {
+		flush();
+		return context.getMiterLimit();
+	}
+
+	@Override
+	public double getShadowBlur() {
+		flush();
+		return context.getShadowBlur();
+	}
+
+	@Override
+	public String getShadowColor() {
+		flush();
+		return context.getShadowColor();
+	}
+
+	@Override
+	public double getShadowOffsetX() {
+		flush();
+		return context.getShadowOffsetX();
+	}
+
+	@Override
+	public double getShadowOffsetY() {
+		flush();
+		return context.getShadowOffsetY();
+	}
+
+	@Override
+	public String getTextAlign() {
+		flush();
+		return context.getTextAlign();
+	}
+
+	@Override
+	public String getTextBaseline() {
+		flush();
+		return context.getTextBaseline();
+	}
+
+	@Override
+	public boolean isPointInPath(double x, double y) {
+		flush();
+		return context.isPointInPath(x, y);
+	}
+
+	@Override
+	public void lineTo(double x, double y) {
+		ensureCapacity(3);
+		commands[commandCount++] = LINE_TO;
+		commands[commandCount++] = x;
+		commands[commandCount++] = y;
+	}
+
+	@Override
+	public double measureText(String text) {
+		flush();
+		return context.measureText(text);
+	}
+
+	@Override
+	public void moveTo(double x, double y) {
+		ensureCapacity(3);
+		commands[commandCount++] = MOVE_TO;
+		commands[commandCount++] = x;
+		commands[commandCount++] = y;
+	}
+
+	@Override
+	public void putImageData(ImageData imageData, double x, double y,
+			double dirtyX, double dirtyY, double dirtyWidth, double dirtyHeight) {
+		// The pixels of the image data may be changed after this call returns.
+		flush();
+		context.putImageData(imageData, x, y, dirtyX, dirtyY, dirtyWidth,
+				dirtyHeight);
+	}
+
+	@Override
+	public void quadraticCurveTo(double cpx, double cpy, double x, double y) {
+		record(QUADRATIC_CURVE_TO, cpx, cpy, x, y);
+	}
+
+	@Override
+	public void rect(double x, double y, double w, double h) {
+		record(RECT, x, y, w, h);
+	}
+
+	@Override
+	public void restore() {
+		record(RESTORE);
+	}
+
+	@Override
+	public void rotate(double angle) {
+		ensureCapacity(2);
+		commands[commandCount++] = ROTATE;
+		commands[commandCount++] = angle;
+	}
+
+	@Override
+	public void save() {
+		record(SAVE);
+	}
+
+	@Override
+	public void scale(double x, double y) {
+		ensureCapacity(3);
+		commands[commandCount++] = SCALE;
+		commands[commandCount++] = x;
+		commands[commandCount++] = y;
+	}
+
+	@Override
+	public void setFillStyle(CanvasGradient gradient) {
+		recordReference(SET_FILL_STYLE_GRADIENT, gradient);
+	}
+
+	@Override
+	public void setFillStyle(CanvasPattern pattern) {
+		recordReference(SET_FILL_STYLE_PATTERN, pattern);
+	}
+
+	@Override
+	public void setFillStyle(String color) {
+		recordReference(SET_FILL_STYLE_COLOR, color);
+	}
+
+	@Override
+	public void setFont(String font) {
+		recordReference(SET_FONT, font);
+	}
+
+	@Override
+	public void setGlobalAlpha(double globalAlpha) {
+		recordValue(SET_GLOBAL_ALPHA, globalAlpha);
+	}
+
+	@Override
+	public void setGlobalCompositeOperation(String globalCompositeOperation) {
+		recordReference(SET_GLOBAL_COMPOSITE_OPERATION, globalCompositeOperation);
+	}
+
+	@Override
+	public void setLineCap(String lineCap) {
+		recordReference(SET_LINE_CAP, lineCap);
+	}
+
+	@Override
+	public void setLineJoin(String lineJoin) {
+		recordReference(SET_LINE_JOIN, lineJoin);
+	}
+
+	@Override
+	public void setLineWidth(double lineWidth) {
+		recordValue(SET_LINE_WIDTH, lineWidth);
+	}
+
+	@Override
+	public void setMiterLimit(double miterLimit) {
+		recordValue(SET_MITER_LIMIT, miterLimit);
+	}
+
+	@Override
+	public void setShadowBlur(double shadowBlur) {
+		recordValue(SET_SHADOW_BLUR, shadowBlur);
+	}
+
+	@Override
+	public void setShadowColor(String shadowColor) {
+		recordReference(SET_SHADOW_COLOR, shadowColor);
+	}
+
+	@Override
+	public void setShadowOffsetX(double shadowOffsetX) {
+		recordValue(SET_SHADOW_OFFSET_X, shadowOffsetX);
+	}
+
+	@Override
+	public void setShadowOffsetY(double shadowOffsetY) {
+		recordValue(SET_SHADOW_OFFSET_Y, shadowOffsetY);
+	}
+
+	@Override
+	public void setStrokeStyle(CanvasGradient gradient) {
+		recordReference(SET_STROKE_STYLE_GRADIENT, gradient);
+	}
+
+	@Override
+	public void setStrokeStyle(CanvasPattern pattern) {
+		recordReference(SET_STROKE_STYLE_PATTERN, pattern);
+	}
+
+	@Override
+	public void setStrokeStyle(String color) {
+		recordReference(SET_STROKE_STYLE_COLOR, color);
+	}
+
+	@Override
+	public void setTextAlign(String textAlign) {
+		recordReference(SET_TEXT_ALIGN, textAlign);
+	}
+
+	@Override
+	public void setTextBaseline(String textBaseline) {
+		recordReference(SET_TEXT_BASELINE, textBaseline);
+	}
+
+	@Override
+	public void setTransform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		recordMatrix(SET_TRANSFORM, m11, m12, m21, m22, dx, dy);
+	}
+
+	@Override
+	public void stroke() {
+		record(STROKE);
+	}
+
+	@Override
+	public void strokeRect(double x, double y, double width, double height) {
+		record(STROKE_RECT, x, y, width, height);
+	}
+
+	@Override
+	public void strokeText(String text, double x, double y) {
+		recordReference(STROKE_TEXT, text);
+		record(x, y);
+	}
+
+	@Override
+	public void strokeText(String text, double x, double y, double maxWidth) {
+		recordReference(STROKE_TEXT_MAX_WIDTH, text);
+		record(x, y);
+		record(maxWidth);
+	}
+
+	@Override
+	public void transform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		recordMatrix(TRANSFORM, m11, m12, m21, m22, dx, dy);
+	}
+
+	@Override
+	public void translate(double x, double y) {
+		ensureCapacity(3);
+		commands[commandCount++] = TRANSLATE;
+		commands[commandCount++] = x;
+		commands[commandCount++] = y;
+	}
+
+	/**
+	 * Makes sure that the command buffer has room for the given number of
+	 * doubles, and schedules the automatic flush if this is the first command
+	 * since the last flush.
+	 */
+	private void ensureCapacity(int size) {
+		if (commandCount + size > commands.length) {
+			double[] newCommands = new double[Math.max(commands.length * 2,
+					commandCount + size)];
+			System.arraycopy(commands, 0, newCommands, 0, commandCount);
+			commands = newCommands;
+		}
+		if (commandCount == 0 && autoFlush && !flushScheduled) {
+			flushScheduled = true;
+			Scheduler.get().scheduleFinally(flushCommand);
+		}
+	}
+
+	private void record(int opcode) {
+		ensureCapacity(1);
+		commands[commandCount++] = opcode;
+	}
+
+	private void record(double value) {
+		ensureCapacity(1);
+		commands[commandCount++] = value;
+	}
+
+	private void record(double value1, double value2) {
+		ensureCapacity(2);
+		commands[commandCount++] = value1;
+		commands[commandCount++] = value2;
+	}
+
+	private void record(double value1, double value2, double value3,
+			double value4) {
+		ensureCapacity(4);
+		commands[commandCount++] = value1;
+		commands[commandCount++] = value2;
+		commands[commandCount++] = value3;
+		commands[commandCount++] = value4;
+	}
+
+	private void record(int opcode, double value1, double value2, double value3,
+			double value4) {
+		ensureCapacity(5);
+		commands[commandCount++] = opcode;
+		commands[commandCount++] = value1;
+		commands[commandCount++] = value2;
+		commands[commandCount++] = value3;
+		commands[commandCount++] = value4;
+	}
+
+	private void recordValue(int opcode, double value) {
+		ensureCapacity(2);
+		commands[commandCount++] = opcode;
+		commands[commandCount++] = value;
+	}
+
+	private void recordMatrix(int opcode, double m11, double m12, double m21,
+			double m22, double dx, double dy) {
+		ensureCapacity(7);
+		commands[commandCount++] = opcode;
+		commands[commandCount++] = m11;
+		commands[commandCount++] = m12;
+		commands[commandCount++] = m21;
+		commands[commandCount++] = m22;
+		commands[commandCount++] = dx;
+		commands[commandCount++] = dy;
+	}
+
+	private void recordReference(int opcode, Object reference) {
+		record(opcode);
+		if (referenceCount == references.length) {
+			Object[] newReferences = new Object[references.length * 2];
+			System.arraycopy(references, 0, newReferences, 0, referenceCount);
+			references = newReferences;
+		}
+		references[referenceCount++] = reference;
+	}
+
+	private void recordDrawImage(Element image, double x, double y) {
+		recordReference(DRAW_IMAGE, image);
+		record(x, y);
+	}
+
+	private void recordDrawImage(Element image, double x, double y,
+			double width, double height) {
+		recordReference(DRAW_IMAGE_SCALED, image);
+		record(x, y, width, height);
+	}
+
+	private void recordDrawImage(Element image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		recordReference(DRAW_IMAGE_REGION, image);
+		record(sourceX, sourceY, sourceWidth, sourceHeight);
+		record(destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	/**
+	 * Replays the command buffer one command at a time. This is used in hosted
+	 * mode where the buffer cannot be handed to JavaScript as a whole.
+	 */
+	private void replay(ContextImpl ctx) {
+		double[] c = commands;
+		Object[] r = references;
+		int i = 0, ri = 0;
+		while (i < commandCount) {
+			switch ((int) c[i++]) {
+				case ARC:
+					ctx.arc(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5] != 0);
+					i += 6;
+					break;
+				case ARC_TO:
+					ctx.arcTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4]);
+					i += 5;
+					break;
+				case BEGIN_PATH:
+					ctx.beginPath();
+					break;
+				case BEZIER_CURVE_TO:
+					ctx.bezierCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case CLEAR:
+					ctx.clear();
+					break;
+				case CLEAR_RECT:
+					ctx.clearRect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case CLIP:
+					ctx.clip();
+					break;
+				case CLOSE_PATH:
+					ctx.closePath();
+					break;
+				case DRAW_IMAGE:
+					ctx.drawImageImpl((Element) r[ri++], c[i], c[i + 1]);
+					i += 2;
+					break;
+				case DRAW_IMAGE_SCALED:
+					ctx.drawImageImpl((Element) r[ri++], c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case DRAW_IMAGE_REGION:
+					ctx.drawImageImpl((Element) r[ri++], c[i], c[i + 1], c[i + 2], c[i + 3],
+							c[i + 4], c[i + 5], c[i + 6], c[i + 7]);
+					i += 8;
+					break;
+				case FILL:
+					ctx.fill();
+					break;
+				case FILL_RECT:
+					ctx.fillRect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case FILL_TEXT:
+					ctx.fillText((String) r[ri++], c[i], c[i + 1]);
+					i += 2;
+					break;
+				case FILL_TEXT_MAX_WIDTH:
+					ctx.fillText((String) r[ri++], c[i], c[i + 1], c[i + 2]);
+					i += 3;
+					break;
+				case LINE_TO:
+					ctx.lineTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case MOVE_TO:
+					ctx.moveTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case QUADRATIC_CURVE_TO:
+					ctx.quadraticCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case RECT:
+					ctx.rect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case RESTORE:
+					ctx.restore();
+					break;
+				case ROTATE:
+					ctx.rotate(c[i++]);
+					break;
+				case SAVE:
+					ctx.save();
+					break;
+				case SCALE:
+					ctx.scale(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case SET_FILL_STYLE_COLOR:
+					ctx.setFillStyle((String) r[ri++]);
+					break;
+				case SET_FILL_STYLE_GRADIENT:
+					ctx.setFillStyle((CanvasGradient) r[ri++]);
+					break;
+				case SET_FILL_STYLE_PATTERN:
+					ctx.setFillStyle((CanvasPattern) r[ri++]);
+					break;
+				case SET_FONT:
+					ctx.setFont((String) r[ri++]);
+					break;
+				case SET_GLOBAL_ALPHA:
+					ctx.setGlobalAlpha(c[i++]);
+					break;
+				case SET_GLOBAL_COMPOSITE_OPERATION:
+					ctx.setGlobalCompositeOperation((String) r[ri++]);
+					break;
+				case SET_LINE_CAP:
+					ctx.setLineCap((String) r[ri++]);
+					break;
+				case SET_LINE_JOIN:
+					ctx.setLineJoin((String) r[ri++]);
+					break;
+				case SET_LINE_WIDTH:
+					ctx.setLineWidth(c[i++]);
+					break;
+				case SET_MITER_LIMIT:
+					ctx.setMiterLimit(c[i++]);
+					break;
+				case SET_SHADOW_BLUR:
+					ctx.setShadowBlur(c[i++]);
+					break;
+				case SET_SHADOW_COLOR:
+					ctx.setShadowColor((String) r[ri++]);
+					break;
+				case SET_SHADOW_OFFSET_X:
+					ctx.setShadowOffsetX(c[i++]);
+					break;
+				case SET_SHADOW_OFFSET_Y:
+					ctx.setShadowOffsetY(c[i++]);
+					break;
+				case SET_STROKE_STYLE_COLOR:
+					ctx.setStrokeStyle((String) r[ri++]);
+					break;
+				case SET_STROKE_STYLE_GRADIENT:
+					ctx.setStrokeStyle((CanvasGradient) r[ri++]);
+					break;
+				case SET_STROKE_STYLE_PATTERN:
+					ctx.setStrokeStyle((CanvasPattern) r[ri++]);
+					break;
+				case SET_TEXT_ALIGN:
+					ctx.setTextAlign((String) r[ri++]);
+					break;
+				case SET_TEXT_BASELINE:
+					ctx.setTextBaseline((String) r[ri++]);
+					break;
+				case SET_TRANSFORM:
+					ctx.setTransform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case STROKE:
+					ctx.stroke();
+					break;
+				case STROKE_RECT:
+					ctx.strokeRect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case STROKE_TEXT:
+					ctx.strokeText((String) r[ri++], c[i], c[i + 1]);
+					i += 2;
+					break;
+				case STROKE_TEXT_MAX_WIDTH:
+					ctx.strokeText((String) r[ri++], c[i], c[i + 1], c[i + 2]);
+					i += 3;
+					break;
+				case TRANSFORM:
+					ctx.transform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case TRANSLATE:
+					ctx.translate(c[i], c[i + 1]);
+					i += 2;
+					break;
+				default:
+					throw new IllegalStateException("Unknown opcode: " + c[i - 1]);
+			}
+		}
+	}
+
+	/**
+	 * Replays the command buffer in a single native loop. In web mode, Java
+	 * arrays are plain JavaScript arrays, so they can be read directly.
+	 */
+	private static native void flushImpl(ContextImpl ctx, double[] c, int count,
+			Object[] r) /*-{
+		var i = 0, ri = 0;
+		while (i < count) {
+			switch (c[i++]) {
+				case 0:
+					ctx.arc(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5] != 0);
+					i += 6;
+					break;
+				case 1:
+					ctx.arcTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4]);
+					i += 5;
+					break;
+				case 2:
+					ctx.beginPath();
+					break;
+				case 3:
+					ctx.bezierCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case 4:
+					ctx.clearRect(-1e4, -1e4, 2e4, 2e4);
+					break;
+				case 5:
+					ctx.clearRect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 6:
+					ctx.clip();
+					break;
+				case 7:
+					ctx.closePath();
+					break;
+				case 8:
+					ctx.drawImage(r[ri++], c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 9:
+					ctx.drawImage(r[ri++], c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 10:
+					ctx.drawImage(r[ri++], c[i], c[i + 1], c[i + 2], c[i + 3],
+							c[i + 4], c[i + 5], c[i + 6], c[i + 7]);
+					i += 8;
+					break;
+				case 11:
+					ctx.fill();
+					break;
+				case 12:
+					ctx.fillRect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 13:
+					ctx.fillText(r[ri++], c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 14:
+					ctx.fillText(r[ri++], c[i], c[i + 1], c[i + 2]);
+					i += 3;
+					break;
+				case 15:
+					ctx.lineTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 16:
+					ctx.moveTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 18:
+					ctx.quadraticCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 19:
+					ctx.rect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 20:
+					ctx.restore();
+					break;
+				case 21:
+					ctx.rotate(c[i++]);
+					break;
+				case 22:
+					ctx.save();
+					break;
+				case 23:
+					ctx.scale(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 24:
+				case 25:
+				case 26:
+					ctx.fillStyle = r[ri++];
+					break;
+				case 27:
+					ctx.font = r[ri++];
+					break;
+				case 28:
+					ctx.globalAlpha = c[i++];
+					break;
+				case 29:
+					ctx.globalCompositeOperation = r[ri++];
+					break;
+				case 30:
+					ctx.lineCap = r[ri++];
+					break;
+				case 31:
+					ctx.lineJoin = r[ri++];
+					break;
+				case 32:
+					ctx.lineWidth = c[i++];
+					break;
+				case 33:
+					ctx.miterLimit = c[i++];
+					break;
+				case 34:
+					ctx.shadowBlur = c[i++];
+					break;
+				case 35:
+					ctx.shadowColor = r[ri++];
+					break;
+				case 36:
+					ctx.shadowOffsetX = c[i++];
+					break;
+				case 37:
+					ctx.shadowOffsetY = c[i++];
+					break;
+				case 38:
+				case 39:
+				case 40:
+					ctx.strokeStyle = r[ri++];
+					break;
+				case 41:
+					ctx.textAlign = r[ri++];
+					break;
+				case 42:
+					ctx.textBaseline = r[ri++];
+					break;
+				case 43:
+					ctx.setTransform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case 44:
+					ctx.stroke();
+					break;
+				case 45:
+					ctx.strokeRect(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 46:
+					ctx.strokeText(r[ri++], c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 47:
+					ctx.strokeText(r[ri++], c[i], c[i + 1], c[i + 2]);
+					i += 3;
+					break;
+				case 48:
+					ctx.transform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case 49:
+					ctx.translate(c[i], c[i + 1]);
+					i += 2;
+					break;
+			}
+		}
+	}-*/;
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.canvas;
+
+import gwt.g2d.client.graphics.Composition;
+
+/**
+ * Blends non-premultiplied ARGB pixels with the Porter-Duff operators of
+ * {@link Composition}, for {@link ImageDataAdapter} and the software
+ * rasterizer.
+ *
+ * @see <a href="http://dev.w3.org/html5/spec/Overview.html#compositing">
+ * http://dev.w3.org/html5/spec/Overview.html#compositing</a>
+ */
+public final class Compositor {
+	private Compositor() {
+	}
+
+	/**
+	 * Composites a source pixel onto a destination pixel.
+	 *
+	 * @param composition the compositing operator.
+	 * @param source the source pixel, in non-premultiplied ARGB.
+	 * @param destination the destination pixel, in non-premultiplied ARGB.
+	 * @param coverage the fraction of the pixel covered by the source [0, 1].
+	 * 				The result is interpolated between the destination and the
+	 * 				fully covered result.
+	 * @return the resulting pixel, in non-premultiplied ARGB.
+	 */
+	public static int composite(Composition composition, int source,
+			int destination, double coverage) {
+		if (coverage <= 0) {
+			return destination;
+		}
+		int sourceAlpha = source >>> 24;
+		if (coverage >= 1) {
+			if (composition == Composition.COPY
+					|| (sourceAlpha == 0xFF && composition == Composition.SOURCE_OVER)) {
+				return source;
+			}
+			coverage = 1;
+		}
+		double as = sourceAlpha / 255.0;
+		double ad = (destination >>> 24) / 255.0;
+		if (composition == Composition.SOURCE_OVER) {
+			// Coverage can be folded into the source alpha for source-over.
+			as *= coverage;
+			double ao = as + ad * (1 - as);
+			if (ao <= 0) {
+				return 0;
+			}
+			double fd = ad * (1 - as);
+			return pack(ao,
+					(((source >> 16) & 0xFF) * as + ((destination >> 16) & 0xFF) * fd) / ao,
+					(((source >> 8) & 0xFF) * as + ((destination >> 8) & 0xFF) * fd) / ao,
+					((source & 0xFF) * as + (destination & 0xFF) * fd) / ao);
+		}
+		double fa, fb;
+		switch (composition) {
+			case SOURCE_ATOP:
+				fa = ad;
+				fb = 1 - as;
+				break;
+			case SOURCE_IN:
+				fa = ad;
+				fb = 0;
+				break;
+			case SOURCE_OUT:
+				fa = 1 - ad;
+				fb = 0;
+				break;
+			case DESTINATION_ATOP:
+				fa = 1 - ad;
+				fb = as;
+				break;
+			case DESTINATION_IN:
+				fa = 0;
+				fb = as;
+				break;
+			case DESTINATION_OUT:
+				fa = 0;
+				fb = 1 - as;
+				break;
+			case DESTINATION_OVER:
+				fa = 1 - ad;
+				fb = 1;
+				break;
+			case LIGHTER:
+				fa = 1;
+				fb = 1;
+				break;
+			case COPY:
+				fa = 1;
+				fb = 0;
+				break;
+			case XOR:
+				fa = 1 - ad;
+				fb = 1 - as;
+				break;
+			default:
+				fa = 1;
+				fb = 1 - as;
+				break;
+		}
+		// Premultiplied result of the operator.
+		double sa = as * fa, da = ad * fb;
+		double ao = Math.min(1, sa + da);
+		double r = Math.min(255, ((source >> 16) & 0xFF) * sa
+				+ ((destination >> 16) & 0xFF) * da);
+		double g = Math.min(255, ((source >> 8) & 0xFF) * sa
+				+ ((destination >> 8) & 0xFF) * da);
+		double b = Math.min(255, (source & 0xFF) * sa + (destination & 0xFF) * da);
+		if (coverage < 1) {
+			// Interpolates with the untouched destination.
+			double keep = 1 - coverage;
+			ao = ao * coverage + ad * keep;
+			r = r * coverage + ((destination >> 16) & 0xFF) * ad * keep;
+			g = g * coverage + ((destination >> 8) & 0xFF) * ad * keep;
+			b = b * coverage + (destination & 0xFF) * ad * keep;
+		}
+		if (ao <= 0) {
+			return 0;
+		}
+		return pack(ao, r / ao, g / ao, b / ao);
+	}
+
+	/**
+	 * Packs the given channels into a non-premultiplied ARGB pixel.
+	 *
+	 * @param alpha alpha channel [0.0, 1.0]
+	 * @param red red channel [0.0, 255.0]
+	 * @param green green channel [0.0, 255.0]
+	 * @param blue blue channel [0.0, 255.0]
+	 */
+	public static int pack(double alpha, double red, double green, double blue) {
+		return (clamp(alpha * 255) << 24) | (clamp(red) << 16)
+				| (clamp(green) << 8) | clamp(blue);
+	}
+
+	private static int clamp(double value) {
+		int v = (int) (value + 0.5);
+		return v < 0 ? 0 : (v > 255 ? 255 : v);
+	}
+}
@@ -463,16 +463,16 @@ public final class ContextImpl extends JavaScriptObject implements Context {
 		this.translate(x, y);
 	}-*/;
 
-	private native void drawImageImpl(Element image, double dx, double dy) /*-{
+	native void drawImageImpl(Element image, double dx, double dy) /*-{
 		this.drawImage(image, dx, dy);
 	}-*/;
 
-	private native void drawImageImpl(Element image, double dx, double dy,
+	native void drawImageImpl(Element image, double dx, double dy,
 			double dWidth, double dHeight) /*-{
 		this.drawImage(image, dx, dy, dWidth, dHeight);
 	}-*/;
 
-	private native void drawImageImpl(Element image, double sx, double sy,
+	native void drawImageImpl(Element image, double sx, double sy,
 			double sWidth, double sHeight, double dx, double dy, double dWidth,
 			double dHeight) /*-{
 		this.drawImage(image, sx, sy, sWidth, sHeight, dx, dy, dWidth, dHeight);
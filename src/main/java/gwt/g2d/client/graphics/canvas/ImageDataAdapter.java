@@ -16,8 +16,12 @@
 package gwt.g2d.client.graphics.canvas;
 
 import gwt.g2d.client.graphics.Color;
+import gwt.g2d.client.graphics.Composition;
 import gwt.g2d.client.math.Vector2;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+
 /**
  * Adapter for accessing the image data object.
  * 
@@ -27,6 +31,7 @@ public final class ImageDataAdapter {
 	private final int width, height;
 	private final ImageData imageData;
 	private final CanvasPixelArray pixelData;
+	private final JavaScriptObject pixels32;
 	
 	/**
 	 * Casts the JavaScriptObject into an ImageData.
@@ -39,10 +44,12 @@ public final class ImageDataAdapter {
 		this.width = imageData.getWidth();
 		this.height = imageData.getHeight();
 		this.pixelData = imageData.getPixelArray();
+		this.pixels32 = GWT.isScript() ? createView(pixelData) : null;
 	}
 	
 	/**
-	 * Gets the color at the given position.
+	 * Gets the color at the given position. This allocates a color, consider 
+	 * {@link #getPixel(int, int)} to process many pixels.
 	 * 
 	 * @param x
 	 * @param y
@@ -259,6 +266,216 @@ public final class ImageDataAdapter {
 		setAlpha(position.getIntX(), position.getIntY(), value);
 	}
 	
+	/**
+	 * Checks whether the pixels are accessed through a 32-bit typed array view,
+	 * which is the case in compiled code on browsers that support typed arrays.
+	 * Otherwise, they are accessed one channel at a time.
+	 */
+	public boolean hasTypedArrayView() {
+		return pixels32 != null;
+	}
+	
+	/**
+	 * Gets the pixel at the given position.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return the pixel, in non-premultiplied ARGB.
+	 */
+	public int getPixel(int x, int y) {
+		if (pixels32 != null) {
+			return getPixelImpl(pixels32, y * width + x);
+		}
+		int index = getIndex(x, y);
+		return (pixelData.getData(index + 3) << 24)
+				| (pixelData.getData(index) << 16)
+				| (pixelData.getData(index + 1) << 8)
+				| pixelData.getData(index + 2);
+	}
+	
+	/**
+	 * Sets the pixel at the given position.
+	 * 
+	 * @param x
+	 * @param y
+	 * @param argb the pixel, in non-premultiplied ARGB.
+	 */
+	public void setPixel(int x, int y, int argb) {
+		if (pixels32 != null) {
+			setPixelImpl(pixels32, y * width + x, argb);
+			return;
+		}
+		int index = getIndex(x, y);
+		pixelData.setData(index, (argb >> 16) & 0xFF);
+		pixelData.setData(index + 1, (argb >> 8) & 0xFF);
+		pixelData.setData(index + 2, argb & 0xFF);
+		pixelData.setData(index + 3, argb >>> 24);
+	}
+	
+	/**
+	 * Copies a rectangle of pixels into an array, in non-premultiplied ARGB.
+	 * The rectangle must be inside of the image data.
+	 * 
+	 * @param x left of the rectangle.
+	 * @param y top of the rectangle.
+	 * @param w width of the rectangle.
+	 * @param h height of the rectangle.
+	 * @param pixels the array to copy the pixels into.
+	 * @param offset the index in the array of the top left pixel.
+	 * @param scanline the distance in the array between two rows.
+	 */
+	public void getPixels(int x, int y, int w, int h, int[] pixels, int offset, 
+			int scanline) {
+		checkRectangle(x, y, w, h);
+		if (GWT.isScript()) {
+			getPixelsImpl(pixelData, pixels32, width, x, y, w, h, pixels, offset, 
+					scanline);
+			return;
+		}
+		for (int j = 0; j < h; j++) {
+			for (int i = 0; i < w; i++) {
+				pixels[offset + j * scanline + i] = getPixel(x + i, y + j);
+			}
+		}
+	}
+	
+	/**
+	 * Copies an array of pixels, in non-premultiplied ARGB, into a rectangle of 
+	 * the image data. The rectangle must be inside of the image data.
+	 * 
+	 * @param x left of the rectangle.
+	 * @param y top of the rectangle.
+	 * @param w width of the rectangle.
+	 * @param h height of the rectangle.
+	 * @param pixels the array to copy the pixels from.
+	 * @param offset the index in the array of the top left pixel.
+	 * @param scanline the distance in the array between two rows.
+	 */
+	public void setPixels(int x, int y, int w, int h, int[] pixels, int offset, 
+			int scanline) {
+		checkRectangle(x, y, w, h);
+		if (GWT.isScript()) {
+			setPixelsImpl(pixelData, pixels32, width, x, y, w, h, pixels, offset, 
+					scanline);
+			return;
+		}
+		for (int j = 0; j < h; j++) {
+			for (int i = 0; i < w; i++) {
+				setPixel(x + i, y + j, pixels[offset + j * scanline + i]);
+			}
+		}
+	}
+	
+	/**
+	 * Copies a row of pixels into an array.
+	 * 
+	 * @param y the row to copy.
+	 * @param row the array to copy the row into, of at least width elements.
+	 */
+	public void getRow(int y, int[] row) {
+		getPixels(0, y, width, 1, row, 0, width);
+	}
+	
+	/**
+	 * Copies an array into a row of pixels.
+	 * 
+	 * @param y the row to copy into.
+	 * @param row the array to copy the row from, of at least width elements.
+	 */
+	public void setRow(int y, int[] row) {
+		setPixels(0, y, width, 1, row, 0, width);
+	}
+	
+	/**
+	 * Sets all the pixels to the given pixel.
+	 * 
+	 * @param argb the pixel, in non-premultiplied ARGB.
+	 */
+	public void fill(int argb) {
+		fillRectangle(0, 0, width, height, argb);
+	}
+	
+	/**
+	 * Sets the pixels of a rectangle to the given pixel. The rectangle is 
+	 * clipped to the image data.
+	 * 
+	 * @param argb the pixel, in non-premultiplied ARGB.
+	 */
+	public void fillRectangle(int x, int y, int w, int h, int argb) {
+		int left = Math.max(0, x), top = Math.max(0, y);
+		int right = Math.min(width, x + w), bottom = Math.min(height, y + h);
+		if (left >= right || top >= bottom) {
+			return;
+		}
+		if (GWT.isScript()) {
+			fillImpl(pixelData, pixels32, width, left, top, right - left, 
+					bottom - top, argb);
+			return;
+		}
+		for (int j = top; j < bottom; j++) {
+			for (int i = left; i < right; i++) {
+				setPixel(i, j, argb);
+			}
+		}
+	}
+	
+	/**
+	 * Copies a rectangle of pixels from another image data, which may be this
+	 * one, replacing the pixels under it.
+	 * 
+	 * @see #blit(ImageDataAdapter, int, int, int, int, int, int, Composition)
+	 */
+	public void blit(ImageDataAdapter source, int sourceX, int sourceY, 
+			int w, int h, int x, int y) {
+		blit(source, sourceX, sourceY, w, h, x, y, Composition.COPY);
+	}
+	
+	/**
+	 * Composites a rectangle of pixels from another image data, which may be 
+	 * this one, onto this image data with the given operator. The rectangle is 
+	 * clipped to both image data. The pixels are blended by 
+	 * {@link Compositor}, one row at a time.
+	 * 
+	 * @param source the image data to copy from.
+	 * @param sourceX left of the rectangle in the source.
+	 * @param sourceY top of the rectangle in the source.
+	 * @param w width of the rectangle.
+	 * @param h height of the rectangle.
+	 * @param x left of the rectangle in this image data.
+	 * @param y top of the rectangle in this image data.
+	 * @param composition the compositing operator.
+	 */
+	public void blit(ImageDataAdapter source, int sourceX, int sourceY, 
+			int w, int h, int x, int y, Composition composition) {
+		// Clips the rectangle to the source, then to the destination.
+		int dx = x - sourceX, dy = y - sourceY;
+		int left = Math.max(Math.max(0, sourceX), -dx);
+		int top = Math.max(Math.max(0, sourceY), -dy);
+		int right = Math.min(Math.min(source.width, sourceX + w), width - dx);
+		int bottom = Math.min(Math.min(source.height, sourceY + h), height - dy);
+		if (left >= right || top >= bottom) {
+			return;
+		}
+		int rowWidth = right - left;
+		int[] sourceRow = new int[rowWidth];
+		int[] row = composition == Composition.COPY ? null : new int[rowWidth];
+		// Copies bottom-up when moving pixels down within the same image data.
+		boolean upward = source == this && dy > 0;
+		for (int k = 0, n = bottom - top; k < n; k++) {
+			int j = upward ? bottom - 1 - k : top + k;
+			source.getPixels(left, j, rowWidth, 1, sourceRow, 0, rowWidth);
+			if (row == null) {
+				setPixels(left + dx, j + dy, rowWidth, 1, sourceRow, 0, rowWidth);
+			} else {
+				getPixels(left + dx, j + dy, rowWidth, 1, row, 0, rowWidth);
+				for (int i = 0; i < rowWidth; i++) {
+					row[i] = Compositor.composite(composition, sourceRow[i], row[i], 1);
+				}
+				setPixels(left + dx, j + dy, rowWidth, 1, row, 0, rowWidth);
+			}
+		}
+	}
+	
 	/**
 	 * Gets the image data as a JavaScriptObject.
 	 */
@@ -305,4 +522,107 @@ public final class ImageDataAdapter {
 	public int getHeight() {
 		return height;
 	}
+	
+	private void checkRectangle(int x, int y, int w, int h) {
+		if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > width 
+				|| y + h > height) {
+			throw new IndexOutOfBoundsException("Rectangle [" + x + ", " + y + ", "
+					+ w + ", " + h + "] is outside of the image data.");
+		}
+	}
+	
+	/**
+	 * Creates a 32-bit view of the pixels if the browser supports typed arrays 
+	 * and stores them in little-endian order, where a view element is ABGR.
+	 */
+	private static native JavaScriptObject createView(CanvasPixelArray data) /*-{
+		if (typeof Uint32Array == 'undefined' || !data.buffer) {
+			return null;
+		}
+		var probe = new Uint8Array(new Uint32Array([0x0A0B0C0D]).buffer);
+		if (probe[0] != 0x0D) {
+			return null;
+		}
+		return new Uint32Array(data.buffer, data.byteOffset, data.length >> 2);
+	}-*/;
+	
+	private static native int getPixelImpl(JavaScriptObject view, int index) /*-{
+		var v = view[index];
+		return (v & 0xFF00FF00) | ((v >> 16) & 0xFF) | ((v & 0xFF) << 16);
+	}-*/;
+	
+	private static native void setPixelImpl(JavaScriptObject view, int index, 
+			int p) /*-{
+		view[index] = (p & 0xFF00FF00) | ((p >> 16) & 0xFF) | ((p & 0xFF) << 16);
+	}-*/;
+	
+	private static native void getPixelsImpl(CanvasPixelArray data, 
+			JavaScriptObject view, int width, int x, int y, int w, int h, 
+			int[] out, int offset, int scanline) /*-{
+		for (var j = 0; j < h; j++) {
+			var s = (y + j) * width + x, o = offset + j * scanline;
+			if (view) {
+				for (var i = 0; i < w; i++) {
+					var v = view[s + i];
+					out[o + i] = (v & 0xFF00FF00) | ((v >> 16) & 0xFF) 
+							| ((v & 0xFF) << 16);
+				}
+			} else {
+				s *= 4;
+				for (var i = 0; i < w; i++, s += 4) {
+					out[o + i] = (data[s + 3] << 24) | (data[s] << 16) 
+							| (data[s + 1] << 8) | data[s + 2];
+				}
+			}
+		}
+	}-*/;
+	
+	private static native void setPixelsImpl(CanvasPixelArray data, 
+			JavaScriptObject view, int width, int x, int y, int w, int h, 
+			int[] pixels, int offset, int scanline) /*-{
+		for (var j = 0; j < h; j++) {
+			var s = (y + j) * width + x, o = offset + j * scanline;
+			if (view) {
+				for (var i = 0; i < w; i++) {
+					var p = pixels[o + i];
+					view[s + i] = (p & 0xFF00FF00) | ((p >> 16) & 0xFF) 
+							| ((p & 0xFF) << 16);
+				}
+			} else {
+				s *= 4;
+				for (var i = 0; i < w; i++, s += 4) {
+					var p = pixels[o + i];
+					data[s] = (p >> 16) & 0xFF;
+					data[s + 1] = (p >> 8) & 0xFF;
+					data[s + 2] = p & 0xFF;
+					data[s + 3] = p >>> 24;
+				}
+			}
+		}
+	}-*/;
+	
+	private static native void fillImpl(CanvasPixelArray data, 
+			JavaScriptObject view, int width, int x, int y, int w, int h, 
+			int p) /*-{
+		var r = (p >> 16) & 0xFF, g = (p >> 8) & 0xFF, b = p & 0xFF, a = p >>> 24;
+		var v = (p & 0xFF00FF00) | (r) | (b << 16);
+		for (var j = 0; j < h; j++) {
+			var s = (y + j) * width + x;
+			if (view && view.fill) {
+				view.fill(v, s, s + w);
+			} else if (view) {
+				for (var i = 0; i < w; i++) {
+					view[s + i] = v;
+				}
+			} else {
+				s *= 4;
+				for (var i = 0; i < w; i++, s += 4) {
+					data[s] = r;
+					data[s + 1] = g;
+					data[s + 2] = b;
+					data[s + 3] = a;
+				}
+			}
+		}
+	}-*/;
 }
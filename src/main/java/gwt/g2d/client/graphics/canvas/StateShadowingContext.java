@@ -0,0 +1,694 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.canvas;
+
+import gwt.g2d.client.media.VideoElement;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * A 2D context that keeps a shadow copy of the drawing state of another
+ * context, and skips the setter calls that would not change that state.
+ * <p>
+ * The shadow copy follows {@link #save()} and {@link #restore()}, so the
+ * elision stays correct across nested states. Values that have not been set
+ * through this context are unknown, and the first call that sets them is
+ * always forwarded. Call {@link #invalidate()} whenever the state of the
+ * underlying context is changed behind this context's back (for example,
+ * when the canvas is resized).
+ */
+public class StateShadowingContext implements Context {
+	/**
+	 * Snapshot of the drawing state tracked by the shadowing context. Unknown
+	 * values are null or NaN.
+	 */
+	private static final class State {
+		private Object fillStyle, strokeStyle;
+		private String font, globalCompositeOperation, lineCap, lineJoin,
+				shadowColor, textAlign, textBaseline;
+		private double globalAlpha, lineWidth, miterLimit, shadowBlur,
+				shadowOffsetX, shadowOffsetY;
+
+		private State() {
+			invalidate();
+		}
+
+		private void invalidate() {
+			fillStyle = strokeStyle = null;
+			font = globalCompositeOperation = lineCap = lineJoin = shadowColor
+					= textAlign = textBaseline = null;
+			globalAlpha = lineWidth = miterLimit = shadowBlur = shadowOffsetX
+					= shadowOffsetY = Double.NaN;
+		}
+
+		private void set(State other) {
+			fillStyle = other.fillStyle;
+			strokeStyle = other.strokeStyle;
+			font = other.font;
+			globalCompositeOperation = other.globalCompositeOperation;
+			lineCap = other.lineCap;
+			lineJoin = other.lineJoin;
+			shadowColor = other.shadowColor;
+			textAlign = other.textAlign;
+			textBaseline = other.textBaseline;
+			globalAlpha = other.globalAlpha;
+			lineWidth = other.lineWidth;
+			miterLimit = other.miterLimit;
+			shadowBlur = other.shadowBlur;
+			shadowOffsetX = other.shadowOffsetX;
+			shadowOffsetY = other.shadowOffsetY;
+		}
+	}
+
+	private Context context;
+	private State current = new State();
+	private State[] stack = new State[8];
+	private int depth;
+	private int elidedCount, forwardedCount;
+
+	/**
+	 * Creates a state shadowing context that forwards to the given context.
+	 */
+	public StateShadowingContext(Context context) {
+		this.context = context;
+	}
+
+	/**
+	 * Gets the context that the calls are forwarded to.
+	 */
+	public final Context getContext() {
+		return context;
+	}
+
+	/**
+	 * Sets the context that the calls are forwarded to. The shadowed state is
+	 * kept, so the new context must draw onto the same canvas as the previous
+	 * one (for example, when switching between batched and direct drawing).
+	 */
+	public final void setContext(Context context) {
+		this.context = context;
+	}
+
+	/**
+	 * Forgets the shadowed state, including the saved states, so that the next
+	 * setter calls are always forwarded.
+	 */
+	public final void invalidate() {
+		current.invalidate();
+		depth = 0;
+	}
+
+	/**
+	 * Gets the number of setter calls that were skipped because they would
+	 * not have changed the state.
+	 */
+	public final int getElidedCount() {
+		return elidedCount;
+	}
+
+	/**
+	 * Gets the number of setter calls that were forwarded to the context.
+	 */
+	public final int getForwardedCount() {
+		return forwardedCount;
+	}
+
+	/**
+	 * Resets the elided and forwarded counters to 0.
+	 */
+	public final void resetCounters() {
+		elidedCount = forwardedCount = 0;
+	}
+
+	@Override
+	public void arc(double x, double y, double radius, double startAngle,
+			double endAngle, boolean antiClockwise) {
+		context.arc(x, y, radius, startAngle, endAngle, antiClockwise);
+	}
+
+	@Override
+	public void arcTo(double x1, double y1, double x2, double y2, double radius) {
+		context.arcTo(x1, y1, x2, y2, radius);
+	}
+
+	@Override
+	public void beginPath() {
+		context.beginPath();
+	}
+
+	@Override
+	public void bezierCurveTo(double cp1x, double cp1y, double cp2x,
+			double cp2y, double x, double y) {
+		context.bezierCurveTo(cp1x, cp1y, cp2x, cp2y, x, y);
+	}
+
+	@Override
+	public void clear() {
+		context.clear();
+	}
+
+	@Override
+	public void clearRect(double x, double y, double width, double height) {
+		context.clearRect(x, y, width, height);
+	}
+
+	@Override
+	public void clip() {
+		context.clip();
+	}
+
+	@Override
+	public void closePath() {
+		context.closePath();
+	}
+
+	@Override
+	public ImageData createImageData(ImageData imageData) {
+		return context.createImageData(imageData);
+	}
+
+	@Override
+	public ImageData createImageData(int width, int height) {
+		return context.createImageData(width, height);
+	}
+
+	@Override
+	public CanvasGradient createLinearGradient(double x0, double y0, double x1,
+			double y1) {
+		return context.createLinearGradient(x0, y0, x1, y1);
+	}
+
+	@Override
+	public CanvasPattern createPattern(CanvasElement image, String repetition) {
+		return context.createPattern(image, repetition);
+	}
+
+	@Override
+	public CanvasPattern createPattern(ImageElement image, String repetition) {
+		return context.createPattern(image, repetition);
+	}
+
+	@Override
+	public CanvasPattern createPattern(VideoElement image, String repetition) {
+		return context.createPattern(image, repetition);
+	}
+
+	@Override
+	public CanvasGradient createRadialGradient(double x0, double y0,
+			double radius0, double x1, double y1, double radius1) {
+		return context.createRadialGradient(x0, y0, radius0, x1, y1, radius1);
+	}
+
+	@Override
+	public boolean drawFocusRing(Element element, double x, double y) {
+		return context.drawFocusRing(element, x, y);
+	}
+
+	@Override
+	public boolean drawFocusRing(Element element, double x, double y,
+			boolean canDrawCustom) {
+		return context.drawFocusRing(element, x, y, canDrawCustom);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double x, double y) {
+		context.drawImage(image, x, y);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double x, double y, double width,
+			double height) {
+		context.drawImage(image, x, y, width, height);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		context.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+				destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	@Override
+	public void drawImage(ImageElement image, double x, double y) {
+		context.drawImage(image, x, y);
+	}
+
+	@Override
+	public void drawImage(ImageElement image, double x, double y, double width,
+			double height) {
+		context.drawImage(image, x, y, width, height);
+	}
+
+	@Override
+	public void drawImage(ImageElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		context.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+				destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	@Override
+	public void drawImage(VideoElement image, double x, double y) {
+		context.drawImage(image, x, y);
+	}
+
+	@Override
+	public void drawImage(VideoElement image, double x, double y, double width,
+			double height) {
+		context.drawImage(image, x, y, width, height);
+	}
+
+	@Override
+	public void drawImage(VideoElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		context.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+				destinationX, destinationY, destinationWidth, destinationHeight);
+	}
+
+	@Override
+	public void fill() {
+		context.fill();
+	}
+
+	@Override
+	public void fillRect(double x, double y, double width, double height) {
+		context.fillRect(x, y, width, height);
+	}
+
+	@Override
+	public void fillText(String text, double x, double y) {
+		context.fillText(text, x, y);
+	}
+
+	@Override
+	public void fillText(String text, double x, double y, double maxWidth) {
+		context.fillText(text, x, y, maxWidth);
+	}
+
+	@Override
+	public String getFont() {
+		return context.getFont();
+	}
+
+	@Override
+	public double getGlobalAlpha() {
+		return context.getGlobalAlpha();
+	}
+
+	@Override
+	public String getGlobalCompositeOperation() {
+		return context.getGlobalCompositeOperation();
+	}
+
+	@Override
+	public ImageData getImageData(double x, double y, double width,
+			double height) {
+		return context.getImageData(x, y, width, height);
+	}
+
+	@Override
+	public String getLineCap() {
+		return context.getLineCap();
+	}
+
+	@Override
+	public String getLineJoin() {
+		return context.getLineJoin();
+	}
+
+	@Override
+	public double getLineWidth() {
+		return context.getLineWidth();
+	}
+
+	@Override
+	public double getMiterLimit() {
+		return context.getMiterLimit();
+	}
+
+	@Override
+	public double getShadowBlur() {
+		return context.getShadowBlur();
+	}
+
+	@Override
+	public String getShadowColor() {
+		return context.getShadowColor();
+	}
+
+	@Override
+	public double getShadowOffsetX() {
+		return context.getShadowOffsetX();
+	}
+
+	@Override
+	public double getShadowOffsetY() {
+		return context.getShadowOffsetY();
+	}
+
+	@Override
+	public String getTextAlign() {
+		return context.getTextAlign();
+	}
+
+	@Override
+	public String getTextBaseline() {
+		return context.getTextBaseline();
+	}
+
+	@Override
+	public boolean isPointInPath(double x, double y) {
+		return context.isPointInPath(x, y);
+	}
+
+	@Override
+	public void lineTo(double x, double y) {
+		context.lineTo(x, y);
+	}
+
+	@Override
+	public double measureText(String text) {
+		return context.measureText(text);
+	}
+
+	@Override
+	public void moveTo(double x, double y) {
+		context.moveTo(x, y);
+	}
+
+	@Override
+	public void putImageData(ImageData imageData, double x, double y,
+			double dirtyX, double dirtyY, double dirtyWidth, double dirtyHeight) {
+		context.putImageData(imageData, x, y, dirtyX, dirtyY, dirtyWidth,
+				dirtyHeight);
+	}
+
+	@Override
+	public void quadraticCurveTo(double cpx, double cpy, double x, double y) {
+		context.quadraticCurveTo(cpx, cpy, x, y);
+	}
+
+	@Override
+	public void rect(double x, double y, double w, double h) {
+		context.rect(x, y, w, h);
+	}
+
+	@Override
+	public void restore() {
+		context.restore();
+		if (depth > 0) {
+			State saved = stack[--depth];
+			stack[depth] = current;
+			current = saved;
+		} else {
+			// The canvas may have states saved before the shadowing started or
+			// was invalidated, so its state is no longer known.
+			current.invalidate();
+		}
+	}
+
+	@Override
+	public void rotate(double angle) {
+		context.rotate(angle);
+	}
+
+	@Override
+	public void save() {
+		context.save();
+		if (depth == stack.length) {
+			State[] newStack = new State[stack.length * 2];
+			System.arraycopy(stack, 0, newStack, 0, depth);
+			stack = newStack;
+		}
+		// Reuses the state objects so that save/restore pairs do not allocate.
+		State next = stack[depth];
+		if (next == null) {
+			next = new State();
+		}
+		next.set(current);
+		stack[depth++] = current;
+		current = next;
+	}
+
+	@Override
+	public void scale(double x, double y) {
+		context.scale(x, y);
+	}
+
+	@Override
+	public void setFillStyle(CanvasGradient gradient) {
+		if (elide(current.fillStyle, gradient)) {
+			return;
+		}
+		current.fillStyle = gradient;
+		context.setFillStyle(gradient);
+	}
+
+	@Override
+	public void setFillStyle(CanvasPattern pattern) {
+		if (elide(current.fillStyle, pattern)) {
+			return;
+		}
+		current.fillStyle = pattern;
+		context.setFillStyle(pattern);
+	}
+
+	@Override
+	public void setFillStyle(String color) {
+		if (elide(current.fillStyle, color)) {
+			return;
+		}
+		current.fillStyle = color;
+		context.setFillStyle(color);
+	}
+
+	@Override
+	public void setFont(String font) {
+		if (elide(current.font, font)) {
+			return;
+		}
+		current.font = font;
+		context.setFont(font);
+	}
+
+	@Override
+	public void setGlobalAlpha(double globalAlpha) {
+		if (elide(current.globalAlpha, globalAlpha)) {
+			return;
+		}
+		// The canvas ignores values outside of [0, 1].
+		current.globalAlpha = (globalAlpha >= 0 && globalAlpha <= 1)
+				? globalAlpha : Double.NaN;
+		context.setGlobalAlpha(globalAlpha);
+	}
+
+	@Override
+	public void setGlobalCompositeOperation(String globalCompositeOperation) {
+		if (elide(current.globalCompositeOperation, globalCompositeOperation)) {
+			return;
+		}
+		current.globalCompositeOperation = globalCompositeOperation;
+		context.setGlobalCompositeOperation(globalCompositeOperation);
+	}
+
+	@Override
+	public void setLineCap(String lineCap) {
+		if (elide(current.lineCap, lineCap)) {
+			return;
+		}
+		current.lineCap = lineCap;
+		context.setLineCap(lineCap);
+	}
+
+	@Override
+	public void setLineJoin(String lineJoin) {
+		if (elide(current.lineJoin, lineJoin)) {
+			return;
+		}
+		current.lineJoin = lineJoin;
+		context.setLineJoin(lineJoin);
+	}
+
+	@Override
+	public void setLineWidth(double lineWidth) {
+		if (elide(current.lineWidth, lineWidth)) {
+			return;
+		}
+		// The canvas ignores non-positive values.
+		current.lineWidth = lineWidth > 0 ? lineWidth : Double.NaN;
+		context.setLineWidth(lineWidth);
+	}
+
+	@Override
+	public void setMiterLimit(double miterLimit) {
+		if (elide(current.miterLimit, miterLimit)) {
+			return;
+		}
+		// The canvas ignores non-positive values.
+		current.miterLimit = miterLimit > 0 ? miterLimit : Double.NaN;
+		context.setMiterLimit(miterLimit);
+	}
+
+	@Override
+	public void setShadowBlur(double shadowBlur) {
+		if (elide(current.shadowBlur, shadowBlur)) {
+			return;
+		}
+		// The canvas ignores negative values.
+		current.shadowBlur = shadowBlur >= 0 ? shadowBlur : Double.NaN;
+		context.setShadowBlur(shadowBlur);
+	}
+
+	@Override
+	public void setShadowColor(String shadowColor) {
+		if (elide(current.shadowColor, shadowColor)) {
+			return;
+		}
+		current.shadowColor = shadowColor;
+		context.setShadowColor(shadowColor);
+	}
+
+	@Override
+	public void setShadowOffsetX(double shadowOffsetX) {
+		if (elide(current.shadowOffsetX, shadowOffsetX)) {
+			return;
+		}
+		current.shadowOffsetX = shadowOffsetX;
+		context.setShadowOffsetX(shadowOffsetX);
+	}
+
+	@Override
+	public void setShadowOffsetY(double shadowOffsetY) {
+		if (elide(current.shadowOffsetY, shadowOffsetY)) {
+			return;
+		}
+		current.shadowOffsetY = shadowOffsetY;
+		context.setShadowOffsetY(shadowOffsetY);
+	}
+
+	@Override
+	public void setStrokeStyle(CanvasGradient gradient) {
+		if (elide(current.strokeStyle, gradient)) {
+			return;
+		}
+		current.strokeStyle = gradient;
+		context.setStrokeStyle(gradient);
+	}
+
+	@Override
+	public void setStrokeStyle(CanvasPattern pattern) {
+		if (elide(current.strokeStyle, pattern)) {
+			return;
+		}
+		current.strokeStyle = pattern;
+		context.setStrokeStyle(pattern);
+	}
+
+	@Override
+	public void setStrokeStyle(String color) {
+		if (elide(current.strokeStyle, color)) {
+			return;
+		}
+		current.strokeStyle = color;
+		context.setStrokeStyle(color);
+	}
+
+	@Override
+	public void setTextAlign(String textAlign) {
+		if (elide(current.textAlign, textAlign)) {
+			return;
+		}
+		current.textAlign = textAlign;
+		context.setTextAlign(textAlign);
+	}
+
+	@Override
+	public void setTextBaseline(String textBaseline) {
+		if (elide(current.textBaseline, textBaseline)) {
+			return;
+		}
+		current.textBaseline = textBaseline;
+		context.setTextBaseline(textBaseline);
+	}
+
+	@Override
+	public void setTransform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		context.setTransform(m11, m12, m21, m22, dx, dy);
+	}
+
+	@Override
+	public void stroke() {
+		context.stroke();
+	}
+
+	@Override
+	public void strokeRect(double x, double y, double width, double height) {
+		context.strokeRect(x, y, width, height);
+	}
+
+	@Override
+	public void strokeText(String text, double x, double y) {
+		context.strokeText(text, x, y);
+	}
+
+	@Override
+	public void strokeText(String text, double x, double y, double maxWidth) {
+		context.strokeText(text, x, y, maxWidth);
+	}
+
+	@Override
+	public void transform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		context.transform(m11, m12, m21, m22, dx, dy);
+	}
+
+	@Override
+	public void translate(double x, double y) {
+		context.translate(x, y);
+	}
+
+	/**
+	 * Checks whether setting the given value can be skipped, and updates the
+	 * counters accordingly. Strings are compared by value, while gradients and
+	 * patterns are compared by identity.
+	 */
+	private boolean elide(Object currentValue, Object value) {
+		if (currentValue != null && (currentValue == value
+				|| (value instanceof String && value.equals(currentValue)))) {
+			elidedCount++;
+			return true;
+		}
+		forwardedCount++;
+		return false;
+	}
+
+	/**
+	 * Checks whether setting the given value can be skipped, and updates the
+	 * counters accordingly. An unknown (NaN) value is never elided.
+	 */
+	private boolean elide(double currentValue, double value) {
+		if (currentValue == value) {
+			elidedCount++;
+			return true;
+		}
+		forwardedCount++;
+		return false;
+	}
+}
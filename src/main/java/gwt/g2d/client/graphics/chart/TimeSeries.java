@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.chart;
+
+import gwt.g2d.client.math.Polyline;
+
+/**
+ * Samples of a value over time, stored in primitive arrays, with a pyramid of
+ * the minimum and maximum of runs of samples, so that the extremes of any range
+ * are found in logarithmic time.
+ * <p>
+ * Level 0 of the pyramid holds the extremes of runs of 8 samples, and each
+ * level above runs twice as long. The pyramid is extended as samples are
+ * added, which must be in order of time. Values must not be NaN.
+ *
+ * @see TimeSeriesLayer
+ */
+public class TimeSeries {
+	/** The base 2 logarithm of the number of samples of a run of level 0. */
+	private static final int RUN_SHIFT = 3;
+
+	private double[] times, values;
+	private int size;
+	private int[][] minIndices = new int[4][], maxIndices = new int[4][];
+	private int[] runCounts = new int[4];
+	private int levelCount;
+	private int foundMin, foundMax;
+
+	/**
+	 * Creates an empty series with room for 1024 samples.
+	 */
+	public TimeSeries() {
+		this(1024);
+	}
+
+	/**
+	 * Creates an empty series with room for the given number of samples.
+	 */
+	public TimeSeries(int capacity) {
+		capacity = Math.max(1 << RUN_SHIFT, capacity);
+		times = new double[capacity];
+		values = new double[capacity];
+	}
+
+	/**
+	 * Appends a sample.
+	 *
+	 * @param time the time of the sample, not before the time of the last one.
+	 * @param value the value of the sample.
+	 * @return self to support chaining.
+	 */
+	public final TimeSeries add(double time, double value) {
+		if (size > 0 && time < times[size - 1]) {
+			throw new IllegalArgumentException("Samples must be added in order of "
+					+ "time: " + time + " is before " + times[size - 1]);
+		}
+		if (size == times.length) {
+			times = grow(times);
+			values = grow(values);
+		}
+		times[size] = time;
+		values[size] = value;
+		size++;
+		if ((size & ((1 << RUN_SHIFT) - 1)) == 0) {
+			addRuns();
+		}
+		return this;
+	}
+
+	/**
+	 * Appends samples from the given arrays.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final TimeSeries addAll(double[] times, double[] values, int offset,
+			int count) {
+		for (int i = offset; i < offset + count; i++) {
+			add(times[i], values[i]);
+		}
+		return this;
+	}
+
+	/**
+	 * Removes all the samples, keeping the arrays.
+	 */
+	public final void clear() {
+		size = 0;
+		for (int i = 0; i < levelCount; i++) {
+			runCounts[i] = 0;
+		}
+	}
+
+	/**
+	 * Gets the number of samples.
+	 */
+	public final int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the time of the sample at the given index.
+	 */
+	public final double getTime(int index) {
+		return times[index];
+	}
+
+	/**
+	 * Gets the value of the sample at the given index.
+	 */
+	public final double getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Gets the index of the first sample at or after the given time, or the
+	 * number of samples if there is none.
+	 */
+	public final int indexOf(double time) {
+		return lowerBound(time, 0, size);
+	}
+
+	/**
+	 * Gets the index of the sample with the least value among the samples from
+	 * fromIndex, inclusive, to toIndex, exclusive, or -1 if the range is empty.
+	 */
+	public final int getMinIndex(int fromIndex, int toIndex) {
+		return findExtremes(fromIndex, toIndex) ? foundMin : -1;
+	}
+
+	/**
+	 * Gets the index of the sample with the greatest value among the samples
+	 * from fromIndex, inclusive, to toIndex, exclusive, or -1 if the range is
+	 * empty.
+	 */
+	public final int getMaxIndex(int fromIndex, int toIndex) {
+		return findExtremes(fromIndex, toIndex) ? foundMax : -1;
+	}
+
+	/**
+	 * Gets the least value of the samples between the given times, inclusive,
+	 * or NaN if there is none.
+	 */
+	public final double getMinValue(double startTime, double endTime) {
+		int index = getMinIndex(indexOf(startTime), upperBound(endTime, 0, size));
+		return index < 0 ? Double.NaN : values[index];
+	}
+
+	/**
+	 * Gets the greatest value of the samples between the given times,
+	 * inclusive, or NaN if there is none.
+	 */
+	public final double getMaxValue(double startTime, double endTime) {
+		int index = getMaxIndex(indexOf(startTime), upperBound(endTime, 0, size));
+		return index < 0 ? Double.NaN : values[index];
+	}
+
+	/**
+	 * Appends to the given polyline, as (time, value) points, the samples that
+	 * draw the series between the given times as a line chart of the given
+	 * number of columns: in each column, the first and last samples and the
+	 * samples with the least and greatest values, in order of time. The
+	 * samples just outside of the times are also appended, so that the line
+	 * goes to the edges.
+	 *
+	 * @return the number of points appended, at most 4 per column plus 2.
+	 */
+	public final int decimate(double startTime, double endTime, int columnCount,
+			Polyline result) {
+		if (columnCount < 1) {
+			throw new IllegalArgumentException("columnCount must be positive: "
+					+ columnCount);
+		}
+		int start = result.getPointCount();
+		int from = indexOf(startTime);
+		int to = upperBound(endTime, from, size);
+		if (from > 0) {
+			addSample(from - 1, result);
+		}
+		double columnDuration = (endTime - startTime) / columnCount;
+		int i = from;
+		for (int column = 0; column < columnCount && i < to; column++) {
+			int j = column == columnCount - 1 ? to : lowerBound(
+					startTime + (column + 1) * columnDuration, i, to);
+			if (j - i <= 4) {
+				for (int k = i; k < j; k++) {
+					addSample(k, result);
+				}
+			} else if (j > i) {
+				findExtremes(i, j);
+				addSample(i, result);
+				addSample(Math.min(foundMin, foundMax), result);
+				addSample(Math.max(foundMin, foundMax), result);
+				addSample(j - 1, result);
+			}
+			i = j;
+		}
+		if (to < size) {
+			addSample(to, result);
+		}
+		return result.getPointCount() - start;
+	}
+
+	private void addSample(int index, Polyline result) {
+		result.addIfDistinct(times[index], values[index]);
+	}
+
+	/**
+	 * Finds the extremes of a range of samples into foundMin and foundMax,
+	 * with the largest complete runs that fit in it.
+	 *
+	 * @return false if the range is empty.
+	 */
+	private boolean findExtremes(int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) {
+			return false;
+		}
+		int min = fromIndex, max = fromIndex;
+		int i = fromIndex;
+		while (i < toIndex) {
+			int level = -1;
+			while (level + 1 < levelCount) {
+				int runSize = 1 << (level + 1 + RUN_SHIFT);
+				if ((i & (runSize - 1)) != 0 || i + runSize > toIndex) {
+					break;
+				}
+				level++;
+			}
+			if (level < 0) {
+				if (values[i] < values[min]) {
+					min = i;
+				}
+				if (values[i] > values[max]) {
+					max = i;
+				}
+				i++;
+			} else {
+				int run = i >> (level + RUN_SHIFT);
+				int runMin = minIndices[level][run], runMax = maxIndices[level][run];
+				if (values[runMin] < values[min]) {
+					min = runMin;
+				}
+				if (values[runMax] > values[max]) {
+					max = runMax;
+				}
+				i += 1 << (level + RUN_SHIFT);
+			}
+		}
+		foundMin = min;
+		foundMax = max;
+		return true;
+	}
+
+	/**
+	 * Adds the run of level 0 that the last sample completed, and the runs of
+	 * the levels above that it completed.
+	 */
+	private void addRuns() {
+		int first = size - (1 << RUN_SHIFT);
+		int min = first, max = first;
+		for (int i = first + 1; i < size; i++) {
+			if (values[i] < values[min]) {
+				min = i;
+			}
+			if (values[i] > values[max]) {
+				max = i;
+			}
+		}
+		int level = 0;
+		while (true) {
+			addRun(level, min, max);
+			int count = runCounts[level];
+			if ((count & 1) != 0) {
+				break;
+			}
+			// The two last runs of the level make a run of the level above.
+			int[] mins = minIndices[level], maxs = maxIndices[level];
+			min = values[mins[count - 2]] <= values[mins[count - 1]]
+					? mins[count - 2] : mins[count - 1];
+			max = values[maxs[count - 2]] >= values[maxs[count - 1]]
+					? maxs[count - 2] : maxs[count - 1];
+			level++;
+		}
+	}
+
+	private void addRun(int level, int min, int max) {
+		if (level == levelCount) {
+			if (levelCount == runCounts.length) {
+				int[][] grownMins = new int[2 * levelCount][];
+				int[][] grownMaxs = new int[2 * levelCount][];
+				int[] grownCounts = new int[2 * levelCount];
+				System.arraycopy(minIndices, 0, grownMins, 0, levelCount);
+				System.arraycopy(maxIndices, 0, grownMaxs, 0, levelCount);
+				System.arraycopy(runCounts, 0, grownCounts, 0, levelCount);
+				minIndices = grownMins;
+				maxIndices = grownMaxs;
+				runCounts = grownCounts;
+			}
+			minIndices[level] = new int[16];
+			maxIndices[level] = new int[16];
+			levelCount++;
+		}
+		int count = runCounts[level];
+		if (count == minIndices[level].length) {
+			minIndices[level] = grow(minIndices[level]);
+			maxIndices[level] = grow(maxIndices[level]);
+		}
+		minIndices[level][count] = min;
+		maxIndices[level][count] = max;
+		runCounts[level] = count + 1;
+	}
+
+	/**
+	 * Gets the index of the first sample in the range at or after the given
+	 * time, or the end of the range.
+	 */
+	private int lowerBound(double time, int low, int high) {
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (times[middle] < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Gets the index of the first sample in the range after the given time, or
+	 * the end of the range.
+	 */
+	private int upperBound(double time, int low, int high) {
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (times[middle] <= time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static double[] grow(double[] array) {
+		double[] grown = new double[2 * array.length];
+		System.arraycopy(array, 0, grown, 0, array.length);
+		return grown;
+	}
+
+	private static int[] grow(int[] array) {
+		int[] grown = new int[2 * array.length];
+		System.arraycopy(array, 0, grown, 0, array.length);
+		return grown;
+	}
+}
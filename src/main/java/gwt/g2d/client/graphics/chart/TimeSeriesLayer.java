@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.chart;
+
+import gwt.g2d.client.graphics.Argb;
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.graphics.canvas.Context;
+import gwt.g2d.client.math.Polyline;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * Draws a {@link TimeSeries} as a line chart, with at most four vertices per
+ * pixel column however many samples the visible range has, so that zooming
+ * and panning over millions of samples costs time in proportion to the width
+ * of the chart.
+ */
+public class TimeSeriesLayer {
+	private final TimeSeries series;
+	private final Polyline points = new Polyline(1024);
+	private int color = Argb.BLACK;
+	private double lineWidth = 1;
+	private int vertexCount;
+
+	/**
+	 * Creates a layer that draws the given series.
+	 */
+	public TimeSeriesLayer(TimeSeries series) {
+		this.series = series;
+	}
+
+	/**
+	 * Gets the series drawn.
+	 */
+	public final TimeSeries getSeries() {
+		return series;
+	}
+
+	/**
+	 * Gets the packed 0xAARRGGBB color of the line.
+	 */
+	public final int getColor() {
+		return color;
+	}
+
+	/**
+	 * Sets the packed 0xAARRGGBB color of the line.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final TimeSeriesLayer setColor(int argb) {
+		color = argb;
+		return this;
+	}
+
+	/**
+	 * Gets the width of the line.
+	 */
+	public final double getLineWidth() {
+		return lineWidth;
+	}
+
+	/**
+	 * Sets the width of the line.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final TimeSeriesLayer setLineWidth(double lineWidth) {
+		this.lineWidth = lineWidth;
+		return this;
+	}
+
+	/**
+	 * Gets the number of vertices of the last draw.
+	 */
+	public final int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * Draws the samples between the given times into the given area, with the
+	 * value range of those samples from the bottom to the top of the area.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final TimeSeriesLayer draw(Surface surface, Rectangle area,
+			double startTime, double endTime) {
+		double minValue = series.getMinValue(startTime, endTime);
+		double maxValue = series.getMaxValue(startTime, endTime);
+		if (minValue != minValue) {
+			minValue = maxValue = 0;
+		}
+		return draw(surface, area, startTime, endTime, minValue, maxValue);
+	}
+
+	/**
+	 * Draws the samples between the given times into the given area, with the
+	 * given values at the bottom and the top of the area. The line is clipped
+	 * to the area.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final TimeSeriesLayer draw(Surface surface, Rectangle area,
+			double startTime, double endTime, double minValue, double maxValue) {
+		int columnCount = Math.max(1, (int) Math.ceil(area.getWidth()));
+		points.clear();
+		vertexCount = series.decimate(startTime, endTime, columnCount, points);
+		if (vertexCount == 0) {
+			return this;
+		}
+		double duration = endTime - startTime, range = maxValue - minValue;
+		double scaleX = duration > 0 ? area.getWidth() / duration : 0;
+		double scaleY = range > 0 ? area.getHeight() / range : 0;
+		double offsetY = range > 0 ? area.getBottom() : area.getY()
+				+ area.getHeight() / 2;
+		surface.save()
+				.setStrokeStyle(color)
+				.setLineWidth(lineWidth);
+		Context context = surface.getContext();
+		context.beginPath();
+		context.rect(area.getX(), area.getY(), area.getWidth(), area.getHeight());
+		context.clip();
+		context.beginPath();
+		double[] coordinates = points.getCoordinates();
+		for (int i = 0; i < 2 * vertexCount; i += 2) {
+			double x = area.getX() + (coordinates[i] - startTime) * scaleX;
+			double y = offsetY - (coordinates[i + 1] - minValue) * scaleY;
+			if (i == 0) {
+				context.moveTo(x, y);
+			} else {
+				context.lineTo(x, y);
+			}
+		}
+		context.stroke();
+		surface.restore();
+		return this;
+	}
+}
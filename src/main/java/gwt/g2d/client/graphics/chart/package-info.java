@@ -0,0 +1,5 @@
+/**
+ * Contains chart layers that draw large data sets in time proportional to the
+ * size of the chart rather than to the size of the data.
+ */
+package gwt.g2d.client.graphics.chart;
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * Blurs the pixels by averaging them over a square, repeatedly. Each pass
+ * keeps a running sum along the rows and then the columns, so the cost per
+ * pixel does not depend on the radius; three passes are close to a gaussian
+ * blur.
+ * <p>
+ * The pixels within {@link #getMargin()} of the rectangle are kept in scratch
+ * arrays while filtering, so filtering in tiles with a {@link FilterChain}
+ * keeps them small. The color channels are weighted by alpha.
+ */
+public class BoxBlurFilter implements ImageFilter {
+	private final int radius, passes;
+	private int[] planeA, planeR, planeG, planeB, line;
+
+	/**
+	 * Creates a blur of three passes.
+	 *
+	 * @param radius the distance averaged on each side of a pixel.
+	 */
+	public BoxBlurFilter(int radius) {
+		this(radius, 3);
+	}
+
+	/**
+	 * Creates a blur.
+	 *
+	 * @param radius the distance averaged on each side of a pixel.
+	 * @param passes the number of times the pixels are averaged.
+	 */
+	public BoxBlurFilter(int radius, int passes) {
+		if (radius < 0 || passes < 1) {
+			throw new IllegalArgumentException("Invalid box blur: radius " + radius
+					+ ", " + passes + " passes");
+		}
+		this.radius = radius;
+		this.passes = passes;
+	}
+
+	/**
+	 * Creates a blur of three passes that approximates a gaussian blur.
+	 *
+	 * @param sigma the standard deviation of the gaussian, in pixels.
+	 */
+	public static BoxBlurFilter approximateGaussian(double sigma) {
+		double size = Math.sqrt(4 * sigma * sigma + 1);
+		return new BoxBlurFilter(Math.max(1, (int) Math.round((size - 1) / 2)), 3);
+	}
+
+	/**
+	 * Gets the distance averaged on each side of a pixel by each pass.
+	 */
+	public int getRadius() {
+		return radius;
+	}
+
+	/**
+	 * Gets the number of passes.
+	 */
+	public int getPasses() {
+		return passes;
+	}
+
+	@Override
+	public int getMargin() {
+		return radius * passes;
+	}
+
+	@Override
+	public void filter(PixelBuffer source, PixelBuffer destination, int x,
+			int y, int width, int height) {
+		int margin = getMargin();
+		int planeWidth = width + 2 * margin, planeHeight = height + 2 * margin;
+		ensureCapacity(planeWidth * planeHeight,
+				Math.max(planeWidth, planeHeight));
+		int[] in = source.getPixels(), out = destination.getPixels();
+		int scanline = source.getWidth();
+		for (int j = 0, o = 0; j < planeHeight; j++) {
+			int row = source.clampY(y + j - margin) * scanline;
+			for (int i = 0; i < planeWidth; i++, o++) {
+				int p = in[row + source.clampX(x + i - margin)];
+				int a = p >>> 24;
+				planeA[o] = a;
+				planeR[o] = a * ((p >> 16) & 0xFF);
+				planeG[o] = a * ((p >> 8) & 0xFF);
+				planeB[o] = a * (p & 0xFF);
+			}
+		}
+		for (int pass = 0; pass < passes; pass++) {
+			blur(planeA, planeWidth, planeHeight);
+			blur(planeR, planeWidth, planeHeight);
+			blur(planeG, planeWidth, planeHeight);
+			blur(planeB, planeWidth, planeHeight);
+		}
+		for (int j = 0; j < height; j++) {
+			int o = (j + margin) * planeWidth + margin;
+			int d = (y + j) * scanline + x;
+			for (int i = 0; i < width; i++, o++, d++) {
+				int a = planeA[o];
+				if (a == 0) {
+					out[d] = 0;
+				} else {
+					int half = a >> 1;
+					out[d] = (a << 24) | (Math.min(255, (planeR[o] + half) / a) << 16)
+							| (Math.min(255, (planeG[o] + half) / a) << 8)
+							| Math.min(255, (planeB[o] + half) / a);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Averages a plane along its rows, then along its columns.
+	 */
+	private void blur(int[] plane, int planeWidth, int planeHeight) {
+		for (int j = 0; j < planeHeight; j++) {
+			average(plane, j * planeWidth, 1, planeWidth);
+		}
+		for (int i = 0; i < planeWidth; i++) {
+			average(plane, i, planeWidth, planeHeight);
+		}
+	}
+
+	/**
+	 * Replaces a line of a plane by its running average, extending the ends of
+	 * the line outward.
+	 */
+	private void average(int[] plane, int start, int stride, int length) {
+		for (int i = 0, o = start; i < length; i++, o += stride) {
+			line[i] = plane[o];
+		}
+		int size = 2 * radius + 1, half = size >> 1, last = length - 1;
+		int sum = 0;
+		for (int k = -radius; k <= radius; k++) {
+			sum += line[k < 0 ? 0 : k > last ? last : k];
+		}
+		for (int i = 0, o = start; i < length; i++, o += stride) {
+			plane[o] = (sum + half) / size;
+			int add = i + radius + 1, remove = i - radius;
+			sum += line[add > last ? last : add] - line[remove < 0 ? 0 : remove];
+		}
+	}
+
+	private void ensureCapacity(int planeLength, int lineLength) {
+		if (planeA == null || planeA.length < planeLength) {
+			planeA = new int[planeLength];
+			planeR = new int[planeLength];
+			planeG = new int[planeLength];
+			planeB = new int[planeLength];
+		}
+		if (line == null || line.length < lineLength) {
+			line = new int[lineLength];
+		}
+	}
+}
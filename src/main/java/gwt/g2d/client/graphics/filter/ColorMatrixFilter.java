@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * Transforms the channels of each pixel by a 4x5 matrix, like the SVG
+ * feColorMatrix filter. The rows of the matrix compute red, green, blue and
+ * alpha from the red, green, blue and alpha of the source and an offset, with
+ * the channels and the offset in [0-255].
+ */
+public class ColorMatrixFilter extends PixelFilter {
+	private final double[] matrix = new double[20];
+
+	/**
+	 * Creates a filter with the given matrix, of 20 elements row by row.
+	 */
+	public ColorMatrixFilter(double... matrix) {
+		if (matrix.length != 20) {
+			throw new IllegalArgumentException(
+					"A color matrix has 20 elements: " + matrix.length);
+		}
+		System.arraycopy(matrix, 0, this.matrix, 0, 20);
+	}
+
+	/**
+	 * Creates a filter that changes the saturation of the colors.
+	 *
+	 * @param saturation 0 for gray, 1 to keep the colors, more to saturate.
+	 */
+	public static ColorMatrixFilter saturation(double saturation) {
+		double s = saturation;
+		return new ColorMatrixFilter(
+				0.213 + 0.787 * s, 0.715 - 0.715 * s, 0.072 - 0.072 * s, 0, 0,
+				0.213 - 0.213 * s, 0.715 + 0.285 * s, 0.072 - 0.072 * s, 0, 0,
+				0.213 - 0.213 * s, 0.715 - 0.715 * s, 0.072 + 0.928 * s, 0, 0,
+				0, 0, 0, 1, 0);
+	}
+
+	/**
+	 * Creates a filter that turns the colors into shades of gray.
+	 */
+	public static ColorMatrixFilter grayscale() {
+		return saturation(0);
+	}
+
+	/**
+	 * Creates a filter that scales the color channels and adds an offset to
+	 * them, to change the brightness and the contrast.
+	 *
+	 * @param scale the factor of the red, green and blue channels.
+	 * @param offset the offset in [-255, 255].
+	 */
+	public static ColorMatrixFilter linear(double scale, double offset) {
+		return new ColorMatrixFilter(
+				scale, 0, 0, 0, offset,
+				0, scale, 0, 0, offset,
+				0, 0, scale, 0, offset,
+				0, 0, 0, 1, 0);
+	}
+
+	@Override
+	protected int filterPixel(int argb) {
+		int a = argb >>> 24, r = (argb >> 16) & 0xFF, g = (argb >> 8) & 0xFF,
+				b = argb & 0xFF;
+		double[] m = matrix;
+		return (channel(m[15] * r + m[16] * g + m[17] * b + m[18] * a + m[19]) << 24)
+				| (channel(m[0] * r + m[1] * g + m[2] * b + m[3] * a + m[4]) << 16)
+				| (channel(m[5] * r + m[6] * g + m[7] * b + m[8] * a + m[9]) << 8)
+				| channel(m[10] * r + m[11] * g + m[12] * b + m[13] * a + m[14]);
+	}
+
+	private static int channel(double value) {
+		return value <= 0 ? 0 : value >= 255 ? 255 : (int) (value + 0.5);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * Convolves the pixels with a kernel, such as a sharpening kernel. The color
+ * channels are weighted by alpha, so that transparent pixels do not darken
+ * their neighbors.
+ * <p>
+ * Every pixel reads the whole kernel; kernels that are the product of a row
+ * and a column, such as blurs, are faster with a {@link SeparableFilter}.
+ */
+public class ConvolutionFilter implements ImageFilter {
+	private final int kernelWidth, kernelHeight;
+	private final double[] kernel;
+
+	/**
+	 * Creates a filter with the given kernel.
+	 *
+	 * @param kernelWidth the odd width of the kernel.
+	 * @param kernelHeight the odd height of the kernel.
+	 * @param kernel the weights of the kernel, row by row.
+	 */
+	public ConvolutionFilter(int kernelWidth, int kernelHeight,
+			double... kernel) {
+		if (kernelWidth % 2 == 0 || kernelHeight % 2 == 0
+				|| kernel.length != kernelWidth * kernelHeight) {
+			throw new IllegalArgumentException("Invalid kernel: " + kernelWidth
+					+ "x" + kernelHeight + " with " + kernel.length + " weights");
+		}
+		this.kernelWidth = kernelWidth;
+		this.kernelHeight = kernelHeight;
+		this.kernel = new double[kernel.length];
+		System.arraycopy(kernel, 0, this.kernel, 0, kernel.length);
+	}
+
+	/**
+	 * Creates a 3x3 sharpening filter.
+	 *
+	 * @param amount the strength of the sharpening, 1 for a typical sharpening.
+	 */
+	public static ConvolutionFilter sharpen(double amount) {
+		return new ConvolutionFilter(3, 3,
+				0, -amount, 0,
+				-amount, 1 + 4 * amount, -amount,
+				0, -amount, 0);
+	}
+
+	@Override
+	public int getMargin() {
+		return Math.max(kernelWidth, kernelHeight) / 2;
+	}
+
+	@Override
+	public void filter(PixelBuffer source, PixelBuffer destination, int x,
+			int y, int width, int height) {
+		int[] in = source.getPixels(), out = destination.getPixels();
+		int scanline = source.getWidth();
+		int rx = kernelWidth / 2, ry = kernelHeight / 2;
+		for (int j = y; j < y + height; j++) {
+			for (int i = x; i < x + width; i++) {
+				double a = 0, r = 0, g = 0, b = 0;
+				for (int kj = 0, k = 0; kj < kernelHeight; kj++) {
+					int row = source.clampY(j + kj - ry) * scanline;
+					for (int ki = 0; ki < kernelWidth; ki++, k++) {
+						double weight = kernel[k];
+						if (weight != 0) {
+							int p = in[row + source.clampX(i + ki - rx)];
+							double wa = weight * (p >>> 24);
+							a += wa;
+							r += wa * ((p >> 16) & 0xFF);
+							g += wa * ((p >> 8) & 0xFF);
+							b += wa * (p & 0xFF);
+						}
+					}
+				}
+				out[j * scanline + i] = unpremultiply(a, r, g, b);
+			}
+		}
+	}
+
+	/**
+	 * Packs channels weighted by alpha into a non-premultiplied pixel.
+	 */
+	static int unpremultiply(double a, double r, double g, double b) {
+		if (!(a > 0.5)) {
+			return 0;
+		}
+		return (clamp(a) << 24) | (clamp(r / a) << 16) | (clamp(g / a) << 8)
+				| clamp(b / a);
+	}
+
+	private static int clamp(double value) {
+		return value <= 0 ? 0 : value >= 255 ? 255 : (int) (value + 0.5);
+	}
+}
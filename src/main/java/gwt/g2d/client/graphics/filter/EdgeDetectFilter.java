@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * Highlights edges with the Sobel operator: each pixel becomes a shade of gray
+ * that is the strength of the gradient of the luminance around it. The alpha
+ * of the pixels is kept.
+ */
+public class EdgeDetectFilter implements ImageFilter {
+	@Override
+	public int getMargin() {
+		return 1;
+	}
+
+	@Override
+	public void filter(PixelBuffer source, PixelBuffer destination, int x,
+			int y, int width, int height) {
+		int[] in = source.getPixels(), out = destination.getPixels();
+		int scanline = source.getWidth();
+		for (int j = y; j < y + height; j++) {
+			int above = source.clampY(j - 1) * scanline, row = j * scanline;
+			int below = source.clampY(j + 1) * scanline;
+			for (int i = x; i < x + width; i++) {
+				int left = source.clampX(i - 1), right = source.clampX(i + 1);
+				int topLeft = luminance(in, above + left);
+				int top = luminance(in, above + i);
+				int topRight = luminance(in, above + right);
+				int bottomLeft = luminance(in, below + left);
+				int bottom = luminance(in, below + i);
+				int bottomRight = luminance(in, below + right);
+				int gx = topRight + 2 * luminance(in, row + right) + bottomRight
+						- topLeft - 2 * luminance(in, row + left) - bottomLeft;
+				int gy = bottomLeft + 2 * bottom + bottomRight
+						- topLeft - 2 * top - topRight;
+				int strength = Math.min(255, (int) Math.sqrt(gx * gx + gy * gy));
+				out[row + i] = (in[row + i] & 0xFF000000) | (strength << 16)
+						| (strength << 8) | strength;
+			}
+		}
+	}
+
+	private static int luminance(int[] pixels, int index) {
+		return ThresholdFilter.luminance(pixels[index]);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies filters one after another, tile by tile.
+ * <p>
+ * Each filter computes the rectangle being filtered, grown by the margins of
+ * the filters after it, so that the last filter gets all the pixels it reads.
+ * The rectangle is split into square tiles, so that the pixels and the
+ * scratch arrays of a filter stay small while it works on a tile. The
+ * intermediate results are kept in two buffers that are reused while the
+ * size of the source does not change.
+ */
+public class FilterChain implements ImageFilter {
+	private final List<ImageFilter> filters = new ArrayList<ImageFilter>();
+	private int tileSize = 64;
+	private PixelBuffer first, second;
+
+	/**
+	 * Creates a chain of the given filters.
+	 */
+	public FilterChain(ImageFilter... filters) {
+		for (ImageFilter filter : filters) {
+			add(filter);
+		}
+	}
+
+	/**
+	 * Adds a filter at the end of the chain.
+	 *
+	 * @return self to support chaining.
+	 */
+	public FilterChain add(ImageFilter filter) {
+		filters.add(filter);
+		return this;
+	}
+
+	/**
+	 * Removes all the filters.
+	 *
+	 * @return self to support chaining.
+	 */
+	public FilterChain clear() {
+		filters.clear();
+		return this;
+	}
+
+	/**
+	 * Gets the number of filters in the chain.
+	 */
+	public int getFilterCount() {
+		return filters.size();
+	}
+
+	/**
+	 * Gets the width and height of the tiles, 64 by default.
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Sets the width and height of the tiles.
+	 *
+	 * @return self to support chaining.
+	 */
+	public FilterChain setTileSize(int tileSize) {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("tileSize must be positive: "
+					+ tileSize);
+		}
+		this.tileSize = tileSize;
+		return this;
+	}
+
+	/**
+	 * Filters a whole buffer into a new buffer.
+	 */
+	public PixelBuffer apply(PixelBuffer source) {
+		PixelBuffer destination = new PixelBuffer(source.getWidth(),
+				source.getHeight());
+		filter(source, destination, 0, 0, source.getWidth(), source.getHeight());
+		return destination;
+	}
+
+	@Override
+	public int getMargin() {
+		int margin = 0;
+		for (int i = 0; i < filters.size(); i++) {
+			margin += filters.get(i).getMargin();
+		}
+		return margin;
+	}
+
+	@Override
+	public void filter(PixelBuffer source, PixelBuffer destination, int x,
+			int y, int width, int height) {
+		if (!source.isSameSize(destination)) {
+			throw new IllegalArgumentException(
+					"The source and destination must have the same size");
+		}
+		int count = filters.size();
+		if (count == 0) {
+			destination.copyFrom(source, x, y, width, height);
+			return;
+		}
+		if (count > 1) {
+			first = ensureSize(first, source);
+		}
+		if (count > 2) {
+			second = ensureSize(second, source);
+		}
+		int margin = getMargin();
+		PixelBuffer input = source;
+		for (int i = 0; i < count; i++) {
+			ImageFilter filter = filters.get(i);
+			margin -= filter.getMargin();
+			int left = Math.max(0, x - margin), top = Math.max(0, y - margin);
+			int right = Math.min(source.getWidth(), x + width + margin);
+			int bottom = Math.min(source.getHeight(), y + height + margin);
+			PixelBuffer output = i == count - 1 ? destination
+					: i % 2 == 0 ? first : second;
+			filterTiles(filter, input, output, left, top, right - left,
+					bottom - top);
+			input = output;
+		}
+	}
+
+	private static PixelBuffer ensureSize(PixelBuffer buffer, PixelBuffer size) {
+		return buffer != null && buffer.isSameSize(size) ? buffer
+				: new PixelBuffer(size.getWidth(), size.getHeight());
+	}
+
+	private void filterTiles(ImageFilter filter, PixelBuffer source,
+			PixelBuffer destination, int x, int y, int width, int height) {
+		for (int top = y; top < y + height; top += tileSize) {
+			int tileHeight = Math.min(tileSize, y + height - top);
+			for (int left = x; left < x + width; left += tileSize) {
+				filter.filter(source, destination, left, top,
+						Math.min(tileSize, x + width - left), tileHeight);
+			}
+		}
+	}
+}
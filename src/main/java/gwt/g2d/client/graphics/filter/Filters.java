@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * Creates common filters.
+ *
+ * @see ColorMatrixFilter
+ * @see ConvolutionFilter#sharpen(double)
+ * @see EdgeDetectFilter
+ * @see ThresholdFilter
+ */
+public final class Filters {
+	/**
+	 * The largest standard deviation blurred with a gaussian kernel; larger
+	 * blurs use box blurs, whose cost does not depend on the radius.
+	 */
+	public static final double MAX_GAUSSIAN_SIGMA = 3;
+
+	private Filters() {
+	}
+
+	/**
+	 * Creates a gaussian blur, or an approximation of it by box blurs when the
+	 * standard deviation is larger than {@link #MAX_GAUSSIAN_SIGMA}.
+	 *
+	 * @param sigma the standard deviation of the blur, in pixels.
+	 */
+	public static ImageFilter blur(double sigma) {
+		return sigma <= MAX_GAUSSIAN_SIGMA ? SeparableFilter.gaussian(sigma)
+				: BoxBlurFilter.approximateGaussian(sigma);
+	}
+}
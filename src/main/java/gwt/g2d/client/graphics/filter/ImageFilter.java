@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * A filter that computes pixels of a destination buffer from the pixels
+ * around them in a source buffer.
+ * <p>
+ * Filters read the source within {@link #getMargin()} pixels of the
+ * rectangle they compute, and extend the edges of the source outward where
+ * that falls outside of it. Filters may keep scratch arrays between calls, so
+ * an instance must not be used by several threads at once.
+ *
+ * @see FilterChain
+ * @see gwt.g2d.client.graphics.Surface#applyFilter(ImageFilter, int, int, int, int)
+ */
+public interface ImageFilter {
+	/**
+	 * Gets the distance, in pixels, that the filter reads around each pixel it
+	 * computes.
+	 */
+	int getMargin();
+
+	/**
+	 * Computes a rectangle of the destination from the source. Only the pixels
+	 * of the rectangle are written.
+	 *
+	 * @param source the pixels to filter.
+	 * @param destination the buffer to write the filtered pixels into, of the
+	 * 				same size as the source, and not the source itself.
+	 * @param x left of the rectangle.
+	 * @param y top of the rectangle.
+	 * @param width width of the rectangle.
+	 * @param height height of the rectangle.
+	 */
+	void filter(PixelBuffer source, PixelBuffer destination, int x, int y,
+			int width, int height);
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * A rectangle of pixels stored in an int array, one non-premultiplied ARGB
+ * pixel per element, row by row.
+ * <p>
+ * The array is not copied, so a buffer can wrap the pixels of a
+ * {@link gwt.g2d.client.graphics.software.SoftwareContext} to filter them in
+ * place, or be filled from a
+ * {@link gwt.g2d.client.graphics.canvas.ImageDataAdapter} with its bulk
+ * methods.
+ */
+public final class PixelBuffer {
+	private final int width, height;
+	private final int[] pixels;
+
+	/**
+	 * Creates a buffer of transparent pixels.
+	 */
+	public PixelBuffer(int width, int height) {
+		this(width, height, new int[width * height]);
+	}
+
+	/**
+	 * Creates a buffer over the given pixels.
+	 *
+	 * @param width the width of the buffer.
+	 * @param height the height of the buffer.
+	 * @param pixels the pixels, of at least width * height elements.
+	 */
+	public PixelBuffer(int width, int height, int[] pixels) {
+		if (width < 0 || height < 0 || pixels.length < width * height) {
+			throw new IllegalArgumentException("Invalid buffer size: " + width
+					+ "x" + height + " over " + pixels.length + " pixels");
+		}
+		this.width = width;
+		this.height = height;
+		this.pixels = pixels;
+	}
+
+	/**
+	 * Gets the width of the buffer.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the height of the buffer.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the pixels of the buffer.
+	 */
+	public int[] getPixels() {
+		return pixels;
+	}
+
+	/**
+	 * Gets the pixel at the given position.
+	 */
+	public int getPixel(int x, int y) {
+		return pixels[y * width + x];
+	}
+
+	/**
+	 * Sets the pixel at the given position.
+	 */
+	public void setPixel(int x, int y, int argb) {
+		pixels[y * width + x] = argb;
+	}
+
+	/**
+	 * Checks whether the buffer has the same size as the given buffer.
+	 */
+	public boolean isSameSize(PixelBuffer buffer) {
+		return width == buffer.width && height == buffer.height;
+	}
+
+	/**
+	 * Copies a rectangle of pixels from the given buffer, at the same position.
+	 */
+	public void copyFrom(PixelBuffer source, int x, int y, int w, int h) {
+		for (int j = y; j < y + h; j++) {
+			System.arraycopy(source.pixels, j * source.width + x, pixels,
+					j * width + x, w);
+		}
+	}
+
+	/**
+	 * Clamps a column to the buffer, which extends the edge pixels outward.
+	 */
+	int clampX(int x) {
+		return x < 0 ? 0 : x >= width ? width - 1 : x;
+	}
+
+	/**
+	 * Clamps a row to the buffer, which extends the edge pixels outward.
+	 */
+	int clampY(int y) {
+		return y < 0 ? 0 : y >= height ? height - 1 : y;
+	}
+}
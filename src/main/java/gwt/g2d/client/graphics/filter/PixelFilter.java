@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * A filter that computes each pixel from the source pixel at the same
+ * position only, such as color adjustments.
+ */
+public abstract class PixelFilter implements ImageFilter {
+	/**
+	 * Computes a pixel from the source pixel.
+	 *
+	 * @param argb the source pixel, in non-premultiplied ARGB.
+	 * @return the filtered pixel, in non-premultiplied ARGB.
+	 */
+	protected abstract int filterPixel(int argb);
+
+	@Override
+	public final int getMargin() {
+		return 0;
+	}
+
+	@Override
+	public void filter(PixelBuffer source, PixelBuffer destination, int x,
+			int y, int width, int height) {
+		int[] in = source.getPixels(), out = destination.getPixels();
+		int scanline = source.getWidth();
+		for (int j = y; j < y + height; j++) {
+			for (int i = j * scanline + x, end = i + width; i < end; i++) {
+				out[i] = filterPixel(in[i]);
+			}
+		}
+	}
+}
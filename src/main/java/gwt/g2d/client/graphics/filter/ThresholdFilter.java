@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+/**
+ * Replaces the color of each pixel by one of two colors, depending on whether
+ * its luminance is below a level. The alpha of the pixels is kept.
+ */
+public class ThresholdFilter extends PixelFilter {
+	private final int level, below, above;
+
+	/**
+	 * Creates a filter that turns pixels to black or white.
+	 *
+	 * @param level the luminance in [0-255] from which pixels become white.
+	 */
+	public ThresholdFilter(int level) {
+		this(level, 0x000000, 0xFFFFFF);
+	}
+
+	/**
+	 * Creates a filter that turns pixels to the given colors.
+	 *
+	 * @param level the luminance in [0-255] from which pixels take the above
+	 * 				color.
+	 * @param below the RGB color of the pixels below the level.
+	 * @param above the RGB color of the other pixels.
+	 */
+	public ThresholdFilter(int level, int below, int above) {
+		this.level = level;
+		this.below = below & 0xFFFFFF;
+		this.above = above & 0xFFFFFF;
+	}
+
+	@Override
+	protected int filterPixel(int argb) {
+		return (argb & 0xFF000000) | (luminance(argb) < level ? below : above);
+	}
+
+	/**
+	 * Gets the luminance of a pixel in [0-255], ignoring its alpha.
+	 */
+	static int luminance(int argb) {
+		return (((argb >> 16) & 0xFF) * 77 + ((argb >> 8) & 0xFF) * 150
+				+ (argb & 0xFF) * 29) >> 8;
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains image filters that process arrays of pixels, so that they can run
+ * in the browser on image data as well as in a plain JVM.
+ */
+package gwt.g2d.client.graphics.filter;
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * A set of non-overlapping pixel-aligned rectangles that need to be
+ * repainted. Overlapping rectangles are merged into their union as they are
+ * added, and the whole set collapses into a single rectangle once it grows
+ * past {@link #MAX_RECTANGLES}.
+ */
+final class DirtyRegion {
+	static final int MAX_RECTANGLES = 16;
+
+	// One extra pixel around each rectangle covers the anti-aliased edges.
+	private static final double MARGIN = 1;
+
+	private final double[] left = new double[MAX_RECTANGLES + 1],
+			top = new double[MAX_RECTANGLES + 1],
+			right = new double[MAX_RECTANGLES + 1],
+			bottom = new double[MAX_RECTANGLES + 1];
+	private int count;
+
+	void clear() {
+		count = 0;
+	}
+
+	int size() {
+		return count;
+	}
+
+	double getLeft(int index) {
+		return left[index];
+	}
+
+	double getTop(int index) {
+		return top[index];
+	}
+
+	double getWidth(int index) {
+		return right[index] - left[index];
+	}
+
+	double getHeight(int index) {
+		return bottom[index] - top[index];
+	}
+
+	/**
+	 * Gets the total area of the rectangles.
+	 */
+	double getArea() {
+		double area = 0;
+		for (int i = 0; i < count; i++) {
+			area += (right[i] - left[i]) * (bottom[i] - top[i]);
+		}
+		return area;
+	}
+
+	/**
+	 * Checks whether the rectangle at the given index intersects the given
+	 * rectangle.
+	 */
+	boolean intersects(int index, Rectangle rectangle) {
+		return rectangle.getX() < right[index]
+				&& rectangle.getX() + rectangle.getWidth() > left[index]
+				&& rectangle.getY() < bottom[index]
+				&& rectangle.getY() + rectangle.getHeight() > top[index];
+	}
+
+	/**
+	 * Adds a rectangle to the region, expanded to whole pixels.
+	 */
+	void add(Rectangle rectangle) {
+		double l = Math.floor(rectangle.getX() - MARGIN);
+		double t = Math.floor(rectangle.getY() - MARGIN);
+		double r = Math.ceil(rectangle.getX() + rectangle.getWidth() + MARGIN);
+		double b = Math.ceil(rectangle.getY() + rectangle.getHeight() + MARGIN);
+		if (!(r > l && b > t)) {
+			return;
+		}
+		// Merges with the overlapping rectangles until none is left.
+		boolean merged = true;
+		while (merged) {
+			merged = false;
+			for (int i = 0; i < count; i++) {
+				if (l < right[i] && r > left[i] && t < bottom[i] && b > top[i]) {
+					l = Math.min(l, left[i]);
+					t = Math.min(t, top[i]);
+					r = Math.max(r, right[i]);
+					b = Math.max(b, bottom[i]);
+					removeAt(i);
+					merged = true;
+					break;
+				}
+			}
+		}
+		left[count] = l;
+		top[count] = t;
+		right[count] = r;
+		bottom[count] = b;
+		count++;
+		if (count > MAX_RECTANGLES) {
+			collapse();
+		}
+	}
+
+	/**
+	 * Replaces all the rectangles with their union.
+	 */
+	void collapse() {
+		for (int i = 1; i < count; i++) {
+			left[0] = Math.min(left[0], left[i]);
+			top[0] = Math.min(top[0], top[i]);
+			right[0] = Math.max(right[0], right[i]);
+			bottom[0] = Math.max(bottom[0], bottom[i]);
+		}
+		count = Math.min(count, 1);
+	}
+
+	private void removeAt(int index) {
+		count--;
+		left[index] = left[count];
+		top[index] = top[count];
+		right[index] = right[count];
+		bottom[index] = bottom[count];
+	}
+}
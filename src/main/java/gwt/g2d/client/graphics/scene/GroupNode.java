@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A node that contains other nodes. The children are painted in the order
+ * they were added, and are transformed by the transformation of the group.
+ */
+public class GroupNode extends SceneNode {
+	private final List<SceneNode> children = new ArrayList<SceneNode>();
+	private Scene scene;
+
+	/**
+	 * Creates an empty group.
+	 */
+	public GroupNode() {
+	}
+
+	/**
+	 * Creates the root group of the given scene.
+	 */
+	GroupNode(Scene scene) {
+		this.scene = scene;
+	}
+
+	@Override
+	public Scene getScene() {
+		return scene != null ? scene : super.getScene();
+	}
+
+	/**
+	 * Adds a node at the end of the group, so that it is painted on top of the
+	 * other children.
+	 *
+	 * @return self to support chaining.
+	 */
+	public GroupNode add(SceneNode node) {
+		return insert(node, children.size());
+	}
+
+	/**
+	 * Inserts a node at the given index of the group.
+	 *
+	 * @return self to support chaining.
+	 */
+	public GroupNode insert(SceneNode node, int index) {
+		if (node.getParent() != null) {
+			node.getParent().remove(node);
+		}
+		children.add(index, node);
+		node.setParent(this);
+		node.invalidate();
+		Scene scene = getScene();
+		if (scene != null) {
+			scene.setDirty();
+		}
+		return this;
+	}
+
+	/**
+	 * Removes a node from the group.
+	 *
+	 * @return true if the node was a child of this group.
+	 */
+	public boolean remove(SceneNode node) {
+		if (!children.remove(node)) {
+			return false;
+		}
+		Scene scene = getScene();
+		if (scene != null) {
+			scene.detach(node);
+		}
+		node.setParent(null);
+		return true;
+	}
+
+	/**
+	 * Removes all the children of the group.
+	 */
+	public void clear() {
+		while (!children.isEmpty()) {
+			remove(children.get(children.size() - 1));
+		}
+	}
+
+	/**
+	 * Gets the child at the given index.
+	 */
+	public SceneNode get(int index) {
+		return children.get(index);
+	}
+
+	/**
+	 * Gets the index of the given child, or -1 if it is not a child.
+	 */
+	public int indexOf(SceneNode node) {
+		return children.indexOf(node);
+	}
+
+	/**
+	 * Gets the number of children.
+	 */
+	public int size() {
+		return children.size();
+	}
+
+	@Override
+	protected boolean getLocalBounds(Surface surface, Rectangle result) {
+		// A group paints nothing by itself.
+		return true;
+	}
+
+	@Override
+	protected void paint(Surface surface) {
+	}
+
+	@Override
+	void paintRegion(Surface surface, DirtyRegion region, int regionIndex) {
+		if (!isVisible()) {
+			return;
+		}
+		for (int i = 0, n = children.size(); i < n; i++) {
+			children.get(i).paintRegion(surface, region, regionIndex);
+		}
+	}
+
+	@Override
+	boolean update(Surface surface, DirtyRegion region, Rectangle scratch,
+			boolean parentChanged, boolean parentVisible) {
+		boolean changed = parentChanged || isDirty();
+		if (changed) {
+			updateWorldTransform();
+			clearDirty();
+		}
+		boolean visible = parentVisible && isVisible();
+		boolean bounded = true;
+		for (int i = 0, n = children.size(); i < n; i++) {
+			bounded &= children.get(i).update(surface, region, scratch, changed,
+					visible);
+		}
+		return bounded;
+	}
+
+	@Override
+	boolean detach(DirtyRegion region) {
+		boolean bounded = true;
+		for (int i = 0, n = children.size(); i < n; i++) {
+			bounded &= children.get(i).detach(region);
+		}
+		markDetached();
+		return bounded;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Rectangle;
+
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * A node that draws an image. The image is drawn at the origin of the node
+ * with its natural size, unless a destination rectangle is given.
+ */
+public class ImageNode extends SceneNode {
+	private ImageElement image;
+	private Rectangle destination;
+
+	/**
+	 * Creates a node that draws the image at the origin with its natural size.
+	 */
+	public ImageNode(ImageElement image) {
+		this.image = image;
+	}
+
+	/**
+	 * Creates a node that draws the image into the given rectangle.
+	 */
+	public ImageNode(ImageElement image, Rectangle destination) {
+		this.image = image;
+		this.destination = new Rectangle(destination);
+	}
+
+	public ImageElement getImage() {
+		return image;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public ImageNode setImage(ImageElement image) {
+		this.image = image;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Gets the rectangle the image is drawn into.
+	 *
+	 * @return the rectangle, or null if the image is drawn with its natural
+	 * size.
+	 */
+	public Rectangle getDestination() {
+		return destination;
+	}
+
+	/**
+	 * @param destination the rectangle to draw the image into, or null to draw
+	 * 				the image with its natural size.
+	 * @return self to support chaining.
+	 */
+	public ImageNode setDestination(Rectangle destination) {
+		this.destination = destination == null ? null : new Rectangle(destination);
+		invalidate();
+		return this;
+	}
+
+	@Override
+	protected boolean getLocalBounds(Surface surface, Rectangle result) {
+		if (destination == null) {
+			result.setX(0);
+			result.setY(0);
+			result.setWidth(image.getWidth());
+			result.setHeight(image.getHeight());
+		} else {
+			result.setX(destination.getX());
+			result.setY(destination.getY());
+			result.setWidth(destination.getWidth());
+			result.setHeight(destination.getHeight());
+		}
+		return true;
+	}
+
+	@Override
+	protected void paint(Surface surface) {
+		if (destination == null) {
+			surface.drawImage(image, 0, 0);
+		} else {
+			surface.drawImage(image, destination);
+		}
+	}
+}
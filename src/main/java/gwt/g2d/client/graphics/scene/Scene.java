@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.graphics.Color;
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * A retained-mode scene graph that repaints only the parts of a
+ * {@link Surface} that have changed.
+ * <p>
+ * On each {@link #render()}, the scene collects the old and new bounds of the
+ * nodes that have been invalidated, merges them into a few dirty rectangles,
+ * and for each of them clips the surface, clears the background and
+ * repaints the nodes that intersect it. When the bounds of a changed node are
+ * unknown, or the dirty area is too large, the whole surface is repainted.
+ * <p>
+ * The scene owns the surface content: anything drawn on the surface outside
+ * of the scene may be erased. If the surface is resized, call
+ * {@link #invalidateAll()}.
+ */
+public class Scene {
+	private final Surface surface;
+	private final GroupNode root = new GroupNode(this);
+	private final DirtyRegion region = new DirtyRegion();
+	private final Rectangle scratch = new Rectangle();
+	private Color background;
+	private double fullRepaintRatio = 0.5;
+	private boolean dirty = true, fullRepaint = true;
+	private int lastRegionCount;
+	private double lastRepaintedArea;
+
+	/**
+	 * Creates an empty scene that renders to the given surface.
+	 */
+	public Scene(Surface surface) {
+		this.surface = surface;
+	}
+
+	/**
+	 * Gets the surface the scene renders to.
+	 */
+	public final Surface getSurface() {
+		return surface;
+	}
+
+	/**
+	 * Gets the root group of the scene.
+	 */
+	public final GroupNode getRoot() {
+		return root;
+	}
+
+	/**
+	 * Adds a node on top of the scene.
+	 *
+	 * @return self to support chaining.
+	 */
+	public Scene add(SceneNode node) {
+		root.add(node);
+		return this;
+	}
+
+	/**
+	 * Removes a node from the root of the scene.
+	 *
+	 * @return true if the node was in the root of the scene.
+	 */
+	public boolean remove(SceneNode node) {
+		return root.remove(node);
+	}
+
+	/**
+	 * Gets the background color.
+	 *
+	 * @return the color, or null if the background is transparent.
+	 */
+	public Color getBackground() {
+		return background;
+	}
+
+	/**
+	 * Sets the color that dirty regions are filled with before being
+	 * repainted.
+	 *
+	 * @param background the color, or null to clear to transparent.
+	 * @return self to support chaining.
+	 */
+	public Scene setBackground(Color background) {
+		this.background = background;
+		invalidateAll();
+		return this;
+	}
+
+	/**
+	 * Gets the fraction of the surface area above which the whole surface is
+	 * repainted instead of the dirty rectangles.
+	 */
+	public double getFullRepaintRatio() {
+		return fullRepaintRatio;
+	}
+
+	/**
+	 * Sets the fraction of the surface area above which the whole surface is
+	 * repainted instead of the dirty rectangles. Default: 0.5.
+	 *
+	 * @return self to support chaining.
+	 */
+	public Scene setFullRepaintRatio(double fullRepaintRatio) {
+		this.fullRepaintRatio = fullRepaintRatio;
+		return this;
+	}
+
+	/**
+	 * Forces the whole surface to be repainted on the next {@link #render()}.
+	 */
+	public void invalidateAll() {
+		fullRepaint = true;
+		dirty = true;
+	}
+
+	/**
+	 * Checks whether the next {@link #render()} will repaint anything.
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Repaints the parts of the surface that have changed since the last
+	 * render.
+	 *
+	 * @return true if anything was repainted.
+	 */
+	public boolean render() {
+		if (!dirty) {
+			lastRegionCount = 0;
+			lastRepaintedArea = 0;
+			return false;
+		}
+		boolean bounded = root.update(surface, region, scratch, false, true);
+		int width = surface.getWidth(), height = surface.getHeight();
+		double area = (double) width * height;
+		if (fullRepaint || !bounded || region.getArea() > fullRepaintRatio * area) {
+			surface.save().setTransform(1, 0, 0, 1, 0, 0);
+			clearRegion(0, 0, width, height);
+			root.paintRegion(surface, null, 0);
+			surface.restore();
+			lastRegionCount = 1;
+			lastRepaintedArea = area;
+		} else {
+			lastRegionCount = region.size();
+			lastRepaintedArea = region.getArea();
+			for (int i = 0; i < region.size(); i++) {
+				double x = region.getLeft(i), y = region.getTop(i);
+				double w = region.getWidth(i), h = region.getHeight(i);
+				surface.save().setTransform(1, 0, 0, 1, 0, 0);
+				surface.getContext().beginPath();
+				surface.clipRectangle(x, y, w, h);
+				clearRegion(x, y, w, h);
+				root.paintRegion(surface, region, i);
+				surface.restore();
+			}
+		}
+		region.clear();
+		dirty = false;
+		fullRepaint = false;
+		return true;
+	}
+
+	/**
+	 * Gets the number of rectangles repainted by the last render. A full
+	 * repaint counts as one rectangle.
+	 */
+	public int getLastDirtyRegionCount() {
+		return lastRegionCount;
+	}
+
+	/**
+	 * Gets the area, in pixels, repainted by the last render.
+	 */
+	public double getLastRepaintedArea() {
+		return lastRepaintedArea;
+	}
+
+	void setDirty() {
+		dirty = true;
+	}
+
+	void detach(SceneNode node) {
+		if (!node.detach(region)) {
+			fullRepaint = true;
+		}
+		dirty = true;
+	}
+
+	private void clearRegion(double x, double y, double width, double height) {
+		if (background == null) {
+			surface.clearRectangle(x, y, width, height);
+		} else {
+			surface.setFillStyle(background).fillRectangle(x, y, width, height);
+		}
+	}
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Matrix;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * A node of a {@link Scene}.
+ *
+ * Each node has a transformation relative to its parent, and caches the
+ * bounds it covered on the surface the last time it was painted. Whenever a
+ * node is changed, {@link #invalidate()} must be called so that the scene
+ * repaints the area it covered before and the area it covers now.
+ */
+public abstract class SceneNode {
+	private final Matrix transform = new Matrix();
+	private final Matrix worldTransform = new Matrix();
+	private final Rectangle paintedBounds = new Rectangle();
+	private GroupNode parent;
+	private boolean visible = true, dirty = true, painted, boundsKnown;
+
+	/**
+	 * Gets the parent of this node.
+	 *
+	 * @return the parent group, or null if the node is not part of a group.
+	 */
+	public final GroupNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Gets the scene that this node belongs to.
+	 *
+	 * @return the scene, or null if the node is not attached to a scene.
+	 */
+	public Scene getScene() {
+		return parent == null ? null : parent.getScene();
+	}
+
+	/**
+	 * Gets the transformation of this node relative to its parent.
+	 * {@link #invalidate()} must be called after modifying the returned matrix.
+	 */
+	public final Matrix getTransform() {
+		return transform;
+	}
+
+	/**
+	 * Sets the transformation of this node relative to its parent.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SceneNode setTransform(Matrix matrix) {
+		transform.set(matrix);
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Sets the translation of this node relative to its parent, keeping the
+	 * rest of the transformation.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SceneNode setPosition(double x, double y) {
+		transform.setDx(x);
+		transform.setDy(y);
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Gets whether this node is painted.
+	 */
+	public final boolean isVisible() {
+		return visible;
+	}
+
+	/**
+	 * Sets whether this node is painted.
+	 *
+	 * @return self to support chaining.
+	 */
+	public SceneNode setVisible(boolean visible) {
+		if (this.visible != visible) {
+			this.visible = visible;
+			invalidate();
+		}
+		return this;
+	}
+
+	/**
+	 * Marks this node as changed, so that it is repainted on the next
+	 * {@link Scene#render()}.
+	 */
+	public void invalidate() {
+		if (!dirty) {
+			dirty = true;
+			Scene scene = getScene();
+			if (scene != null) {
+				scene.setDirty();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether this node has changed since the last render.
+	 */
+	public final boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Gets the bounds of this node on the surface, as computed by the last
+	 * render.
+	 *
+	 * @return the bounds, or null if the node has not been painted or its
+	 * bounds are unknown.
+	 */
+	public final Rectangle getPaintedBounds() {
+		return painted && boundsKnown ? paintedBounds : null;
+	}
+
+	/**
+	 * Computes the bounds of what this node paints, in its own coordinate
+	 * system.
+	 *
+	 * @param surface the surface the node is painted on.
+	 * @param result the rectangle to store the bounds in.
+	 * @return true if the bounds are known, false if the node may paint
+	 * anywhere on the surface.
+	 */
+	protected abstract boolean getLocalBounds(Surface surface, Rectangle result);
+
+	/**
+	 * Gets the distance that this node may paint outside of its local bounds
+	 * in device pixels, such as for a shadow, which is not transformed.
+	 * Default: 0.
+	 */
+	protected double getDevicePadding() {
+		return 0;
+	}
+
+	/**
+	 * Paints this node on the given surface. The transformation of the surface
+	 * has already been set to the transformation of this node.
+	 */
+	protected abstract void paint(Surface surface);
+
+	/**
+	 * Paints this node and its children that intersect the given region.
+	 *
+	 * @param region the device-space region to repaint, or null to repaint
+	 * 				everything.
+	 */
+	void paintRegion(Surface surface, DirtyRegion region, int regionIndex) {
+		if (!painted) {
+			return;
+		}
+		if (boundsKnown && region != null
+				&& !region.intersects(regionIndex, paintedBounds)) {
+			return;
+		}
+		surface.setTransform(worldTransform);
+		paint(surface);
+	}
+
+	/**
+	 * Recomputes the world transformation and the bounds of this node if it or
+	 * one of its ancestors has changed, adding the old and new bounds to the
+	 * dirty region.
+	 *
+	 * @param parentChanged whether the world transformation or the visibility
+	 * 				of the parent has changed.
+	 * @param parentVisible whether all the ancestors are visible.
+	 * @return false if the whole surface needs to be repainted.
+	 */
+	boolean update(Surface surface, DirtyRegion region, Rectangle scratch,
+			boolean parentChanged, boolean parentVisible) {
+		if (!dirty && !parentChanged) {
+			return true;
+		}
+		boolean bounded = detach(region);
+		updateWorldTransform();
+		painted = visible && parentVisible;
+		boundsKnown = getLocalBounds(surface, scratch);
+		if (boundsKnown) {
+			transformBounds(worldTransform, scratch, paintedBounds);
+			double padding = getDevicePadding();
+			if (padding > 0) {
+				paintedBounds.setX(paintedBounds.getX() - padding);
+				paintedBounds.setY(paintedBounds.getY() - padding);
+				paintedBounds.setWidth(paintedBounds.getWidth() + 2 * padding);
+				paintedBounds.setHeight(paintedBounds.getHeight() + 2 * padding);
+			}
+			if (painted) {
+				region.add(paintedBounds);
+			}
+		} else if (painted) {
+			bounded = false;
+		}
+		dirty = false;
+		return bounded;
+	}
+
+	/**
+	 * Adds the bounds painted by this node to the dirty region, and forgets
+	 * them. This is used when the node is removed from the scene.
+	 *
+	 * @return false if the whole surface needs to be repainted.
+	 */
+	boolean detach(DirtyRegion region) {
+		boolean bounded = true;
+		if (painted) {
+			if (boundsKnown) {
+				region.add(paintedBounds);
+			} else {
+				bounded = false;
+			}
+		}
+		markDetached();
+		return bounded;
+	}
+
+	/**
+	 * Recomputes the world transformation from the one of the parent.
+	 */
+	final void updateWorldTransform() {
+		if (parent == null) {
+			worldTransform.set(transform);
+		} else {
+			concatenate(((SceneNode) parent).worldTransform, transform,
+					worldTransform);
+		}
+	}
+
+	final void clearDirty() {
+		dirty = false;
+	}
+
+	final void markDetached() {
+		painted = false;
+		dirty = true;
+	}
+
+	final void setParent(GroupNode parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Computes parent * local in the convention used by the canvas, where a
+	 * point is transformed as (m11 * x + m21 * y + dx, m12 * x + m22 * y + dy).
+	 */
+	private static void concatenate(Matrix parent, Matrix local, Matrix result) {
+		double a = parent.getM11(), b = parent.getM12();
+		double c = parent.getM21(), d = parent.getM22();
+		result.set(a * local.getM11() + c * local.getM12(),
+				b * local.getM11() + d * local.getM12(),
+				a * local.getM21() + c * local.getM22(),
+				b * local.getM21() + d * local.getM22(),
+				a * local.getDx() + c * local.getDy() + parent.getDx(),
+				b * local.getDx() + d * local.getDy() + parent.getDy());
+	}
+
+	/**
+	 * Computes the device-space bounding box of the given local rectangle.
+	 */
+	private static void transformBounds(Matrix m, Rectangle local,
+			Rectangle result) {
+		double x0 = local.getX(), y0 = local.getY();
+		double x1 = x0 + local.getWidth(), y1 = y0 + local.getHeight();
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < 4; i++) {
+			double x = (i & 1) == 0 ? x0 : x1;
+			double y = (i & 2) == 0 ? y0 : y1;
+			double tx = m.getM11() * x + m.getM21() * y + m.getDx();
+			double ty = m.getM12() * x + m.getM22() * y + m.getDy();
+			minX = Math.min(minX, tx);
+			minY = Math.min(minY, ty);
+			maxX = Math.max(maxX, tx);
+			maxY = Math.max(maxY, ty);
+		}
+		result.setX(minX);
+		result.setY(minY);
+		result.setWidth(maxX - minX);
+		result.setHeight(maxY - minY);
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.graphics.Color;
+import gwt.g2d.client.graphics.LineCap;
+import gwt.g2d.client.graphics.LineJoin;
+import gwt.g2d.client.graphics.ShapeStyle;
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.graphics.shapes.Shape;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * A node that fills and/or strokes a {@link Shape}.
+ *
+ * The bounds of the node are given by {@link Shape#getBounds()}, expanded by
+ * the stroke and the shadow of the node as in {@link ShapeStyle}. If the shape
+ * does not know its bounds, they can be given with
+ * {@link #setBounds(Rectangle)}; otherwise, any change to the node repaints
+ * the whole surface.
+ */
+public class ShapeNode extends SceneNode {
+	private Shape shape;
+	private Color fillColor, strokeColor;
+	private double lineWidth = 1, miterLimit = 10;
+	private LineCap lineCap = LineCap.BUTT;
+	private LineJoin lineJoin = LineJoin.MITER;
+	private Color shadowColor;
+	private double shadowBlur, shadowOffsetX, shadowOffsetY;
+	private Rectangle bounds;
+
+	/**
+	 * Creates a node that fills the given shape with the given color.
+	 */
+	public ShapeNode(Shape shape, Color fillColor) {
+		this(shape, fillColor, null);
+	}
+
+	/**
+	 * Creates a node that fills and strokes the given shape.
+	 *
+	 * @param shape the shape to draw.
+	 * @param fillColor the fill color, or null to not fill the shape.
+	 * @param strokeColor the stroke color, or null to not stroke the shape.
+	 */
+	public ShapeNode(Shape shape, Color fillColor, Color strokeColor) {
+		this.shape = shape;
+		this.fillColor = fillColor;
+		this.strokeColor = strokeColor;
+		this.bounds = shape.getBounds();
+	}
+
+	public Shape getShape() {
+		return shape;
+	}
+
+	/**
+	 * Sets the shape to draw, and updates the bounds from the shape.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setShape(Shape shape) {
+		this.shape = shape;
+		this.bounds = shape.getBounds();
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Sets the bounds of the shape, in the coordinate system of this node.
+	 *
+	 * @param bounds the bounds, or null if unknown.
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setBounds(Rectangle bounds) {
+		this.bounds = bounds == null ? null : new Rectangle(bounds);
+		invalidate();
+		return this;
+	}
+
+	public Color getFillColor() {
+		return fillColor;
+	}
+
+	/**
+	 * @param fillColor the fill color, or null to not fill the shape.
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setFillColor(Color fillColor) {
+		this.fillColor = fillColor;
+		invalidate();
+		return this;
+	}
+
+	public Color getStrokeColor() {
+		return strokeColor;
+	}
+
+	/**
+	 * @param strokeColor the stroke color, or null to not stroke the shape.
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setStrokeColor(Color strokeColor) {
+		this.strokeColor = strokeColor;
+		invalidate();
+		return this;
+	}
+
+	public double getLineWidth() {
+		return lineWidth;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setLineWidth(double lineWidth) {
+		this.lineWidth = lineWidth;
+		invalidate();
+		return this;
+	}
+
+	public LineCap getLineCap() {
+		return lineCap;
+	}
+
+	/**
+	 * Sets the ends of the stroke. Default: {@link LineCap#BUTT}.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setLineCap(LineCap lineCap) {
+		this.lineCap = lineCap;
+		invalidate();
+		return this;
+	}
+
+	public LineJoin getLineJoin() {
+		return lineJoin;
+	}
+
+	/**
+	 * Sets the corners of the stroke. Default: {@link LineJoin#MITER}.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setLineJoin(LineJoin lineJoin) {
+		this.lineJoin = lineJoin;
+		invalidate();
+		return this;
+	}
+
+	public double getMiterLimit() {
+		return miterLimit;
+	}
+
+	/**
+	 * Sets the miter limit ratio of the stroke. Default: 10.
+	 *
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setMiterLimit(double miterLimit) {
+		this.miterLimit = miterLimit;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Sets the shadow of the shape.
+	 *
+	 * @param color the color of the shadow, or null for no shadow.
+	 * @param blur the size of the blurring effect, in pixels.
+	 * @param offsetX the horizontal offset of the shadow, in pixels.
+	 * @param offsetY the vertical offset of the shadow, in pixels.
+	 * @return self to support chaining.
+	 */
+	public ShapeNode setShadow(Color color, double blur, double offsetX,
+			double offsetY) {
+		shadowColor = color;
+		shadowBlur = blur;
+		shadowOffsetX = offsetX;
+		shadowOffsetY = offsetY;
+		invalidate();
+		return this;
+	}
+
+	@Override
+	protected boolean getLocalBounds(Surface surface, Rectangle result) {
+		if (bounds == null) {
+			return false;
+		}
+		double margin = strokeColor == null ? 0 : ShapeStyle.getStrokePadding(
+				lineWidth, lineCap, lineJoin, miterLimit);
+		result.setX(bounds.getX() - margin);
+		result.setY(bounds.getY() - margin);
+		result.setWidth(bounds.getWidth() + 2 * margin);
+		result.setHeight(bounds.getHeight() + 2 * margin);
+		return true;
+	}
+
+	@Override
+	protected double getDevicePadding() {
+		return shadowColor == null ? 0 : ShapeStyle.getShadowPadding(shadowBlur,
+				shadowOffsetX, shadowOffsetY);
+	}
+
+	@Override
+	protected void paint(Surface surface) {
+		if (shadowColor != null) {
+			surface.save().setShadowColor(shadowColor).setShadowBlur(shadowBlur)
+					.setShadowOffsetX(shadowOffsetX).setShadowOffsetY(shadowOffsetY);
+		}
+		surface.getContext().beginPath();
+		shape.draw(surface);
+		if (fillColor != null) {
+			surface.setFillStyle(fillColor).getContext().fill();
+		}
+		if (strokeColor != null) {
+			surface.setStrokeStyle(strokeColor).setLineWidth(lineWidth)
+					.setLineCap(lineCap).setLineJoin(lineJoin)
+					.setMiterLimit(miterLimit).getContext().stroke();
+		}
+		if (shadowColor != null) {
+			surface.restore();
+		}
+	}
+}
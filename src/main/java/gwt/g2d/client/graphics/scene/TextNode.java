@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.scene;
+
+import gwt.g2d.client.graphics.Color;
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.graphics.TextAlign;
+import gwt.g2d.client.graphics.TextBaseline;
+import gwt.g2d.client.graphics.TextMeasurer;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * A node that fills a line of text at its origin.
+ *
+ * The bounds are measured with {@link TextMeasurer#DEFAULT_TEXT_MEASURER}.
+ * Since the position of the baseline within the font is unknown, the bounds
+ * extend one font height above and below the origin.
+ */
+public class TextNode extends SceneNode {
+	private String text, font;
+	private Color color;
+	private TextAlign textAlign = TextAlign.START;
+	private TextBaseline textBaseline = TextBaseline.ALPHABETIC;
+
+	/**
+	 * Creates a node that fills the given text.
+	 *
+	 * @param text the text to draw.
+	 * @param font the CSS font of the text.
+	 * @param color the color of the text.
+	 */
+	public TextNode(String text, String font, Color color) {
+		this.text = text;
+		this.font = font;
+		this.color = color;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public TextNode setText(String text) {
+		this.text = text;
+		invalidate();
+		return this;
+	}
+
+	public String getFont() {
+		return font;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public TextNode setFont(String font) {
+		this.font = font;
+		invalidate();
+		return this;
+	}
+
+	public Color getColor() {
+		return color;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public TextNode setColor(Color color) {
+		this.color = color;
+		invalidate();
+		return this;
+	}
+
+	public TextAlign getTextAlign() {
+		return textAlign;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public TextNode setTextAlign(TextAlign textAlign) {
+		this.textAlign = textAlign;
+		invalidate();
+		return this;
+	}
+
+	public TextBaseline getTextBaseline() {
+		return textBaseline;
+	}
+
+	/**
+	 * @return self to support chaining.
+	 */
+	public TextNode setTextBaseline(TextBaseline textBaseline) {
+		this.textBaseline = textBaseline;
+		invalidate();
+		return this;
+	}
+
+	@Override
+	protected boolean getLocalBounds(Surface surface, Rectangle result) {
+		surface.save().setFont(font);
+		double width = TextMeasurer.DEFAULT_TEXT_MEASURER.measureTextWidth(
+				surface, text);
+		double height = TextMeasurer.DEFAULT_TEXT_MEASURER.measureTextHeight(
+				surface, text);
+		surface.restore();
+		double x;
+		switch (textAlign) {
+			case LEFT:
+				x = 0;
+				break;
+			case CENTER:
+				x = -width / 2;
+				break;
+			case RIGHT:
+				x = -width;
+				break;
+			default:
+				// START and END depend on the direction of the text, so both
+				// sides are covered.
+				x = -width;
+				width *= 2;
+				break;
+		}
+		result.setX(x);
+		result.setY(-height);
+		result.setWidth(width);
+		result.setHeight(2 * height);
+		return true;
+	}
+
+	@Override
+	protected void paint(Surface surface) {
+		surface.setFont(font);
+		surface.setTextAlign(textAlign);
+		surface.setTextBaseline(textBaseline);
+		surface.setFillStyle(color);
+		surface.fillText(text, 0, 0);
+	}
+}
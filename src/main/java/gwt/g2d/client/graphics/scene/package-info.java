@@ -0,0 +1,5 @@
+/**
+ * Contains a retained-mode scene graph that repaints only the changed parts
+ * of a surface.
+ */
+package gwt.g2d.client.graphics.scene;
\ No newline at end of file
@@ -4,6 +4,7 @@ import gwt.g2d.client.graphics.Surface;
 import gwt.g2d.client.graphics.canvas.Context;
 import gwt.g2d.client.math.Circle;
 import gwt.g2d.client.math.MathHelper;
+import gwt.g2d.client.math.Rectangle;
 import gwt.g2d.client.math.Vector2;
 
 /**
@@ -35,4 +36,10 @@ public class CircleShape extends Shape {
 		context.arc(centerX, centerY, radius, 0, MathHelper.TWO_PI, true);
 		context.closePath();
 	}
+	
+	@Override
+	public Rectangle getBounds() {
+		return new Rectangle(centerX - radius, centerY - radius, 2 * radius, 
+				2 * radius);
+	}
 }
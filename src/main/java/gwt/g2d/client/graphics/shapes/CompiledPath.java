@@ -0,0 +1,413 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.shapes;
+
+import gwt.g2d.client.graphics.FillRule;
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.graphics.canvas.Context;
+import gwt.g2d.client.graphics.canvas.ContextImpl;
+import gwt.g2d.client.graphics.visitor.ShapeVisitor;
+import gwt.g2d.client.math.Rectangle;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * A shape compiled by {@link ShapeBuilder} into a flat form: one byte opcode
+ * per path command, and the arguments of all the commands packed into a single
+ * array of doubles.
+ * <p>
+ * Drawing a compiled path is a single loop over the two arrays. In compiled
+ * mode, when the surface draws directly onto the canvas, the loop runs in
+ * JavaScript and calls the canvas context without going through JSNI for
+ * every command.
+ * <p>
+ * A compiled path is immutable: further calls on the builder that produced it
+ * do not change it. The class is only extended by the deprecated
+ * {@link ShapeBuilder.CustomShape}.
+ */
+public class CompiledPath extends Shape {
+	// Opcodes, the native loop in drawImpl must be kept in sync.
+	static final byte MOVE_TO = 0;
+	static final byte LINE_TO = 1;
+	static final byte QUADRATIC_CURVE_TO = 2;
+	static final byte BEZIER_CURVE_TO = 3;
+	static final byte ARC = 4;
+	static final byte ARC_TO = 5;
+	static final byte RECTANGLE = 6;
+	static final byte ROTATE = 7;
+	static final byte SCALE = 8;
+	static final byte TRANSLATE = 9;
+	static final byte TRANSFORM = 10;
+	static final byte SET_TRANSFORM = 11;
+	static final byte VISITOR = 12;
+
+	/**
+	 * The hit tester of {@link #containsPoint(double, double)} and
+	 * {@link #strokeContainsPoint(double, double, double)}, shared since GWT
+	 * code runs on a single thread.
+	 */
+	private static final HitTester HIT_TESTER = new HitTester();
+
+	private final byte[] operations;
+	private final double[] coordinates;
+	private final ShapeVisitor[] visitors;
+	private Rectangle bounds;
+	private boolean boundsComputed;
+
+	/**
+	 * Creates a compiled path from copies of the first elements of the given
+	 * arrays.
+	 */
+	CompiledPath(byte[] operations, int operationCount, double[] coordinates,
+			int coordinateCount, ShapeVisitor[] visitors, int visitorCount) {
+		this.operations = new byte[operationCount];
+		System.arraycopy(operations, 0, this.operations, 0, operationCount);
+		this.coordinates = new double[coordinateCount];
+		System.arraycopy(coordinates, 0, this.coordinates, 0, coordinateCount);
+		this.visitors = new ShapeVisitor[visitorCount];
+		System.arraycopy(visitors, 0, this.visitors, 0, visitorCount);
+	}
+
+	/**
+	 * Gets the number of commands in the path.
+	 */
+	public final int getCommandCount() {
+		return operations.length;
+	}
+
+	/**
+	 * Gets the number of coordinates and other numeric arguments stored for
+	 * the commands of the path.
+	 */
+	public final int getCoordinateCount() {
+		return coordinates.length;
+	}
+
+	@Override
+	public final void draw(Surface surface) {
+		Context context = surface.getContext();
+		context.beginPath();
+		if (GWT.isScript() && context instanceof ContextImpl) {
+			drawImpl((ContextImpl) context, surface, operations, coordinates,
+					visitors);
+		} else {
+			replay(context, surface);
+		}
+		context.closePath();
+	}
+
+	/**
+	 * Gets the bounds of the control points of the path, which enclose the
+	 * path itself.
+	 *
+	 * @return a new rectangle, or null if the path changes the transformation
+	 * 				or contains custom visitors.
+	 */
+	@Override
+	public final Rectangle getBounds() {
+		Rectangle bounds = getCachedBounds();
+		return bounds == null ? null : new Rectangle(bounds);
+	}
+
+	/**
+	 * Checks whether a point is inside of the filled path, with the non-zero
+	 * rule. Use a {@link HitTester} to test many points.
+	 */
+	public final boolean containsPoint(double x, double y) {
+		return HIT_TESTER.contains(this, x, y, FillRule.NON_ZERO);
+	}
+
+	/**
+	 * Checks whether a point is on the path stroked with the given line width.
+	 * Use a {@link HitTester} to test many points.
+	 */
+	public final boolean strokeContainsPoint(double x, double y, double lineWidth) {
+		return HIT_TESTER.strokeContains(this, x, y, lineWidth);
+	}
+
+	/**
+	 * Gets the bounds of the control points without copying them, null if
+	 * they are unknown.
+	 */
+	Rectangle getCachedBounds() {
+		if (!boundsComputed) {
+			bounds = computeBounds();
+			boundsComputed = true;
+		}
+		return bounds;
+	}
+
+	byte[] getOperations() {
+		return operations;
+	}
+
+	double[] getCoordinates() {
+		return coordinates;
+	}
+
+	/**
+	 * Replays the path command by command through the {@link Context}
+	 * interface.
+	 */
+	private void replay(Context ctx, Surface surface) {
+		byte[] o = operations;
+		double[] c = coordinates;
+		int i = 0, vi = 0;
+		for (int oi = 0; oi < o.length; oi++) {
+			switch (o[oi]) {
+				case MOVE_TO:
+					ctx.moveTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case LINE_TO:
+					ctx.lineTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case QUADRATIC_CURVE_TO:
+					ctx.quadraticCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case BEZIER_CURVE_TO:
+					ctx.bezierCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4],
+							c[i + 5]);
+					i += 6;
+					break;
+				case ARC:
+					ctx.arc(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5] != 0);
+					i += 6;
+					break;
+				case ARC_TO:
+					ctx.arcTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4]);
+					i += 5;
+					break;
+				case RECTANGLE:
+					ctx.moveTo(c[i], c[i + 1]);
+					ctx.lineTo(c[i] + c[i + 2], c[i + 1]);
+					ctx.lineTo(c[i] + c[i + 2], c[i + 1] + c[i + 3]);
+					ctx.lineTo(c[i], c[i + 1] + c[i + 3]);
+					ctx.lineTo(c[i], c[i + 1]);
+					i += 4;
+					break;
+				case ROTATE:
+					ctx.rotate(c[i++]);
+					break;
+				case SCALE:
+					ctx.scale(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case TRANSLATE:
+					ctx.translate(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case TRANSFORM:
+					ctx.transform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case SET_TRANSFORM:
+					ctx.setTransform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4],
+							c[i + 5]);
+					i += 6;
+					break;
+				case VISITOR:
+					visitors[vi++].visit(surface);
+					break;
+				default:
+					throw new IllegalStateException("Unknown opcode: " + o[oi]);
+			}
+		}
+	}
+
+	/**
+	 * Computes the bounds of the control points, keeping track of the current
+	 * point for {@link #ARC_TO}.
+	 */
+	private Rectangle computeBounds() {
+		byte[] o = operations;
+		double[] c = coordinates;
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		double currentX = Double.NaN, currentY = Double.NaN;
+		int i = 0;
+		for (int oi = 0; oi < o.length; oi++) {
+			int count;
+			switch (o[oi]) {
+				case MOVE_TO:
+				case LINE_TO:
+					count = 2;
+					break;
+				case QUADRATIC_CURVE_TO:
+				case RECTANGLE:
+					count = 4;
+					break;
+				case BEZIER_CURVE_TO:
+					count = 6;
+					break;
+				case ARC: {
+					// The whole circle encloses the arc, and the arc starts with a line
+					// from the current point which is already in the bounds.
+					double x = c[i], y = c[i + 1], radius = Math.abs(c[i + 2]);
+					minX = Math.min(minX, x - radius);
+					minY = Math.min(minY, y - radius);
+					maxX = Math.max(maxX, x + radius);
+					maxY = Math.max(maxY, y + radius);
+					currentX = x + radius * Math.cos(c[i + 4]);
+					currentY = y + radius * Math.sin(c[i + 4]);
+					i += 6;
+					continue;
+				}
+				case ARC_TO: {
+					if (Double.isNaN(currentX)) {
+						return null;
+					}
+					// The arc lies in the triangle made of the corner and the two
+					// tangent points, which are at the same distance from the corner.
+					double x1 = c[i], y1 = c[i + 1], x2 = c[i + 2], y2 = c[i + 3];
+					double ux = currentX - x1, uy = currentY - y1;
+					double vx = x2 - x1, vy = y2 - y1;
+					double lu = Math.sqrt(ux * ux + uy * uy);
+					double lv = Math.sqrt(vx * vx + vy * vy);
+					i += 5;
+					minX = Math.min(minX, x1);
+					minY = Math.min(minY, y1);
+					maxX = Math.max(maxX, x1);
+					maxY = Math.max(maxY, y1);
+					if (lu == 0 || lv == 0) {
+						currentX = x1;
+						currentY = y1;
+						continue;
+					}
+					ux /= lu;
+					uy /= lu;
+					vx /= lv;
+					vy /= lv;
+					double cos = Math.max(-1, Math.min(1, ux * vx + uy * vy));
+					double angle = Math.acos(cos);
+					if (angle == 0 || angle == Math.PI) {
+						// Collinear points: the arc degenerates into a line to the corner.
+						currentX = x1;
+						currentY = y1;
+						continue;
+					}
+					double distance = Math.abs(c[i - 1]) / Math.tan(angle / 2);
+					double ax = x1 + ux * distance, ay = y1 + uy * distance;
+					double bx = x1 + vx * distance, by = y1 + vy * distance;
+					minX = Math.min(minX, Math.min(ax, bx));
+					minY = Math.min(minY, Math.min(ay, by));
+					maxX = Math.max(maxX, Math.max(ax, bx));
+					maxY = Math.max(maxY, Math.max(ay, by));
+					currentX = bx;
+					currentY = by;
+					continue;
+				}
+				default:
+					// Transformations and custom visitors make the bounds unknown.
+					return null;
+			}
+			if (o[oi] == RECTANGLE) {
+				double x = c[i], y = c[i + 1];
+				double right = x + c[i + 2], bottom = y + c[i + 3];
+				minX = Math.min(minX, Math.min(x, right));
+				minY = Math.min(minY, Math.min(y, bottom));
+				maxX = Math.max(maxX, Math.max(x, right));
+				maxY = Math.max(maxY, Math.max(y, bottom));
+				currentX = x;
+				currentY = y;
+			} else {
+				for (int end = i + count; i < end; i += 2) {
+					minX = Math.min(minX, c[i]);
+					minY = Math.min(minY, c[i + 1]);
+					maxX = Math.max(maxX, c[i]);
+					maxY = Math.max(maxY, c[i + 1]);
+				}
+				currentX = c[i - 2];
+				currentY = c[i - 1];
+				continue;
+			}
+			i += count;
+		}
+		if (minX > maxX) {
+			return new Rectangle();
+		}
+		return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	/**
+	 * Replays the path in JavaScript, without crossing JSNI for each command.
+	 */
+	private static native void drawImpl(ContextImpl ctx, Surface surface,
+			byte[] o, double[] c, ShapeVisitor[] v) /*-{
+		var i = 0, vi = 0;
+		for (var oi = 0, n = o.length; oi < n; oi++) {
+			switch (o[oi]) {
+				case 0:
+					ctx.moveTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 1:
+					ctx.lineTo(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 2:
+					ctx.quadraticCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3]);
+					i += 4;
+					break;
+				case 3:
+					ctx.bezierCurveTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case 4:
+					ctx.arc(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5] != 0);
+					i += 6;
+					break;
+				case 5:
+					ctx.arcTo(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4]);
+					i += 5;
+					break;
+				case 6:
+					var x = c[i], y = c[i + 1], r = x + c[i + 2], b = y + c[i + 3];
+					ctx.moveTo(x, y);
+					ctx.lineTo(r, y);
+					ctx.lineTo(r, b);
+					ctx.lineTo(x, b);
+					ctx.lineTo(x, y);
+					i += 4;
+					break;
+				case 7:
+					ctx.rotate(c[i++]);
+					break;
+				case 8:
+					ctx.scale(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 9:
+					ctx.translate(c[i], c[i + 1]);
+					i += 2;
+					break;
+				case 10:
+					ctx.transform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case 11:
+					ctx.setTransform(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]);
+					i += 6;
+					break;
+				case 12:
+					v[vi++].@gwt.g2d.client.graphics.visitor.ShapeVisitor::visit(Lgwt/g2d/client/graphics/Surface;)(surface);
+					break;
+			}
+		}
+	}-*/;
+}
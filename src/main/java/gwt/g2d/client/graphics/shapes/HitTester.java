@@ -0,0 +1,526 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.shapes;
+
+import gwt.g2d.client.graphics.FillRule;
+import gwt.g2d.client.math.Matrix;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * Tests points against {@link CompiledPath}s in Java, without the canvas:
+ * whether a point is inside of the filled path, and how far it is from its
+ * outline, to test strokes.
+ * <p>
+ * Curves and arcs are flattened on the fly into segments within a tolerance,
+ * so the tests do not allocate. Transformations in the path are applied as
+ * the canvas would, except that setting the transformation is relative to
+ * the coordinates of the path. Custom visitors are ignored. As when the path
+ * is drawn, the last sub-path is closed and the others are closed only for
+ * filling.
+ * <p>
+ * Transformations given to the tests map the coordinates of the path to those
+ * of the point, the way {@link gwt.g2d.client.graphics.Surface#setTransform(Matrix)}
+ * does. A tester keeps state while testing, so an instance must not be used
+ * by several threads at once.
+ */
+public final class HitTester {
+	private final Matrix inverse = new Matrix();
+	private double tolerance = 0.25;
+
+	// The point being tested, and the results.
+	private double px, py;
+	private int winding;
+	private double minDistance;
+
+	// The transformation of the path, x' = a * x + c * y + e and
+	// y' = b * x + d * y + f.
+	private double a, b, c, d, e, f;
+	private double baseA, baseB, baseC, baseD, baseE, baseF;
+	private double scale;
+
+	// The current point, transformed and in the coordinates of the path.
+	private boolean hasCurrentPoint;
+	private double currentX, currentY, localX, localY, startX, startY;
+
+	/**
+	 * Gets the largest distance between a curve and the segments it is
+	 * flattened into, 0.25 by default.
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Sets the largest distance between a curve and the segments it is
+	 * flattened into, in the coordinates of the point.
+	 *
+	 * @return self to support chaining.
+	 */
+	public HitTester setTolerance(double tolerance) {
+		if (!(tolerance > 0)) {
+			throw new IllegalArgumentException("tolerance must be positive: "
+					+ tolerance);
+		}
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	/**
+	 * Checks whether a point is inside of the filled path.
+	 */
+	public boolean contains(CompiledPath path, double x, double y,
+			FillRule fillRule) {
+		Rectangle bounds = path.getCachedBounds();
+		if (bounds != null && !(x >= bounds.getX() && y >= bounds.getY()
+				&& x <= bounds.getRight() && y <= bounds.getBottom())) {
+			return false;
+		}
+		walk(path, x, y, 1, 0, 0, 1, 0, 0);
+		return fillRule.isInside(winding);
+	}
+
+	/**
+	 * Checks whether a point is inside of the filled path drawn with the given
+	 * transformation. The point is mapped back by the inverse of the
+	 * transformation.
+	 *
+	 * @return false if the transformation cannot be inverted.
+	 */
+	public boolean contains(CompiledPath path, Matrix transform, double x,
+			double y, FillRule fillRule) {
+		if (!transform.isInvertible()) {
+			return false;
+		}
+		inverse.set(transform);
+		inverse.mutableInvert();
+		double savedTolerance = tolerance;
+		tolerance /= Math.sqrt(Math.abs(transform.getDeterminant()));
+		try {
+			return contains(path, inverseX(transform, x, y),
+					inverseY(transform, x, y), fillRule);
+		} finally {
+			tolerance = savedTolerance;
+		}
+	}
+
+	/**
+	 * Gets the distance between a point and the outline of the path.
+	 *
+	 * @return the distance, or positive infinity if the path is empty.
+	 */
+	public double getDistance(CompiledPath path, double x, double y) {
+		walk(path, x, y, 1, 0, 0, 1, 0, 0);
+		return Math.sqrt(minDistance);
+	}
+
+	/**
+	 * Gets the distance between a point and the outline of the path drawn with
+	 * the given transformation. The outline is transformed, so the distance is
+	 * exact under any transformation.
+	 */
+	public double getDistance(CompiledPath path, Matrix transform, double x,
+			double y) {
+		walk(path, x, y, transform.getM11(), transform.getM12(),
+				transform.getM21(), transform.getM22(), transform.getDx(),
+				transform.getDy());
+		return Math.sqrt(minDistance);
+	}
+
+	/**
+	 * Checks whether a point is on the path stroked with the given line width.
+	 * Joins and caps are treated as round.
+	 */
+	public boolean strokeContains(CompiledPath path, double x, double y,
+			double lineWidth) {
+		Rectangle bounds = path.getCachedBounds();
+		double half = lineWidth / 2;
+		if (bounds != null && !(x >= bounds.getX() - half
+				&& y >= bounds.getY() - half && x <= bounds.getRight() + half
+				&& y <= bounds.getBottom() + half)) {
+			return false;
+		}
+		return getDistance(path, x, y) <= half;
+	}
+
+	/**
+	 * Checks whether a point is on the path stroked with the given line width,
+	 * drawn with the given transformation, under which the line width is also
+	 * transformed.
+	 */
+	public boolean strokeContains(CompiledPath path, Matrix transform, double x,
+			double y, double lineWidth) {
+		if (!transform.isInvertible()) {
+			return false;
+		}
+		// Measures in the coordinates of the path, where the line width is
+		// uniform, unless the transformation is not uniform.
+		double m11 = transform.getM11(), m12 = transform.getM12();
+		double m21 = transform.getM21(), m22 = transform.getM22();
+		if (Math.abs(m11 - m22) < 1e-12 && Math.abs(m12 + m21) < 1e-12) {
+			inverse.set(transform);
+			inverse.mutableInvert();
+			double savedTolerance = tolerance;
+			tolerance /= Math.sqrt(Math.abs(transform.getDeterminant()));
+			try {
+				return strokeContains(path, inverseX(transform, x, y),
+						inverseY(transform, x, y), lineWidth);
+			} finally {
+				tolerance = savedTolerance;
+			}
+		}
+		// The width of a stroke under a non-uniform transformation varies with
+		// its direction; this uses the average scale.
+		double scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+		return getDistance(path, transform, x, y) <= lineWidth * scale / 2;
+	}
+
+	/**
+	 * Maps a point drawn with the given transformation back to the coordinates
+	 * of the path, with the inverse of the transformation in {@link #inverse}.
+	 *
+	 * @see Matrix#invert()
+	 */
+	private double inverseX(Matrix transform, double x, double y) {
+		return inverse.getM11() * (x - transform.getDx())
+				+ inverse.getM21() * (y - transform.getDy());
+	}
+
+	/**
+	 * @see #inverseX(Matrix, double, double)
+	 */
+	private double inverseY(Matrix transform, double x, double y) {
+		return inverse.getM12() * (x - transform.getDx())
+				+ inverse.getM22() * (y - transform.getDy());
+	}
+
+	/**
+	 * Walks the path, accumulating the winding number around the point and the
+	 * distance to the outline.
+	 */
+	private void walk(CompiledPath path, double x, double y, double a0,
+			double b0, double c0, double d0, double e0, double f0) {
+		px = x;
+		py = y;
+		winding = 0;
+		minDistance = Double.POSITIVE_INFINITY;
+		baseA = a = a0;
+		baseB = b = b0;
+		baseC = c = c0;
+		baseD = d = d0;
+		baseE = e = e0;
+		baseF = f = f0;
+		updateScale();
+		hasCurrentPoint = false;
+		byte[] o = path.getOperations();
+		double[] k = path.getCoordinates();
+		int i = 0;
+		for (int oi = 0; oi < o.length; oi++) {
+			switch (o[oi]) {
+				case CompiledPath.MOVE_TO:
+					moveTo(k[i], k[i + 1]);
+					i += 2;
+					break;
+				case CompiledPath.LINE_TO:
+					lineTo(k[i], k[i + 1]);
+					i += 2;
+					break;
+				case CompiledPath.QUADRATIC_CURVE_TO:
+					quadraticCurveTo(k[i], k[i + 1], k[i + 2], k[i + 3]);
+					i += 4;
+					break;
+				case CompiledPath.BEZIER_CURVE_TO:
+					bezierCurveTo(k[i], k[i + 1], k[i + 2], k[i + 3], k[i + 4], k[i + 5]);
+					i += 6;
+					break;
+				case CompiledPath.ARC:
+					arc(k[i], k[i + 1], Math.abs(k[i + 2]), k[i + 3], k[i + 4],
+							k[i + 5] != 0);
+					i += 6;
+					break;
+				case CompiledPath.ARC_TO:
+					arcTo(k[i], k[i + 1], k[i + 2], k[i + 3], Math.abs(k[i + 4]));
+					i += 5;
+					break;
+				case CompiledPath.RECTANGLE: {
+					double x0 = k[i], y0 = k[i + 1];
+					double x1 = x0 + k[i + 2], y1 = y0 + k[i + 3];
+					moveTo(x0, y0);
+					lineTo(x1, y0);
+					lineTo(x1, y1);
+					lineTo(x0, y1);
+					lineTo(x0, y0);
+					i += 4;
+					break;
+				}
+				case CompiledPath.ROTATE: {
+					double cos = Math.cos(k[i]), sin = Math.sin(k[i]);
+					transform(cos, sin, -sin, cos, 0, 0);
+					i++;
+					break;
+				}
+				case CompiledPath.SCALE:
+					transform(k[i], 0, 0, k[i + 1], 0, 0);
+					i += 2;
+					break;
+				case CompiledPath.TRANSLATE:
+					transform(1, 0, 0, 1, k[i], k[i + 1]);
+					i += 2;
+					break;
+				case CompiledPath.TRANSFORM:
+					transform(k[i], k[i + 1], k[i + 2], k[i + 3], k[i + 4], k[i + 5]);
+					i += 6;
+					break;
+				case CompiledPath.SET_TRANSFORM:
+					a = baseA;
+					b = baseB;
+					c = baseC;
+					d = baseD;
+					e = baseE;
+					f = baseF;
+					transform(k[i], k[i + 1], k[i + 2], k[i + 3], k[i + 4], k[i + 5]);
+					i += 6;
+					break;
+				default:
+					// Custom visitors draw what they want; they are ignored.
+					break;
+			}
+		}
+		closeSubPath(true);
+	}
+
+	private void transform(double ta, double tb, double tc, double td,
+			double te, double tf) {
+		double na = a * ta + c * tb, nb = b * ta + d * tb;
+		double nc = a * tc + c * td, nd = b * tc + d * td;
+		e += a * te + c * tf;
+		f += b * te + d * tf;
+		a = na;
+		b = nb;
+		c = nc;
+		d = nd;
+		updateScale();
+	}
+
+	private void updateScale() {
+		scale = Math.sqrt(Math.abs(a * d - b * c));
+	}
+
+	private void moveTo(double x, double y) {
+		closeSubPath(false);
+		localX = x;
+		localY = y;
+		currentX = startX = a * x + c * y + e;
+		currentY = startY = b * x + d * y + f;
+		hasCurrentPoint = true;
+	}
+
+	private void lineTo(double x, double y) {
+		if (!hasCurrentPoint) {
+			moveTo(x, y);
+			return;
+		}
+		localX = x;
+		localY = y;
+		segmentTo(a * x + c * y + e, b * x + d * y + f);
+	}
+
+	private void quadraticCurveTo(double cpx, double cpy, double x, double y) {
+		if (!hasCurrentPoint) {
+			moveTo(cpx, cpy);
+		}
+		double x0 = currentX, y0 = currentY;
+		double x1 = a * cpx + c * cpy + e, y1 = b * cpx + d * cpy + f;
+		double x2 = a * x + c * y + e, y2 = b * x + d * y + f;
+		// The number of segments that keeps the error within the tolerance.
+		double ddx = x0 - 2 * x1 + x2, ddy = y0 - 2 * y1 + y2;
+		int n = segmentCount(0.25 * Math.sqrt(ddx * ddx + ddy * ddy));
+		for (int j = 1; j < n; j++) {
+			double t = j / (double) n, u = 1 - t;
+			segmentTo(u * u * x0 + 2 * u * t * x1 + t * t * x2,
+					u * u * y0 + 2 * u * t * y1 + t * t * y2);
+		}
+		segmentTo(x2, y2);
+		localX = x;
+		localY = y;
+	}
+
+	private void bezierCurveTo(double cp1x, double cp1y, double cp2x,
+			double cp2y, double x, double y) {
+		if (!hasCurrentPoint) {
+			moveTo(cp1x, cp1y);
+		}
+		double x0 = currentX, y0 = currentY;
+		double x1 = a * cp1x + c * cp1y + e, y1 = b * cp1x + d * cp1y + f;
+		double x2 = a * cp2x + c * cp2y + e, y2 = b * cp2x + d * cp2y + f;
+		double x3 = a * x + c * y + e, y3 = b * x + d * y + f;
+		double dd1x = x0 - 2 * x1 + x2, dd1y = y0 - 2 * y1 + y2;
+		double dd2x = x1 - 2 * x2 + x3, dd2y = y1 - 2 * y2 + y3;
+		int n = segmentCount(0.75 * Math.sqrt(Math.max(dd1x * dd1x + dd1y * dd1y,
+				dd2x * dd2x + dd2y * dd2y)));
+		for (int j = 1; j < n; j++) {
+			double t = j / (double) n, u = 1 - t;
+			double w0 = u * u * u, w1 = 3 * u * u * t, w2 = 3 * u * t * t,
+					w3 = t * t * t;
+			segmentTo(w0 * x0 + w1 * x1 + w2 * x2 + w3 * x3,
+					w0 * y0 + w1 * y1 + w2 * y2 + w3 * y3);
+		}
+		segmentTo(x3, y3);
+		localX = x;
+		localY = y;
+	}
+
+	/**
+	 * Gets the number of segments of a curve from the bound of its flattening
+	 * error, by Wang's formula.
+	 */
+	private int segmentCount(double bound) {
+		double n = Math.ceil(Math.sqrt(bound / tolerance));
+		return n < 1 ? 1 : n > 1000 ? 1000 : (int) n;
+	}
+
+	private void arc(double x, double y, double radius, double startAngle,
+			double endAngle, boolean anticlockwise) {
+		// The whole circle is drawn only when the end angle is a whole turn or
+		// more past the start angle in the drawing direction.
+		double twoPi = 2 * Math.PI, sweep = endAngle - startAngle;
+		if (!anticlockwise && sweep >= twoPi) {
+			sweep = twoPi;
+		} else if (anticlockwise && -sweep >= twoPi) {
+			sweep = -twoPi;
+		} else {
+			sweep = anticlockwise ? -mod(-sweep, twoPi) : mod(sweep, twoPi);
+		}
+		arcPoints(x, y, radius, startAngle, sweep, true);
+	}
+
+	private void arcTo(double x1, double y1, double x2, double y2,
+			double radius) {
+		if (!hasCurrentPoint) {
+			moveTo(x1, y1);
+		}
+		double ux = localX - x1, uy = localY - y1;
+		double vx = x2 - x1, vy = y2 - y1;
+		double lu = Math.sqrt(ux * ux + uy * uy), lv = Math.sqrt(vx * vx + vy * vy);
+		if (lu == 0 || lv == 0 || radius == 0) {
+			lineTo(x1, y1);
+			return;
+		}
+		ux /= lu;
+		uy /= lu;
+		vx /= lv;
+		vy /= lv;
+		double angle = Math.acos(Math.max(-1, Math.min(1, ux * vx + uy * vy)));
+		if (angle == 0 || angle == Math.PI) {
+			lineTo(x1, y1);
+			return;
+		}
+		double distance = radius / Math.tan(angle / 2);
+		double ax = x1 + ux * distance, ay = y1 + uy * distance;
+		double bx = x1 + vx * distance, by = y1 + vy * distance;
+		// The center is on the bisector of the corner.
+		double wx = ux + vx, wy = uy + vy;
+		double lw = Math.sqrt(wx * wx + wy * wy);
+		double centerDistance = radius / Math.sin(angle / 2);
+		double cx = x1 + wx / lw * centerDistance, cy = y1 + wy / lw * centerDistance;
+		double startAngle = Math.atan2(ay - cy, ax - cx);
+		double sweep = Math.atan2(by - cy, bx - cx) - startAngle;
+		if (sweep > Math.PI) {
+			sweep -= 2 * Math.PI;
+		} else if (sweep < -Math.PI) {
+			sweep += 2 * Math.PI;
+		}
+		lineTo(ax, ay);
+		arcPoints(cx, cy, radius, startAngle, sweep, false);
+	}
+
+	/**
+	 * Adds the segments of an arc, starting with a line from the current point
+	 * to the start of the arc.
+	 */
+	private void arcPoints(double x, double y, double radius, double startAngle,
+			double sweep, boolean lineToStart) {
+		if (lineToStart) {
+			lineTo(x + radius * Math.cos(startAngle),
+					y + radius * Math.sin(startAngle));
+		}
+		double scaledRadius = radius * scale;
+		double step = scaledRadius > tolerance
+				? 2 * Math.acos(1 - tolerance / scaledRadius) : Math.PI / 2;
+		int n = (int) Math.min(1000, Math.max(1, Math.ceil(Math.abs(sweep) / step)));
+		for (int j = 1; j <= n; j++) {
+			double angle = startAngle + sweep * j / n;
+			lineTo(x + radius * Math.cos(angle), y + radius * Math.sin(angle));
+		}
+	}
+
+	private static double mod(double value, double modulus) {
+		double result = value % modulus;
+		return result < 0 ? result + modulus : result;
+	}
+
+	/**
+	 * Closes the current sub-path for filling, and also for stroking if asked.
+	 */
+	private void closeSubPath(boolean stroked) {
+		if (!hasCurrentPoint) {
+			return;
+		}
+		if (stroked) {
+			segmentTo(startX, startY);
+		} else {
+			crossing(currentX, currentY, startX, startY);
+		}
+		hasCurrentPoint = false;
+	}
+
+	/**
+	 * Adds a segment from the current point, for both filling and stroking.
+	 */
+	private void segmentTo(double x, double y) {
+		crossing(currentX, currentY, x, y);
+		double dx = x - currentX, dy = y - currentY;
+		double length = dx * dx + dy * dy;
+		double t = length == 0 ? 0
+				: ((px - currentX) * dx + (py - currentY) * dy) / length;
+		t = t < 0 ? 0 : t > 1 ? 1 : t;
+		double ex = currentX + t * dx - px, ey = currentY + t * dy - py;
+		minDistance = Math.min(minDistance, ex * ex + ey * ey);
+		currentX = x;
+		currentY = y;
+	}
+
+	/**
+	 * Updates the winding number with an edge crossed by the horizontal ray
+	 * that goes right from the point.
+	 */
+	private void crossing(double x0, double y0, double x1, double y1) {
+		if (y0 <= py) {
+			if (y1 > py && side(x0, y0, x1, y1) > 0) {
+				winding++;
+			}
+		} else if (y1 <= py && side(x0, y0, x1, y1) < 0) {
+			winding--;
+		}
+	}
+
+	/**
+	 * Gets a positive value if the point is left of the edge, negative if it is
+	 * right of it.
+	 */
+	private double side(double x0, double y0, double x1, double y1) {
+		return (x1 - x0) * (py - y0) - (px - x0) * (y1 - y0);
+	}
+}
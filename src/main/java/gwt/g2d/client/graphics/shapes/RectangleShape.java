@@ -41,4 +41,10 @@ public class RectangleShape extends Shape {
 	public final void draw(Surface surface) {
 		surface.getContext().rect(x, y, width, height);
 	}
+	
+	@Override
+	public Rectangle getBounds() {
+		return new Rectangle(Math.min(x, x + width), Math.min(y, y + height), 
+				Math.abs(width), Math.abs(height));
+	}
 }
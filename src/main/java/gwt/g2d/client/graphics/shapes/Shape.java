@@ -16,6 +16,7 @@
 package gwt.g2d.client.graphics.shapes;
 
 import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Rectangle;
 
 /**
  * Represents an abstract shape.
@@ -24,6 +25,7 @@ import gwt.g2d.client.graphics.Surface;
  * @author hao1300@gmail.com
  */
 public abstract class Shape {
+	private boolean cacheAsBitmap;
 
 	/**
 	 * Draws the shape onto the given surface.
@@ -31,4 +33,31 @@ public abstract class Shape {
 	 * @param surface the surface to draw the shape to.
 	 */
 	public abstract void draw(Surface surface);
+	
+	/**
+	 * Gets the rectangle that encloses the path of the shape, without taking 
+	 * the line width into account.
+	 * 
+	 * @return a new rectangle, or null if the bounds of the shape are unknown.
+	 */
+	public Rectangle getBounds() {
+		return null;
+	}
+	
+	/**
+	 * Checks whether the shape is drawn from a cached bitmap.
+	 */
+	public final boolean isCacheAsBitmap() {
+		return cacheAsBitmap;
+	}
+	
+	/**
+	 * Sets whether {@link Surface#drawShape(Shape, gwt.g2d.client.graphics.ShapeStyle)}
+	 * draws the shape from a bitmap cached by the
+	 * {@link gwt.g2d.client.graphics.ShapeCache} of the surface, instead of
+	 * replaying its path. Worth it for complex shapes that rarely change.
+	 */
+	public final void setCacheAsBitmap(boolean cacheAsBitmap) {
+		this.cacheAsBitmap = cacheAsBitmap;
+	}
 }
@@ -15,8 +15,6 @@
  */
 package gwt.g2d.client.graphics.shapes;
 
-import gwt.g2d.client.graphics.Surface;
-import gwt.g2d.client.graphics.canvas.Context;
 import gwt.g2d.client.graphics.visitor.ArcToVisitor;
 import gwt.g2d.client.graphics.visitor.ArcVisitor;
 import gwt.g2d.client.graphics.visitor.BezierCurveToVisitor;
@@ -36,58 +34,72 @@ import gwt.g2d.client.graphics.visitor.TransformVisitor;
 import gwt.g2d.client.graphics.visitor.TranslateVisitor;
 import gwt.g2d.client.math.Arc;
 import gwt.g2d.client.math.Circle;
+import gwt.g2d.client.math.MathHelper;
 import gwt.g2d.client.math.Matrix;
 import gwt.g2d.client.math.Rectangle;
 import gwt.g2d.client.math.Vector2;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A builder for drawing custom shapes.
  * 
+ * The commands are recorded as they are added into a byte array of opcodes
+ * and a packed array of coordinates, and {@link #build()} compiles them into
+ * a {@link CompiledPath}. The commands behave the same as the corresponding
+ * {@link ShapeVisitor}s, but no object is allocated per command.
+ * 
  * @author hao1300@gmail.com
  */
 public class ShapeBuilder {
-	private final List<ShapeVisitor> shapes = new ArrayList<ShapeVisitor>();
+	private byte[] operations = new byte[16];
+	private double[] coordinates = new double[64];
+	private ShapeVisitor[] visitors = new ShapeVisitor[0];
+	private int operationCount, coordinateCount, visitorCount;
 	
 	/**
 	 * Appends the given shape visitor to the builder.
 	 * 
+	 * The visitor is kept as is and visited every time the shape is drawn, so
+	 * prefer the other methods of the builder when possible.
+	 * 
 	 * @param shapeVisitor the shape visitor to be added.
 	 * @return self to support chaining.
 	 */
 	public final ShapeBuilder append(ShapeVisitor shapeVisitor) {
-		shapes.add(shapeVisitor);
-		return this;
+		if (visitorCount == visitors.length) {
+			ShapeVisitor[] newVisitors = new ShapeVisitor[Math.max(4, visitorCount * 2)];
+			System.arraycopy(visitors, 0, newVisitors, 0, visitorCount);
+			visitors = newVisitors;
+		}
+		visitors[visitorCount++] = shapeVisitor;
+		return add(CompiledPath.VISITOR);
 	}
 	
 	/**
 	 * @see MoveToVisitor#MoveToVisitor(double, double)
 	 */
 	public final ShapeBuilder moveTo(double x, double y) {
-		return append(new MoveToVisitor(x, y));
+		return add(CompiledPath.MOVE_TO, x, y);
 	}
 	
 	/**
 	 * @see MoveToVisitor#MoveToVisitor(Vector2)
 	 */
 	public final ShapeBuilder moveTo(Vector2 position) {
-		return append(new MoveToVisitor(position));
+		return moveTo(position.getX(), position.getY());
 	}
 	
 	/**
 	 * @see LineToVisitor#LineToVisitor(double, double)
 	 */
 	public final ShapeBuilder drawLineTo(double x, double y) {
-		return append(new LineToVisitor(x, y));
+		return add(CompiledPath.LINE_TO, x, y);
 	}
 	
 	/**
 	 * @see LineToVisitor#LineToVisitor(Vector2)
 	 */
 	public final ShapeBuilder drawLineTo(Vector2 position) {
-		return append(new LineToVisitor(position));
+		return drawLineTo(position.getX(), position.getY());
 	}
 	
 	/**
@@ -95,14 +107,15 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawLineSegment(double fromX, double fromY, double toX, 
 			double toY) {
-		return append(new LineSegmentVisitor(fromX, fromY, toX, toY));
+		return moveTo(fromX, fromY).drawLineTo(toX, toY);
 	}
 	
 	/**
 	 * @see LineSegmentVisitor#LineSegmentVisitor(Vector2, Vector2)
 	 */
 	public final ShapeBuilder drawLineSegment(Vector2 fromPosition, Vector2 toPosition) {
-		return append(new LineSegmentVisitor(fromPosition, toPosition));
+		return drawLineSegment(fromPosition.getX(), fromPosition.getY(), 
+				toPosition.getX(), toPosition.getY());
 	}
 	
 	/**
@@ -110,7 +123,7 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawArc(double x, double y, double radius, 
 			double startAngle, double endAngle, boolean antiClockwise) {
-		return append(new ArcVisitor(x, y, radius, startAngle, endAngle, antiClockwise));
+		return drawArc(x, y, radius, startAngle, endAngle, antiClockwise, false);
 	}
 	
 	/**
@@ -118,15 +131,15 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawArc(Vector2 position, double radius, double startAngle,
 			double endAngle, boolean antiClockwise) {
-		return append(new ArcVisitor(position, radius, startAngle, endAngle, 
-				antiClockwise));
+		return drawArc(position.getX(), position.getY(), radius, startAngle, 
+				endAngle, antiClockwise, false);
 	}
 	
 	/**
 	 * @see ArcVisitor#ArcVisitor(Arc)
 	 */
 	public final ShapeBuilder drawArc(Arc arc) {
-		return append(new ArcVisitor(arc));
+		return drawArc(arc, false);
 	}
 	
 	/**
@@ -136,8 +149,11 @@ public class ShapeBuilder {
 	public final ShapeBuilder drawArc(double x, double y, double radius, 
 			double startAngle, double endAngle, boolean antiClockwise, 
 			boolean connectFromPrev) {
-		return append(new ArcVisitor(x, y, radius, startAngle, endAngle, 
-				antiClockwise, connectFromPrev));
+		if (!connectFromPrev) {
+			moveTo(x, y);
+		}
+		return add(CompiledPath.ARC, x, y, radius, startAngle, endAngle, 
+				antiClockwise ? 1 : 0);
 	}
 	
 	/**
@@ -146,15 +162,16 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawArc(Vector2 position, double radius, double startAngle,
 			double endAngle, boolean antiClockwise, boolean connectFromPrev) {
-		return append(new ArcVisitor(position, radius, startAngle, endAngle, 
-				antiClockwise, connectFromPrev));
+		return drawArc(position.getX(), position.getY(), radius, startAngle, 
+				endAngle, antiClockwise, connectFromPrev);
 	}
 	
 	/**
 	 * @see ArcVisitor#ArcVisitor(Arc, boolean)
 	 */
 	public final ShapeBuilder drawArc(Arc arc, boolean connectFromPrev) {
-		return append(new ArcVisitor(arc, connectFromPrev));
+		return drawArc(arc.getCenterX(), arc.getCenterY(), arc.getRadius(), arc.getStartAngle(), 
+				arc.getEndAngle(), arc.isAnticlockwise(), connectFromPrev);
 	}
 	
 	/**
@@ -163,7 +180,7 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawArcTo(double x0, double y0, 
 			double x1, double y1, double x2, double y2, double radius) {
-		return append(new ArcToVisitor(x0, y0, x1, y1, x2, y2, radius));
+		return moveTo(x0, y0).drawArcTo(x1, y1, x2, y2, radius);
 	}
 	
 	/**
@@ -171,7 +188,7 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawArcTo(double x1, double y1, double x2, double y2, 
 			double radius) {
-		return append(new ArcToVisitor(x1, y1, x2, y2, radius));
+		return add(CompiledPath.ARC_TO, x1, y1, x2, y2, radius);
 	}
 	
 	/**
@@ -179,35 +196,39 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawArcTo(Vector2 point0, Vector2 point1, 
 			Vector2 point2, double radius) {
-		return append(new ArcToVisitor(point0, point1, point2, radius));
+		return drawArcTo(point0.getX(), point0.getY(), point1.getX(), point1.getY(), 
+				point2.getX(), point2.getY(), radius);
 	}
 	
 	/**
 	 * @see ArcToVisitor#ArcToVisitor(Vector2, Vector2, double)
 	 */
 	public final ShapeBuilder drawArcTo(Vector2 point1, Vector2 point2, double radius) {
-		return append(new ArcToVisitor(point1, point2, radius));
+		return drawArcTo(point1.getX(), point1.getY(), point2.getX(), point2.getY(), 
+				radius);
 	}
 	
 	/**
 	 * @see CircleVisitor#CircleVisitor(double, double, double)
 	 */
 	public final ShapeBuilder drawCircle(double x, double y, double radius) {
-		return append(new CircleVisitor(x, y, radius));
+		return moveTo(x, y).add(CompiledPath.ARC, x, y, radius, 0, 
+				MathHelper.TWO_PI, 1);
 	}
 	
 	/**
 	 * @see CircleVisitor#CircleVisitor(Vector2, double)
 	 */
 	public final ShapeBuilder drawCircle(Vector2 center, double radius) {
-		return append(new CircleVisitor(center, radius));
+		return drawCircle(center.getX(), center.getY(), radius);
 	}
 	
 	/**
 	 * @see CircleVisitor#CircleVisitor(Circle)
 	 */
 	public final ShapeBuilder drawCircle(Circle circle) {
-		return append(new CircleVisitor(circle));
+		return drawCircle(circle.getCenterX(), circle.getCenterY(), 
+				circle.getRadius());
 	}
 	
 	/**
@@ -217,9 +238,8 @@ public class ShapeBuilder {
 	public final ShapeBuilder drawBezierCurveTo(double controlPoint1X, 
 			double controlPoint1Y, double controlPoint2X, double controlPoint2Y, 
 			double endPointX, double endPointY) {
-		return append(new BezierCurveToVisitor(controlPoint1X, controlPoint1Y, 
-				controlPoint2X, controlPoint2Y, 
-				endPointX, endPointY));
+		return add(CompiledPath.BEZIER_CURVE_TO, controlPoint1X, controlPoint1Y, 
+				controlPoint2X, controlPoint2Y, endPointX, endPointY);
 	}
 	
 	/**
@@ -227,7 +247,9 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawBezierCurveTo(Vector2 controlPoint1, Vector2 controlPoint2, 
 			Vector2 endPoint) {
-		return append(new BezierCurveToVisitor(controlPoint1, controlPoint2, endPoint));
+		return drawBezierCurveTo(controlPoint1.getX(), controlPoint1.getY(), 
+				controlPoint2.getX(), controlPoint2.getY(), 
+				endPoint.getX(), endPoint.getY());
 	}
 	
 	/**
@@ -238,10 +260,10 @@ public class ShapeBuilder {
 			double controlPoint1X, double controlPoint1Y, 
 			double controlPoint2X, double controlPoint2Y, 
 			double endPointX, double endPointY) {
-		return append(new BezierCurveVisitor(startPointX, startPointY, 
+		return moveTo(startPointX, startPointY).drawBezierCurveTo(
 				controlPoint1X, controlPoint1Y, 
 				controlPoint2X, controlPoint2Y, 
-				endPointX, endPointY));
+				endPointX, endPointY);
 	}
 	
 	/**
@@ -250,8 +272,8 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawBezierCurve(Vector2 startPoint, Vector2 controlPoint1, 
 			Vector2 controlPoint2, Vector2 endpoint) {
-		return append(new BezierCurveVisitor(startPoint, controlPoint1, 
-				controlPoint2, endpoint));
+		return moveTo(startPoint).drawBezierCurveTo(controlPoint1, controlPoint2, 
+				endpoint);
 	}
 	
 	/**
@@ -262,10 +284,8 @@ public class ShapeBuilder {
 	public final ShapeBuilder drawCubeCurveTo(double controlPoint1X, 
 			double controlPoint1Y, double controlPoint2X, double controlPoint2Y, 
 			double endPointX, double endPointY) {
-		return append(new gwt.g2d.client.graphics.visitor.CubicCurveToVisitor(
-				controlPoint1X, controlPoint1Y, 
-				controlPoint2X, controlPoint2Y, 
-				endPointX, endPointY));
+		return drawBezierCurveTo(controlPoint1X, controlPoint1Y, 
+				controlPoint2X, controlPoint2Y, endPointX, endPointY);
 	}
 	
 	/**
@@ -274,8 +294,7 @@ public class ShapeBuilder {
 	@Deprecated
 	public final ShapeBuilder drawCubeCurveTo(Vector2 controlPoint1, 
 			Vector2 controlPoint2, Vector2 endPoint) {
-		return append(new gwt.g2d.client.graphics.visitor.CubicCurveToVisitor(
-				controlPoint1, controlPoint2, endPoint));
+		return drawBezierCurveTo(controlPoint1, controlPoint2, endPoint);
 	}
 	
 	/**
@@ -287,11 +306,10 @@ public class ShapeBuilder {
 			double controlPoint1X, double controlPoint1Y, 
 			double controlPoint2X, double controlPoint2Y, 
 			double endPointX, double endPointY) {
-		return append(new gwt.g2d.client.graphics.visitor.CubicCurveVisitor(
-				startPointX, startPointY, 
+		return drawBezierCurve(startPointX, startPointY, 
 				controlPoint1X, controlPoint1Y, 
 				controlPoint2X, controlPoint2Y, 
-				endPointX, endPointY));
+				endPointX, endPointY);
 	}
 	
 	/**
@@ -300,8 +318,7 @@ public class ShapeBuilder {
 	@Deprecated
 	public final ShapeBuilder drawCubicCurve(Vector2 startPoint, 
 			Vector2 controlPoint1, Vector2 controlPoint2, Vector2 endpoint) {
-		return append(new gwt.g2d.client.graphics.visitor.CubicCurveVisitor(
-				startPoint, controlPoint1, controlPoint2, endpoint));
+		return drawBezierCurve(startPoint, controlPoint1, controlPoint2, endpoint);
 	}
 	
 	/**
@@ -310,16 +327,16 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawQuadraticCurveTo(double controlPointX, 
 			double controlPointY, double endPointX, double endPointY) {
-		return append(new QuadraticCurveToVisitor(controlPointX, controlPointY, 
-				endPointX, endPointY));
+		return add(CompiledPath.QUADRATIC_CURVE_TO, controlPointX, controlPointY, 
+				endPointX, endPointY);
 	}
 	
 	/**
 	 * @see QuadraticCurveToVisitor#QuadraticCurveToVisitor(Vector2, Vector2)
 	 */
 	public final ShapeBuilder drawQuadraticCurveTo(Vector2 controlPoint, Vector2 endPoint) {
-		return append(new QuadraticCurveToVisitor(controlPoint, endPoint));
-
+		return drawQuadraticCurveTo(controlPoint.getX(), controlPoint.getY(), 
+				endPoint.getX(), endPoint.getY());
 	}
 	
 	/**
@@ -333,8 +350,8 @@ public class ShapeBuilder {
 	@Deprecated
 	public final ShapeBuilder drawQuadraticCurveTo(double startPointX, double startPointY,
 			double controlPointX, double controlPointY, double endPointX, double endPointY) {
-		return append(new QuadraticCurveVisitor(startPointX, startPointY, 
-				controlPointX, controlPointY, endPointX, endPointY));
+		return drawQuadraticCurve(startPointX, startPointY, 
+				controlPointX, controlPointY, endPointX, endPointY);
 	}
 	
 	/**
@@ -343,8 +360,8 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawQuadraticCurve(double startPointX, double startPointY,
 			double controlPointX, double controlPointY, double endPointX, double endPointY) {
-		return append(new QuadraticCurveVisitor(startPointX, startPointY, 
-				controlPointX, controlPointY, endPointX, endPointY));
+		return moveTo(startPointX, startPointY).drawQuadraticCurveTo(
+				controlPointX, controlPointY, endPointX, endPointY);
 	}
 	
 	/**
@@ -352,49 +369,50 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder drawQuadraticCurve(Vector2 startPoint, Vector2 controlPoint, 
 			Vector2 endPoint) {
-		return append(new QuadraticCurveVisitor(startPoint, controlPoint, endPoint));
+		return moveTo(startPoint).drawQuadraticCurveTo(controlPoint, endPoint);
 	}
 	
 	/**
 	 * @see RectangleVisitor#RectangleVisitor(double, double, double, double)
 	 */
 	public final ShapeBuilder drawRect(double x, double y, double width, double height) {
-		return append(new RectangleVisitor(x, y, width, height));
+		return add(CompiledPath.RECTANGLE, x, y, width, height);
 	}
 	
 	/**
 	 * @see RectangleVisitor#RectangleVisitor(Vector2, double, double)
 	 */
 	public final ShapeBuilder drawRect(Vector2 position, double width, double height) {
-		return append(new RectangleVisitor(position, width, height));
+		return drawRect(position.getX(), position.getY(), width, height);
 	}
 	
 	/**
 	 * @see RectangleVisitor#RectangleVisitor(Rectangle)
 	 */
 	public final ShapeBuilder drawRect(Rectangle rectangle) {
-		return append(new RectangleVisitor(rectangle));
+		return drawRect(rectangle.getX(), rectangle.getY(), rectangle.getWidth(),
+				rectangle.getHeight());
 	}
 	
 	/**
 	 * @see ScaleVisitor#ScaleVisitor(double, double)
 	 */
 	public final ShapeBuilder scale(double x, double y) {
-		return append(new ScaleVisitor(x, y));
+		return add(CompiledPath.SCALE, x, y);
 	}
 	
 	/**
 	 * @see ScaleVisitor#ScaleVisitor(Vector2)
 	 */
 	public final ShapeBuilder scale(Vector2 scales) {
-		return append(new ScaleVisitor(scales));
+		return scale(scales.getX(), scales.getY());
 	}
 	
 	/**
 	 * @see ScaleVisitor#ScaleVisitor(double)
 	 */
 	public final ShapeBuilder scale(double scale) {
-		return append(new ScaleVisitor(scale));
+		return scale(scale, scale);
 	}
 	
 	/**
@@ -402,7 +420,7 @@ public class ShapeBuilder {
 	 * @see RotateVisitor#RotateVisitor(double)
 	 */
 	public final ShapeBuilder rotate(double angle) {
-		return append(new RotateVisitor(angle));
+		return add(CompiledPath.ROTATE, angle);
 	}
 	
 	/**
@@ -410,21 +428,21 @@ public class ShapeBuilder {
 	 * @see RotateVisitor#RotateVisitor(double)
 	 */
 	public final ShapeBuilder rotateCcw(double angle) {
-		return append(new RotateVisitor(-angle));
+		return rotate(-angle);
 	}
 	
 	/**
 	 * @see TranslateVisitor#TranslateVisitor(double, double)
 	 */
 	public final ShapeBuilder translate(double x, double y) {
-		return append(new TranslateVisitor(x, y));
+		return add(CompiledPath.TRANSLATE, x, y);
 	}
 	
 	/**
 	 * @see TranslateVisitor#TranslateVisitor(Vector2)
 	 */
 	public final ShapeBuilder translate(Vector2 translation) {
-		return append(new TranslateVisitor(translation));
+		return translate(translation.getX(), translation.getY());
 	}
 	
 	/**
@@ -433,14 +451,15 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder transform(double m11, double m12, double m21, double m22,
       double dx, double dy) {
-		return append(new TransformVisitor(m11, m12, m21, m22, dx, dy));
+		return add(CompiledPath.TRANSFORM, m11, m12, m21, m22, dx, dy);
 	}
 	
 	/**
 	 * @see TransformVisitor#TransformVisitor(Matrix)
 	 */
 	public final ShapeBuilder transform(Matrix matrix) {
-		return append(new TransformVisitor(matrix));
+		return transform(matrix.getM11(), matrix.getM12(), matrix.getM21(), 
+				matrix.getM22(), matrix.getDx(), matrix.getDy());
 	}
 	
 	/**
@@ -449,35 +468,131 @@ public class ShapeBuilder {
 	 */
 	public final ShapeBuilder setTransform(double m11, double m12, double m21, 
 			double m22, double dx, double dy) {
-		return append(new SetTransformVisitor(m11, m12, m21, m22, dx, dy));
+		return add(CompiledPath.SET_TRANSFORM, m11, m12, m21, m22, dx, dy);
 	}
 	
 	/**
 	 * @see SetTransformVisitor#SetTransformVisitor(Matrix)
 	 */
 	public final ShapeBuilder setTransform(Matrix matrix) {
-		return append(new SetTransformVisitor(matrix));
+		return setTransform(matrix.getM11(), matrix.getM12(), matrix.getM21(), 
+				matrix.getM22(), matrix.getDx(), matrix.getDy());
 	}
 	
 	/**
-	 * Builds the customized shape.
+	 * Removes all the commands from the builder, so that it can be reused to
+	 * build another shape.
+	 * 
+	 * @return self to support chaining.
 	 */
-	public final Shape build() {
-		return new CustomShape();
+	public final ShapeBuilder clear() {
+		operationCount = coordinateCount = 0;
+		for (int i = 0; i < visitorCount; i++) {
+			visitors[i] = null;
+		}
+		visitorCount = 0;
+		return this;
+	}
+	
+	/**
+	 * Builds the customized shape from the commands added so far.
+	 * 
+	 * This used to return a {@link CustomShape} typed as a {@link Shape}, 
+	 * which replayed the commands of the builder each time it was drawn; the 
+	 * returned path now holds a copy of the commands.
+	 */
+	public final CompiledPath build() {
+		return new CompiledPath(operations, operationCount, coordinates, 
+				coordinateCount, visitors, visitorCount);
 	}
 	
 	/**
 	 * Represents a custom shape.
+	 * 
+	 * @deprecated {@link #build()} returns a {@link CompiledPath}, use that 
+	 * 				type instead.
+	 */
+	@Deprecated
+	public final class CustomShape extends CompiledPath {
+		/**
+		 * Creates a shape from the commands added to the builder so far.
+		 */
+		public CustomShape() {
+			super(operations, operationCount, coordinates, coordinateCount, 
+					visitors, visitorCount);
+		}
+	}
+	
+	private ShapeBuilder add(byte operation) {
+		reserve(operation, 0);
+		return this;
+	}
+	
+	private ShapeBuilder add(byte operation, double a) {
+		int i = reserve(operation, 1);
+		coordinates[i] = a;
+		return this;
+	}
+	
+	private ShapeBuilder add(byte operation, double a, double b) {
+		int i = reserve(operation, 2);
+		coordinates[i] = a;
+		coordinates[i + 1] = b;
+		return this;
+	}
+	
+	private ShapeBuilder add(byte operation, double a, double b, double c, 
+			double d) {
+		int i = reserve(operation, 4);
+		coordinates[i] = a;
+		coordinates[i + 1] = b;
+		coordinates[i + 2] = c;
+		coordinates[i + 3] = d;
+		return this;
+	}
+	
+	private ShapeBuilder add(byte operation, double a, double b, double c, 
+			double d, double e) {
+		int i = reserve(operation, 5);
+		coordinates[i] = a;
+		coordinates[i + 1] = b;
+		coordinates[i + 2] = c;
+		coordinates[i + 3] = d;
+		coordinates[i + 4] = e;
+		return this;
+	}
+	
+	private ShapeBuilder add(byte operation, double a, double b, double c, 
+			double d, double e, double f) {
+		int i = reserve(operation, 6);
+		coordinates[i] = a;
+		coordinates[i + 1] = b;
+		coordinates[i + 2] = c;
+		coordinates[i + 3] = d;
+		coordinates[i + 4] = e;
+		coordinates[i + 5] = f;
+		return this;
+	}
+	
+	/**
+	 * Appends an opcode and reserves room for its arguments.
+	 * 
+	 * @return the index of the first argument in the coordinates array.
 	 */
-	public final class CustomShape extends Shape {
-		@Override
-		public final void draw(Surface surface) {
-			Context context = surface.getContext();
-			context.beginPath();
-			for (ShapeVisitor shape : shapes) {
-				shape.visit(surface);
-			}
-			context.closePath();
+	private int reserve(byte operation, int count) {
+		if (operationCount == operations.length) {
+			byte[] newOperations = new byte[operationCount * 2];
+			System.arraycopy(operations, 0, newOperations, 0, operationCount);
+			operations = newOperations;
+		}
+		operations[operationCount++] = operation;
+		if (coordinateCount + count > coordinates.length) {
+			double[] newCoordinates = new double[coordinates.length * 2];
+			System.arraycopy(coordinates, 0, newCoordinates, 0, coordinateCount);
+			coordinates = newCoordinates;
 		}
+		int index = coordinateCount;
+		coordinateCount += count;
+		return index;
 	}
 }
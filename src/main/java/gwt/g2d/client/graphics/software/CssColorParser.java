@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import gwt.g2d.client.graphics.KnownColor;
+import gwt.g2d.client.graphics.canvas.Compositor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses CSS color strings into non-premultiplied ARGB pixels.
+ * <p>
+ * Supports "#RGB", "#RRGGBB", "rgb()", "rgba()", "hsl()", "hsla()",
+ * "transparent" and the color names of {@link KnownColor}, with either
+ * spelling of gray.
+ */
+final class CssColorParser {
+	private static Map<String, Integer> namedColors;
+
+	private CssColorParser() {
+	}
+
+	/**
+	 * Parses the given color.
+	 *
+	 * @param color the CSS color string.
+	 * @return the color in non-premultiplied ARGB.
+	 * @throws IllegalArgumentException if the color cannot be parsed.
+	 */
+	static int parse(String color) {
+		if (color == null) {
+			throw new IllegalArgumentException("The color is null.");
+		}
+		String value = color.trim().toLowerCase();
+		try {
+			if (value.startsWith("#")) {
+				if (value.length() == 7) {
+					return 0xFF000000 | Integer.parseInt(value.substring(1), 16);
+				} else if (value.length() == 4) {
+					int rgb = Integer.parseInt(value.substring(1), 16);
+					int r = (rgb >> 8) & 0xF, g = (rgb >> 4) & 0xF, b = rgb & 0xF;
+					return 0xFF000000 | (r * 0x11 << 16) | (g * 0x11 << 8) | (b * 0x11);
+				}
+			} else if (value.startsWith("rgb") || value.startsWith("hsl")) {
+				return parseFunction(value, color);
+			} else {
+				// The names are stored with the "gray" spelling.
+				Integer named = getNamedColors().get(value.replace("grey", "gray"));
+				if (named != null) {
+					return named.intValue();
+				}
+			}
+		} catch (NumberFormatException e) {
+			// Reported below.
+		}
+		throw new IllegalArgumentException("Cannot parse the color: " + color);
+	}
+
+	/**
+	 * Parses rgb(), rgba(), hsl() or hsla().
+	 */
+	private static int parseFunction(String value, String color) {
+		int open = value.indexOf('('), close = value.lastIndexOf(')');
+		if (open < 0 || close < open || close != value.length() - 1) {
+			throw new IllegalArgumentException("Cannot parse the color: " + color);
+		}
+		String name = value.substring(0, open).trim();
+		String[] parts = value.substring(open + 1, close).split(",");
+		if ((!name.equals("rgb") && !name.equals("rgba") && !name.equals("hsl")
+				&& !name.equals("hsla"))
+				|| (parts.length != 3 && parts.length != 4)) {
+			throw new IllegalArgumentException("Cannot parse the color: " + color);
+		}
+		double alpha = parts.length == 4 ? Double.parseDouble(parts[3].trim()) : 1;
+		alpha = Math.max(0, Math.min(1, alpha));
+		if (name.startsWith("rgb")) {
+			return Compositor.pack(alpha, parseChannel(parts[0]),
+					parseChannel(parts[1]), parseChannel(parts[2]));
+		}
+		double hue = Double.parseDouble(parts[0].trim()) / 360;
+		hue -= Math.floor(hue);
+		double saturation = Math.max(0, Math.min(1, parsePercentage(parts[1])));
+		double lightness = Math.max(0, Math.min(1, parsePercentage(parts[2])));
+		double m2 = lightness <= 0.5 ? lightness * (saturation + 1)
+				: lightness + saturation - lightness * saturation;
+		double m1 = lightness * 2 - m2;
+		return Compositor.pack(alpha, 255 * hueToRgb(m1, m2, hue + 1 / 3.0),
+				255 * hueToRgb(m1, m2, hue), 255 * hueToRgb(m1, m2, hue - 1 / 3.0));
+	}
+
+	/**
+	 * Converts a hue to a channel, as in the CSS3 color module.
+	 */
+	private static double hueToRgb(double m1, double m2, double hue) {
+		if (hue < 0) {
+			hue += 1;
+		} else if (hue > 1) {
+			hue -= 1;
+		}
+		if (hue * 6 < 1) {
+			return m1 + (m2 - m1) * hue * 6;
+		} else if (hue * 2 < 1) {
+			return m2;
+		} else if (hue * 3 < 2) {
+			return m1 + (m2 - m1) * (2 / 3.0 - hue) * 6;
+		}
+		return m1;
+	}
+
+	private static double parseChannel(String channel) {
+		channel = channel.trim();
+		if (channel.endsWith("%")) {
+			return Double.parseDouble(channel.substring(0, channel.length() - 1))
+					* 2.55;
+		}
+		return Double.parseDouble(channel);
+	}
+
+	private static double parsePercentage(String percentage) {
+		percentage = percentage.trim();
+		if (!percentage.endsWith("%")) {
+			throw new NumberFormatException(percentage);
+		}
+		return Double.parseDouble(percentage.substring(0, percentage.length() - 1))
+				/ 100;
+	}
+
+	private static Map<String, Integer> getNamedColors() {
+		if (namedColors == null) {
+			namedColors = new HashMap<String, Integer>();
+			for (KnownColor color : KnownColor.getKnownColors()) {
+				if (color.getName().length() > 0) {
+					namedColors.put(color.getName().toLowerCase().replace("grey",
+							"gray"), color.getArgb());
+				}
+			}
+			namedColors.put("transparent", 0);
+		}
+		return namedColors;
+	}
+}
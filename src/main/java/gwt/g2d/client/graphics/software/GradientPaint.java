@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import gwt.g2d.client.graphics.ColorRamp;
+import gwt.g2d.client.graphics.ColorStop;
+import gwt.g2d.client.graphics.Gradient;
+import gwt.g2d.client.graphics.LinearGradient;
+import gwt.g2d.client.graphics.RadialGradient;
+
+import java.util.List;
+
+/**
+ * Paints a {@link LinearGradient} or a {@link RadialGradient} the way the
+ * canvas does, with the colors looked up in a table of 256 steps that is only
+ * rebuilt when the gradient changes.
+ */
+final class GradientPaint implements Paint {
+	private static final int STEPS = 256;
+
+	private Gradient gradient;
+	private int version;
+	private ColorRamp ramp;
+	// Device space to user space.
+	private double a, b, c, d, e, f;
+
+	/**
+	 * Prepares to paint the given gradient, whose coordinates are in the user
+	 * space of the given matrix.
+	 *
+	 * @return false if nothing is painted, because the matrix is singular.
+	 */
+	boolean set(Gradient gradient, double[] matrix) {
+		if (gradient != this.gradient || gradient.getVersion() != version) {
+			this.gradient = gradient;
+			version = gradient.getVersion();
+			List<ColorStop> stops = gradient.getColorStops();
+			ramp = stops.isEmpty() ? null : new ColorRamp(STEPS,
+					stops.toArray(new ColorStop[stops.size()]));
+		}
+		double determinant = matrix[0] * matrix[3] - matrix[1] * matrix[2];
+		if (determinant == 0 || ramp == null) {
+			return false;
+		}
+		a = matrix[3] / determinant;
+		b = -matrix[1] / determinant;
+		c = -matrix[2] / determinant;
+		d = matrix[0] / determinant;
+		e = -(a * matrix[4] + c * matrix[5]);
+		f = -(b * matrix[4] + d * matrix[5]);
+		return true;
+	}
+
+	@Override
+	public int getColor(double x, double y) {
+		double ux = a * x + c * y + e, uy = b * x + d * y + f;
+		double t;
+		if (gradient instanceof LinearGradient) {
+			t = getLinearAmount((LinearGradient) gradient, ux, uy);
+		} else {
+			t = getRadialAmount((RadialGradient) gradient, ux, uy);
+		}
+		return Double.isNaN(t) ? 0 : ramp.getArgb(t);
+	}
+
+	/**
+	 * Gets the projection of the point onto the line of the gradient, NaN if
+	 * the line is a single point.
+	 */
+	private static double getLinearAmount(LinearGradient gradient, double x,
+			double y) {
+		double dx = gradient.getX1() - gradient.getX0();
+		double dy = gradient.getY1() - gradient.getY0();
+		double lengthSquared = dx * dx + dy * dy;
+		if (lengthSquared == 0) {
+			return Double.NaN;
+		}
+		return ((x - gradient.getX0()) * dx + (y - gradient.getY0()) * dy)
+				/ lengthSquared;
+	}
+
+	/**
+	 * Gets the largest w for which the point is on the circle interpolated
+	 * between the two circles with a non-negative radius, NaN if there is none.
+	 */
+	private static double getRadialAmount(RadialGradient gradient, double x,
+			double y) {
+		double cx = gradient.getX1() - gradient.getX0();
+		double cy = gradient.getY1() - gradient.getY0();
+		double dr = gradient.getRadius1() - gradient.getRadius0();
+		double px = x - gradient.getX0(), py = y - gradient.getY0();
+		double r0 = gradient.getRadius0();
+		// |p - w c| = r0 + w dr, as a w^2 - 2 b w + c = 0.
+		double qa = cx * cx + cy * cy - dr * dr;
+		double qb = px * cx + py * cy + r0 * dr;
+		double qc = px * px + py * py - r0 * r0;
+		if (Math.abs(qa) < 1e-12) {
+			if (qb == 0) {
+				return Double.NaN;
+			}
+			double w = qc / (2 * qb);
+			return r0 + w * dr >= 0 ? w : Double.NaN;
+		}
+		double discriminant = qb * qb - qa * qc;
+		if (discriminant < 0) {
+			return Double.NaN;
+		}
+		double root = Math.sqrt(discriminant);
+		double w1 = (qb + root) / qa, w2 = (qb - root) / qa;
+		double high = Math.max(w1, w2), low = Math.min(w1, w2);
+		if (r0 + high * dr >= 0) {
+			return high;
+		}
+		return r0 + low * dr >= 0 ? low : Double.NaN;
+	}
+}
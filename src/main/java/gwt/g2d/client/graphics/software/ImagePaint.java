@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+/**
+ * Paints a rectangle of the pixels of a {@link SoftwareContext} stretched
+ * onto a rectangle in user space, with bilinear filtering like the canvas.
+ */
+final class ImagePaint implements Paint {
+	private int[] pixels;
+	private int width;
+	private int minX, minY, maxX, maxY;
+	private double sourceX, sourceY, scaleX, scaleY;
+	private double destinationX, destinationY;
+	// Device space to user space.
+	private double a, b, c, d, e, f;
+
+	/**
+	 * Prepares to paint the given pixels.
+	 *
+	 * @return false if nothing is painted, because a rectangle is empty or
+	 * 				the matrix is singular.
+	 */
+	boolean set(int[] pixels, int width, int height, double sourceX,
+			double sourceY, double sourceWidth, double sourceHeight,
+			double destinationX, double destinationY, double destinationWidth,
+			double destinationHeight, double[] matrix) {
+		minX = Math.max(0, (int) Math.floor(sourceX));
+		minY = Math.max(0, (int) Math.floor(sourceY));
+		maxX = Math.min(width, (int) Math.ceil(sourceX + sourceWidth)) - 1;
+		maxY = Math.min(height, (int) Math.ceil(sourceY + sourceHeight)) - 1;
+		double determinant = matrix[0] * matrix[3] - matrix[1] * matrix[2];
+		if (minX > maxX || minY > maxY || destinationWidth == 0
+				|| destinationHeight == 0 || determinant == 0) {
+			return false;
+		}
+		this.pixels = pixels;
+		this.width = width;
+		this.sourceX = sourceX;
+		this.sourceY = sourceY;
+		this.scaleX = sourceWidth / destinationWidth;
+		this.scaleY = sourceHeight / destinationHeight;
+		this.destinationX = destinationX;
+		this.destinationY = destinationY;
+		a = matrix[3] / determinant;
+		b = -matrix[1] / determinant;
+		c = -matrix[2] / determinant;
+		d = matrix[0] / determinant;
+		e = -(a * matrix[4] + c * matrix[5]);
+		f = -(b * matrix[4] + d * matrix[5]);
+		return true;
+	}
+
+	/**
+	 * Releases the pixels.
+	 */
+	void clear() {
+		pixels = null;
+	}
+
+	@Override
+	public int getColor(double x, double y) {
+		double ux = a * x + c * y + e, uy = b * x + d * y + f;
+		double sx = sourceX + (ux - destinationX) * scaleX - 0.5;
+		double sy = sourceY + (uy - destinationY) * scaleY - 0.5;
+		int x0 = (int) Math.floor(sx), y0 = (int) Math.floor(sy);
+		double fx = sx - x0, fy = sy - y0;
+		int left = clamp(x0, minX, maxX), right = clamp(x0 + 1, minX, maxX);
+		int top = clamp(y0, minY, maxY), bottom = clamp(y0 + 1, minY, maxY);
+		// Interpolates premultiplied colors so that transparent pixels do not
+		// darken their neighbours.
+		double alpha = 0, red = 0, green = 0, blue = 0;
+		for (int i = 0; i < 4; i++) {
+			int pixel = pixels[((i & 2) == 0 ? top : bottom) * width
+					+ ((i & 1) == 0 ? left : right)];
+			double weight = ((i & 1) == 0 ? 1 - fx : fx)
+					* ((i & 2) == 0 ? 1 - fy : fy) * (pixel >>> 24);
+			alpha += weight;
+			red += weight * ((pixel >> 16) & 0xFF);
+			green += weight * ((pixel >> 8) & 0xFF);
+			blue += weight * (pixel & 0xFF);
+		}
+		if (alpha < 0.5) {
+			return 0;
+		}
+		return ((int) (alpha + 0.5) << 24) | ((int) (red / alpha + 0.5) << 16)
+				| ((int) (green / alpha + 0.5) << 8) | (int) (blue / alpha + 0.5);
+	}
+
+	private static int clamp(int value, int min, int max) {
+		return value < min ? min : value > max ? max : value;
+	}
+}
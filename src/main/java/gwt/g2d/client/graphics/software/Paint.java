@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+/**
+ * The colors of a style that is not a solid color, such as a gradient or an
+ * image, sampled at the pixels covered by a shape.
+ */
+interface Paint {
+	/**
+	 * Gets the color at the given point, in device space.
+	 *
+	 * @return the color in non-premultiplied ARGB, before the global alpha is
+	 * 				applied.
+	 */
+	int getColor(double x, double y);
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+/**
+ * A path flattened into polylines. Each sub-path is a run of points in the
+ * coordinate array, with a flag that tells whether it has been closed.
+ */
+final class PathBuffer {
+	private double[] coords = new double[256];
+	private int[] subPathStarts = new int[16];
+	private boolean[] subPathClosed = new boolean[16];
+	private int pointCount, subPathCount;
+
+	/**
+	 * Removes all the sub-paths.
+	 */
+	void reset() {
+		pointCount = subPathCount = 0;
+	}
+
+	/**
+	 * Checks whether the path has a current point.
+	 */
+	boolean hasCurrentPoint() {
+		return subPathCount > 0;
+	}
+
+	/**
+	 * Gets the x-coordinate of the current point, which is the first point of
+	 * the current sub-path once it is closed.
+	 */
+	double getCurrentX() {
+		return coords[2 * getCurrentIndex()];
+	}
+
+	/**
+	 * Gets the y-coordinate of the current point, which is the first point of
+	 * the current sub-path once it is closed.
+	 */
+	double getCurrentY() {
+		return coords[2 * getCurrentIndex() + 1];
+	}
+
+	private int getCurrentIndex() {
+		return subPathClosed[subPathCount - 1] ? subPathStarts[subPathCount - 1]
+				: pointCount - 1;
+	}
+
+	/**
+	 * Starts a new sub-path at the given point.
+	 */
+	void moveTo(double x, double y) {
+		// A sub-path with a single point draws nothing, so it can be replaced.
+		if (subPathCount > 0 && !subPathClosed[subPathCount - 1]
+				&& getPointCount(subPathCount - 1) == 1) {
+			pointCount--;
+		} else {
+			if (subPathCount == subPathStarts.length) {
+				int[] newStarts = new int[subPathCount * 2];
+				System.arraycopy(subPathStarts, 0, newStarts, 0, subPathCount);
+				subPathStarts = newStarts;
+				boolean[] newClosed = new boolean[subPathCount * 2];
+				System.arraycopy(subPathClosed, 0, newClosed, 0, subPathCount);
+				subPathClosed = newClosed;
+			}
+			subPathStarts[subPathCount] = pointCount;
+			subPathClosed[subPathCount] = false;
+			subPathCount++;
+		}
+		addPoint(x, y);
+	}
+
+	/**
+	 * Adds a point to the current sub-path, or starts a new sub-path if there
+	 * is none.
+	 */
+	void lineTo(double x, double y) {
+		if (subPathCount == 0) {
+			moveTo(x, y);
+		} else if (subPathClosed[subPathCount - 1]) {
+			int start = subPathStarts[subPathCount - 1];
+			moveTo(coords[2 * start], coords[2 * start + 1]);
+			addPoint(x, y);
+		} else {
+			addPoint(x, y);
+		}
+	}
+
+	/**
+	 * Closes the current sub-path. The next point added starts a new sub-path
+	 * at the first point of the closed one.
+	 */
+	void close() {
+		if (subPathCount > 0) {
+			subPathClosed[subPathCount - 1] = true;
+		}
+	}
+
+	int getSubPathCount() {
+		return subPathCount;
+	}
+
+	int getSubPathStart(int subPath) {
+		return subPathStarts[subPath];
+	}
+
+	int getPointCount(int subPath) {
+		return (subPath + 1 < subPathCount ? subPathStarts[subPath + 1]
+				: pointCount) - subPathStarts[subPath];
+	}
+
+	boolean isClosed(int subPath) {
+		return subPathClosed[subPath];
+	}
+
+	/**
+	 * Gets the coordinate array, the point i is stored at index 2i and 2i + 1.
+	 */
+	double[] getCoords() {
+		return coords;
+	}
+
+	private void addPoint(double x, double y) {
+		if (2 * pointCount + 2 > coords.length) {
+			double[] newCoords = new double[coords.length * 2];
+			System.arraycopy(coords, 0, newCoords, 0, 2 * pointCount);
+			coords = newCoords;
+		}
+		coords[2 * pointCount] = x;
+		coords[2 * pointCount + 1] = y;
+		pointCount++;
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import gwt.g2d.client.graphics.FillRule;
+
+/**
+ * Converts polygons into anti-aliased pixel coverage, one row at a time.
+ * <p>
+ * Each pixel row is sampled with {@link #SUBSAMPLES} sub-scanlines. On each
+ * sub-scanline, the covered spans are computed exactly from the edge
+ * crossings and accumulated into the coverage row, so the horizontal
+ * anti-aliasing is exact and the vertical one is quantized.
+ */
+final class ScanlineRasterizer {
+	/**
+	 * Receives the coverage of the rasterized polygons.
+	 */
+	interface CoverageSink {
+		/**
+		 * Called for each row that is touched by the polygons.
+		 *
+		 * @param y the row.
+		 * @param coverage the coverage of each pixel of the row [0, 1]. Only
+		 * 				the pixels in [minX, maxX] can be non-zero.
+		 * @param minX the left-most touched pixel.
+		 * @param maxX the right-most touched pixel.
+		 */
+		void coverRow(int y, float[] coverage, int minX, int maxX);
+	}
+
+	static final int SUBSAMPLES = 4;
+	private static final float SUBSAMPLE_WEIGHT = 1f / SUBSAMPLES;
+
+	// Edges are stored top to bottom, with the original direction.
+	private double[] edgeX = new double[64], edgeTop = new double[64],
+			edgeBottom = new double[64], edgeSlope = new double[64];
+	private int[] edgeDirection = new int[64];
+	private int edgeCount;
+	private double minY = Double.POSITIVE_INFINITY,
+			maxY = Double.NEGATIVE_INFINITY;
+
+	private int[] sortedEdges = new int[64];
+	private int[] activeEdges = new int[64];
+	private double[] crossingX = new double[64];
+	private int[] crossingDirection = new int[64];
+	private float[] coverage = new float[0];
+
+	/**
+	 * Removes all the edges.
+	 */
+	void reset() {
+		edgeCount = 0;
+		minY = Double.POSITIVE_INFINITY;
+		maxY = Double.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Checks whether there is no edge to rasterize.
+	 */
+	boolean isEmpty() {
+		return edgeCount == 0;
+	}
+
+	/**
+	 * Adds an edge from (x0, y0) to (x1, y1).
+	 */
+	void addEdge(double x0, double y0, double x1, double y1) {
+		if (y0 == y1 || Double.isNaN(x0) || Double.isNaN(y0)
+				|| Double.isNaN(x1) || Double.isNaN(y1)) {
+			return;
+		}
+		if (edgeCount == edgeX.length) {
+			grow();
+		}
+		int direction = 1;
+		if (y0 > y1) {
+			double t = x0;
+			x0 = x1;
+			x1 = t;
+			t = y0;
+			y0 = y1;
+			y1 = t;
+			direction = -1;
+		}
+		edgeX[edgeCount] = x0;
+		edgeTop[edgeCount] = y0;
+		edgeBottom[edgeCount] = y1;
+		edgeSlope[edgeCount] = (x1 - x0) / (y1 - y0);
+		edgeDirection[edgeCount] = direction;
+		edgeCount++;
+		minY = Math.min(minY, y0);
+		maxY = Math.max(maxY, y1);
+	}
+
+	/**
+	 * Adds a closed polygon.
+	 *
+	 * @param coords the coordinate array, the point i is at 2i and 2i + 1.
+	 * @param offset the index of the first point.
+	 * @param count the number of points.
+	 * @param positive whether the polygon should be reoriented so that it
+	 * 				always has a positive winding. This is used to union the
+	 * 				polygons of a stroke with the non-zero rule.
+	 */
+	void addPolygon(double[] coords, int offset, int count, boolean positive) {
+		if (count < 2) {
+			return;
+		}
+		boolean reverse = false;
+		if (positive) {
+			double area = 0;
+			for (int i = 0, j = count - 1; i < count; j = i++) {
+				int pi = 2 * (offset + i), pj = 2 * (offset + j);
+				area += coords[pj] * coords[pi + 1] - coords[pi] * coords[pj + 1];
+			}
+			reverse = area < 0;
+		}
+		for (int i = 0, j = count - 1; i < count; j = i++) {
+			int pi = 2 * (offset + i), pj = 2 * (offset + j);
+			if (reverse) {
+				addEdge(coords[pi], coords[pi + 1], coords[pj], coords[pj + 1]);
+			} else {
+				addEdge(coords[pj], coords[pj + 1], coords[pi], coords[pi + 1]);
+			}
+		}
+	}
+
+	/**
+	 * Computes the winding number of the given point.
+	 */
+	int getWinding(double x, double y) {
+		int winding = 0;
+		for (int i = 0; i < edgeCount; i++) {
+			if (y >= edgeTop[i] && y < edgeBottom[i]
+					&& x > edgeX[i] + (y - edgeTop[i]) * edgeSlope[i]) {
+				winding += edgeDirection[i];
+			}
+		}
+		return winding;
+	}
+
+	/**
+	 * Rasterizes the edges that have been added into the given area.
+	 */
+	void rasterize(int width, int height, FillRule fillRule, CoverageSink sink) {
+		if (edgeCount == 0 || width <= 0 || height <= 0) {
+			return;
+		}
+		if (coverage.length < width + 1) {
+			coverage = new float[width + 1];
+		}
+		sortEdges();
+		int firstRow = (int) Math.max(0, Math.floor(minY));
+		int lastRow = (int) Math.min(height - 1, Math.ceil(maxY));
+		int nextEdge = 0, activeCount = 0;
+		for (int y = firstRow; y <= lastRow; y++) {
+			int minX = width, maxX = -1;
+			for (int s = 0; s < SUBSAMPLES; s++) {
+				double sampleY = y + (s + 0.5) / SUBSAMPLES;
+				// Removes the edges that end above the sub-scanline.
+				int kept = 0;
+				for (int i = 0; i < activeCount; i++) {
+					int e = activeEdges[i];
+					if (edgeBottom[e] > sampleY) {
+						activeEdges[kept++] = e;
+					}
+				}
+				activeCount = kept;
+				// Adds the edges that start above the sub-scanline.
+				while (nextEdge < edgeCount
+						&& edgeTop[sortedEdges[nextEdge]] <= sampleY) {
+					int e = sortedEdges[nextEdge++];
+					if (edgeBottom[e] > sampleY) {
+						activeEdges[activeCount++] = e;
+					}
+				}
+				if (activeCount == 0) {
+					continue;
+				}
+				// Computes and sorts the crossings.
+				for (int i = 0; i < activeCount; i++) {
+					int e = activeEdges[i];
+					double x = edgeX[e] + (sampleY - edgeTop[e]) * edgeSlope[e];
+					int direction = edgeDirection[e];
+					int j = i - 1;
+					while (j >= 0 && crossingX[j] > x) {
+						crossingX[j + 1] = crossingX[j];
+						crossingDirection[j + 1] = crossingDirection[j];
+						j--;
+					}
+					crossingX[j + 1] = x;
+					crossingDirection[j + 1] = direction;
+				}
+				// Accumulates the spans that are inside.
+				int winding = 0;
+				for (int i = 0; i < activeCount - 1; i++) {
+					winding += crossingDirection[i];
+					if (fillRule.isInside(winding)) {
+						double left = Math.max(0, crossingX[i]);
+						double right = Math.min(width, crossingX[i + 1]);
+						if (right > left) {
+							int l = (int) left, r = (int) right;
+							if (l == r) {
+								coverage[l] += (float) (right - left) * SUBSAMPLE_WEIGHT;
+							} else {
+								coverage[l] += (float) (l + 1 - left) * SUBSAMPLE_WEIGHT;
+								for (int x = l + 1; x < r; x++) {
+									coverage[x] += SUBSAMPLE_WEIGHT;
+								}
+								coverage[r] += (float) (right - r) * SUBSAMPLE_WEIGHT;
+							}
+							minX = Math.min(minX, l);
+							maxX = Math.max(maxX, Math.min(r, width - 1));
+						}
+					}
+				}
+			}
+			if (maxX >= minX) {
+				sink.coverRow(y, coverage, minX, maxX);
+				for (int x = minX; x <= maxX + 1; x++) {
+					coverage[x] = 0;
+				}
+			}
+			if (nextEdge == edgeCount && activeCount == 0) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sorts the edge indices by their top coordinate.
+	 */
+	private void sortEdges() {
+		for (int i = 0; i < edgeCount; i++) {
+			sortedEdges[i] = i;
+		}
+		// Shell sort, the edges are often nearly sorted already.
+		int gap = 1;
+		while (gap < edgeCount / 3) {
+			gap = 3 * gap + 1;
+		}
+		for (; gap > 0; gap /= 3) {
+			for (int i = gap; i < edgeCount; i++) {
+				int e = sortedEdges[i];
+				double top = edgeTop[e];
+				int j = i;
+				while (j >= gap && edgeTop[sortedEdges[j - gap]] > top) {
+					sortedEdges[j] = sortedEdges[j - gap];
+					j -= gap;
+				}
+				sortedEdges[j] = e;
+			}
+		}
+	}
+
+	private void grow() {
+		int capacity = edgeX.length * 2;
+		edgeX = copyOf(edgeX, capacity);
+		edgeTop = copyOf(edgeTop, capacity);
+		edgeBottom = copyOf(edgeBottom, capacity);
+		edgeSlope = copyOf(edgeSlope, capacity);
+		edgeDirection = copyOf(edgeDirection, capacity);
+		sortedEdges = new int[capacity];
+		activeEdges = new int[capacity];
+		crossingX = new double[capacity];
+		crossingDirection = new int[capacity];
+	}
+
+	private static double[] copyOf(double[] array, int length) {
+		double[] copy = new double[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+
+	private static int[] copyOf(int[] array, int length) {
+		int[] copy = new int[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+}
@@ -0,0 +1,878 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import gwt.g2d.client.graphics.Composition;
+import gwt.g2d.client.graphics.FillRule;
+import gwt.g2d.client.graphics.Gradient;
+import gwt.g2d.client.graphics.LineCap;
+import gwt.g2d.client.graphics.LineJoin;
+import gwt.g2d.client.graphics.LinearGradient;
+import gwt.g2d.client.graphics.RadialGradient;
+import gwt.g2d.client.graphics.canvas.Compositor;
+import gwt.g2d.client.graphics.canvas.ImageDataAdapter;
+import gwt.g2d.client.graphics.software.ScanlineRasterizer.CoverageSink;
+
+import java.util.Arrays;
+
+/**
+ * A 2D context that renders into an int array of non-premultiplied ARGB
+ * pixels, without using the browser.
+ * <p>
+ * This does not depend on any JavaScriptObject for the drawing operations,
+ * so it can be used in a plain JVM to render scenes headlessly (in tests, or
+ * on the server). It has the same methods as
+ * {@link gwt.g2d.client.graphics.canvas.Context} for paths with anti-aliased
+ * filling (non-zero and even-odd rules), stroking with all {@link LineCap}
+ * and {@link LineJoin} styles, transformations, clipping, global alpha and
+ * all the {@link Composition} operators. Compositing only affects the pixels
+ * covered by the shape being drawn.
+ * <p>
+ * The styles are solid colors, {@link LinearGradient}s and
+ * {@link RadialGradient}s, and images are drawn from other software contexts.
+ * It does not implement the Context interface, since native gradients,
+ * patterns, images and image data are JavaScript objects, and text needs the
+ * fonts of the browser. Shadow settings are kept but ignored. Pixels can be
+ * exchanged with a canvas using {@link #copyTo(ImageDataAdapter, int, int)}
+ * and {@link #copyFrom(ImageDataAdapter, int, int)}.
+ */
+public class SoftwareContext {
+	/**
+	 * Maximum distance between a curve and its flattened polyline, in pixels.
+	 */
+	private static final double TOLERANCE = 0.25;
+
+	/**
+	 * The drawing state that is saved and restored.
+	 */
+	private static final class State {
+		private final double[] matrix = new double[6];
+		private String fillStyle, strokeStyle, font, textAlign, textBaseline,
+				shadowColor;
+		private int fillColor, strokeColor;
+		// The gradients of the styles, null for solid colors.
+		private Gradient fillGradient, strokeGradient;
+		private double globalAlpha, lineWidth, miterLimit, shadowBlur,
+				shadowOffsetX, shadowOffsetY;
+		private Composition composition;
+		private LineCap lineCap;
+		private LineJoin lineJoin;
+		// Coverage of each pixel by the clipping region, null if not clipped.
+		// The array is never modified once created, so it can be shared.
+		private float[] clip;
+
+		private void reset() {
+			matrix[0] = matrix[3] = 1;
+			matrix[1] = matrix[2] = matrix[4] = matrix[5] = 0;
+			fillStyle = strokeStyle = "#000000";
+			fillColor = strokeColor = 0xFF000000;
+			fillGradient = strokeGradient = null;
+			font = "10px sans-serif";
+			textAlign = "start";
+			textBaseline = "alphabetic";
+			shadowColor = "rgba(0, 0, 0, 0)";
+			globalAlpha = 1;
+			lineWidth = 1;
+			miterLimit = 10;
+			shadowBlur = shadowOffsetX = shadowOffsetY = 0;
+			composition = Composition.SOURCE_OVER;
+			lineCap = LineCap.BUTT;
+			lineJoin = LineJoin.MITER;
+			clip = null;
+		}
+
+		private void set(State other) {
+			System.arraycopy(other.matrix, 0, matrix, 0, 6);
+			fillStyle = other.fillStyle;
+			strokeStyle = other.strokeStyle;
+			font = other.font;
+			textAlign = other.textAlign;
+			textBaseline = other.textBaseline;
+			shadowColor = other.shadowColor;
+			fillColor = other.fillColor;
+			strokeColor = other.strokeColor;
+			fillGradient = other.fillGradient;
+			strokeGradient = other.strokeGradient;
+			globalAlpha = other.globalAlpha;
+			lineWidth = other.lineWidth;
+			miterLimit = other.miterLimit;
+			shadowBlur = other.shadowBlur;
+			shadowOffsetX = other.shadowOffsetX;
+			shadowOffsetY = other.shadowOffsetY;
+			composition = other.composition;
+			lineCap = other.lineCap;
+			lineJoin = other.lineJoin;
+			clip = other.clip;
+		}
+	}
+
+	/**
+	 * Composites a solid color or a paint onto the pixels, or intersects the
+	 * clipping region, with the rasterized coverage.
+	 */
+	private final class PixelSink implements CoverageSink {
+		private int color;
+		// The paint that gives the color of each pixel, with the global alpha.
+		private Paint paint;
+		private double alpha;
+		private Composition composition;
+		private float[] clip, newClip;
+
+		@Override
+		public void coverRow(int y, float[] coverage, int minX, int maxX) {
+			int offset = y * width;
+			if (newClip != null) {
+				for (int x = minX; x <= maxX; x++) {
+					float c = Math.min(1, coverage[x]);
+					newClip[offset + x] = clip == null ? c : c * clip[offset + x];
+				}
+				return;
+			}
+			for (int x = minX; x <= maxX; x++) {
+				double c = coverage[x];
+				if (clip != null) {
+					c *= clip[offset + x];
+				}
+				if (c > 0) {
+					int source = color;
+					if (paint != null) {
+						source = paint.getColor(x + 0.5, y + 0.5);
+						source = ((int) ((source >>> 24) * alpha + 0.5) << 24)
+								| (source & 0xFFFFFF);
+					}
+					pixels[offset + x] = Compositor.composite(composition, source,
+							pixels[offset + x], c > 1 ? 1 : c);
+				}
+			}
+		}
+	}
+
+	private final int width, height;
+	private final int[] pixels;
+	private final PathBuffer path = new PathBuffer();
+	private final PathBuffer rectanglePath = new PathBuffer();
+	private final ScanlineRasterizer rasterizer = new ScanlineRasterizer();
+	private final Stroker stroker = new Stroker();
+	private final PixelSink sink = new PixelSink();
+	private final GradientPaint fillPaint = new GradientPaint();
+	private final GradientPaint strokePaint = new GradientPaint();
+	private final ImagePaint imagePaint = new ImagePaint();
+	private State current = new State();
+	private State[] stack = new State[8];
+	private int depth;
+
+	/**
+	 * Creates a software context with transparent black pixels.
+	 *
+	 * @param width the width of the bitmap, in pixels.
+	 * @param height the height of the bitmap, in pixels.
+	 */
+	public SoftwareContext(int width, int height) {
+		if (width < 0 || height < 0) {
+			throw new IllegalArgumentException("Invalid size: " + width + "x" + height);
+		}
+		this.width = width;
+		this.height = height;
+		this.pixels = new int[width * height];
+		current.reset();
+	}
+
+	/**
+	 * Gets the width of the bitmap.
+	 */
+	public final int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the height of the bitmap.
+	 */
+	public final int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the pixels of the bitmap, row by row, in non-premultiplied ARGB.
+	 * The returned array is the live backing array of this context.
+	 */
+	public final int[] getPixels() {
+		return pixels;
+	}
+
+	/**
+	 * Gets the pixel at the given position, in non-premultiplied ARGB.
+	 */
+	public final int getPixel(int x, int y) {
+		return pixels[y * width + x];
+	}
+
+	/**
+	 * Sets the pixel at the given position, in non-premultiplied ARGB.
+	 */
+	public final void setPixel(int x, int y, int argb) {
+		pixels[y * width + x] = argb;
+	}
+
+	/**
+	 * Copies the pixels of this context into the given image data, at the
+	 * given position. The pixels that fall outside of the image data are
+	 * skipped.
+	 */
+	public void copyTo(ImageDataAdapter imageData, int x, int y) {
+		int left = Math.max(0, x), top = Math.max(0, y);
+		int right = Math.min(imageData.getWidth(), x + width);
+		int bottom = Math.min(imageData.getHeight(), y + height);
+		if (left < right && top < bottom) {
+			imageData.setPixels(left, top, right - left, bottom - top, pixels,
+					(top - y) * width + (left - x), width);
+		}
+	}
+
+	/**
+	 * Copies the pixels of the given image data into this context, at the
+	 * given position. Like putImageData of the canvas, this ignores the
+	 * transformation, the clipping region and the compositing operator.
+	 */
+	public void copyFrom(ImageDataAdapter imageData, int x, int y) {
+		int left = Math.max(0, x), top = Math.max(0, y);
+		int right = Math.min(width, x + imageData.getWidth());
+		int bottom = Math.min(height, y + imageData.getHeight());
+		if (left < right && top < bottom) {
+			imageData.getPixels(left - x, top - y, right - left, bottom - top,
+					pixels, top * width + left, width);
+		}
+	}
+
+	/**
+	 * Fills the current path with the given fill rule.
+	 */
+	public void fill(FillRule fillRule) {
+		rasterizer.reset();
+		addFillPolygons(path);
+		paintFill(fillRule);
+	}
+
+	/**
+	 * Intersects the clipping region with the current path, using the given
+	 * fill rule.
+	 */
+	public void clip(FillRule fillRule) {
+		rasterizer.reset();
+		addFillPolygons(path);
+		sink.clip = current.clip;
+		sink.newClip = new float[width * height];
+		rasterizer.rasterize(width, height, fillRule, sink);
+		current.clip = sink.newClip;
+		sink.newClip = null;
+		sink.clip = null;
+	}
+
+	/**
+	 * Checks whether the given point, in canvas coordinates, is inside of the
+	 * current path using the given fill rule.
+	 */
+	public boolean isPointInPath(double x, double y, FillRule fillRule) {
+		rasterizer.reset();
+		addFillPolygons(path);
+		return fillRule.isInside(rasterizer.getWinding(x, y));
+	}
+
+	public void arc(double x, double y, double radius, double startAngle,
+			double endAngle, boolean antiClockwise) {
+		if (radius < 0) {
+			throw new IllegalArgumentException("Negative radius: " + radius);
+		}
+		double sweep;
+		if (!antiClockwise && endAngle - startAngle >= 2 * Math.PI) {
+			sweep = 2 * Math.PI;
+		} else if (antiClockwise && startAngle - endAngle >= 2 * Math.PI) {
+			sweep = -2 * Math.PI;
+		} else {
+			sweep = (endAngle - startAngle) % (2 * Math.PI);
+			if (!antiClockwise && sweep < 0) {
+				sweep += 2 * Math.PI;
+			} else if (antiClockwise && sweep > 0) {
+				sweep -= 2 * Math.PI;
+			}
+		}
+		addArc(x, y, radius, startAngle, sweep);
+	}
+
+	public void arcTo(double x1, double y1, double x2, double y2, double radius) {
+		if (radius < 0) {
+			throw new IllegalArgumentException("Negative radius: " + radius);
+		}
+		if (!path.hasCurrentPoint()) {
+			moveTo(x1, y1);
+		}
+		// The current point is in device space, so it is mapped back.
+		double[] m = current.matrix;
+		double determinant = m[0] * m[3] - m[1] * m[2];
+		if (determinant == 0) {
+			return;
+		}
+		double px = path.getCurrentX() - m[4], py = path.getCurrentY() - m[5];
+		double x0 = (m[3] * px - m[2] * py) / determinant;
+		double y0 = (m[0] * py - m[1] * px) / determinant;
+		double v1x = x0 - x1, v1y = y0 - y1;
+		double v2x = x2 - x1, v2y = y2 - y1;
+		double l1 = Math.sqrt(v1x * v1x + v1y * v1y);
+		double l2 = Math.sqrt(v2x * v2x + v2y * v2y);
+		double cross = v1x * v2y - v1y * v2x;
+		if (l1 == 0 || l2 == 0 || radius == 0 || Math.abs(cross) < 1e-9 * l1 * l2) {
+			lineTo(x1, y1);
+			return;
+		}
+		v1x /= l1;
+		v1y /= l1;
+		v2x /= l2;
+		v2y /= l2;
+		double angle = Math.acos(Math.max(-1, Math.min(1, v1x * v2x + v1y * v2y)));
+		double tangentDistance = radius / Math.tan(angle / 2);
+		double bisectorX = v1x + v2x, bisectorY = v1y + v2y;
+		double bisectorLength = Math.sqrt(bisectorX * bisectorX + bisectorY * bisectorY);
+		double centerDistance = radius / Math.sin(angle / 2);
+		double cx = x1 + bisectorX / bisectorLength * centerDistance;
+		double cy = y1 + bisectorY / bisectorLength * centerDistance;
+		double startX = x1 + v1x * tangentDistance, startY = y1 + v1y * tangentDistance;
+		double endX = x1 + v2x * tangentDistance, endY = y1 + v2y * tangentDistance;
+		double startAngle = Math.atan2(startY - cy, startX - cx);
+		double sweep = Math.atan2(endY - cy, endX - cx) - startAngle;
+		if (sweep > Math.PI) {
+			sweep -= 2 * Math.PI;
+		} else if (sweep < -Math.PI) {
+			sweep += 2 * Math.PI;
+		}
+		addArc(cx, cy, radius, startAngle, sweep);
+	}
+
+	public void beginPath() {
+		path.reset();
+	}
+
+	public void bezierCurveTo(double cp1x, double cp1y, double cp2x,
+			double cp2y, double x, double y) {
+		if (!path.hasCurrentPoint()) {
+			moveTo(cp1x, cp1y);
+		}
+		double[] m = current.matrix;
+		double x0 = path.getCurrentX(), y0 = path.getCurrentY();
+		double x1 = m[0] * cp1x + m[2] * cp1y + m[4];
+		double y1 = m[1] * cp1x + m[3] * cp1y + m[5];
+		double x2 = m[0] * cp2x + m[2] * cp2y + m[4];
+		double y2 = m[1] * cp2x + m[3] * cp2y + m[5];
+		double x3 = m[0] * x + m[2] * y + m[4];
+		double y3 = m[1] * x + m[3] * y + m[5];
+		double dd = Math.max(
+				length(x0 - 2 * x1 + x2, y0 - 2 * y1 + y2),
+				length(x1 - 2 * x2 + x3, y1 - 2 * y2 + y3));
+		int count = segmentCount(Math.sqrt(0.75 * dd / TOLERANCE));
+		for (int i = 1; i <= count; i++) {
+			double t = (double) i / count, u = 1 - t;
+			double a = u * u * u, b = 3 * u * u * t, c = 3 * u * t * t, d = t * t * t;
+			path.lineTo(a * x0 + b * x1 + c * x2 + d * x3,
+					a * y0 + b * y1 + c * y2 + d * y3);
+		}
+	}
+
+	public void clear() {
+		clearRect(-1e4, -1e4, 2e4, 2e4);
+	}
+
+	public void clearRect(double x, double y, double width, double height) {
+		double[] m = current.matrix;
+		if (current.clip == null && m[1] == 0 && m[2] == 0) {
+			// Pixel aligned rectangles, such as the one used by clear(), are
+			// cleared directly.
+			double x0 = m[0] * x + m[4], x1 = m[0] * (x + width) + m[4];
+			double y0 = m[3] * y + m[5], y1 = m[3] * (y + height) + m[5];
+			double left = Math.max(0, Math.min(x0, x1));
+			double right = Math.min(this.width, Math.max(x0, x1));
+			double top = Math.max(0, Math.min(y0, y1));
+			double bottom = Math.min(this.height, Math.max(y0, y1));
+			if (left == Math.floor(left) && right == Math.floor(right)
+					&& top == Math.floor(top) && bottom == Math.floor(bottom)) {
+				for (int row = (int) top; row < bottom; row++) {
+					Arrays.fill(pixels, row * this.width + (int) left,
+							row * this.width + (int) right, 0);
+				}
+				return;
+			}
+		}
+		addRectangle(x, y, width, height);
+		rasterizer.reset();
+		addFillPolygons(rectanglePath);
+		sink.color = 0;
+		sink.composition = Composition.COPY;
+		sink.clip = current.clip;
+		rasterizer.rasterize(this.width, this.height, FillRule.NON_ZERO, sink);
+		sink.clip = null;
+	}
+
+	public void clip() {
+		clip(FillRule.NON_ZERO);
+	}
+
+	public void closePath() {
+		path.close();
+	}
+
+	public void drawImage(SoftwareContext image, double x, double y) {
+		drawImage(image, x, y, image.width, image.height);
+	}
+
+	public void drawImage(SoftwareContext image, double x, double y,
+			double width, double height) {
+		drawImage(image, 0, 0, image.width, image.height, x, y, width, height);
+	}
+
+	/**
+	 * Draws a rectangle of the pixels of the given context onto a rectangle in
+	 * user space, with bilinear filtering. The image may be this context.
+	 */
+	public void drawImage(SoftwareContext image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth, double destinationHeight) {
+		int[] source = image.pixels;
+		if (image == this) {
+			source = new int[pixels.length];
+			System.arraycopy(pixels, 0, source, 0, pixels.length);
+		}
+		if (!imagePaint.set(source, image.width, image.height, sourceX, sourceY,
+				sourceWidth, sourceHeight, destinationX, destinationY,
+				destinationWidth, destinationHeight, current.matrix)) {
+			return;
+		}
+		addRectangle(destinationX, destinationY, destinationWidth,
+				destinationHeight);
+		rasterizer.reset();
+		addFillPolygons(rectanglePath);
+		paint(0, imagePaint, FillRule.NON_ZERO);
+		imagePaint.clear();
+	}
+
+	public void fill() {
+		fill(FillRule.NON_ZERO);
+	}
+
+	public void fillRect(double x, double y, double width, double height) {
+		addRectangle(x, y, width, height);
+		rasterizer.reset();
+		addFillPolygons(rectanglePath);
+		paintFill(FillRule.NON_ZERO);
+	}
+
+	public String getFont() {
+		return current.font;
+	}
+
+	public double getGlobalAlpha() {
+		return current.globalAlpha;
+	}
+
+	public String getGlobalCompositeOperation() {
+		return current.composition.toString();
+	}
+
+	public String getLineCap() {
+		return current.lineCap.toString();
+	}
+
+	public String getLineJoin() {
+		return current.lineJoin.toString();
+	}
+
+	public double getLineWidth() {
+		return current.lineWidth;
+	}
+
+	public double getMiterLimit() {
+		return current.miterLimit;
+	}
+
+	public double getShadowBlur() {
+		return current.shadowBlur;
+	}
+
+	public String getShadowColor() {
+		return current.shadowColor;
+	}
+
+	public double getShadowOffsetX() {
+		return current.shadowOffsetX;
+	}
+
+	public double getShadowOffsetY() {
+		return current.shadowOffsetY;
+	}
+
+	public String getTextAlign() {
+		return current.textAlign;
+	}
+
+	public String getTextBaseline() {
+		return current.textBaseline;
+	}
+
+	public boolean isPointInPath(double x, double y) {
+		return isPointInPath(x, y, FillRule.NON_ZERO);
+	}
+
+	public void lineTo(double x, double y) {
+		double[] m = current.matrix;
+		path.lineTo(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+	}
+
+	public void moveTo(double x, double y) {
+		double[] m = current.matrix;
+		path.moveTo(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+	}
+
+	public void quadraticCurveTo(double cpx, double cpy, double x, double y) {
+		if (!path.hasCurrentPoint()) {
+			moveTo(cpx, cpy);
+		}
+		double[] m = current.matrix;
+		double x0 = path.getCurrentX(), y0 = path.getCurrentY();
+		double x1 = m[0] * cpx + m[2] * cpy + m[4];
+		double y1 = m[1] * cpx + m[3] * cpy + m[5];
+		double x2 = m[0] * x + m[2] * y + m[4];
+		double y2 = m[1] * x + m[3] * y + m[5];
+		double dd = length(x0 - 2 * x1 + x2, y0 - 2 * y1 + y2);
+		int count = segmentCount(Math.sqrt(dd / (4 * TOLERANCE)));
+		for (int i = 1; i <= count; i++) {
+			double t = (double) i / count, u = 1 - t;
+			double a = u * u, b = 2 * u * t, c = t * t;
+			path.lineTo(a * x0 + b * x1 + c * x2, a * y0 + b * y1 + c * y2);
+		}
+	}
+
+	public void rect(double x, double y, double w, double h) {
+		moveTo(x, y);
+		lineTo(x + w, y);
+		lineTo(x + w, y + h);
+		lineTo(x, y + h);
+		path.close();
+		moveTo(x, y);
+	}
+
+	public void restore() {
+		if (depth > 0) {
+			State saved = stack[--depth];
+			stack[depth] = current;
+			current = saved;
+		}
+	}
+
+	public void rotate(double angle) {
+		double cos = Math.cos(angle), sin = Math.sin(angle);
+		transform(cos, sin, -sin, cos, 0, 0);
+	}
+
+	public void save() {
+		if (depth == stack.length) {
+			State[] newStack = new State[stack.length * 2];
+			System.arraycopy(stack, 0, newStack, 0, depth);
+			stack = newStack;
+		}
+		State next = stack[depth];
+		if (next == null) {
+			next = new State();
+		}
+		next.set(current);
+		stack[depth++] = current;
+		current = next;
+	}
+
+	public void scale(double x, double y) {
+		transform(x, 0, 0, y, 0, 0);
+	}
+
+	/**
+	 * Fills with the given CSS color.
+	 *
+	 * @throws IllegalArgumentException if the color cannot be parsed, where the
+	 * 				canvas would silently keep the previous style.
+	 */
+	public void setFillStyle(String color) {
+		if (!color.equals(current.fillStyle)) {
+			current.fillColor = CssColorParser.parse(color);
+			current.fillStyle = color;
+			current.fillGradient = null;
+		}
+	}
+
+	/**
+	 * Fills with the given {@link LinearGradient} or {@link RadialGradient},
+	 * whose coordinates are in the user space at the time of the filling.
+	 */
+	public void setFillStyle(Gradient gradient) {
+		checkGradient(gradient);
+		current.fillGradient = gradient;
+		current.fillStyle = null;
+	}
+
+	public void setFont(String font) {
+		current.font = font;
+	}
+
+	public void setGlobalAlpha(double globalAlpha) {
+		if (globalAlpha >= 0 && globalAlpha <= 1) {
+			current.globalAlpha = globalAlpha;
+		}
+	}
+
+	public void setGlobalCompositeOperation(String globalCompositeOperation) {
+		Composition composition = Composition.parseComposition(
+				globalCompositeOperation);
+		if (composition != null) {
+			current.composition = composition;
+		}
+	}
+
+	public void setLineCap(String lineCap) {
+		LineCap value = LineCap.parseLineCap(lineCap);
+		if (value != null) {
+			current.lineCap = value;
+		}
+	}
+
+	public void setLineJoin(String lineJoin) {
+		LineJoin value = LineJoin.parseLineJoin(lineJoin);
+		if (value != null) {
+			current.lineJoin = value;
+		}
+	}
+
+	public void setLineWidth(double lineWidth) {
+		if (lineWidth > 0 && !Double.isInfinite(lineWidth)) {
+			current.lineWidth = lineWidth;
+		}
+	}
+
+	public void setMiterLimit(double miterLimit) {
+		if (miterLimit > 0 && !Double.isInfinite(miterLimit)) {
+			current.miterLimit = miterLimit;
+		}
+	}
+
+	public void setShadowBlur(double shadowBlur) {
+		if (shadowBlur >= 0) {
+			current.shadowBlur = shadowBlur;
+		}
+	}
+
+	public void setShadowColor(String shadowColor) {
+		current.shadowColor = shadowColor;
+	}
+
+	public void setShadowOffsetX(double shadowOffsetX) {
+		current.shadowOffsetX = shadowOffsetX;
+	}
+
+	public void setShadowOffsetY(double shadowOffsetY) {
+		current.shadowOffsetY = shadowOffsetY;
+	}
+
+	/**
+	 * Strokes with the given CSS color.
+	 *
+	 * @throws IllegalArgumentException if the color cannot be parsed, where the
+	 * 				canvas would silently keep the previous style.
+	 */
+	public void setStrokeStyle(String color) {
+		if (!color.equals(current.strokeStyle)) {
+			current.strokeColor = CssColorParser.parse(color);
+			current.strokeStyle = color;
+			current.strokeGradient = null;
+		}
+	}
+
+	/**
+	 * Strokes with the given {@link LinearGradient} or {@link RadialGradient},
+	 * whose coordinates are in the user space at the time of the stroking.
+	 */
+	public void setStrokeStyle(Gradient gradient) {
+		checkGradient(gradient);
+		current.strokeGradient = gradient;
+		current.strokeStyle = null;
+	}
+
+	public void setTextAlign(String textAlign) {
+		current.textAlign = textAlign;
+	}
+
+	public void setTextBaseline(String textBaseline) {
+		current.textBaseline = textBaseline;
+	}
+
+	public void setTransform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		double[] m = current.matrix;
+		m[0] = m11;
+		m[1] = m12;
+		m[2] = m21;
+		m[3] = m22;
+		m[4] = dx;
+		m[5] = dy;
+	}
+
+	public void stroke() {
+		rasterizer.reset();
+		stroker.stroke(path, current.matrix, current.lineWidth, current.lineCap,
+				current.lineJoin, current.miterLimit, TOLERANCE, rasterizer);
+		paintStroke();
+	}
+
+	public void strokeRect(double x, double y, double width, double height) {
+		addRectangle(x, y, width, height);
+		rasterizer.reset();
+		stroker.stroke(rectanglePath, current.matrix, current.lineWidth,
+				current.lineCap, current.lineJoin, current.miterLimit, TOLERANCE,
+				rasterizer);
+		paintStroke();
+	}
+
+	public void transform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		double[] m = current.matrix;
+		double a = m[0], b = m[1], c = m[2], d = m[3];
+		m[0] = a * m11 + c * m12;
+		m[1] = b * m11 + d * m12;
+		m[2] = a * m21 + c * m22;
+		m[3] = b * m21 + d * m22;
+		m[4] += a * dx + c * dy;
+		m[5] += b * dx + d * dy;
+	}
+
+	public void translate(double x, double y) {
+		transform(1, 0, 0, 1, x, y);
+	}
+
+	/**
+	 * Fills all the pixels with the given color, ignoring the current state.
+	 */
+	public void fillPixels(int argb) {
+		Arrays.fill(pixels, argb);
+	}
+
+	/**
+	 * Adds an arc to the current path, in user space.
+	 */
+	private void addArc(double cx, double cy, double radius, double startAngle,
+			double sweep) {
+		double[] m = current.matrix;
+		double scale = Math.sqrt(Math.max(m[0] * m[0] + m[1] * m[1],
+				m[2] * m[2] + m[3] * m[3]));
+		double deviceRadius = radius * scale;
+		int count = 1;
+		if (deviceRadius > TOLERANCE) {
+			double step = 2 * Math.acos(1 - TOLERANCE / deviceRadius);
+			count = segmentCount(Math.abs(sweep) / step);
+		}
+		for (int i = 0; i <= count; i++) {
+			double angle = startAngle + sweep * i / count;
+			lineTo(cx + Math.cos(angle) * radius, cy + Math.sin(angle) * radius);
+		}
+	}
+
+	/**
+	 * Replaces the rectangle path with the given rectangle, in user space.
+	 */
+	private void addRectangle(double x, double y, double width, double height) {
+		double[] m = current.matrix;
+		rectanglePath.reset();
+		rectanglePath.moveTo(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+		x += width;
+		rectanglePath.lineTo(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+		y += height;
+		rectanglePath.lineTo(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+		x -= width;
+		rectanglePath.lineTo(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+		rectanglePath.close();
+	}
+
+	/**
+	 * Adds all the sub-paths of the given path to the rasterizer, as implicitly
+	 * closed polygons.
+	 */
+	private void addFillPolygons(PathBuffer fillPath) {
+		double[] coords = fillPath.getCoords();
+		for (int i = 0; i < fillPath.getSubPathCount(); i++) {
+			rasterizer.addPolygon(coords, fillPath.getSubPathStart(i),
+					fillPath.getPointCount(i), false);
+		}
+	}
+
+	/**
+	 * Composites the fill style onto the pixels covered by the rasterizer.
+	 */
+	private void paintFill(FillRule fillRule) {
+		if (current.fillGradient == null) {
+			paint(current.fillColor, null, fillRule);
+		} else if (fillPaint.set(current.fillGradient, current.matrix)) {
+			paint(0, fillPaint, fillRule);
+		}
+	}
+
+	/**
+	 * Composites the stroke style onto the pixels covered by the rasterizer.
+	 */
+	private void paintStroke() {
+		if (current.strokeGradient == null) {
+			paint(current.strokeColor, null, FillRule.NON_ZERO);
+		} else if (strokePaint.set(current.strokeGradient, current.matrix)) {
+			paint(0, strokePaint, FillRule.NON_ZERO);
+		}
+	}
+
+	/**
+	 * Composites the given color, or the colors of the given paint if it is
+	 * not null, onto the pixels covered by the rasterizer.
+	 */
+	private void paint(int color, Paint style, FillRule fillRule) {
+		if (rasterizer.isEmpty()) {
+			return;
+		}
+		int alpha = (int) ((color >>> 24) * current.globalAlpha + 0.5);
+		sink.color = (alpha << 24) | (color & 0xFFFFFF);
+		sink.paint = style;
+		sink.alpha = current.globalAlpha;
+		sink.composition = current.composition;
+		sink.clip = current.clip;
+		rasterizer.rasterize(width, height, fillRule, sink);
+		sink.clip = null;
+		sink.paint = null;
+	}
+
+	private static void checkGradient(Gradient gradient) {
+		if (!(gradient instanceof LinearGradient)
+				&& !(gradient instanceof RadialGradient)) {
+			throw new IllegalArgumentException("Unsupported gradient: " + gradient);
+		}
+	}
+
+	private static double length(double x, double y) {
+		return Math.sqrt(x * x + y * y);
+	}
+
+	private static int segmentCount(double count) {
+		if (!(count > 1)) {
+			return 1;
+		}
+		return (int) Math.min(1000, Math.ceil(count));
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import gwt.g2d.client.graphics.LineCap;
+import gwt.g2d.client.graphics.LineJoin;
+
+/**
+ * Converts the outline of a path into polygons that can be filled with the
+ * non-zero rule.
+ * <p>
+ * The outline is built in user space, where the line width is defined, as a
+ * union of one quadrilateral per segment plus the join and cap polygons.
+ * Each polygon is transformed into device space and added to the rasterizer
+ * with a positive orientation, so that the overlaps do not cancel out.
+ */
+final class Stroker {
+	private static final double EPSILON = 1e-9;
+
+	private double[] points = new double[256];
+	private final double[] polygon = new double[2 * 260];
+
+	// Transforms from user space to device space.
+	private double m11, m12, m21, m22, dx, dy;
+	private double halfWidth, miterLimit, tolerance;
+	private LineCap lineCap;
+	private LineJoin lineJoin;
+	private ScanlineRasterizer rasterizer;
+
+	/**
+	 * Adds the outline of the given path to the rasterizer.
+	 *
+	 * @param path the path, in device space.
+	 * @param matrix the current transformation {m11, m12, m21, m22, dx, dy}.
+	 * @param tolerance the maximum flattening error, in device pixels.
+	 */
+	void stroke(PathBuffer path, double[] matrix, double lineWidth,
+			LineCap lineCap, LineJoin lineJoin, double miterLimit,
+			double tolerance, ScanlineRasterizer rasterizer) {
+		m11 = matrix[0];
+		m12 = matrix[1];
+		m21 = matrix[2];
+		m22 = matrix[3];
+		dx = matrix[4];
+		dy = matrix[5];
+		double determinant = m11 * m22 - m12 * m21;
+		if (determinant == 0 || lineWidth <= 0) {
+			return;
+		}
+		this.halfWidth = lineWidth / 2;
+		this.lineCap = lineCap;
+		this.lineJoin = lineJoin;
+		this.miterLimit = miterLimit;
+		this.tolerance = tolerance / Math.sqrt(Math.abs(determinant));
+		this.rasterizer = rasterizer;
+		double[] coords = path.getCoords();
+		for (int s = 0; s < path.getSubPathCount(); s++) {
+			int start = path.getSubPathStart(s);
+			int count = path.getPointCount(s);
+			if (2 * count > points.length) {
+				points = new double[2 * count];
+			}
+			// Maps the points back into user space, skipping the duplicates.
+			int n = 0;
+			for (int i = 0; i < count; i++) {
+				double px = coords[2 * (start + i)] - dx;
+				double py = coords[2 * (start + i) + 1] - dy;
+				double ux = (m22 * px - m21 * py) / determinant;
+				double uy = (m11 * py - m12 * px) / determinant;
+				if (n == 0 || Math.abs(ux - points[2 * n - 2]) > EPSILON
+						|| Math.abs(uy - points[2 * n - 1]) > EPSILON) {
+					points[2 * n] = ux;
+					points[2 * n + 1] = uy;
+					n++;
+				}
+			}
+			boolean closed = path.isClosed(s);
+			if (closed && n > 2 && Math.abs(points[0] - points[2 * n - 2]) <= EPSILON
+					&& Math.abs(points[1] - points[2 * n - 1]) <= EPSILON) {
+				n--;
+			}
+			strokeSubPath(n, closed);
+		}
+		this.rasterizer = null;
+	}
+
+	private void strokeSubPath(int n, boolean closed) {
+		if (n < 2) {
+			return;
+		}
+		int segmentCount = closed ? n : n - 1;
+		for (int i = 0; i < segmentCount; i++) {
+			int j = (i + 1) % n;
+			addSegment(points[2 * i], points[2 * i + 1], points[2 * j],
+					points[2 * j + 1]);
+		}
+		if (closed) {
+			for (int i = 0; i < n; i++) {
+				int prev = (i + n - 1) % n, next = (i + 1) % n;
+				addJoin(points[2 * prev], points[2 * prev + 1], points[2 * i],
+						points[2 * i + 1], points[2 * next], points[2 * next + 1]);
+			}
+		} else {
+			for (int i = 1; i < n - 1; i++) {
+				addJoin(points[2 * i - 2], points[2 * i - 1], points[2 * i],
+						points[2 * i + 1], points[2 * i + 2], points[2 * i + 3]);
+			}
+			addCap(points[2], points[3], points[0], points[1]);
+			addCap(points[2 * n - 4], points[2 * n - 3], points[2 * n - 2],
+					points[2 * n - 1]);
+		}
+	}
+
+	private void addSegment(double x0, double y0, double x1, double y1) {
+		double length = Math.sqrt((x1 - x0) * (x1 - x0) + (y1 - y0) * (y1 - y0));
+		double nx = -(y1 - y0) / length * halfWidth;
+		double ny = (x1 - x0) / length * halfWidth;
+		addQuad(x0 + nx, y0 + ny, x1 + nx, y1 + ny, x1 - nx, y1 - ny, x0 - nx,
+				y0 - ny);
+	}
+
+	/**
+	 * Adds the join at (x1, y1) between the segment from (x0, y0) and the
+	 * segment to (x2, y2).
+	 */
+	private void addJoin(double x0, double y0, double x1, double y1, double x2,
+			double y2) {
+		double d0x = x1 - x0, d0y = y1 - y0;
+		double d1x = x2 - x1, d1y = y2 - y1;
+		double l0 = Math.sqrt(d0x * d0x + d0y * d0y);
+		double l1 = Math.sqrt(d1x * d1x + d1y * d1y);
+		d0x /= l0;
+		d0y /= l0;
+		d1x /= l1;
+		d1y /= l1;
+		double cross = d0x * d1y - d0y * d1x;
+		double dot = d0x * d1x + d0y * d1y;
+		if (Math.abs(cross) < EPSILON && dot > 0) {
+			// The segments are collinear, so there is no gap to fill.
+			return;
+		}
+		if (lineJoin == LineJoin.ROUND) {
+			addCircle(x1, y1);
+			return;
+		}
+		// The gap is on the side opposite to the turn.
+		double side = cross > 0 ? -halfWidth : halfWidth;
+		double n0x = -d0y * side, n0y = d0x * side;
+		double n1x = -d1y * side, n1y = d1x * side;
+		if (lineJoin == LineJoin.MITER) {
+			// The angle between the two normals is the same as between the
+			// two directions.
+			double cosine = dot;
+			double ratio = Math.sqrt(2 / (1 + cosine));
+			if (1 + cosine > EPSILON && ratio <= miterLimit) {
+				double scale = 1 / (1 + cosine);
+				double mx = x1 + (n0x + n1x) * scale;
+				double my = y1 + (n0y + n1y) * scale;
+				addQuad(x1, y1, x1 + n0x, y1 + n0y, mx, my, x1 + n1x, y1 + n1y);
+				return;
+			}
+		}
+		polygon[0] = x1;
+		polygon[1] = y1;
+		polygon[2] = x1 + n0x;
+		polygon[3] = y1 + n0y;
+		polygon[4] = x1 + n1x;
+		polygon[5] = y1 + n1y;
+		addPolygon(3);
+	}
+
+	/**
+	 * Adds the cap at (x1, y1) at the end of the segment from (x0, y0).
+	 */
+	private void addCap(double x0, double y0, double x1, double y1) {
+		if (lineCap == LineCap.ROUND) {
+			addCircle(x1, y1);
+		} else if (lineCap == LineCap.SQUARE) {
+			double length = Math.sqrt((x1 - x0) * (x1 - x0) + (y1 - y0) * (y1 - y0));
+			double ux = (x1 - x0) / length * halfWidth;
+			double uy = (y1 - y0) / length * halfWidth;
+			addQuad(x1 - uy, y1 + ux, x1 + ux - uy, y1 + uy + ux,
+					x1 + ux + uy, y1 + uy - ux, x1 + uy, y1 - ux);
+		}
+	}
+
+	private void addCircle(double cx, double cy) {
+		int count = 8;
+		if (halfWidth > tolerance) {
+			double step = 2 * Math.acos(1 - tolerance / halfWidth);
+			count = Math.max(8, Math.min(256, (int) Math.ceil(2 * Math.PI / step)));
+		}
+		for (int i = 0; i < count; i++) {
+			double angle = 2 * Math.PI * i / count;
+			polygon[2 * i] = cx + Math.cos(angle) * halfWidth;
+			polygon[2 * i + 1] = cy + Math.sin(angle) * halfWidth;
+		}
+		addPolygon(count);
+	}
+
+	private void addQuad(double x0, double y0, double x1, double y1, double x2,
+			double y2, double x3, double y3) {
+		polygon[0] = x0;
+		polygon[1] = y0;
+		polygon[2] = x1;
+		polygon[3] = y1;
+		polygon[4] = x2;
+		polygon[5] = y2;
+		polygon[6] = x3;
+		polygon[7] = y3;
+		addPolygon(4);
+	}
+
+	/**
+	 * Transforms the first count points of the polygon buffer into device
+	 * space and adds them to the rasterizer.
+	 */
+	private void addPolygon(int count) {
+		for (int i = 0; i < count; i++) {
+			double x = polygon[2 * i], y = polygon[2 * i + 1];
+			polygon[2 * i] = m11 * x + m21 * y + dx;
+			polygon[2 * i + 1] = m12 * x + m22 * y + dy;
+		}
+		rasterizer.addPolygon(polygon, 0, count, true);
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains a pure Java implementation of the 2D context that renders into an
+ * array of pixels, for headless rendering.
+ */
+package gwt.g2d.client.graphics.software;
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.tile;
+
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Rectangle;
+
+/**
+ * Renders the part of a scene within a tile of a {@link TiledView}.
+ */
+public interface TileRenderer {
+
+	/**
+	 * Renders the scene within the given bounds onto the surface of a tile.
+	 * The transformation of the surface maps the coordinates of the scene to
+	 * the tile, and is restored afterwards; the surface is clear.
+	 *
+	 * @param surface the surface of the tile.
+	 * @param bounds the bounds of the tile in the coordinates of the scene.
+	 * @param level the zoom level of the tile, whose scale is 2 to the power
+	 * 				of the level pixels per unit of the scene.
+	 */
+	void renderTile(Surface surface, Rectangle bounds, int level);
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.tile;
+
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.math.Rectangle;
+import gwt.g2d.client.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+
+/**
+ * Draws a view of a scene that is rendered once into square tiles of a fixed
+ * size in pixels, so that panning and zooming only draw the tiles as images.
+ * <p>
+ * Zoom level n renders the scene at 2 to the power of n pixels per unit, and
+ * a view is drawn from the tiles of the smallest level that is at least its
+ * scale. A tile is rendered by a {@link TileRenderer} the first time it is
+ * visible, up to a few tiles per draw; the other missing tiles are drawn
+ * scaled up from a cached tile of a lower level, if any, and rendered during
+ * idle time, followed by the tiles around the view. The tiles are kept within
+ * a budget of pixels, evicting the least recently drawn first.
+ * <p>
+ * The tiles must be {@link #invalidate(Rectangle) invalidated} when the scene
+ * changes.
+ */
+public class TiledView {
+	/** The default width and height of a tile in pixels. */
+	public static final int DEFAULT_TILE_SIZE = 256;
+
+	/** The number of lower levels searched for a tile to scale up. */
+	private static final int MAX_FALLBACK_LEVELS = 4;
+
+	/** The number of canvases of evicted tiles kept for new tiles. */
+	private static final int MAX_SPARE_CANVASES = 8;
+
+	/**
+	 * Called when tiles that were missing from the last draw are rendered.
+	 */
+	public interface RedrawCallback {
+		void onRedrawNeeded();
+	}
+
+	private final TileRenderer renderer;
+	private final int tileSize;
+	private final Clock clock;
+	private final LinkedHashMap<Key, Tile> tiles =
+			new LinkedHashMap<Key, Tile>(64, 0.75f, true);
+	private final Key lookup = new Key(0, 0, 0);
+	private final List<Key> pending = new ArrayList<Key>();
+	private int pendingVisibleCount;
+	private final List<Surface> retired = new ArrayList<Surface>();
+	private final List<Surface> spare = new ArrayList<Surface>();
+	private final Rectangle bounds = new Rectangle();
+	private int pixelBudget, pixelCount;
+	private int minLevel = -16, maxLevel = 16;
+	private int maxRendersPerDraw = 2;
+	private double prefetchBudget = 4;
+	private boolean idlePrefetch = true, prefetchScheduled;
+	private RedrawCallback redrawCallback;
+	private int renderCount;
+	private final RepeatingCommand prefetchCommand = new RepeatingCommand() {
+		@Override
+		public boolean execute() {
+			prefetchScheduled = prefetch(prefetchBudget) > 0;
+			return prefetchScheduled;
+		}
+	};
+
+	/**
+	 * Creates a view with tiles of {@link #DEFAULT_TILE_SIZE} and a budget of
+	 * 16 million pixels, which is 64MB of canvas memory.
+	 */
+	public TiledView(TileRenderer renderer) {
+		this(renderer, DEFAULT_TILE_SIZE, 16 << 20, Clock.SYSTEM);
+	}
+
+	/**
+	 * Creates a view.
+	 *
+	 * @param renderer the renderer of the tiles.
+	 * @param tileSize the width and height of a tile in pixels.
+	 * @param pixelBudget the maximum number of pixels of all the tiles, at
+	 * 				least the pixels of one tile.
+	 * @param clock the clock that measures the time spent prefetching.
+	 */
+	public TiledView(TileRenderer renderer, int tileSize, int pixelBudget,
+			Clock clock) {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("tileSize must be positive: "
+					+ tileSize);
+		}
+		this.renderer = renderer;
+		this.tileSize = tileSize;
+		this.clock = clock;
+		setPixelBudget(pixelBudget);
+	}
+
+	/**
+	 * Gets the width and height of a tile in pixels.
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Gets the maximum number of pixels of all the tiles.
+	 */
+	public int getPixelBudget() {
+		return pixelBudget;
+	}
+
+	/**
+	 * Sets the maximum number of pixels of all the tiles, evicting tiles if
+	 * needed. It should hold the tiles of a few views.
+	 */
+	public void setPixelBudget(int pixelBudget) {
+		if (pixelBudget < tileSize * tileSize) {
+			throw new IllegalArgumentException(
+					"pixelBudget must hold at least one tile: " + pixelBudget);
+		}
+		this.pixelBudget = pixelBudget;
+		evict(pixelBudget);
+	}
+
+	/**
+	 * Gets the number of pixels of all the tiles.
+	 */
+	public int getPixelCount() {
+		return pixelCount;
+	}
+
+	/**
+	 * Gets the number of tiles kept.
+	 */
+	public int getTileCount() {
+		return tiles.size();
+	}
+
+	/**
+	 * Gets the number of tiles rendered since the view was created.
+	 */
+	public int getRenderCount() {
+		return renderCount;
+	}
+
+	/**
+	 * Gets the number of missing tiles rendered by a draw before the others
+	 * are left to idle time.
+	 */
+	public int getMaxRendersPerDraw() {
+		return maxRendersPerDraw;
+	}
+
+	/**
+	 * Sets the number of missing tiles rendered by a draw before the others
+	 * are left to idle time, 2 by default.
+	 */
+	public void setMaxRendersPerDraw(int maxRendersPerDraw) {
+		this.maxRendersPerDraw = maxRendersPerDraw;
+	}
+
+	/**
+	 * Gets the time spent rendering tiles per idle callback, in milliseconds.
+	 */
+	public double getPrefetchBudget() {
+		return prefetchBudget;
+	}
+
+	/**
+	 * Sets the time spent rendering tiles per idle callback, in milliseconds,
+	 * 4 by default. At least one tile is rendered per callback.
+	 */
+	public void setPrefetchBudget(double prefetchBudget) {
+		this.prefetchBudget = prefetchBudget;
+	}
+
+	/**
+	 * Gets whether drawing schedules the rendering of the pending tiles in
+	 * idle time.
+	 */
+	public boolean isIdlePrefetch() {
+		return idlePrefetch;
+	}
+
+	/**
+	 * Sets whether drawing schedules the rendering of the pending tiles in
+	 * idle time, true by default. Otherwise {@link #prefetch(double)} must be
+	 * called, such as in a JVM test.
+	 */
+	public void setIdlePrefetch(boolean idlePrefetch) {
+		this.idlePrefetch = idlePrefetch;
+	}
+
+	/**
+	 * Sets the callback to be notified when tiles that were missing from the
+	 * last draw are rendered, so that the view is drawn again.
+	 *
+	 * @param callback the callback, or null to stop being notified.
+	 */
+	public void setRedrawCallback(RedrawCallback callback) {
+		redrawCallback = callback;
+	}
+
+	/**
+	 * Sets the range of the zoom levels of the tiles, -16 to 16 by default.
+	 * Views of smaller or larger scales are drawn scaled from the tiles of the
+	 * nearest level.
+	 */
+	public void setLevelRange(int minLevel, int maxLevel) {
+		if (minLevel > maxLevel) {
+			throw new IllegalArgumentException("minLevel must not be above "
+					+ "maxLevel: " + minLevel + " > " + maxLevel);
+		}
+		this.minLevel = minLevel;
+		this.maxLevel = maxLevel;
+	}
+
+	/**
+	 * Gets the zoom level of the tiles that a view of the given scale is drawn
+	 * from.
+	 *
+	 * @param scale the number of pixels per unit of the scene.
+	 */
+	public int getLevel(double scale) {
+		int level = (int) Math.ceil(Math.log(scale) / Math.log(2) - 1e-9);
+		return Math.max(minLevel, Math.min(maxLevel, level));
+	}
+
+	/**
+	 * Draws a view of the scene onto the whole canvas of the given surface,
+	 * whose transformation should be the identity.
+	 *
+	 * @param surface the surface to draw onto.
+	 * @param viewX the x-coordinate in the scene of the left of the view.
+	 * @param viewY the y-coordinate in the scene of the top of the view.
+	 * @param scale the number of pixels per unit of the scene.
+	 * @return true if all the visible tiles were drawn at their level, false if
+	 * 				some are pending.
+	 */
+	public boolean draw(Surface surface, double viewX, double viewY,
+			double scale) {
+		if (!(scale > 0)) {
+			throw new IllegalArgumentException("scale must be positive: " + scale);
+		}
+		// The canvases evicted by the last draw are no longer drawn from.
+		while (!retired.isEmpty()) {
+			Surface canvas = retired.remove(retired.size() - 1);
+			if (spare.size() < MAX_SPARE_CANVASES) {
+				spare.add(canvas);
+			}
+		}
+		int level = getLevel(scale);
+		double size = getTileSceneSize(level);
+		double right = viewX + surface.getCanvas().getWidth() / scale;
+		double bottom = viewY + surface.getCanvas().getHeight() / scale;
+		int column0 = (int) Math.floor(viewX / size);
+		int column1 = (int) Math.ceil(right / size) - 1;
+		int row0 = (int) Math.floor(viewY / size);
+		int row1 = (int) Math.ceil(bottom / size) - 1;
+		pending.clear();
+		int renders = 0;
+		for (int row = row0; row <= row1; row++) {
+			// Snaps the edges of the tiles to pixels, so that no seams show.
+			double y0 = Math.round((row * size - viewY) * scale);
+			double y1 = Math.round(((row + 1) * size - viewY) * scale);
+			for (int column = column0; column <= column1; column++) {
+				double x0 = Math.round((column * size - viewX) * scale);
+				double x1 = Math.round(((column + 1) * size - viewX) * scale);
+				Tile tile = get(level, column, row);
+				if (tile == null && renders < maxRendersPerDraw) {
+					tile = render(level, column, row);
+					renders++;
+				}
+				if (tile != null) {
+					surface.drawImage(tile.canvas.getCanvas(), 0, 0, tileSize, tileSize,
+							x0, y0, x1 - x0, y1 - y0);
+				} else {
+					pending.add(new Key(level, column, row));
+					drawFallback(surface, level, column, row, x0, y0, x1 - x0, y1 - y0);
+				}
+			}
+		}
+		pendingVisibleCount = pending.size();
+		// Then the ring of tiles around the view.
+		for (int row = row0 - 1; row <= row1 + 1; row++) {
+			for (int column = column0 - 1; column <= column1 + 1; column++) {
+				if ((row == row0 - 1 || row == row1 + 1 || column == column0 - 1
+						|| column == column1 + 1) && get(level, column, row) == null) {
+					pending.add(new Key(level, column, row));
+				}
+			}
+		}
+		if (idlePrefetch && !pending.isEmpty() && !prefetchScheduled) {
+			prefetchScheduled = true;
+			Scheduler.get().scheduleFixedDelay(prefetchCommand, 0);
+		}
+		return pendingVisibleCount == 0;
+	}
+
+	/**
+	 * Renders the tiles left pending by the last draw, the visible ones first,
+	 * until the given time is spent. The tiles around the view are not
+	 * rendered if that would evict other tiles.
+	 *
+	 * @param budget the time to spend, in milliseconds. At least one tile is
+	 * 				rendered.
+	 * @return the number of tiles still pending.
+	 */
+	public int prefetch(double budget) {
+		double start = clock.now();
+		boolean visibleRendered = false;
+		int rendered = 0;
+		while (!pending.isEmpty()
+				&& (rendered == 0 || clock.now() - start < budget)) {
+			Key key = pending.remove(0);
+			boolean visible = pendingVisibleCount > 0;
+			if (visible) {
+				pendingVisibleCount--;
+			}
+			if (get(key.level, key.column, key.row) != null) {
+				continue;
+			}
+			if (!visible && pixelCount + tileSize * tileSize > pixelBudget) {
+				pending.clear();
+				break;
+			}
+			render(key.level, key.column, key.row);
+			rendered++;
+			visibleRendered |= visible;
+		}
+		if (visibleRendered && redrawCallback != null) {
+			redrawCallback.onRedrawNeeded();
+		}
+		return pending.size();
+	}
+
+	/**
+	 * Removes all the tiles, which must be done when the whole scene changes.
+	 */
+	public void invalidate() {
+		for (Tile tile : tiles.values()) {
+			retired.add(tile.canvas);
+		}
+		tiles.clear();
+		pixelCount = 0;
+	}
+
+	/**
+	 * Removes the tiles of all levels that overlap the given region of the
+	 * scene, which must be done when the region changes.
+	 */
+	public void invalidate(Rectangle region) {
+		for (Iterator<Tile> it = tiles.values().iterator(); it.hasNext();) {
+			Tile tile = it.next();
+			double size = getTileSceneSize(tile.key.level);
+			double x = tile.key.column * size, y = tile.key.row * size;
+			if (x <= region.getRight() && x + size >= region.getX()
+					&& y <= region.getBottom() && y + size >= region.getY()) {
+				it.remove();
+				remove(tile);
+			}
+		}
+	}
+
+	/**
+	 * Gets the width and height of a tile of the given level in units of the
+	 * scene.
+	 */
+	private double getTileSceneSize(int level) {
+		return tileSize / Math.pow(2, level);
+	}
+
+	private Tile get(int level, int column, int row) {
+		lookup.set(level, column, row);
+		return tiles.get(lookup);
+	}
+
+	private Tile render(int level, int column, int row) {
+		Surface canvas = spare.isEmpty() ? new Surface(tileSize, tileSize)
+				: spare.remove(spare.size() - 1);
+		double scale = Math.pow(2, level), size = tileSize / scale;
+		bounds.set(column * size, row * size, size, size);
+		canvas.clear()
+				.save()
+				.setTransform(scale, 0, 0, scale, -bounds.getX() * scale,
+						-bounds.getY() * scale);
+		renderer.renderTile(canvas, bounds, level);
+		canvas.restore();
+		Tile tile = new Tile(new Key(level, column, row), canvas);
+		tiles.put(tile.key, tile);
+		pixelCount += tileSize * tileSize;
+		renderCount++;
+		evict(pixelBudget);
+		return tile;
+	}
+
+	/**
+	 * Draws a missing tile from the part of a cached tile of a lower level that
+	 * covers it, if any.
+	 */
+	private void drawFallback(Surface surface, int level, int column, int row,
+			double x, double y, double width, double height) {
+		for (int depth = 1; depth <= MAX_FALLBACK_LEVELS
+				&& level - depth >= minLevel; depth++) {
+			int partSize = tileSize >> depth;
+			if (partSize == 0) {
+				return;
+			}
+			Tile parent = get(level - depth, column >> depth, row >> depth);
+			if (parent != null) {
+				int partX = (column - ((column >> depth) << depth)) * partSize;
+				int partY = (row - ((row >> depth) << depth)) * partSize;
+				surface.drawImage(parent.canvas.getCanvas(), partX, partY, partSize,
+						partSize, x, y, width, height);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Evicts the least recently drawn tiles until at most the given number of
+	 * pixels are kept.
+	 */
+	private void evict(int maxPixelCount) {
+		for (Iterator<Tile> it = tiles.values().iterator();
+				pixelCount > maxPixelCount && it.hasNext();) {
+			Tile tile = it.next();
+			it.remove();
+			remove(tile);
+		}
+	}
+
+	private void remove(Tile tile) {
+		pixelCount -= tileSize * tileSize;
+		// Batched draws of this frame may still refer to the canvas.
+		retired.add(tile.canvas);
+	}
+
+	/**
+	 * Identifies a tile.
+	 */
+	private static final class Key {
+		private int level, column, row;
+
+		private Key(int level, int column, int row) {
+			set(level, column, row);
+		}
+
+		private void set(int level, int column, int row) {
+			this.level = level;
+			this.column = column;
+			this.row = row;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key rhs = (Key) obj;
+			return level == rhs.level && column == rhs.column && row == rhs.row;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * level + column) + row;
+		}
+	}
+
+	/**
+	 * A rendered tile.
+	 */
+	private static final class Tile {
+		private final Key key;
+		private final Surface canvas;
+
+		private Tile(Key key, Surface canvas) {
+			this.key = key;
+			this.canvas = canvas;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains a tiled view that renders scenes larger than any canvas once into
+ * cached tiles, so that panning and zooming only draw images.
+ */
+package gwt.g2d.client.graphics.tile;
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+/**
+ * Helpers for splitting jobs into bands.
+ */
+public final class Bands {
+	private Bands() {
+	}
+
+	/**
+	 * Gets the size of the bands that split the given number of items into at
+	 * most the given number of bands, with at least minBandSize items per band.
+	 *
+	 * @param size the number of items.
+	 * @param bandCount the desired number of bands.
+	 * @param minBandSize the smallest band worth running on its own.
+	 */
+	public static int getBandSize(int size, int bandCount, int minBandSize) {
+		int bandSize = (size + bandCount - 1) / Math.max(1, bandCount);
+		return Math.max(Math.max(1, minBandSize), bandSize);
+	}
+
+	/**
+	 * Gets the number of bands of the given size needed to cover the items.
+	 */
+	public static int getBandCount(int size, int bandSize) {
+		return (size + bandSize - 1) / bandSize;
+	}
+}
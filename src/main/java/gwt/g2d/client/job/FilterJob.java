@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+import gwt.g2d.client.graphics.filter.ImageFilter;
+import gwt.g2d.client.graphics.filter.PixelBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies an image filter, one band of rows at a time.
+ * <p>
+ * Filters keep scratch arrays, so the bands that run at the same time each
+ * use their own filter, created by a {@link Factory} and reused afterward.
+ */
+public class FilterJob implements Job {
+
+	/**
+	 * Creates the filters of a job.
+	 */
+	public interface Factory {
+		ImageFilter createFilter();
+	}
+
+	private final Factory factory;
+	private final PixelBuffer source, destination;
+	private final List<ImageFilter> filters = new ArrayList<ImageFilter>();
+
+	/**
+	 * Creates a job that filters the whole source.
+	 *
+	 * @param factory the factory of the filters.
+	 * @param source the pixels to filter.
+	 * @param destination the buffer to write the filtered pixels into, of the
+	 * 				same size as the source, and not the source itself.
+	 */
+	public FilterJob(Factory factory, PixelBuffer source,
+			PixelBuffer destination) {
+		if (!source.isSameSize(destination) || source == destination) {
+			throw new IllegalArgumentException(
+					"The destination must be another buffer of the same size");
+		}
+		this.factory = factory;
+		this.source = source;
+		this.destination = destination;
+	}
+
+	/**
+	 * Gets the pixels being filtered.
+	 */
+	public PixelBuffer getSource() {
+		return source;
+	}
+
+	/**
+	 * Gets the filtered pixels.
+	 */
+	public PixelBuffer getDestination() {
+		return destination;
+	}
+
+	@Override
+	public int getSize() {
+		return source.getHeight();
+	}
+
+	@Override
+	public void run(int start, int end) {
+		ImageFilter filter = obtainFilter();
+		try {
+			filter.filter(source, destination, 0, start, source.getWidth(),
+					end - start);
+		} finally {
+			freeFilter(filter);
+		}
+	}
+
+	private synchronized ImageFilter obtainFilter() {
+		return filters.isEmpty() ? factory.createFilter()
+				: filters.remove(filters.size() - 1);
+	}
+
+	private synchronized void freeFilter(ImageFilter filter) {
+		filters.add(filter);
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+import gwt.g2d.client.util.Clock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs jobs on the calling thread, a few bands per frame, so that long jobs
+ * do not block the drawing. Call {@link #update()} once per frame, for
+ * example from {@link gwt.g2d.client.util.FpsTimer#update()}; it runs bands
+ * until the time budget of the frame is spent, then reports the completed
+ * jobs.
+ * <p>
+ * Jobs are run one after another, in the order they were scheduled.
+ */
+public class FrameJobExecutor implements JobExecutor {
+	private final Clock clock;
+	private final List<Task> running = new ArrayList<Task>();
+	private final List<Task> completed = new ArrayList<Task>();
+	private double budget;
+	private int bandSize;
+
+	/**
+	 * Creates an executor that spends up to 8ms per frame, in bands of 16
+	 * items.
+	 */
+	public FrameJobExecutor() {
+		this(Clock.SYSTEM, 8, 16);
+	}
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param clock the clock that measures the time spent.
+	 * @param budget the time to spend per frame, in milliseconds.
+	 * @param bandSize the number of items run between two checks of the time.
+	 */
+	public FrameJobExecutor(Clock clock, double budget, int bandSize) {
+		this.clock = clock;
+		setBudget(budget);
+		setBandSize(bandSize);
+	}
+
+	/**
+	 * Gets the time to spend per frame, in milliseconds.
+	 */
+	public double getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the time to spend per frame, in milliseconds. At least one band is
+	 * run per frame, however small the budget.
+	 */
+	public void setBudget(double budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Gets the number of items run between two checks of the time.
+	 */
+	public int getBandSize() {
+		return bandSize;
+	}
+
+	/**
+	 * Sets the number of items run between two checks of the time.
+	 */
+	public void setBandSize(int bandSize) {
+		if (bandSize < 1) {
+			throw new IllegalArgumentException("bandSize must be positive: "
+					+ bandSize);
+		}
+		this.bandSize = bandSize;
+	}
+
+	@Override
+	public void execute(Job job, JobCallback callback) {
+		running.add(new Task(job, callback));
+	}
+
+	/**
+	 * Runs bands until the budget is spent or no job is left, then reports the
+	 * completed jobs.
+	 *
+	 * @return the number of jobs reported.
+	 */
+	public int update() {
+		double deadline = clock.now() + budget;
+		do {
+			runBand();
+		} while (!running.isEmpty() && clock.now() < deadline);
+		return dispatchCompleted();
+	}
+
+	@Override
+	public int dispatchCompleted() {
+		int count = 0;
+		for (; !completed.isEmpty(); count++) {
+			completed.remove(0).dispatch();
+		}
+		return count;
+	}
+
+	@Override
+	public int getPendingCount() {
+		return running.size() + completed.size();
+	}
+
+	private void runBand() {
+		if (running.isEmpty()) {
+			return;
+		}
+		Task task = running.get(0);
+		int size = task.job.getSize();
+		if (task.next < size) {
+			int end = Math.min(size, task.next + bandSize);
+			try {
+				task.job.run(task.next, end);
+			} catch (RuntimeException e) {
+				task.failure = e;
+				end = size;
+			}
+			task.next = end;
+		}
+		if (task.next >= size) {
+			running.remove(0);
+			completed.add(task);
+		}
+	}
+
+	/**
+	 * A scheduled job and its progress.
+	 */
+	private static final class Task {
+		private final Job job;
+		private final JobCallback callback;
+		private int next;
+		private Throwable failure;
+
+		private Task(Job job, JobCallback callback) {
+			this.job = job;
+			this.callback = callback;
+		}
+
+		private void dispatch() {
+			if (callback == null) {
+				return;
+			}
+			if (failure == null) {
+				callback.onComplete(job);
+			} else {
+				callback.onFailure(job, failure);
+			}
+		}
+	}
+}
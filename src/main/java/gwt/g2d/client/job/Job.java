@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+/**
+ * Work over a range of items, such as the rows of an image, that can be split
+ * into bands processed independently.
+ * <p>
+ * A {@link JobExecutor} may run the bands in any order, and at the same time
+ * on several threads when running in a JVM, so the bands must not write to
+ * the same data.
+ */
+public interface Job {
+	/**
+	 * Gets the number of items to process.
+	 */
+	int getSize();
+
+	/**
+	 * Processes a band of items.
+	 *
+	 * @param start the first item of the band.
+	 * @param end the item after the last item of the band.
+	 */
+	void run(int start, int end);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+/**
+ * Notified when a job is done. Callbacks are called by
+ * {@link JobExecutor#dispatchCompleted()}, on the thread that draws the frames.
+ */
+public interface JobCallback {
+	/**
+	 * Called when all the bands of the job are processed.
+	 */
+	void onComplete(Job job);
+
+	/**
+	 * Called when a band of the job threw an exception. The other bands may or
+	 * may not have been processed.
+	 */
+	void onFailure(Job job, Throwable caught);
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+/**
+ * Runs jobs in bands, without blocking the caller, and reports the completed
+ * jobs when asked to, so that their results are used at a known point of a
+ * frame.
+ *
+ * @see FrameJobExecutor
+ */
+public interface JobExecutor {
+	/**
+	 * Schedules a job.
+	 *
+	 * @param job the job to run.
+	 * @param callback the callback to notify when the job is done, or null.
+	 */
+	void execute(Job job, JobCallback callback);
+
+	/**
+	 * Calls the callbacks of the jobs completed since the last call. This is
+	 * typically called once per frame, before drawing.
+	 *
+	 * @return the number of jobs reported.
+	 */
+	int dispatchCompleted();
+
+	/**
+	 * Gets the number of scheduled jobs that are not reported yet.
+	 */
+	int getPendingCount();
+}
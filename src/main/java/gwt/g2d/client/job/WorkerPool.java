@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.job;
+
+import gwt.g2d.client.graphics.canvas.CanvasPixelArray;
+import gwt.g2d.client.graphics.canvas.ImageDataAdapter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayNumber;
+
+/**
+ * A pool of Web Workers that run a JavaScript worker script on image data and
+ * geometry, off the thread that draws the frames.
+ * <p>
+ * Image data is split into one band of rows per worker. Each band is copied
+ * into its own buffer and transferred to a worker rather than cloned, along
+ * with the rows within a margin around it. The worker receives a message
+ * {id, band, width, height, top, rows, pixels, parameters}, where pixels is
+ * an ArrayBuffer of height rows of RGBA bytes whose band starts at row top
+ * and has the given number of rows. It must reply with {id, band, pixels},
+ * where pixels holds the rows of the band only.
+ * <p>
+ * Geometry is sent as {id, band, coordinates, parameters}, where coordinates
+ * is an ArrayBuffer of doubles, and the worker must reply with
+ * {id, band, coordinates}. A worker reports an error by replying with
+ * {id, error}.
+ * <p>
+ * Like a {@link JobExecutor}, the results are reported by
+ * {@link #dispatchCompleted()}, typically once per frame.
+ *
+ * @see #isSupported()
+ */
+public class WorkerPool {
+
+	/**
+	 * Notified when a request is done.
+	 */
+	public interface Callback<T> {
+		void onComplete(T result);
+
+		void onFailure(String message);
+	}
+
+	private final JavaScriptObject workers;
+	private final int workerCount;
+	private final Map<Integer, Request> requests = new HashMap<Integer, Request>();
+	private final List<Request> completed = new ArrayList<Request>();
+	private int minBandRows = 16;
+	private int nextWorker, nextId;
+
+	/**
+	 * Creates a pool of workers running the given script.
+	 *
+	 * @param scriptUrl the URL of the worker script.
+	 * @param workerCount the number of workers, typically the number of cores.
+	 */
+	public WorkerPool(String scriptUrl, int workerCount) {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("workerCount must be positive: "
+					+ workerCount);
+		}
+		this.workerCount = workerCount;
+		workers = createWorkers(scriptUrl, workerCount);
+	}
+
+	/**
+	 * Checks whether the browser supports Web Workers and the typed arrays
+	 * they are sent.
+	 */
+	public static native boolean isSupported() /*-{
+		return typeof $wnd.Worker != 'undefined'
+				&& typeof Uint8ClampedArray != 'undefined'
+				&& typeof Float64Array != 'undefined';
+	}-*/;
+
+	/**
+	 * Gets the number of workers.
+	 */
+	public int getWorkerCount() {
+		return workerCount;
+	}
+
+	/**
+	 * Gets the smallest number of rows sent in a band, 16 by default.
+	 */
+	public int getMinBandRows() {
+		return minBandRows;
+	}
+
+	/**
+	 * Sets the smallest number of rows sent in a band, below which fewer
+	 * workers are used.
+	 */
+	public void setMinBandRows(int minBandRows) {
+		this.minBandRows = minBandRows;
+	}
+
+	/**
+	 * Sends image data to the workers, in bands. The rows of the image data
+	 * are replaced as the workers reply, which requires the image data to
+	 * store its pixels in a typed array.
+	 *
+	 * @param imageData the image data to process.
+	 * @param margin the number of rows around a band that the worker reads.
+	 * @param parameters the parameters sent to the workers, or null.
+	 * @param callback the callback to notify when all the bands are done.
+	 */
+	public void processPixels(ImageDataAdapter imageData, int margin,
+			JavaScriptObject parameters, Callback<ImageDataAdapter> callback) {
+		int width = imageData.getWidth(), height = imageData.getHeight();
+		int bandSize = Bands.getBandSize(height, workerCount, minBandRows);
+		int bandCount = Bands.getBandCount(height, bandSize);
+		int id = nextId++;
+		Request request = new Request(bandCount);
+		request.imageData = imageData;
+		request.pixelCallback = callback;
+		start(id, request);
+		for (int band = 0; band < bandCount; band++) {
+			int top = band * bandSize;
+			int bottom = Math.min(height, top + bandSize);
+			int from = Math.max(0, top - margin);
+			int to = Math.min(height, bottom + margin);
+			request.bandTops[band] = top;
+			postPixels(nextWorker(), id, band, imageData.getPixelData(), width,
+					from, to, top - from, bottom - top, parameters);
+		}
+	}
+
+	/**
+	 * Sends coordinates to a worker.
+	 *
+	 * @param coordinates the coordinates to process.
+	 * @param parameters the parameters sent to the worker, or null.
+	 * @param callback the callback to notify with the coordinates returned by
+	 * 				the worker.
+	 */
+	public void processGeometry(double[] coordinates,
+			JavaScriptObject parameters, Callback<double[]> callback) {
+		JsArrayNumber array = JavaScriptObject.createArray().cast();
+		for (int i = 0; i < coordinates.length; i++) {
+			array.set(i, coordinates[i]);
+		}
+		int id = nextId++;
+		Request request = new Request(1);
+		request.geometryCallback = callback;
+		start(id, request);
+		postGeometry(nextWorker(), id, array, parameters);
+	}
+
+	/**
+	 * Calls the callbacks of the requests completed since the last call.
+	 *
+	 * @return the number of requests reported.
+	 */
+	public int dispatchCompleted() {
+		int count = 0;
+		for (; !completed.isEmpty(); count++) {
+			completed.remove(0).dispatch();
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of requests that are not reported yet.
+	 */
+	public int getPendingCount() {
+		return requests.size() + completed.size();
+	}
+
+	/**
+	 * Stops the workers. The requests in progress fail.
+	 */
+	public void terminate() {
+		terminate(workers);
+		failAll("The workers were terminated");
+	}
+
+	private void start(int id, Request request) {
+		if (request.remaining == 0) {
+			completed.add(request);
+		} else {
+			requests.put(id, request);
+		}
+	}
+
+	private JavaScriptObject nextWorker() {
+		JavaScriptObject worker = getWorker(workers, nextWorker);
+		nextWorker = (nextWorker + 1) % workerCount;
+		return worker;
+	}
+
+	private void onMessage(JavaScriptObject message) {
+		int id = getInt(message, "id");
+		Request request = requests.get(id);
+		if (request == null) {
+			return;
+		}
+		String error = getError(message);
+		if (error != null) {
+			request.failure = error;
+			request.remaining = 0;
+		} else if (request.imageData != null) {
+			ImageDataAdapter imageData = request.imageData;
+			copyPixels(imageData.getPixelData(), message, imageData.getWidth(),
+					request.bandTops[getInt(message, "band")]);
+			request.remaining--;
+		} else {
+			JsArrayNumber array = getCoordinates(message);
+			double[] coordinates = new double[array.length()];
+			for (int i = 0; i < coordinates.length; i++) {
+				coordinates[i] = array.get(i);
+			}
+			request.coordinates = coordinates;
+			request.remaining = 0;
+		}
+		if (request.remaining == 0) {
+			requests.remove(id);
+			completed.add(request);
+		}
+	}
+
+	private void onError(String message) {
+		failAll(message);
+	}
+
+	private void failAll(String message) {
+		for (Request request : requests.values()) {
+			request.failure = message;
+			completed.add(request);
+		}
+		requests.clear();
+	}
+
+	private native JavaScriptObject createWorkers(String url, int count) /*-{
+		var pool = this, workers = [];
+		for (var i = 0; i < count; i++) {
+			var worker = new $wnd.Worker(url);
+			worker.onmessage = $entry(function(event) {
+				pool.@gwt.g2d.client.job.WorkerPool::onMessage(Lcom/google/gwt/core/client/JavaScriptObject;)(event.data);
+			});
+			worker.onerror = $entry(function(event) {
+				pool.@gwt.g2d.client.job.WorkerPool::onError(Ljava/lang/String;)(event.message || 'Worker error');
+			});
+			workers.push(worker);
+		}
+		return workers;
+	}-*/;
+
+	private static native JavaScriptObject getWorker(JavaScriptObject workers,
+			int index) /*-{
+		return workers[index];
+	}-*/;
+
+	private static native void terminate(JavaScriptObject workers) /*-{
+		for (var i = 0; i < workers.length; i++) {
+			workers[i].terminate();
+		}
+	}-*/;
+
+	private static native void postPixels(JavaScriptObject worker, int id,
+			int band, CanvasPixelArray data, int width, int from, int to, int top,
+			int rows, JavaScriptObject parameters) /*-{
+		var pixels = new Uint8ClampedArray((to - from) * width * 4);
+		pixels.set(data.subarray(from * width * 4, to * width * 4));
+		worker.postMessage({id: id, band: band, width: width, height: to - from,
+				top: top, rows: rows, pixels: pixels.buffer, parameters: parameters},
+				[pixels.buffer]);
+	}-*/;
+
+	private static native void postGeometry(JavaScriptObject worker, int id,
+			JsArrayNumber array, JavaScriptObject parameters) /*-{
+		var coordinates = new Float64Array(array);
+		worker.postMessage({id: id, band: 0, coordinates: coordinates.buffer,
+				parameters: parameters}, [coordinates.buffer]);
+	}-*/;
+
+	private static native void copyPixels(CanvasPixelArray data,
+			JavaScriptObject message, int width, int top) /*-{
+		data.set(new Uint8ClampedArray(message.pixels), top * width * 4);
+	}-*/;
+
+	private static native JsArrayNumber getCoordinates(
+			JavaScriptObject message) /*-{
+		return new Float64Array(message.coordinates);
+	}-*/;
+
+	private static native int getInt(JavaScriptObject message, String key) /*-{
+		return message[key] | 0;
+	}-*/;
+
+	private static native String getError(JavaScriptObject message) /*-{
+		return message.error == null ? null : String(message.error);
+	}-*/;
+
+	/**
+	 * A request in progress.
+	 */
+	private static final class Request {
+		private final int[] bandTops;
+		private int remaining;
+		private ImageDataAdapter imageData;
+		private Callback<ImageDataAdapter> pixelCallback;
+		private Callback<double[]> geometryCallback;
+		private double[] coordinates;
+		private String failure;
+
+		private Request(int bandCount) {
+			bandTops = new int[bandCount];
+			remaining = bandCount;
+		}
+
+		private void dispatch() {
+			if (pixelCallback != null) {
+				if (failure == null) {
+					pixelCallback.onComplete(imageData);
+				} else {
+					pixelCallback.onFailure(failure);
+				}
+			} else if (geometryCallback != null) {
+				if (failure == null) {
+					geometryCallback.onComplete(coordinates);
+				} else {
+					geometryCallback.onFailure(failure);
+				}
+			}
+		}
+	}
+}
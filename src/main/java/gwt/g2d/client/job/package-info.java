@@ -0,0 +1,6 @@
+/**
+ * Contains jobs that are split into bands, and the executors that run them
+ * without blocking the frames: in time slices between frames, in Web Workers,
+ * or in a thread pool when running in a JVM.
+ */
+package gwt.g2d.client.job;
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+/**
+ * An arc of a circle, as drawn by arc, from a start angle through a signed
+ * sweep: positive sweeps go clockwise on the screen, where the y-axis points
+ * down, and negative sweeps anticlockwise.
+ */
+public class ArcCurve extends Curve {
+	private double centerX, centerY, radius, startAngle, sweep;
+
+	/**
+	 * Creates an arc of radius 0 at the origin.
+	 */
+	public ArcCurve() {
+	}
+
+	/**
+	 * Creates an arc from a start angle through a signed sweep.
+	 */
+	public ArcCurve(double centerX, double centerY, double radius,
+			double startAngle, double sweep) {
+		set(centerX, centerY, radius, startAngle, sweep);
+	}
+
+	/**
+	 * Creates an arc as drawn by arc with the given arguments.
+	 */
+	public ArcCurve(double centerX, double centerY, double radius,
+			double startAngle, double endAngle, boolean anticlockwise) {
+		set(centerX, centerY, radius, startAngle, endAngle, anticlockwise);
+	}
+
+	/**
+	 * Creates an arc as drawn by arc with the values of the given arc.
+	 */
+	public ArcCurve(Arc arc) {
+		set(arc);
+	}
+
+	/**
+	 * Sets the arc from a start angle through a signed sweep.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final ArcCurve set(double centerX, double centerY, double radius,
+			double startAngle, double sweep) {
+		this.centerX = centerX;
+		this.centerY = centerY;
+		this.radius = radius;
+		this.startAngle = startAngle;
+		this.sweep = sweep;
+		return this;
+	}
+
+	/**
+	 * Sets the arc as drawn by arc with the given arguments. The arc is the
+	 * whole circle when the end angle is a whole turn or more past the start
+	 * angle in the drawing direction; otherwise, the sweep is the difference of
+	 * the angles brought within a turn in that direction.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final ArcCurve set(double centerX, double centerY, double radius,
+			double startAngle, double endAngle, boolean anticlockwise) {
+		double sweep = endAngle - startAngle;
+		if (!anticlockwise && sweep >= MathHelper.TWO_PI) {
+			sweep = MathHelper.TWO_PI;
+		} else if (anticlockwise && -sweep >= MathHelper.TWO_PI) {
+			sweep = -MathHelper.TWO_PI;
+		} else {
+			sweep = anticlockwise ? -mod(-sweep) : mod(sweep);
+		}
+		return set(centerX, centerY, radius, startAngle, sweep);
+	}
+
+	/**
+	 * Sets the arc as drawn by arc with the values of the given arc.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final ArcCurve set(Arc arc) {
+		return set(arc.getCenterX(), arc.getCenterY(), arc.getRadius(),
+				arc.getStartAngle(), arc.getEndAngle(), arc.isAnticlockwise());
+	}
+
+	/**
+	 * Gets the x-coordinate of the center.
+	 */
+	public final double getCenterX() {
+		return centerX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the center.
+	 */
+	public final double getCenterY() {
+		return centerY;
+	}
+
+	/**
+	 * Gets the radius.
+	 */
+	public final double getRadius() {
+		return radius;
+	}
+
+	/**
+	 * Gets the angle of the start.
+	 */
+	public final double getStartAngle() {
+		return startAngle;
+	}
+
+	/**
+	 * Gets the angle of the end, which is the start angle plus the sweep.
+	 */
+	public final double getEndAngle() {
+		return startAngle + sweep;
+	}
+
+	/**
+	 * Gets the signed sweep from the start angle to the end angle.
+	 */
+	public final double getSweep() {
+		return sweep;
+	}
+
+	@Override
+	public double getX(double t) {
+		return centerX + radius * Math.cos(startAngle + sweep * t);
+	}
+
+	@Override
+	public double getY(double t) {
+		return centerY + radius * Math.sin(startAngle + sweep * t);
+	}
+
+	@Override
+	public double getDerivativeX(double t) {
+		return -radius * sweep * Math.sin(startAngle + sweep * t);
+	}
+
+	@Override
+	public double getDerivativeY(double t) {
+		return radius * sweep * Math.cos(startAngle + sweep * t);
+	}
+
+	@Override
+	public Rectangle getBounds(Rectangle result) {
+		double x0 = getX(0), y0 = getY(0), x1 = getX(1), y1 = getY(1);
+		double minX = Math.min(x0, x1), minY = Math.min(y0, y1);
+		double maxX = Math.max(x0, x1), maxY = Math.max(y0, y1);
+		// The extrema are at the quarter turns within the sweep.
+		double from = Math.min(startAngle, startAngle + sweep);
+		double to = Math.max(startAngle, startAngle + sweep);
+		for (double quarter = Math.ceil(from / MathHelper.PI_OVER_2);
+				quarter * MathHelper.PI_OVER_2 <= to; quarter++) {
+			switch ((int) mod(quarter, 4)) {
+				case 0:
+					maxX = centerX + radius;
+					break;
+				case 1:
+					maxY = centerY + radius;
+					break;
+				case 2:
+					minX = centerX - radius;
+					break;
+				default:
+					minY = centerY - radius;
+					break;
+			}
+		}
+		return setBounds(result, minX, minY, maxX, maxY);
+	}
+
+	@Override
+	public double getLength() {
+		return Math.abs(radius * sweep);
+	}
+
+	@Override
+	public double getLength(double t0, double t1) {
+		return Math.abs(radius * sweep * (t1 - t0));
+	}
+
+	/**
+	 * Splits the arc at the given parameter into two arcs, either of which may
+	 * be null, or this arc.
+	 *
+	 * @param first the arc to set to the part before t.
+	 * @param second the arc to set to the part after t.
+	 */
+	public final void split(double t, ArcCurve first, ArcCurve second) {
+		double x = centerX, y = centerY, r = radius;
+		double start = startAngle, total = sweep;
+		if (first != null) {
+			first.set(x, y, r, start, total * t);
+		}
+		if (second != null) {
+			second.set(x, y, r, start + total * t, total * (1 - t));
+		}
+	}
+
+	@Override
+	protected void flattenAfterStart(double tolerance, Polyline result) {
+		// The chords of a step are within the tolerance of the circle.
+		double step = radius > tolerance
+				? 2 * Math.acos(1 - tolerance / radius) : MathHelper.PI_OVER_2;
+		int n = (int) Math.max(1, Math.ceil(Math.abs(sweep) / step));
+		for (int i = 1; i <= n; i++) {
+			double t = i / (double) n;
+			result.add(getX(t), getY(t));
+		}
+	}
+
+	private static double mod(double value) {
+		return mod(value, MathHelper.TWO_PI);
+	}
+
+	private static double mod(double value, double modulus) {
+		double result = value % modulus;
+		return result < 0 ? result + modulus : result;
+	}
+}
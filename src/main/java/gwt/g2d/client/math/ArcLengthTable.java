@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+/**
+ * A table of the lengths along a {@link Curve} at evenly spaced parameters,
+ * to find the point at a given distance along the curve, such as to move an
+ * object along a path at a constant speed.
+ * <p>
+ * The lengths are integrated adaptively, and the parameter found for a
+ * distance is refined until the length up to it is within 1e-6 px of the
+ * distance, including near cusps where the speed of the curve vanishes.
+ * <p>
+ * The table must be {@link #update() updated} when the curve changes.
+ */
+public class ArcLengthTable {
+	/** The distance, in pixels, within which a parameter is found. */
+	private static final double TOLERANCE = 1e-6;
+	private static final int MAX_ITERATIONS = 32;
+
+	private final Curve curve;
+	private final double[] lengths;
+
+	/**
+	 * Creates a table of 32 intervals.
+	 */
+	public ArcLengthTable(Curve curve) {
+		this(curve, 32);
+	}
+
+	/**
+	 * Creates a table of the given number of intervals. More intervals find
+	 * parameters faster for curves of uneven speed.
+	 */
+	public ArcLengthTable(Curve curve, int intervalCount) {
+		if (intervalCount < 1) {
+			throw new IllegalArgumentException("intervalCount must be positive: "
+					+ intervalCount);
+		}
+		this.curve = curve;
+		lengths = new double[intervalCount + 1];
+		update();
+	}
+
+	/**
+	 * Measures the curve again, after it changed.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final ArcLengthTable update() {
+		int intervalCount = lengths.length - 1;
+		for (int i = 1; i <= intervalCount; i++) {
+			lengths[i] = lengths[i - 1] + curve.integrateSpeed(
+					(i - 1) / (double) intervalCount, i / (double) intervalCount);
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the curve of the table.
+	 */
+	public final Curve getCurve() {
+		return curve;
+	}
+
+	/**
+	 * Gets the length of the curve.
+	 */
+	public final double getLength() {
+		return lengths[lengths.length - 1];
+	}
+
+	/**
+	 * Gets the parameter of the point at the given distance along the curve,
+	 * which is clamped to the length of the curve.
+	 */
+	public final double getParameter(double distance) {
+		int intervalCount = lengths.length - 1;
+		if (!(distance > 0)) {
+			return 0;
+		}
+		if (distance >= lengths[intervalCount]) {
+			return 1;
+		}
+		int low = 0, high = intervalCount;
+		while (high - low > 1) {
+			int middle = (low + high) >>> 1;
+			if (lengths[middle] <= distance) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		double t0 = low / (double) intervalCount;
+		double min = t0, max = high / (double) intervalCount;
+		double span = lengths[high] - lengths[low];
+		double t = t0 + (span > 0 ? (distance - lengths[low]) / span : 0)
+				/ intervalCount;
+		// Newton steps correct the interpolation for the change of speed, and
+		// bisection takes over where they leave the bracket, as near a cusp.
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			double error = lengths[low] + curve.integrateSpeed(t0, t) - distance;
+			if (Math.abs(error) <= TOLERANCE) {
+				break;
+			}
+			if (error > 0) {
+				max = t;
+			} else {
+				min = t;
+			}
+			double dx = curve.getDerivativeX(t), dy = curve.getDerivativeY(t);
+			double next = t - error / Math.sqrt(dx * dx + dy * dy);
+			t = next > min && next < max ? next : (min + max) / 2;
+		}
+		return t;
+	}
+
+	/**
+	 * Gets the point at the given distance along the curve into the given
+	 * vector.
+	 *
+	 * @return the given vector.
+	 */
+	public final Vector2 getPoint(double distance, Vector2 result) {
+		return curve.getPoint(getParameter(distance), result);
+	}
+
+	/**
+	 * Gets the unit tangent at the given distance along the curve into the
+	 * given vector.
+	 *
+	 * @return the given vector.
+	 */
+	public final Vector2 getTangent(double distance, Vector2 result) {
+		return curve.getTangent(getParameter(distance), result);
+	}
+}
@@ -15,6 +15,8 @@
  */
 package gwt.g2d.client.math;
 
+import gwt.g2d.client.util.AllocationAudit;
+
 import java.io.Serializable;
 
 /**
@@ -82,4 +84,68 @@ public class Circle implements Serializable {
 	public final void setRadius(double radius) {
 		this.radius = radius;
 	}
+	
+	/**
+	 * Checks whether the point (x, y) is inside of this circle or on its edge.
+	 * 
+	 * @param x
+	 * @param y
+	 */
+	public final boolean contains(double x, double y) {
+		double dx = x - getCenterX(), dy = y - getCenterY();
+		return dx * dx + dy * dy <= radius * radius;
+	}
+	
+	/**
+	 * Checks whether the given point is inside of this circle or on its edge.
+	 */
+	public final boolean contains(Vector2 point) {
+		return contains(point.getX(), point.getY());
+	}
+	
+	/**
+	 * Checks whether the given circle overlaps this circle.
+	 * 
+	 * @param rhs
+	 */
+	public final boolean intersects(Circle rhs) {
+		double dx = rhs.getCenterX() - getCenterX();
+		double dy = rhs.getCenterY() - getCenterY();
+		double distance = radius + rhs.getRadius();
+		return dx * dx + dy * dy <= distance * distance;
+	}
+	
+	/**
+	 * Checks whether the given rectangle overlaps this circle.
+	 * 
+	 * @param rect
+	 */
+	public final boolean intersects(Rectangle rect) {
+		double x = Math.max(rect.getX(), Math.min(getCenterX(), rect.getRight()));
+		double y = Math.max(rect.getY(), Math.min(getCenterY(), rect.getBottom()));
+		return contains(x, y);
+	}
+	
+	/**
+	 * Gets the smallest rectangle that contains this circle.
+	 * 
+	 * @return a new rectangle.
+	 */
+	public final Rectangle getBounds() {
+		AllocationAudit.record("Circle.getBounds");
+		return getBounds(new Rectangle());
+	}
+	
+	/**
+	 * Sets the given rectangle to the smallest rectangle that contains this 
+	 * circle.
+	 * 
+	 * @param result the rectangle to set.
+	 * @return the result.
+	 */
+	public final Rectangle getBounds(Rectangle result) {
+		result.set(getCenterX() - radius, getCenterY() - radius, 2 * radius, 
+				2 * radius);
+		return result;
+	}
 }
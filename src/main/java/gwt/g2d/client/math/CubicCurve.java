@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+/**
+ * A cubic Bezier curve, as drawn by bezierCurveTo.
+ */
+public class CubicCurve extends Curve {
+	private double startX, startY, control1X, control1Y, control2X, control2Y,
+			endX, endY;
+
+	/**
+	 * Creates a curve with all its points at the origin.
+	 */
+	public CubicCurve() {
+	}
+
+	/**
+	 * Creates a curve from its start, control points and end.
+	 */
+	public CubicCurve(double startX, double startY, double control1X,
+			double control1Y, double control2X, double control2Y, double endX,
+			double endY) {
+		set(startX, startY, control1X, control1Y, control2X, control2Y, endX,
+				endY);
+	}
+
+	/**
+	 * Sets the start, control points and end of the curve.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final CubicCurve set(double startX, double startY, double control1X,
+			double control1Y, double control2X, double control2Y, double endX,
+			double endY) {
+		this.startX = startX;
+		this.startY = startY;
+		this.control1X = control1X;
+		this.control1Y = control1Y;
+		this.control2X = control2X;
+		this.control2Y = control2Y;
+		this.endX = endX;
+		this.endY = endY;
+		return this;
+	}
+
+	/**
+	 * Gets the x-coordinate of the start.
+	 */
+	public final double getStartX() {
+		return startX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the start.
+	 */
+	public final double getStartY() {
+		return startY;
+	}
+
+	/**
+	 * Gets the x-coordinate of the first control point.
+	 */
+	public final double getControl1X() {
+		return control1X;
+	}
+
+	/**
+	 * Gets the y-coordinate of the first control point.
+	 */
+	public final double getControl1Y() {
+		return control1Y;
+	}
+
+	/**
+	 * Gets the x-coordinate of the second control point.
+	 */
+	public final double getControl2X() {
+		return control2X;
+	}
+
+	/**
+	 * Gets the y-coordinate of the second control point.
+	 */
+	public final double getControl2Y() {
+		return control2Y;
+	}
+
+	/**
+	 * Gets the x-coordinate of the end.
+	 */
+	public final double getEndX() {
+		return endX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the end.
+	 */
+	public final double getEndY() {
+		return endY;
+	}
+
+	@Override
+	public double getX(double t) {
+		return evaluate(startX, control1X, control2X, endX, t);
+	}
+
+	@Override
+	public double getY(double t) {
+		return evaluate(startY, control1Y, control2Y, endY, t);
+	}
+
+	@Override
+	public double getDerivativeX(double t) {
+		return derivative(startX, control1X, control2X, endX, t);
+	}
+
+	@Override
+	public double getDerivativeY(double t) {
+		return derivative(startY, control1Y, control2Y, endY, t);
+	}
+
+	@Override
+	public Rectangle getBounds(Rectangle result) {
+		return setBounds(result,
+				extremum(startX, control1X, control2X, endX, false),
+				extremum(startY, control1Y, control2Y, endY, false),
+				extremum(startX, control1X, control2X, endX, true),
+				extremum(startY, control1Y, control2Y, endY, true));
+	}
+
+	/**
+	 * Splits the curve at the given parameter into two curves, either of which
+	 * may be null, or this curve.
+	 *
+	 * @param first the curve to set to the part before t.
+	 * @param second the curve to set to the part after t.
+	 */
+	public final void split(double t, CubicCurve first, CubicCurve second) {
+		double ax = startX + (control1X - startX) * t;
+		double ay = startY + (control1Y - startY) * t;
+		double bx = control1X + (control2X - control1X) * t;
+		double by = control1Y + (control2Y - control1Y) * t;
+		double cx = control2X + (endX - control2X) * t;
+		double cy = control2Y + (endY - control2Y) * t;
+		double abx = ax + (bx - ax) * t, aby = ay + (by - ay) * t;
+		double bcx = bx + (cx - bx) * t, bcy = by + (cy - by) * t;
+		double mx = abx + (bcx - abx) * t, my = aby + (bcy - aby) * t;
+		double x0 = startX, y0 = startY, x1 = endX, y1 = endY;
+		if (first != null) {
+			first.set(x0, y0, ax, ay, abx, aby, mx, my);
+		}
+		if (second != null) {
+			second.set(mx, my, bcx, bcy, cx, cy, x1, y1);
+		}
+	}
+
+	@Override
+	protected void flattenAfterStart(double tolerance, Polyline result) {
+		flatten(startX, startY, control1X, control1Y, control2X, control2Y, endX,
+				endY, 16 * tolerance * tolerance, 0, result);
+	}
+
+	private static void flatten(double x0, double y0, double c1x, double c1y,
+			double c2x, double c2y, double x1, double y1,
+			double squaredTolerance16, int depth, Polyline result) {
+		// The flatness test of Roger Willcocks: the curve is within the tolerance
+		// of its chord if this is within 16 times its square.
+		double ux = 3 * c1x - 2 * x0 - x1, uy = 3 * c1y - 2 * y0 - y1;
+		double vx = 3 * c2x - x0 - 2 * x1, vy = 3 * c2y - y0 - 2 * y1;
+		if (depth == MAX_DEPTH || Math.max(ux * ux, vx * vx)
+				+ Math.max(uy * uy, vy * vy) <= squaredTolerance16) {
+			result.add(x1, y1);
+			return;
+		}
+		double ax = (x0 + c1x) / 2, ay = (y0 + c1y) / 2;
+		double bx = (c1x + c2x) / 2, by = (c1y + c2y) / 2;
+		double cx = (c2x + x1) / 2, cy = (c2y + y1) / 2;
+		double abx = (ax + bx) / 2, aby = (ay + by) / 2;
+		double bcx = (bx + cx) / 2, bcy = (by + cy) / 2;
+		double mx = (abx + bcx) / 2, my = (aby + bcy) / 2;
+		flatten(x0, y0, ax, ay, abx, aby, mx, my, squaredTolerance16, depth + 1,
+				result);
+		flatten(mx, my, bcx, bcy, cx, cy, x1, y1, squaredTolerance16, depth + 1,
+				result);
+	}
+
+	private static double evaluate(double p0, double p1, double p2, double p3,
+			double t) {
+		double u = 1 - t;
+		return u * u * u * p0 + 3 * u * t * (u * p1 + t * p2) + t * t * t * p3;
+	}
+
+	private static double derivative(double p0, double p1, double p2, double p3,
+			double t) {
+		double u = 1 - t;
+		return 3 * (u * u * (p1 - p0) + 2 * u * t * (p2 - p1) + t * t * (p3 - p2));
+	}
+
+	/**
+	 * Gets the minimum or maximum of a coordinate over the curve, from its ends
+	 * and the roots of its derivative.
+	 */
+	private static double extremum(double p0, double p1, double p2, double p3,
+			boolean max) {
+		double result = max ? Math.max(p0, p3) : Math.min(p0, p3);
+		// The derivative divided by 3 is a t^2 + b t + c.
+		double a = p3 - 3 * p2 + 3 * p1 - p0;
+		double b = 2 * (p2 - 2 * p1 + p0);
+		double c = p1 - p0;
+		double t1 = -1, t2 = -1;
+		if (Math.abs(a) < 1e-12) {
+			if (b != 0) {
+				t1 = -c / b;
+			}
+		} else {
+			double discriminant = b * b - 4 * a * c;
+			if (discriminant >= 0) {
+				double root = Math.sqrt(discriminant);
+				t1 = (-b + root) / (2 * a);
+				t2 = (-b - root) / (2 * a);
+			}
+		}
+		if (t1 > 0 && t1 < 1) {
+			double value = evaluate(p0, p1, p2, p3, t1);
+			result = max ? Math.max(result, value) : Math.min(result, value);
+		}
+		if (t2 > 0 && t2 < 1) {
+			double value = evaluate(p0, p1, p2, p3, t2);
+			result = max ? Math.max(result, value) : Math.min(result, value);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+/**
+ * A parametric curve, from its start at t = 0 to its end at t = 1.
+ * <p>
+ * Curves are flattened into polylines within a tolerance, with more points
+ * where they bend more, and their bounds are computed exactly from the roots
+ * of their derivatives, so that culling, hit-testing and moving along a path
+ * do not need to sample them at a fixed high resolution. Methods that return
+ * a point or a rectangle take the object to store it in.
+ *
+ * @see ArcLengthTable
+ */
+public abstract class Curve {
+	/** The maximum depth of the subdivisions of an adaptive flattening. */
+	static final int MAX_DEPTH = 16;
+
+	// Abscissas and weights of the 5-point Gauss-Legendre quadrature on [-1, 1].
+	private static final double[] GAUSS_ABSCISSAS = {
+		0, -0.5384693101056831, 0.5384693101056831, -0.9061798459386640,
+		0.9061798459386640
+	};
+	private static final double[] GAUSS_WEIGHTS = {
+		0.5688888888888889, 0.4786286704993665, 0.4786286704993665,
+		0.2369268850561891, 0.2369268850561891
+	};
+
+	/** The number of intervals of the quadrature of the length. */
+	private static final int LENGTH_INTERVALS = 8;
+
+	/**
+	 * The largest difference, in pixels, between the length of an interval and
+	 * the sum of the lengths of its halves for the interval not to be split.
+	 */
+	private static final double LENGTH_TOLERANCE = 1e-7;
+
+	/** The maximum depth of the subdivisions of the quadrature of a length. */
+	private static final int MAX_LENGTH_DEPTH = 20;
+
+	/**
+	 * Gets the x-coordinate of the point at the given parameter.
+	 */
+	public abstract double getX(double t);
+
+	/**
+	 * Gets the y-coordinate of the point at the given parameter.
+	 */
+	public abstract double getY(double t);
+
+	/**
+	 * Gets the x-coordinate of the derivative at the given parameter.
+	 */
+	public abstract double getDerivativeX(double t);
+
+	/**
+	 * Gets the y-coordinate of the derivative at the given parameter.
+	 */
+	public abstract double getDerivativeY(double t);
+
+	/**
+	 * Gets the tight axis-aligned bounds of the curve into the given rectangle.
+	 *
+	 * @return the given rectangle.
+	 */
+	public abstract Rectangle getBounds(Rectangle result);
+
+	/**
+	 * Appends the points of the curve after its start to the given polyline,
+	 * so that no chord is further than the tolerance from the curve.
+	 *
+	 * @param tolerance the maximum distance between the curve and its chords.
+	 * @param result the polyline to append to.
+	 */
+	protected abstract void flattenAfterStart(double tolerance, Polyline result);
+
+	/**
+	 * Gets the point at the given parameter into the given vector.
+	 *
+	 * @return the given vector.
+	 */
+	public final Vector2 getPoint(double t, Vector2 result) {
+		result.set(getX(t), getY(t));
+		return result;
+	}
+
+	/**
+	 * Gets the unit tangent in the direction of the curve at the given
+	 * parameter into the given vector. Where the derivative vanishes, as at an
+	 * end whose control point is on it, the tangent is taken from nearby
+	 * parameters.
+	 *
+	 * @return the given vector.
+	 */
+	public final Vector2 getTangent(double t, Vector2 result) {
+		double dx = getDerivativeX(t), dy = getDerivativeY(t);
+		if (dx == 0 && dy == 0) {
+			double near = t < 0.5 ? t + 1e-6 : t - 1e-6;
+			dx = getDerivativeX(near);
+			dy = getDerivativeY(near);
+			if (dx == 0 && dy == 0) {
+				double sign = t < 0.5 ? 1 : -1;
+				dx = sign * (getX(1) - getX(0));
+				dy = sign * (getY(1) - getY(0));
+			}
+		}
+		double length = Math.sqrt(dx * dx + dy * dy);
+		if (length > 0) {
+			result.set(dx / length, dy / length);
+		} else {
+			result.set(0, 0);
+		}
+		return result;
+	}
+
+	/**
+	 * Appends the points of the curve to the given polyline, so that no chord
+	 * is further than the tolerance from the curve. The start of the curve is
+	 * not appended if the polyline already ends there, so that consecutive
+	 * curves can be flattened into the same polyline.
+	 *
+	 * @param tolerance the maximum distance between the curve and its chords.
+	 * @param result the polyline to append to.
+	 * @return the given polyline.
+	 */
+	public final Polyline flatten(double tolerance, Polyline result) {
+		if (!(tolerance > 0)) {
+			throw new IllegalArgumentException("tolerance must be positive: "
+					+ tolerance);
+		}
+		result.addIfDistinct(getX(0), getY(0));
+		flattenAfterStart(tolerance, result);
+		return result;
+	}
+
+	/**
+	 * Gets the length of the curve, by adaptive Gauss-Legendre quadrature.
+	 */
+	public double getLength() {
+		return getLength(0, 1);
+	}
+
+	/**
+	 * Gets the length of the curve between the given parameters, by adaptive
+	 * Gauss-Legendre quadrature.
+	 */
+	public double getLength(double t0, double t1) {
+		double length = 0;
+		double step = (t1 - t0) / LENGTH_INTERVALS;
+		for (int i = 0; i < LENGTH_INTERVALS; i++) {
+			length += integrateSpeed(t0 + i * step, t0 + (i + 1) * step);
+		}
+		return length;
+	}
+
+	/**
+	 * Integrates the speed of the curve over a short interval. The interval is
+	 * halved until the halves agree with the whole, so that the length stays
+	 * accurate where the speed changes abruptly, as near a cusp.
+	 */
+	final double integrateSpeed(double t0, double t1) {
+		return integrateSpeed(t0, t1, gaussLegendre(t0, t1), MAX_LENGTH_DEPTH);
+	}
+
+	private double integrateSpeed(double t0, double t1, double whole,
+			int depth) {
+		double middle = (t0 + t1) / 2;
+		double first = gaussLegendre(t0, middle);
+		double second = gaussLegendre(middle, t1);
+		if (depth == 0 || Math.abs(first + second - whole) <= LENGTH_TOLERANCE) {
+			return first + second;
+		}
+		return integrateSpeed(t0, middle, first, depth - 1)
+				+ integrateSpeed(middle, t1, second, depth - 1);
+	}
+
+	/**
+	 * Integrates the speed of the curve over an interval by 5-point
+	 * Gauss-Legendre quadrature.
+	 */
+	private double gaussLegendre(double t0, double t1) {
+		double half = (t1 - t0) / 2, middle = (t0 + t1) / 2;
+		double sum = 0;
+		for (int i = 0; i < GAUSS_ABSCISSAS.length; i++) {
+			double t = middle + half * GAUSS_ABSCISSAS[i];
+			double dx = getDerivativeX(t), dy = getDerivativeY(t);
+			sum += GAUSS_WEIGHTS[i] * Math.sqrt(dx * dx + dy * dy);
+		}
+		return sum * half;
+	}
+
+	/**
+	 * Sets the given rectangle to the bounds of the given points.
+	 */
+	static Rectangle setBounds(Rectangle result, double minX, double minY,
+			double maxX, double maxY) {
+		result.set(minX, minY, maxX - minX, maxY - minY);
+		return result;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+import gwt.g2d.client.util.AllocationAudit;
+
+/**
+ * Hands out temporary vectors, matrices and rectangles that are all reclaimed
+ * at once by {@link #reset()}, typically at the start of every frame or
+ * update.
+ * <p>
+ * The arena keeps every object it ever handed out, so after the first few
+ * frames a hot path that takes its temporaries from the arena no longer
+ * allocates. An object obtained from the arena must not be kept after the
+ * arena is reset, since it will be handed out again.
+ */
+public class FrameArena {
+	private Vector2[] vectors = new Vector2[32];
+	private Matrix[] matrices = new Matrix[8];
+	private Rectangle[] rectangles = new Rectangle[8];
+	private int vectorCount, matrixCount, rectangleCount;
+
+	/**
+	 * Gets a temporary vector set to (x, y).
+	 */
+	public Vector2 vector(double x, double y) {
+		if (vectorCount == vectors.length) {
+			Vector2[] grown = new Vector2[vectors.length * 2];
+			System.arraycopy(vectors, 0, grown, 0, vectorCount);
+			vectors = grown;
+		}
+		Vector2 vector = vectors[vectorCount];
+		if (vector == null) {
+			AllocationAudit.record("FrameArena.vector");
+			vector = vectors[vectorCount] = new Vector2();
+		}
+		vectorCount++;
+		vector.set(x, y);
+		return vector;
+	}
+
+	/**
+	 * Gets a temporary vector set to (0, 0).
+	 */
+	public Vector2 vector() {
+		return vector(0, 0);
+	}
+
+	/**
+	 * Gets a temporary copy of the given vector.
+	 */
+	public Vector2 vector(Vector2 vector) {
+		return vector(vector.getX(), vector.getY());
+	}
+
+	/**
+	 * Gets a temporary identity matrix.
+	 */
+	public Matrix matrix() {
+		if (matrixCount == matrices.length) {
+			Matrix[] grown = new Matrix[matrices.length * 2];
+			System.arraycopy(matrices, 0, grown, 0, matrixCount);
+			matrices = grown;
+		}
+		Matrix matrix = matrices[matrixCount];
+		if (matrix == null) {
+			AllocationAudit.record("FrameArena.matrix");
+			matrix = matrices[matrixCount] = new Matrix();
+		} else {
+			matrix.setIdentity();
+		}
+		matrixCount++;
+		return matrix;
+	}
+
+	/**
+	 * Gets a temporary copy of the given matrix.
+	 */
+	public Matrix matrix(Matrix matrix) {
+		Matrix result = matrix();
+		result.set(matrix);
+		return result;
+	}
+
+	/**
+	 * Gets a temporary rectangle with the given bounds.
+	 */
+	public Rectangle rectangle(double x, double y, double width, double height) {
+		if (rectangleCount == rectangles.length) {
+			Rectangle[] grown = new Rectangle[rectangles.length * 2];
+			System.arraycopy(rectangles, 0, grown, 0, rectangleCount);
+			rectangles = grown;
+		}
+		Rectangle rectangle = rectangles[rectangleCount];
+		if (rectangle == null) {
+			AllocationAudit.record("FrameArena.rectangle");
+			rectangle = rectangles[rectangleCount] = new Rectangle();
+		}
+		rectangleCount++;
+		rectangle.set(x, y, width, height);
+		return rectangle;
+	}
+
+	/**
+	 * Gets a temporary empty rectangle.
+	 */
+	public Rectangle rectangle() {
+		return rectangle(0, 0, 0, 0);
+	}
+
+	/**
+	 * Reclaims all the objects handed out since the last reset.
+	 */
+	public void reset() {
+		vectorCount = matrixCount = rectangleCount = 0;
+	}
+
+	/**
+	 * Gets the number of vectors handed out since the last reset.
+	 */
+	public int getVectorCount() {
+		return vectorCount;
+	}
+
+	/**
+	 * Gets the number of matrices handed out since the last reset.
+	 */
+	public int getMatrixCount() {
+		return matrixCount;
+	}
+
+	/**
+	 * Gets the number of rectangles handed out since the last reset.
+	 */
+	public int getRectangleCount() {
+		return rectangleCount;
+	}
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+import java.util.Arrays;
+
+/**
+ * A polyline with many vertices that is simplified for the current zoom when
+ * it is drawn, by dropping the vertices whose removal changes it by less than
+ * a fraction of a pixel.
+ * <p>
+ * The importance of each vertex is computed once, with the algorithm of
+ * Visvalingam and Whyatt: it is the area of the triangle that the vertex makes
+ * with its neighbors when it is removed, the least important vertices first.
+ * Since any transformation scales areas by the absolute value of its
+ * determinant, the importances hold for every zoom, even when the x and y
+ * scales differ, as in charts.
+ * <p>
+ * The vertices are ranked in blocks of {@link #BLOCK_SIZE}, whose first and
+ * last vertices are always kept, so that appending vertices only ranks the
+ * last block again. Blocks outside of the viewport are reduced to their first
+ * and last vertices, which does not change the drawing inside the viewport.
+ * <p>
+ * Narrow spikes make small triangles and are dropped early, so series with
+ * many samples per pixel column, whose spikes matter, are better reduced to
+ * the minimum and maximum of each column.
+ */
+public class LodPolyline {
+	/** The number of vertices ranked together. */
+	public static final int BLOCK_SIZE = 1024;
+
+	private double[] coordinates;
+	private double[] importances;
+	private int pointCount;
+	private Block[] blocks = new Block[4];
+	private int blockCount;
+	private double pixelArea = 0.5;
+	private final Matrix inverse = new Matrix();
+	private final Rectangle viewport = new Rectangle();
+
+	// Scratch arrays of the ranking of a block.
+	private final int[] previous = new int[BLOCK_SIZE];
+	private final int[] next = new int[BLOCK_SIZE];
+	private final int[] heap = new int[BLOCK_SIZE];
+	private final int[] heapIndices = new int[BLOCK_SIZE];
+	private final double[] areas = new double[BLOCK_SIZE];
+	private int heapSize;
+
+	/**
+	 * Creates an empty polyline with room for 1024 points.
+	 */
+	public LodPolyline() {
+		this(BLOCK_SIZE);
+	}
+
+	/**
+	 * Creates an empty polyline with room for the given number of points.
+	 */
+	public LodPolyline(int capacity) {
+		capacity = Math.max(1, capacity);
+		coordinates = new double[2 * capacity];
+		importances = new double[capacity];
+	}
+
+	/**
+	 * Gets the area in square pixels under which the triangle of a vertex is
+	 * not drawn.
+	 */
+	public final double getPixelArea() {
+		return pixelArea;
+	}
+
+	/**
+	 * Sets the area in square pixels under which the triangle of a vertex is
+	 * not drawn, 0.5 by default.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final LodPolyline setPixelArea(double pixelArea) {
+		if (!(pixelArea >= 0)) {
+			throw new IllegalArgumentException("pixelArea must not be negative: "
+					+ pixelArea);
+		}
+		this.pixelArea = pixelArea;
+		return this;
+	}
+
+	/**
+	 * Appends a vertex.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final LodPolyline add(double x, double y) {
+		if (pointCount == importances.length) {
+			int capacity = 2 * importances.length;
+			double[] grown = new double[2 * capacity];
+			System.arraycopy(coordinates, 0, grown, 0, 2 * pointCount);
+			coordinates = grown;
+			grown = new double[capacity];
+			System.arraycopy(importances, 0, grown, 0, pointCount);
+			importances = grown;
+		}
+		coordinates[2 * pointCount] = x;
+		coordinates[2 * pointCount + 1] = y;
+		int blockIndex = pointCount / BLOCK_SIZE;
+		if (blockIndex == blockCount) {
+			if (blockCount == blocks.length) {
+				Block[] grown = new Block[2 * blocks.length];
+				System.arraycopy(blocks, 0, grown, 0, blockCount);
+				blocks = grown;
+			}
+			blocks[blockCount++] = new Block(pointCount);
+		}
+		blocks[blockIndex].add(x, y);
+		pointCount++;
+		return this;
+	}
+
+	/**
+	 * Appends the vertices packed in the given array as x0, y0, x1, y1...
+	 *
+	 * @return self to support chaining.
+	 */
+	public final LodPolyline addAll(double[] coordinates, int offset,
+			int pointCount) {
+		for (int i = 0; i < pointCount; i++) {
+			add(coordinates[offset + 2 * i], coordinates[offset + 2 * i + 1]);
+		}
+		return this;
+	}
+
+	/**
+	 * Removes all the vertices, keeping the arrays.
+	 */
+	public final void clear() {
+		pointCount = 0;
+		Arrays.fill(blocks, 0, blockCount, null);
+		blockCount = 0;
+	}
+
+	/**
+	 * Gets the number of vertices.
+	 */
+	public final int getPointCount() {
+		return pointCount;
+	}
+
+	/**
+	 * Gets the x-coordinate of the vertex at the given index.
+	 */
+	public final double getX(int index) {
+		return coordinates[2 * index];
+	}
+
+	/**
+	 * Gets the y-coordinate of the vertex at the given index.
+	 */
+	public final double getY(int index) {
+		return coordinates[2 * index + 1];
+	}
+
+	/**
+	 * Gets the importance of the vertex at the given index: the area of its
+	 * triangle when it is removed, in the squared units of the coordinates, or
+	 * infinity for the vertices that are always kept.
+	 */
+	public final double getImportance(int index) {
+		Block block = blocks[index / BLOCK_SIZE];
+		if (block.dirty) {
+			rank(block);
+		}
+		return importances[index];
+	}
+
+	/**
+	 * Appends the vertices to draw with the given transformation onto a canvas
+	 * of the given size to the given polyline, in the coordinates of the
+	 * vertices.
+	 *
+	 * @param transform the transformation from the coordinates of the vertices
+	 * 				to pixels.
+	 * @param width the width of the canvas in pixels.
+	 * @param height the height of the canvas in pixels.
+	 * @param budget the maximum number of vertices to append, which is exceeded
+	 * 				only by the vertices that are always kept.
+	 * @param result the polyline to append to.
+	 * @return the number of vertices appended.
+	 */
+	public final int simplify(Matrix transform, double width, double height,
+			int budget, Polyline result) {
+		double determinant = Math.abs(transform.getDeterminant());
+		if (determinant == 0) {
+			return simplify(Double.POSITIVE_INFINITY, null, budget, result);
+		}
+		inverse.set(transform);
+		inverse.mutableInvert();
+		// The bounds of the canvas in the coordinates of the vertices, mapped
+		// back as drawn on a surface (see Matrix.invert()).
+		double m11 = inverse.getM11(), m12 = inverse.getM12();
+		double m21 = inverse.getM21(), m22 = inverse.getM22();
+		double originX = -(m11 * transform.getDx() + m21 * transform.getDy());
+		double originY = -(m12 * transform.getDx() + m22 * transform.getDy());
+		double ax = m11 * width, bx = m21 * height;
+		double ay = m12 * width, by = m22 * height;
+		double left = Math.min(0, ax) + Math.min(0, bx) + originX;
+		double right = Math.max(0, ax) + Math.max(0, bx) + originX;
+		double top = Math.min(0, ay) + Math.min(0, by) + originY;
+		double bottom = Math.max(0, ay) + Math.max(0, by) + originY;
+		viewport.set(left, top, right - left, bottom - top);
+		return simplify(pixelArea / determinant, viewport, budget, result);
+	}
+
+	/**
+	 * Appends the vertices whose importance is at least the given area to the
+	 * given polyline, raising the area if needed to stay within the budget.
+	 *
+	 * @param minArea the least importance of the vertices to append.
+	 * @param viewport the rectangle outside of which the vertices are not
+	 * 				drawn, or null.
+	 * @param budget the maximum number of vertices to append, which is exceeded
+	 * 				only by the vertices that are always kept.
+	 * @param result the polyline to append to.
+	 * @return the number of vertices appended.
+	 */
+	public final int simplify(double minArea, Rectangle viewport, int budget,
+			Polyline result) {
+		for (int i = 0; i < blockCount; i++) {
+			Block block = blocks[i];
+			if (block.dirty) {
+				rank(block);
+			}
+			block.visible = viewport == null
+					|| (block.maxX >= viewport.getX() && block.minX <= viewport.getRight()
+					&& block.maxY >= viewport.getY() && block.minY <= viewport.getBottom());
+		}
+		if (countAtLeast(minArea) > budget) {
+			// Bisects the area between one that is over the budget and one that
+			// keeps only the vertices that are always kept.
+			double low = Math.max(minArea, Double.MIN_VALUE);
+			double high = Math.max(getMaxRankedImportance(), low) * 2;
+			for (int i = 0; i < 50 && high > low * 1.01; i++) {
+				double middle = Math.sqrt(low * high);
+				if (countAtLeast(middle) > budget) {
+					low = middle;
+				} else {
+					high = middle;
+				}
+			}
+			minArea = high;
+		}
+		int start = result.getPointCount();
+		for (int i = 0; i < blockCount; i++) {
+			Block block = blocks[i];
+			int end = block.start + block.size;
+			if (!block.visible || block.getRankedCountAtLeast(minArea) == 0) {
+				result.addIfDistinct(getX(block.start), getY(block.start));
+				result.addIfDistinct(getX(end - 1), getY(end - 1));
+				continue;
+			}
+			for (int j = block.start; j < end; j++) {
+				if (importances[j] >= minArea) {
+					result.addIfDistinct(coordinates[2 * j], coordinates[2 * j + 1]);
+				}
+			}
+		}
+		return result.getPointCount() - start;
+	}
+
+	/**
+	 * Counts the vertices that would be drawn with the given area.
+	 */
+	private int countAtLeast(double minArea) {
+		int count = 0;
+		for (int i = 0; i < blockCount; i++) {
+			Block block = blocks[i];
+			count += Math.min(block.size, 2);
+			if (block.visible) {
+				count += block.getRankedCountAtLeast(minArea);
+			}
+		}
+		return count;
+	}
+
+	private double getMaxRankedImportance() {
+		double max = 0;
+		for (int i = 0; i < blockCount; i++) {
+			Block block = blocks[i];
+			int ranked = block.size - 2;
+			if (ranked > 0) {
+				max = Math.max(max, block.sortedImportances[ranked - 1]);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Ranks the vertices of a block by removing them from the least important
+	 * on, with a heap of the areas of their triangles.
+	 */
+	private void rank(Block block) {
+		int offset = block.start, size = block.size;
+		importances[offset] = Double.POSITIVE_INFINITY;
+		importances[offset + size - 1] = Double.POSITIVE_INFINITY;
+		heapSize = 0;
+		for (int i = 1; i < size - 1; i++) {
+			previous[i] = i - 1;
+			next[i] = i + 1;
+			areas[i] = area(offset, i - 1, i, i + 1);
+			heap[heapSize] = i;
+			heapIndices[i] = heapSize++;
+		}
+		for (int i = heapSize / 2 - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+		double max = 0;
+		while (heapSize > 0) {
+			int vertex = heap[0];
+			removeTop();
+			// A vertex is at least as important as the ones removed before it,
+			// so that the vertices above an area are those left at that area.
+			max = Math.max(max, areas[vertex]);
+			importances[offset + vertex] = max;
+			int before = previous[vertex], after = next[vertex];
+			if (before > 0) {
+				next[before] = after;
+				areas[before] = area(offset, previous[before], before, after);
+				update(heapIndices[before]);
+			}
+			if (after < size - 1) {
+				previous[after] = before;
+				areas[after] = area(offset, before, after, next[after]);
+				update(heapIndices[after]);
+			}
+		}
+		int ranked = Math.max(0, size - 2);
+		if (block.sortedImportances.length < ranked) {
+			block.sortedImportances = new double[BLOCK_SIZE - 2];
+		}
+		System.arraycopy(importances, offset + 1, block.sortedImportances, 0,
+				ranked);
+		Arrays.sort(block.sortedImportances, 0, ranked);
+		block.dirty = false;
+	}
+
+	private double area(int offset, int a, int b, int c) {
+		int i = 2 * (offset + a), j = 2 * (offset + b), k = 2 * (offset + c);
+		return Math.abs((coordinates[j] - coordinates[i])
+				* (coordinates[k + 1] - coordinates[i + 1])
+				- (coordinates[k] - coordinates[i])
+				* (coordinates[j + 1] - coordinates[i + 1])) / 2;
+	}
+
+	private void removeTop() {
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapIndices[heap[0]] = 0;
+			siftDown(0);
+		}
+	}
+
+	private void update(int index) {
+		siftDown(siftUp(index));
+	}
+
+	private int siftUp(int index) {
+		int vertex = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >> 1;
+			if (areas[heap[parent]] <= areas[vertex]) {
+				break;
+			}
+			heap[index] = heap[parent];
+			heapIndices[heap[index]] = index;
+			index = parent;
+		}
+		heap[index] = vertex;
+		heapIndices[vertex] = index;
+		return index;
+	}
+
+	private void siftDown(int index) {
+		int vertex = heap[index];
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && areas[heap[child + 1]] < areas[heap[child]]) {
+				child++;
+			}
+			if (areas[heap[child]] >= areas[vertex]) {
+				break;
+			}
+			heap[index] = heap[child];
+			heapIndices[heap[index]] = index;
+			index = child;
+		}
+		heap[index] = vertex;
+		heapIndices[vertex] = index;
+	}
+
+	/**
+	 * A run of vertices ranked together, with their bounds.
+	 */
+	private static final class Block {
+		private final int start;
+		private int size;
+		private double minX, minY, maxX, maxY;
+		private double[] sortedImportances = new double[0];
+		private boolean dirty, visible;
+
+		private Block(int start) {
+			this.start = start;
+		}
+
+		private void add(double x, double y) {
+			if (size == 0) {
+				minX = maxX = x;
+				minY = maxY = y;
+			} else {
+				minX = Math.min(minX, x);
+				maxX = Math.max(maxX, x);
+				minY = Math.min(minY, y);
+				maxY = Math.max(maxY, y);
+			}
+			size++;
+			dirty = true;
+		}
+
+		/**
+		 * Counts the vertices between the first and the last whose importance
+		 * is at least the given area.
+		 */
+		private int getRankedCountAtLeast(double minArea) {
+			int ranked = Math.max(0, size - 2);
+			int low = 0, high = ranked;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (sortedImportances[middle] < minArea) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return ranked - low;
+		}
+	}
+}
@@ -15,6 +15,8 @@
  */
 package gwt.g2d.client.math;
 
+import gwt.g2d.client.util.AllocationAudit;
+
 import java.util.Arrays;
 
 /**
@@ -163,6 +165,7 @@ public class Matrix {
 	 * @return the new matrix
 	 */
 	public final Matrix multiply(Matrix rhs) {
+		AllocationAudit.record("Matrix.multiply");
 		return new Matrix(this).mutableMultiply(rhs);
 	}
 
@@ -192,6 +195,7 @@ public class Matrix {
 	 * @return the new matrix
 	 */
 	public final Matrix rotate(double angle) {
+		AllocationAudit.record("Matrix.rotate");
 		return new Matrix(this).mutableRotate(angle);
 	}
 
@@ -203,6 +207,7 @@ public class Matrix {
 	 * @return the new matrix
 	 */
 	public final Matrix rotateCcw(double angle) {
+		AllocationAudit.record("Matrix.rotateCcw");
 		return new Matrix(this).mutableRotateCcw(angle);
 	}
 	
@@ -243,6 +248,7 @@ public class Matrix {
 	 * @return the new scaled matrix.
 	 */
 	public final Matrix scale(double x, double y) {
+		AllocationAudit.record("Matrix.scale");
 		return new Matrix(this).mutableScale(x, y);
 	}
 	
@@ -268,6 +274,7 @@ public class Matrix {
 	 * @return a new translated matrix.
 	 */
 	public final Matrix translate(double x, double y) {
+		AllocationAudit.record("Matrix.translate");
 		return new Matrix(this).mutableTranslate(x, y);
 	}
 	
@@ -285,6 +292,60 @@ public class Matrix {
 		return this;
 	}
 	
+	/**
+	 * Gets the determinant of the matrix, which is zero if the matrix cannot be 
+	 * inverted.
+	 */
+	public final double getDeterminant() {
+		return m11 * m22 - m12 * m21;
+	}
+	
+	/**
+	 * Checks whether the matrix can be inverted.
+	 */
+	public final boolean isInvertible() {
+		double determinant = getDeterminant();
+		return determinant != 0 && !Double.isNaN(determinant) 
+				&& !Double.isInfinite(determinant);
+	}
+	
+	/**
+	 * Returns a new matrix that is the inverse of this, so that 
+	 * {@link #transform(Vector2)} by it undoes {@link #transform(Vector2)} by 
+	 * this, and {@link #multiply(Matrix)} by it gives the identity.
+	 * <p>
+	 * The m11, m12, m21 and m22 of the inverse are also those of the inverse of 
+	 * the transformation of a surface, which applies the matrix as 
+	 * x' = m11 * x + m21 * y + dx, y' = m12 * x + m22 * y + dy. Only the 
+	 * translation differs: a point on a surface is mapped back by removing the 
+	 * translation of this matrix, then applying those four of the inverse.
+	 * 
+	 * @return the new matrix
+	 * @throws IllegalStateException if the matrix cannot be inverted.
+	 */
+	public final Matrix invert() {
+		AllocationAudit.record("Matrix.invert");
+		return new Matrix(this).mutableInvert();
+	}
+	
+	/**
+	 * Inverts this matrix. Unlike {@link #invert()}, the returned Matrix is 
+	 * this, so no new Matrix is allocated.
+	 * 
+	 * @return self to support chaining.
+	 * @throws IllegalStateException if the matrix cannot be inverted.
+	 */
+	public final Matrix mutableInvert() {
+		if (!isInvertible()) {
+			throw new IllegalStateException("The matrix cannot be inverted");
+		}
+		double determinant = getDeterminant();
+		double a = m22 / determinant, b = -m12 / determinant;
+		double c = -m21 / determinant, d = m11 / determinant;
+		set(a, b, c, d, -(a * dx + b * dy), -(c * dx + d * dy));
+		return this;
+	}
+	
 	/**
 	 * Transform the given vector by this matrix.
 	 * 
@@ -292,6 +353,7 @@ public class Matrix {
 	 * @return a new Vector2
 	 */
 	public final Vector2 transform(Vector2 vector) {
+		AllocationAudit.record("Matrix.transform");
 		return mutableTransform(new Vector2(vector));
 	}
 	
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+/**
+ * A growable list of points packed in a double array as x0, y0, x1, y1...,
+ * into which curves are flattened. The array can be reused from frame to frame
+ * by clearing the polyline.
+ */
+public class Polyline {
+	private double[] coordinates;
+	private int pointCount;
+
+	/**
+	 * Creates an empty polyline with room for 16 points.
+	 */
+	public Polyline() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty polyline with room for the given number of points.
+	 */
+	public Polyline(int capacity) {
+		coordinates = new double[2 * Math.max(1, capacity)];
+	}
+
+	/**
+	 * Removes all the points, keeping the array.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final Polyline clear() {
+		pointCount = 0;
+		return this;
+	}
+
+	/**
+	 * Appends a point.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final Polyline add(double x, double y) {
+		if (2 * pointCount == coordinates.length) {
+			double[] grown = new double[2 * coordinates.length];
+			System.arraycopy(coordinates, 0, grown, 0, coordinates.length);
+			coordinates = grown;
+		}
+		coordinates[2 * pointCount] = x;
+		coordinates[2 * pointCount + 1] = y;
+		pointCount++;
+		return this;
+	}
+
+	/**
+	 * Appends a point, unless it is the same as the last point.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final Polyline addIfDistinct(double x, double y) {
+		if (pointCount > 0 && coordinates[2 * pointCount - 2] == x
+				&& coordinates[2 * pointCount - 1] == y) {
+			return this;
+		}
+		return add(x, y);
+	}
+
+	/**
+	 * Gets the number of points.
+	 */
+	public final int getPointCount() {
+		return pointCount;
+	}
+
+	/**
+	 * Gets whether there is no point.
+	 */
+	public final boolean isEmpty() {
+		return pointCount == 0;
+	}
+
+	/**
+	 * Gets the x-coordinate of the point at the given index.
+	 */
+	public final double getX(int index) {
+		return coordinates[2 * index];
+	}
+
+	/**
+	 * Gets the y-coordinate of the point at the given index.
+	 */
+	public final double getY(int index) {
+		return coordinates[2 * index + 1];
+	}
+
+	/**
+	 * Gets the array of the coordinates, of which the first
+	 * 2 * {@link #getPointCount()} are the points. The array is not copied, and
+	 * is replaced when the polyline grows.
+	 */
+	public final double[] getCoordinates() {
+		return coordinates;
+	}
+
+	/**
+	 * Gets the length of the polyline.
+	 */
+	public final double getLength() {
+		double length = 0;
+		for (int i = 2; i < 2 * pointCount; i += 2) {
+			double dx = coordinates[i] - coordinates[i - 2];
+			double dy = coordinates[i + 1] - coordinates[i - 1];
+			length += Math.sqrt(dx * dx + dy * dy);
+		}
+		return length;
+	}
+
+	/**
+	 * Gets the bounds of the points into the given rectangle.
+	 *
+	 * @return the given rectangle, or null if there is no point.
+	 */
+	public final Rectangle getBounds(Rectangle result) {
+		if (pointCount == 0) {
+			return null;
+		}
+		double minX = coordinates[0], minY = coordinates[1];
+		double maxX = minX, maxY = minY;
+		for (int i = 2; i < 2 * pointCount; i += 2) {
+			minX = Math.min(minX, coordinates[i]);
+			maxX = Math.max(maxX, coordinates[i]);
+			minY = Math.min(minY, coordinates[i + 1]);
+			maxY = Math.max(maxY, coordinates[i + 1]);
+		}
+		result.set(minX, minY, maxX - minX, maxY - minY);
+		return result;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+import gwt.g2d.client.util.Pool;
+
+/**
+ * Shared pools of vectors, matrices and rectangles.
+ * <p>
+ * Freed objects are reset, so an obtained vector is (0, 0), an obtained matrix
+ * is the identity and an obtained rectangle is empty. For temporaries that
+ * only live during a frame, a {@link FrameArena} avoids having to free each
+ * object.
+ */
+public final class Pools {
+	/** The pool of vectors. */
+	public static final Pool<Vector2> VECTOR2 = new Pool<Vector2>("Pools.VECTOR2") {
+		@Override
+		protected Vector2 newObject() {
+			return new Vector2();
+		}
+
+		@Override
+		protected void reset(Vector2 object) {
+			object.set(0, 0);
+		}
+	};
+
+	/** The pool of matrices. */
+	public static final Pool<Matrix> MATRIX = new Pool<Matrix>("Pools.MATRIX") {
+		@Override
+		protected Matrix newObject() {
+			return new Matrix();
+		}
+
+		@Override
+		protected void reset(Matrix object) {
+			object.setIdentity();
+		}
+	};
+
+	/** The pool of rectangles. */
+	public static final Pool<Rectangle> RECTANGLE =
+			new Pool<Rectangle>("Pools.RECTANGLE") {
+		@Override
+		protected Rectangle newObject() {
+			return new Rectangle();
+		}
+
+		@Override
+		protected void reset(Rectangle object) {
+			object.set(0, 0, 0, 0);
+		}
+	};
+
+	private Pools() {
+	}
+
+	/**
+	 * Obtains a vector set to (x, y) from {@link #VECTOR2}.
+	 */
+	public static Vector2 obtainVector2(double x, double y) {
+		Vector2 vector = VECTOR2.obtain();
+		vector.set(x, y);
+		return vector;
+	}
+
+	/**
+	 * Obtains a copy of the given matrix from {@link #MATRIX}.
+	 */
+	public static Matrix obtainMatrix(Matrix matrix) {
+		Matrix result = MATRIX.obtain();
+		result.set(matrix);
+		return result;
+	}
+
+	/**
+	 * Obtains a rectangle with the given bounds from {@link #RECTANGLE}.
+	 */
+	public static Rectangle obtainRectangle(double x, double y, double width,
+			double height) {
+		Rectangle rectangle = RECTANGLE.obtain();
+		rectangle.set(x, y, width, height);
+		return rectangle;
+	}
+}
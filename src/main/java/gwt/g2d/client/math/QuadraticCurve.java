@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+/**
+ * A quadratic Bezier curve, as drawn by quadraticCurveTo.
+ */
+public class QuadraticCurve extends Curve {
+	private double startX, startY, controlX, controlY, endX, endY;
+
+	/**
+	 * Creates a curve with all its points at the origin.
+	 */
+	public QuadraticCurve() {
+	}
+
+	/**
+	 * Creates a curve from its start, control point and end.
+	 */
+	public QuadraticCurve(double startX, double startY, double controlX,
+			double controlY, double endX, double endY) {
+		set(startX, startY, controlX, controlY, endX, endY);
+	}
+
+	/**
+	 * Sets the start, control point and end of the curve.
+	 *
+	 * @return self to support chaining.
+	 */
+	public final QuadraticCurve set(double startX, double startY,
+			double controlX, double controlY, double endX, double endY) {
+		this.startX = startX;
+		this.startY = startY;
+		this.controlX = controlX;
+		this.controlY = controlY;
+		this.endX = endX;
+		this.endY = endY;
+		return this;
+	}
+
+	/**
+	 * Gets the x-coordinate of the start.
+	 */
+	public final double getStartX() {
+		return startX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the start.
+	 */
+	public final double getStartY() {
+		return startY;
+	}
+
+	/**
+	 * Gets the x-coordinate of the control point.
+	 */
+	public final double getControlX() {
+		return controlX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the control point.
+	 */
+	public final double getControlY() {
+		return controlY;
+	}
+
+	/**
+	 * Gets the x-coordinate of the end.
+	 */
+	public final double getEndX() {
+		return endX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the end.
+	 */
+	public final double getEndY() {
+		return endY;
+	}
+
+	@Override
+	public double getX(double t) {
+		return evaluate(startX, controlX, endX, t);
+	}
+
+	@Override
+	public double getY(double t) {
+		return evaluate(startY, controlY, endY, t);
+	}
+
+	@Override
+	public double getDerivativeX(double t) {
+		return 2 * ((1 - t) * (controlX - startX) + t * (endX - controlX));
+	}
+
+	@Override
+	public double getDerivativeY(double t) {
+		return 2 * ((1 - t) * (controlY - startY) + t * (endY - controlY));
+	}
+
+	@Override
+	public Rectangle getBounds(Rectangle result) {
+		double tx = extremum(startX, controlX, endX);
+		double ty = extremum(startY, controlY, endY);
+		double x = getX(tx), y = getY(ty);
+		return setBounds(result,
+				Math.min(Math.min(startX, endX), x), Math.min(Math.min(startY, endY), y),
+				Math.max(Math.max(startX, endX), x), Math.max(Math.max(startY, endY), y));
+	}
+
+	/**
+	 * Splits the curve at the given parameter into two curves, either of which
+	 * may be null, or this curve.
+	 *
+	 * @param first the curve to set to the part before t.
+	 * @param second the curve to set to the part after t.
+	 */
+	public final void split(double t, QuadraticCurve first,
+			QuadraticCurve second) {
+		double ax = startX + (controlX - startX) * t;
+		double ay = startY + (controlY - startY) * t;
+		double bx = controlX + (endX - controlX) * t;
+		double by = controlY + (endY - controlY) * t;
+		double mx = ax + (bx - ax) * t, my = ay + (by - ay) * t;
+		double x0 = startX, y0 = startY, x1 = endX, y1 = endY;
+		if (first != null) {
+			first.set(x0, y0, ax, ay, mx, my);
+		}
+		if (second != null) {
+			second.set(mx, my, bx, by, x1, y1);
+		}
+	}
+
+	@Override
+	protected void flattenAfterStart(double tolerance, Polyline result) {
+		flatten(startX, startY, controlX, controlY, endX, endY, tolerance, 0,
+				result);
+	}
+
+	private static void flatten(double x0, double y0, double cx, double cy,
+			double x1, double y1, double tolerance, int depth, Polyline result) {
+		// The curve is at most a quarter of this from its chord.
+		double ddx = x0 - 2 * cx + x1, ddy = y0 - 2 * cy + y1;
+		if (depth == MAX_DEPTH
+				|| ddx * ddx + ddy * ddy <= 16 * tolerance * tolerance) {
+			result.add(x1, y1);
+			return;
+		}
+		double ax = (x0 + cx) / 2, ay = (y0 + cy) / 2;
+		double bx = (cx + x1) / 2, by = (cy + y1) / 2;
+		double mx = (ax + bx) / 2, my = (ay + by) / 2;
+		flatten(x0, y0, ax, ay, mx, my, tolerance, depth + 1, result);
+		flatten(mx, my, bx, by, x1, y1, tolerance, depth + 1, result);
+	}
+
+	private static double evaluate(double p0, double p1, double p2, double t) {
+		double u = 1 - t;
+		return u * u * p0 + 2 * u * t * p1 + t * t * p2;
+	}
+
+	/**
+	 * Gets the parameter where a coordinate has its extremum, or 0 if it is
+	 * not within the curve.
+	 */
+	private static double extremum(double p0, double p1, double p2) {
+		double denominator = p0 - 2 * p1 + p2;
+		if (denominator == 0) {
+			return 0;
+		}
+		double t = (p0 - p1) / denominator;
+		return t > 0 && t < 1 ? t : 0;
+	}
+}
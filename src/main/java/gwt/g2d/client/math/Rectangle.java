@@ -15,6 +15,8 @@
  */
 package gwt.g2d.client.math;
 
+import gwt.g2d.client.util.AllocationAudit;
+
 import java.io.Serializable;
 import java.util.Arrays;
 
@@ -132,6 +134,30 @@ public class Rectangle implements Serializable {
 		this.height = height;
 	}
 	
+	/**
+	 * Sets the position and size of the rectangle.
+	 * 
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	public final void set(double x, double y, double width, double height) {
+		setX(x);
+		setY(y);
+		setWidth(width);
+		setHeight(height);
+	}
+	
+	/**
+	 * Sets the position and size of this rectangle to those of rhs.
+	 * 
+	 * @param rhs
+	 */
+	public final void set(Rectangle rhs) {
+		set(rhs.getX(), rhs.getY(), rhs.getWidth(), rhs.getHeight());
+	}
+	
 	/**
 	 * Moves the top left corner of this rectangle to (x, y).
 	 * 
@@ -152,6 +178,118 @@ public class Rectangle implements Serializable {
 		move(position.getX(), position.getY());
 	}
 	
+	/**
+	 * Gets the right x-coordinate of the rectangle.
+	 */
+	public final double getRight() {
+		return getX() + getWidth();
+	}
+	
+	/**
+	 * Gets the bottom y-coordinate of the rectangle.
+	 */
+	public final double getBottom() {
+		return getY() + getHeight();
+	}
+	
+	/**
+	 * Checks whether the rectangle has no area.
+	 */
+	public final boolean isEmpty() {
+		return !(getWidth() > 0 && getHeight() > 0);
+	}
+	
+	/**
+	 * Checks whether the point (x, y) is inside of this rectangle. Points on 
+	 * the left and top edges are inside, points on the right and bottom edges 
+	 * are not.
+	 * 
+	 * @param x
+	 * @param y
+	 */
+	public final boolean contains(double x, double y) {
+		return x >= getX() && y >= getY() && x < getRight() && y < getBottom();
+	}
+	
+	/**
+	 * Checks whether the given point is inside of this rectangle.
+	 * 
+	 * @see #contains(double, double)
+	 */
+	public final boolean contains(Vector2 point) {
+		return contains(point.getX(), point.getY());
+	}
+	
+	/**
+	 * Checks whether the given rectangle is entirely inside of this rectangle.
+	 * 
+	 * @param rhs
+	 */
+	public final boolean contains(Rectangle rhs) {
+		return rhs.getX() >= getX() && rhs.getY() >= getY() 
+				&& rhs.getRight() <= getRight() && rhs.getBottom() <= getBottom();
+	}
+	
+	/**
+	 * Checks whether the given rectangle overlaps this rectangle. Rectangles 
+	 * that only share an edge do not overlap.
+	 * 
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	public final boolean intersects(double x, double y, double width, 
+			double height) {
+		return x < getRight() && x + width > getX() && y < getBottom() 
+				&& y + height > getY();
+	}
+	
+	/**
+	 * Checks whether the given rectangle overlaps this rectangle.
+	 * 
+	 * @see #intersects(double, double, double, double)
+	 */
+	public final boolean intersects(Rectangle rhs) {
+		return intersects(rhs.getX(), rhs.getY(), rhs.getWidth(), rhs.getHeight());
+	}
+	
+	/**
+	 * Checks whether the given circle overlaps this rectangle.
+	 * 
+	 * @param circle
+	 */
+	public final boolean intersects(Circle circle) {
+		return circle.intersects(this);
+	}
+	
+	/**
+	 * Gets the smallest rectangle that contains this rectangle and rhs.
+	 * 
+	 * @param rhs the rectangle to unite with.
+	 * @return a new rectangle that contains both rectangles.
+	 */
+	public final Rectangle union(Rectangle rhs) {
+		AllocationAudit.record("Rectangle.union");
+		return new Rectangle(this).mutableUnion(rhs);
+	}
+	
+	/**
+	 * Grows this rectangle to the smallest rectangle that contains itself and 
+	 * rhs.
+	 * 
+	 * @param rhs the rectangle to unite with.
+	 * @return self to support chaining.
+	 */
+	public final Rectangle mutableUnion(Rectangle rhs) {
+		double left = Math.min(getX(), rhs.getX());
+		double top = Math.min(getY(), rhs.getY());
+		double right = Math.max(getRight(), rhs.getRight());
+		double bottom = Math.max(getBottom(), rhs.getBottom());
+		set(left, top, right - left, bottom - top);
+		return this;
+	}
+	
 	@Override
 	public final boolean equals(Object obj) {
 		return (obj instanceof Rectangle) ? equals((Rectangle) obj) : false;
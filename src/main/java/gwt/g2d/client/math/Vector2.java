@@ -17,6 +17,8 @@ package gwt.g2d.client.math;
 
 import static gwt.g2d.client.math.MathHelper.square;
 
+import gwt.g2d.client.util.AllocationAudit;
+
 import java.io.Serializable;
 import java.util.Arrays;
 
@@ -75,6 +77,7 @@ public class Vector2 implements Serializable {
 	 */
 	public static final Vector2 catmullRom(Vector2 value1, Vector2 value2, Vector2 value3, 
 			Vector2 value4, double amount) {
+    AllocationAudit.record("Vector2.catmullRom");
     return new Vector2().mutableCatmullRom(value1, value2, value3, value4, amount);
   }
 	
@@ -90,6 +93,7 @@ public class Vector2 implements Serializable {
 	 */
 	public static final Vector2 hermite(Vector2 value1, Vector2 tangent1, Vector2 value2, 
 			Vector2 tangent2, double amount) {
+    AllocationAudit.record("Vector2.hermite");
     return new Vector2().mutableHermite(value1, tangent1, value2, tangent2, amount);
   }
 	
@@ -102,6 +106,7 @@ public class Vector2 implements Serializable {
 	 * @return a new interpolated vector.
 	 */
 	public static final Vector2 lerp(Vector2 value1, Vector2 value2, double amount) {
+    AllocationAudit.record("Vector2.lerp");
     return new Vector2().mutableLerp(value1, value2, amount);
   }
 	
@@ -183,6 +188,7 @@ public class Vector2 implements Serializable {
 	 */
 	public static final Vector2 smoothStep(Vector2 value1, Vector2 value2, 
 			double amount) {
+    AllocationAudit.record("Vector2.smoothStep");
     return new Vector2().mutableSmoothStep(value1, value2, amount);
   }
 	
@@ -239,6 +245,15 @@ public class Vector2 implements Serializable {
 		setY(y);
 	}
 	
+	/**
+	 * Sets the x and y coordinates of the vector to those of rhs.
+	 * 
+	 * @param rhs
+	 */
+	public final void set(Vector2 rhs) {
+		set(rhs.getX(), rhs.getY());
+	}
+	
 	/**
 	 * Gets (this.x + rhs.x, this.y + rhs.y).
 	 * 
@@ -246,6 +261,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector that is this + rhs. 
 	 */
 	public final Vector2 add(Vector2 rhs) {
+		AllocationAudit.record("Vector2.add");
 		return new Vector2(getX() + rhs.getX(), getY() + rhs.getY());
 	}
 	
@@ -270,6 +286,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector that is this - rhs. 
 	 */
 	public final Vector2 subtract(Vector2 rhs) {
+		AllocationAudit.record("Vector2.subtract");
 		return new Vector2(getX() - rhs.getX(), getY() - rhs.getY());
 	}
 	
@@ -294,6 +311,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector that is this * rhs. 
 	 */
 	public final Vector2 multiply(Vector2 rhs) {
+		AllocationAudit.record("Vector2.multiply");
 		return new Vector2(getX() * rhs.getX(), getY() * rhs.getY());
 	}
 	
@@ -318,6 +336,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector that is this / rhs. 
 	 */
 	public final Vector2 divide(Vector2 rhs) {
+		AllocationAudit.record("Vector2.divide");
 		return new Vector2(getX() / rhs.getX(), getY() / rhs.getY());
 	}
 	
@@ -344,6 +363,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector that is inside [min, max]
 	 */
 	public final Vector2 clamp(Vector2 min, Vector2 max) {
+    AllocationAudit.record("Vector2.clamp");
     return new Vector2(
         MathHelper.clamp(getX(), min.getX(), max.getX()),
         MathHelper.clamp(getY(), min.getY(), max.getY()));
@@ -419,6 +439,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector whose x and y values are the max of this and rhs.
 	 */
 	public final Vector2 max(Vector2 rhs) {
+    AllocationAudit.record("Vector2.max");
     return new Vector2(
         Math.max(getX(), rhs.getX()),
         Math.max(getY(), rhs.getY()));
@@ -445,6 +466,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector whose x and y values are the min of this and rhs.
 	 */
 	public final Vector2 min(Vector2 rhs) {
+    AllocationAudit.record("Vector2.min");
     return new Vector2(
         Math.min(getX(), rhs.getX()),
         Math.min(getY(), rhs.getY()));
@@ -470,6 +492,7 @@ public class Vector2 implements Serializable {
 	 * 				 vector's x and y values.
 	 */
 	public final Vector2 negate() {
+      AllocationAudit.record("Vector2.negate");
       return new Vector2(-getX(), -getY());
   }
 
@@ -491,7 +514,8 @@ public class Vector2 implements Serializable {
    * @return a new vector that is the unit vector of this vector.
    */
   public final Vector2 normalize() {
-  	return this.scale(1.0 / length());
+  	AllocationAudit.record("Vector2.normalize");
+  	return new Vector2(this).mutableNormalize();
   }
 
   /**
@@ -511,6 +535,7 @@ public class Vector2 implements Serializable {
 	 * @return a new vector that is this * rhs. 
 	 */
 	public final Vector2 scale(double rhs) {
+		AllocationAudit.record("Vector2.scale");
 		return new Vector2(getX() * rhs, getY() * rhs);
 	}
 	
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.spatial;
+
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A quadtree whose nodes are twice as large as their cells, so that an item
+ * is stored in a single node, chosen by its size and its center. This suits
+ * items of mixed sizes, and items that move: an item only changes node when
+ * its center leaves the cell of its node.
+ * <p>
+ * The tree covers a square that contains the given world bounds. Items whose
+ * center is outside of it, or that are larger than it, are kept in the root
+ * and tested by every query. Nodes are created when items are added and are
+ * kept when they become empty; empty subtrees are skipped by the queries.
+ * <p>
+ * Queries do not allocate, and must not be nested.
+ */
+public class LooseQuadtree<T> implements SpatialIndex<T> {
+	private final Node<T> root;
+	private final int maxDepth;
+	private final Map<T, Entry<T>> entries = new HashMap<T, Entry<T>>();
+	private final NearestItems nearest = new NearestItems();
+	private int visitCount;
+	private boolean stopped;
+
+	/**
+	 * Creates a quadtree of depth 8 over the given bounds.
+	 */
+	public LooseQuadtree(Rectangle world) {
+		this(world.getX(), world.getY(), world.getWidth(), world.getHeight(), 8);
+	}
+
+	/**
+	 * Creates a quadtree over the given bounds.
+	 *
+	 * @param x left of the world.
+	 * @param y top of the world.
+	 * @param width width of the world.
+	 * @param height height of the world.
+	 * @param maxDepth the maximum depth of the nodes, the root being at 0.
+	 */
+	public LooseQuadtree(double x, double y, double width, double height,
+			int maxDepth) {
+		if (!(width > 0 && height > 0) || maxDepth < 0) {
+			throw new IllegalArgumentException("Invalid quadtree: " + width + "x"
+					+ height + ", depth " + maxDepth);
+		}
+		this.root = new Node<T>(null, x, y, Math.max(width, height), 0);
+		this.maxDepth = maxDepth;
+	}
+
+	@Override
+	public void insert(T item, double x, double y, double width,
+			double height) {
+		Entry<T> entry = entries.get(item);
+		if (entry != null) {
+			update(entry, x, y, width, height);
+			return;
+		}
+		entry = new Entry<T>(item);
+		entry.set(x, y, width, height);
+		entries.put(item, entry);
+		findNode(entry, true).add(entry);
+	}
+
+	@Override
+	public void insert(T item, Rectangle bounds) {
+		insert(item, bounds.getX(), bounds.getY(), bounds.getWidth(),
+				bounds.getHeight());
+	}
+
+	@Override
+	public boolean update(T item, double x, double y, double width,
+			double height) {
+		Entry<T> entry = entries.get(item);
+		if (entry == null) {
+			return false;
+		}
+		update(entry, x, y, width, height);
+		return true;
+	}
+
+	@Override
+	public boolean remove(T item) {
+		Entry<T> entry = entries.remove(item);
+		if (entry == null) {
+			return false;
+		}
+		entry.node.remove(entry);
+		return true;
+	}
+
+	@Override
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	@Override
+	public void clear() {
+		entries.clear();
+		root.clear();
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public int query(double x, double y, double width, double height,
+			SpatialVisitor<? super T> visitor) {
+		visitCount = 0;
+		stopped = false;
+		query(root, x, y, width, height, false, visitor);
+		return visitCount;
+	}
+
+	@Override
+	public int query(Rectangle rect, SpatialVisitor<? super T> visitor) {
+		return query(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight(),
+				visitor);
+	}
+
+	@Override
+	public int queryPoint(double x, double y,
+			SpatialVisitor<? super T> visitor) {
+		visitCount = 0;
+		stopped = false;
+		query(root, x, y, 0, 0, true, visitor);
+		return visitCount;
+	}
+
+	@Override
+	public int nearest(double x, double y, int count, List<? super T> result) {
+		if (count <= 0) {
+			return 0;
+		}
+		nearest.reset(count);
+		nearest(root, x, y);
+		return nearest.<T>drainTo(result);
+	}
+
+	private void update(Entry<T> entry, double x, double y, double width,
+			double height) {
+		entry.set(x, y, width, height);
+		Node<T> node = findNode(entry, false);
+		if (node != entry.node) {
+			entry.node.remove(entry);
+			findNode(entry, true).add(entry);
+		}
+	}
+
+	/**
+	 * Finds the node that an entry belongs to.
+	 *
+	 * @param create whether to create the missing nodes; if false, the deepest
+	 * 				existing node is returned.
+	 */
+	private Node<T> findNode(Entry<T> entry, boolean create) {
+		double extent = Math.max(entry.width, entry.height);
+		double cx = entry.x + entry.width / 2, cy = entry.y + entry.height / 2;
+		Node<T> node = root;
+		if (!(extent <= root.size && root.containsCenter(cx, cy))) {
+			return root;
+		}
+		while (node.depth < maxDepth && node.size / 2 >= extent) {
+			double half = node.size / 2;
+			int index = (cx >= node.x + half ? 1 : 0) + (cy >= node.y + half ? 2 : 0);
+			Node<T> child = node.getChild(index, create);
+			if (child == null) {
+				// Not the node of the entry, which is then different.
+				return null;
+			}
+			node = child;
+		}
+		return node;
+	}
+
+	private void query(Node<T> node, double x, double y, double width,
+			double height, boolean point, SpatialVisitor<? super T> visitor) {
+		if (node.itemCount == 0 || (node != root
+				&& !node.looseIntersects(x, y, width, height))) {
+			return;
+		}
+		for (int i = 0; i < node.entryCount; i++) {
+			Entry<T> entry = node.entries[i];
+			if (point ? entry.contains(x, y)
+					: entry.intersects(x, y, width, height)) {
+				visitCount++;
+				if (!visitor.visit(entry.item)) {
+					stopped = true;
+					return;
+				}
+			}
+		}
+		if (node.children != null) {
+			for (int i = 0; i < 4 && !stopped; i++) {
+				if (node.children[i] != null) {
+					query(node.children[i], x, y, width, height, point, visitor);
+				}
+			}
+		}
+	}
+
+	private void nearest(Node<T> node, double x, double y) {
+		if (node.itemCount == 0 || (node != root
+				&& node.looseDistance(x, y) >= nearest.getMaxDistance())) {
+			return;
+		}
+		for (int i = 0; i < node.entryCount; i++) {
+			Entry<T> entry = node.entries[i];
+			nearest.offer(entry.item, NearestItems.distance(x, y, entry.x, entry.y,
+					entry.width, entry.height));
+		}
+		if (node.children != null) {
+			// Visits the quadrant of the point first, as it likely holds the
+			// nearest items and lets the others be skipped.
+			double half = node.size / 2;
+			int first = (x >= node.x + half ? 1 : 0) + (y >= node.y + half ? 2 : 0);
+			for (int i = 0; i < 4; i++) {
+				Node<T> child = node.children[(first + i) & 3];
+				if (child != null) {
+					nearest(child, x, y);
+				}
+			}
+		}
+	}
+
+	/**
+	 * An item and its bounds.
+	 */
+	private static final class Entry<T> {
+		private final T item;
+		private double x, y, width, height;
+		private Node<T> node;
+		private int index;
+
+		@SuppressWarnings("unchecked")
+		private static <T> Entry<T>[] newArray(int length) {
+			return (Entry<T>[]) new Entry<?>[length];
+		}
+
+		private Entry(T item) {
+			this.item = item;
+		}
+
+		private void set(double x, double y, double width, double height) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+
+		private boolean intersects(double x, double y, double width,
+				double height) {
+			return x <= this.x + this.width && x + width >= this.x
+					&& y <= this.y + this.height && y + height >= this.y;
+		}
+
+		private boolean contains(double x, double y) {
+			return x >= this.x && y >= this.y && x <= this.x + width
+					&& y <= this.y + height;
+		}
+	}
+
+	/**
+	 * A node, which holds the entries that fit in its loose bounds but not in
+	 * those of its children.
+	 */
+	private static final class Node<T> {
+		private final Node<T> parent;
+		private final double x, y, size;
+		private final int depth;
+		private Node<T>[] children;
+		private Entry<T>[] entries = Entry.<T>newArray(4);
+		private int entryCount;
+		// Number of entries in this node and its descendants.
+		private int itemCount;
+
+		@SuppressWarnings("unchecked")
+		private static <T> Node<T>[] newArray(int length) {
+			return (Node<T>[]) new Node<?>[length];
+		}
+
+		private Node(Node<T> parent, double x, double y, double size, int depth) {
+			this.parent = parent;
+			this.x = x;
+			this.y = y;
+			this.size = size;
+			this.depth = depth;
+		}
+
+		private Node<T> getChild(int index, boolean create) {
+			if (children == null) {
+				if (!create) {
+					return null;
+				}
+				children = Node.<T>newArray(4);
+			}
+			Node<T> child = children[index];
+			if (child == null && create) {
+				double half = size / 2;
+				child = children[index] = new Node<T>(this,
+						x + ((index & 1) != 0 ? half : 0),
+						y + ((index & 2) != 0 ? half : 0), half, depth + 1);
+			}
+			return child;
+		}
+
+		private boolean containsCenter(double cx, double cy) {
+			return cx >= x && cy >= y && cx < x + size && cy < y + size;
+		}
+
+		private boolean looseIntersects(double qx, double qy, double width,
+				double height) {
+			double margin = size / 2;
+			return qx <= x + size + margin && qx + width >= x - margin
+					&& qy <= y + size + margin && qy + height >= y - margin;
+		}
+
+		private double looseDistance(double px, double py) {
+			double margin = size / 2;
+			return NearestItems.distance(px, py, x - margin, y - margin,
+					2 * size, 2 * size);
+		}
+
+		private void add(Entry<T> entry) {
+			if (entryCount == entries.length) {
+				Entry<T>[] grown = Entry.<T>newArray(entryCount * 2);
+				System.arraycopy(entries, 0, grown, 0, entryCount);
+				entries = grown;
+			}
+			entry.node = this;
+			entry.index = entryCount;
+			entries[entryCount++] = entry;
+			for (Node<T> node = this; node != null; node = node.parent) {
+				node.itemCount++;
+			}
+		}
+
+		private void remove(Entry<T> entry) {
+			Entry<T> last = entries[--entryCount];
+			entries[entry.index] = last;
+			last.index = entry.index;
+			entries[entryCount] = null;
+			entry.node = null;
+			for (Node<T> node = this; node != null; node = node.parent) {
+				node.itemCount--;
+			}
+		}
+
+		private void clear() {
+			children = null;
+			for (int i = 0; i < entryCount; i++) {
+				entries[i] = null;
+			}
+			entryCount = 0;
+			itemCount = 0;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.spatial;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the nearest items found so far by a k-nearest search, sorted by
+ * distance. The arrays are reused between searches.
+ */
+final class NearestItems {
+	private double[] distances = new double[0];
+	private Object[] items = new Object[0];
+	private int capacity, size;
+
+	/**
+	 * Starts a search for the given number of items.
+	 */
+	void reset(int capacity) {
+		if (items.length < capacity) {
+			distances = new double[capacity];
+			items = new Object[capacity];
+		}
+		this.capacity = capacity;
+		size = 0;
+	}
+
+	/**
+	 * Gets the squared distance that an item must be within to be kept.
+	 */
+	double getMaxDistance() {
+		return size < capacity ? Double.POSITIVE_INFINITY : distances[size - 1];
+	}
+
+	/**
+	 * Offers an item at the given squared distance.
+	 */
+	void offer(Object item, double distance) {
+		if (distance >= getMaxDistance()) {
+			return;
+		}
+		int i = size < capacity ? size++ : size - 1;
+		while (i > 0 && distances[i - 1] > distance) {
+			distances[i] = distances[i - 1];
+			items[i] = items[i - 1];
+			i--;
+		}
+		distances[i] = distance;
+		items[i] = item;
+	}
+
+	/**
+	 * Adds the items to the given list, and releases them.
+	 *
+	 * @return the number of items added.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> int drainTo(List<? super T> result) {
+		for (int i = 0; i < size; i++) {
+			result.add((T) items[i]);
+		}
+		Arrays.fill(items, 0, size, null);
+		int count = size;
+		size = 0;
+		return count;
+	}
+
+	/**
+	 * Gets the squared distance between a point and a rectangle, 0 if the point
+	 * is inside of the rectangle.
+	 */
+	static double distance(double px, double py, double x, double y,
+			double width, double height) {
+		double dx = px < x ? x - px : px > x + width ? px - x - width : 0;
+		double dy = py < y ? y - py : py > y + height ? py - y - height : 0;
+		return dx * dx + dy * dy;
+	}
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.spatial;
+
+import gwt.g2d.client.graphics.FillRule;
+import gwt.g2d.client.graphics.shapes.CompiledPath;
+import gwt.g2d.client.graphics.shapes.HitTester;
+import gwt.g2d.client.math.Matrix;
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the shapes under a point, such as the mouse, among many shapes.
+ * <p>
+ * The bounds of the shapes are kept in a {@link LooseQuadtree}, so only the
+ * few shapes whose bounds contain the point are tested exactly, by a
+ * {@link HitTester}. Shapes added later are above the shapes added earlier,
+ * unless they are brought to the front. Shapes whose bounds are unknown, such
+ * as paths with custom visitors, are tested on every pick.
+ */
+public class ShapePicker<T> {
+	private final LooseQuadtree<T> index;
+	private final Map<T, Entry> entries = new HashMap<T, Entry>();
+	private final List<T> unbounded = new ArrayList<T>();
+	private final HitTester hitTester = new HitTester();
+	private final Rectangle bounds = new Rectangle();
+	private final Collector collector = new Collector();
+	private int nextOrder;
+
+	/**
+	 * Creates a picker for shapes that are mostly within the given bounds.
+	 */
+	public ShapePicker(Rectangle world) {
+		index = new LooseQuadtree<T>(world);
+	}
+
+	/**
+	 * Gets the hit tester, to change its tolerance.
+	 */
+	public HitTester getHitTester() {
+		return hitTester;
+	}
+
+	/**
+	 * Adds a shape on top of the others, or replaces it if the item is already
+	 * added.
+	 *
+	 * @param item the item that the shape belongs to, returned by the picks.
+	 * @param path the shape.
+	 * @param transform the transformation of the shape, or null. It is copied.
+	 * @param filled whether the inside of the shape is picked.
+	 * @param lineWidth the width of the picked stroke, or 0 for no stroke.
+	 */
+	public void add(T item, CompiledPath path, Matrix transform, boolean filled,
+			double lineWidth) {
+		remove(item);
+		Entry entry = new Entry(path, filled, lineWidth, nextOrder++);
+		if (transform != null) {
+			entry.transform = new Matrix(transform);
+		}
+		entries.put(item, entry);
+		updateBounds(item, entry);
+	}
+
+	/**
+	 * Changes the transformation of a shape.
+	 *
+	 * @param transform the new transformation, or null. It is copied.
+	 * @return false if the item is not added.
+	 */
+	public boolean setTransform(T item, Matrix transform) {
+		Entry entry = entries.get(item);
+		if (entry == null) {
+			return false;
+		}
+		if (transform == null) {
+			entry.transform = null;
+		} else if (entry.transform == null) {
+			entry.transform = new Matrix(transform);
+		} else {
+			entry.transform.set(transform);
+		}
+		updateBounds(item, entry);
+		return true;
+	}
+
+	/**
+	 * Puts a shape above all the others.
+	 *
+	 * @return false if the item is not added.
+	 */
+	public boolean bringToFront(T item) {
+		Entry entry = entries.get(item);
+		if (entry == null) {
+			return false;
+		}
+		entry.order = nextOrder++;
+		return true;
+	}
+
+	/**
+	 * Removes a shape.
+	 *
+	 * @return false if the item is not added.
+	 */
+	public boolean remove(T item) {
+		if (entries.remove(item) == null) {
+			return false;
+		}
+		if (!index.remove(item)) {
+			unbounded.remove(item);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all the shapes.
+	 */
+	public void clear() {
+		entries.clear();
+		unbounded.clear();
+		index.clear();
+	}
+
+	/**
+	 * Gets the number of shapes.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the top-most shape under the given point.
+	 *
+	 * @return the item of the shape, or null if there is none.
+	 */
+	public T pick(double x, double y) {
+		collector.start(x, y, null);
+		index.queryPoint(x, y, collector);
+		for (int i = 0; i < unbounded.size(); i++) {
+			collector.visit(unbounded.get(i));
+		}
+		return collector.finish();
+	}
+
+	/**
+	 * Gets all the shapes under the given point, the top-most first.
+	 *
+	 * @param result the list to add the items to; it is not cleared first.
+	 * @return the number of items found.
+	 */
+	public int pickAll(double x, double y, List<? super T> result) {
+		List<T> found = new ArrayList<T>();
+		collector.start(x, y, found);
+		index.queryPoint(x, y, collector);
+		for (int i = 0; i < unbounded.size(); i++) {
+			collector.visit(unbounded.get(i));
+		}
+		collector.finish();
+		// Sorts by decreasing order; few shapes are under a point.
+		for (int i = 1; i < found.size(); i++) {
+			T item = found.get(i);
+			int order = entries.get(item).order;
+			int j = i;
+			while (j > 0 && entries.get(found.get(j - 1)).order < order) {
+				found.set(j, found.get(j - 1));
+				j--;
+			}
+			found.set(j, item);
+		}
+		result.addAll(found);
+		return found.size();
+	}
+
+	private void updateBounds(T item, Entry entry) {
+		Rectangle pathBounds = entry.path.getBounds();
+		if (pathBounds == null) {
+			index.remove(item);
+			if (!unbounded.contains(item)) {
+				unbounded.add(item);
+			}
+			return;
+		}
+		double half = entry.lineWidth / 2;
+		double x0 = pathBounds.getX() - half, y0 = pathBounds.getY() - half;
+		double x1 = pathBounds.getRight() + half;
+		double y1 = pathBounds.getBottom() + half;
+		Matrix m = entry.transform;
+		if (m == null) {
+			bounds.set(x0, y0, x1 - x0, y1 - y0);
+		} else {
+			// The bounds of the transformed corners.
+			double ax = m.getM11() * x0, bx = m.getM11() * x1;
+			double ay = m.getM12() * x0, by = m.getM12() * x1;
+			double cx = m.getM21() * y0, dx = m.getM21() * y1;
+			double cy = m.getM22() * y0, dy = m.getM22() * y1;
+			double left = Math.min(ax, bx) + Math.min(cx, dx) + m.getDx();
+			double right = Math.max(ax, bx) + Math.max(cx, dx) + m.getDx();
+			double top = Math.min(ay, by) + Math.min(cy, dy) + m.getDy();
+			double bottom = Math.max(ay, by) + Math.max(cy, dy) + m.getDy();
+			bounds.set(left, top, right - left, bottom - top);
+		}
+		unbounded.remove(item);
+		index.insert(item, bounds);
+	}
+
+	private boolean hits(Entry entry, double x, double y) {
+		Matrix m = entry.transform;
+		if (entry.filled && (m == null
+				? hitTester.contains(entry.path, x, y, FillRule.NON_ZERO)
+				: hitTester.contains(entry.path, m, x, y, FillRule.NON_ZERO))) {
+			return true;
+		}
+		return entry.lineWidth > 0 && (m == null
+				? hitTester.strokeContains(entry.path, x, y, entry.lineWidth)
+				: hitTester.strokeContains(entry.path, m, x, y, entry.lineWidth));
+	}
+
+	/**
+	 * A shape and how it is picked.
+	 */
+	private static final class Entry {
+		private final CompiledPath path;
+		private final boolean filled;
+		private final double lineWidth;
+		private Matrix transform;
+		private int order;
+
+		private Entry(CompiledPath path, boolean filled, double lineWidth,
+				int order) {
+			this.path = path;
+			this.filled = filled;
+			this.lineWidth = lineWidth;
+			this.order = order;
+		}
+	}
+
+	/**
+	 * Tests the candidates of a pick, keeping the top-most hit.
+	 */
+	private final class Collector implements SpatialVisitor<T> {
+		private double x, y;
+		private List<T> found;
+		private T top;
+		private int topOrder;
+
+		private void start(double x, double y, List<T> found) {
+			this.x = x;
+			this.y = y;
+			this.found = found;
+			top = null;
+			topOrder = Integer.MIN_VALUE;
+		}
+
+		private T finish() {
+			T result = top;
+			top = null;
+			found = null;
+			return result;
+		}
+
+		@Override
+		public boolean visit(T item) {
+			Entry entry = entries.get(item);
+			if (found == null && entry.order <= topOrder) {
+				return true;
+			}
+			if (hits(entry, x, y)) {
+				if (found != null) {
+					found.add(item);
+				}
+				if (entry.order > topOrder) {
+					top = item;
+					topOrder = entry.order;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.spatial;
+
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.List;
+
+/**
+ * An index of items by their bounding rectangles. Items are compared with
+ * equals, and an item can only be in an index once. Queries include the items
+ * whose bounds only touch the query.
+ *
+ * @see LooseQuadtree
+ * @see UniformGrid
+ */
+public interface SpatialIndex<T> {
+	/**
+	 * Adds an item, or moves it if it is already in the index.
+	 *
+	 * @param item the item to add.
+	 * @param x left of the bounds of the item.
+	 * @param y top of the bounds of the item.
+	 * @param width width of the bounds of the item.
+	 * @param height height of the bounds of the item.
+	 */
+	void insert(T item, double x, double y, double width, double height);
+
+	/**
+	 * Adds an item, or moves it if it is already in the index.
+	 */
+	void insert(T item, Rectangle bounds);
+
+	/**
+	 * Moves an item that is in the index. Moving an item by a small distance is
+	 * cheaper than removing it and adding it again.
+	 *
+	 * @return false if the item is not in the index.
+	 */
+	boolean update(T item, double x, double y, double width, double height);
+
+	/**
+	 * Removes an item.
+	 *
+	 * @return false if the item is not in the index.
+	 */
+	boolean remove(T item);
+
+	/**
+	 * Checks whether an item is in the index.
+	 */
+	boolean contains(T item);
+
+	/**
+	 * Removes all the items.
+	 */
+	void clear();
+
+	/**
+	 * Gets the number of items in the index.
+	 */
+	int size();
+
+	/**
+	 * Visits the items whose bounds overlap the given rectangle.
+	 *
+	 * @return the number of items visited.
+	 */
+	int query(double x, double y, double width, double height,
+			SpatialVisitor<? super T> visitor);
+
+	/**
+	 * Visits the items whose bounds overlap the given rectangle, such as the
+	 * view rectangle of a surface.
+	 *
+	 * @return the number of items visited.
+	 */
+	int query(Rectangle rect, SpatialVisitor<? super T> visitor);
+
+	/**
+	 * Visits the items whose bounds contain the given point, such as the
+	 * position of the mouse.
+	 *
+	 * @return the number of items visited.
+	 */
+	int queryPoint(double x, double y, SpatialVisitor<? super T> visitor);
+
+	/**
+	 * Finds the items whose bounds are the nearest to the given point, the
+	 * nearest first. Items whose bounds contain the point are at distance 0.
+	 *
+	 * @param x
+	 * @param y
+	 * @param count the number of items to find.
+	 * @param result the list to add the items to; it is not cleared first.
+	 * @return the number of items found.
+	 */
+	int nearest(double x, double y, int count, List<? super T> result);
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.spatial;
+
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A grid of square cells, stored in a hash table so that the world needs no
+ * bounds. An item is stored in every cell that its bounds overlap, which
+ * suits many items of about the size of a cell or smaller, such as
+ * particles.
+ * <p>
+ * Items that overlap more than {@link #MAX_CELLS_PER_ITEM} cells are kept
+ * aside and tested by every query. Cells are kept when they become empty.
+ * Queries do not allocate, and must not be nested.
+ */
+public class UniformGrid<T> implements SpatialIndex<T> {
+	/** The largest number of cells an item is stored in. */
+	public static final int MAX_CELLS_PER_ITEM = 64;
+
+	private final double cellSize;
+	private final Map<T, Entry<T>> entries = new HashMap<T, Entry<T>>();
+	private final Cell<T> large = new Cell<T>(0, 0);
+	private final NearestItems nearest = new NearestItems();
+	private Cell<T>[] buckets;
+	private int cellCount;
+	private int minCellX = Integer.MAX_VALUE, minCellY = Integer.MAX_VALUE;
+	private int maxCellX = Integer.MIN_VALUE, maxCellY = Integer.MIN_VALUE;
+	private int stamp;
+	private int visitCount;
+
+	/**
+	 * Creates a grid.
+	 *
+	 * @param cellSize the width and height of the cells.
+	 */
+	public UniformGrid(double cellSize) {
+		if (!(cellSize > 0)) {
+			throw new IllegalArgumentException("cellSize must be positive: "
+					+ cellSize);
+		}
+		this.cellSize = cellSize;
+		this.buckets = Cell.<T>newArray(256);
+	}
+
+	/**
+	 * Gets the width and height of the cells.
+	 */
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	@Override
+	public void insert(T item, double x, double y, double width,
+			double height) {
+		Entry<T> entry = entries.get(item);
+		if (entry != null) {
+			update(entry, x, y, width, height);
+			return;
+		}
+		entry = new Entry<T>(item);
+		entries.put(item, entry);
+		entry.set(x, y, width, height);
+		setCells(entry);
+		addToCells(entry);
+	}
+
+	@Override
+	public void insert(T item, Rectangle bounds) {
+		insert(item, bounds.getX(), bounds.getY(), bounds.getWidth(),
+				bounds.getHeight());
+	}
+
+	@Override
+	public boolean update(T item, double x, double y, double width,
+			double height) {
+		Entry<T> entry = entries.get(item);
+		if (entry == null) {
+			return false;
+		}
+		update(entry, x, y, width, height);
+		return true;
+	}
+
+	@Override
+	public boolean remove(T item) {
+		Entry<T> entry = entries.remove(item);
+		if (entry == null) {
+			return false;
+		}
+		removeFromCells(entry);
+		return true;
+	}
+
+	@Override
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	@Override
+	public void clear() {
+		entries.clear();
+		large.clear();
+		buckets = Cell.<T>newArray(256);
+		cellCount = 0;
+		minCellX = minCellY = Integer.MAX_VALUE;
+		maxCellX = maxCellY = Integer.MIN_VALUE;
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public int query(double x, double y, double width, double height,
+			SpatialVisitor<? super T> visitor) {
+		return query(x, y, width, height, false, visitor);
+	}
+
+	@Override
+	public int query(Rectangle rect, SpatialVisitor<? super T> visitor) {
+		return query(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight(),
+				visitor);
+	}
+
+	@Override
+	public int queryPoint(double x, double y,
+			SpatialVisitor<? super T> visitor) {
+		return query(x, y, 0, 0, true, visitor);
+	}
+
+	@Override
+	public int nearest(double x, double y, int count, List<? super T> result) {
+		if (count <= 0 || entries.isEmpty()) {
+			return 0;
+		}
+		nearest.reset(count);
+		stamp++;
+		for (int i = 0; i < large.count; i++) {
+			offer(large.entries[i], x, y);
+		}
+		int cx = cell(x), cy = cell(y);
+		// The rings nearer than the occupied cells are empty.
+		int firstRing = Math.max(Math.max(minCellX - cx, cx - maxCellX),
+				Math.max(minCellY - cy, cy - maxCellY));
+		for (int ring = Math.max(0, firstRing); cellCount > 0; ring++) {
+			int left = cx - ring, right = cx + ring, top = cy - ring,
+					bottom = cy + ring;
+			if (left < minCellX && right > maxCellX && top < minCellY
+					&& bottom > maxCellY) {
+				break;
+			}
+			int fromX = Math.max(left, minCellX), toX = Math.min(right, maxCellX);
+			int fromY = Math.max(top + 1, minCellY);
+			int toY = Math.min(bottom - 1, maxCellY);
+			for (int i = fromX; i <= toX; i++) {
+				offerCell(findCell(i, top), x, y);
+				if (ring > 0) {
+					offerCell(findCell(i, bottom), x, y);
+				}
+			}
+			for (int j = fromY; j <= toY; j++) {
+				offerCell(findCell(left, j), x, y);
+				offerCell(findCell(right, j), x, y);
+			}
+			// Items not found yet do not overlap the cells searched so far.
+			double reach = Math.min(Math.min(x - left * cellSize,
+					(right + 1) * cellSize - x), Math.min(y - top * cellSize,
+					(bottom + 1) * cellSize - y));
+			if (nearest.getMaxDistance() <= reach * reach) {
+				break;
+			}
+		}
+		return nearest.<T>drainTo(result);
+	}
+
+	private int query(double x, double y, double width, double height,
+			boolean point, SpatialVisitor<? super T> visitor) {
+		visitCount = 0;
+		stamp++;
+		if (!visitCell(large, x, y, width, height, point, visitor)) {
+			return visitCount;
+		}
+		int left = Math.max(minCellX, cell(x));
+		int top = Math.max(minCellY, cell(y));
+		int right = Math.min(maxCellX, cell(x + width));
+		int bottom = Math.min(maxCellY, cell(y + height));
+		if (left > right || top > bottom) {
+			return visitCount;
+		}
+		if ((double) (right - left + 1) * (bottom - top + 1) > cellCount) {
+			// Fewer cells exist than the query covers.
+			for (int i = 0; i < buckets.length; i++) {
+				for (Cell<T> cell = buckets[i]; cell != null; cell = cell.next) {
+					if (cell.x >= left && cell.x <= right && cell.y >= top
+							&& cell.y <= bottom && !visitCell(cell, x, y, width,
+							height, point, visitor)) {
+						return visitCount;
+					}
+				}
+			}
+			return visitCount;
+		}
+		for (int j = top; j <= bottom; j++) {
+			for (int i = left; i <= right; i++) {
+				Cell<T> cell = findCell(i, j);
+				if (cell != null && !visitCell(cell, x, y, width, height, point,
+						visitor)) {
+					return visitCount;
+				}
+			}
+		}
+		return visitCount;
+	}
+
+	/**
+	 * Visits the entries of a cell that match a query and were not visited yet.
+	 *
+	 * @return false if the visitor stopped the query.
+	 */
+	private boolean visitCell(Cell<T> cell, double x, double y, double width,
+			double height, boolean point, SpatialVisitor<? super T> visitor) {
+		for (int i = 0; i < cell.count; i++) {
+			Entry<T> entry = cell.entries[i];
+			if (entry.stamp == stamp) {
+				continue;
+			}
+			entry.stamp = stamp;
+			if (point ? entry.contains(x, y) : entry.intersects(x, y, width, height)) {
+				visitCount++;
+				if (!visitor.visit(entry.item)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void offerCell(Cell<T> cell, double x, double y) {
+		if (cell != null) {
+			for (int i = 0; i < cell.count; i++) {
+				offer(cell.entries[i], x, y);
+			}
+		}
+	}
+
+	private void offer(Entry<T> entry, double x, double y) {
+		if (entry.stamp != stamp) {
+			entry.stamp = stamp;
+			nearest.offer(entry.item, NearestItems.distance(x, y, entry.x, entry.y,
+					entry.width, entry.height));
+		}
+	}
+
+	private void update(Entry<T> entry, double x, double y, double width,
+			double height) {
+		int left = entry.left, top = entry.top, right = entry.right,
+				bottom = entry.bottom;
+		boolean wasLarge = entry.isLarge();
+		entry.set(x, y, width, height);
+		setCells(entry);
+		if (left != entry.left || top != entry.top || right != entry.right
+				|| bottom != entry.bottom || wasLarge != entry.isLarge()) {
+			int newLeft = entry.left, newTop = entry.top, newRight = entry.right,
+					newBottom = entry.bottom;
+			entry.setCells(left, top, right, bottom);
+			removeFromCells(entry);
+			entry.setCells(newLeft, newTop, newRight, newBottom);
+			addToCells(entry);
+		}
+	}
+
+	private void setCells(Entry<T> entry) {
+		entry.setCells(cell(entry.x), cell(entry.y), cell(entry.x + entry.width),
+				cell(entry.y + entry.height));
+	}
+
+	private void addToCells(Entry<T> entry) {
+		if (entry.isLarge()) {
+			large.add(entry);
+			return;
+		}
+		for (int j = entry.top; j <= entry.bottom; j++) {
+			for (int i = entry.left; i <= entry.right; i++) {
+				Cell<T> cell = findCell(i, j);
+				if (cell == null) {
+					cell = createCell(i, j);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	private void removeFromCells(Entry<T> entry) {
+		if (entry.isLarge()) {
+			large.remove(entry);
+			return;
+		}
+		for (int j = entry.top; j <= entry.bottom; j++) {
+			for (int i = entry.left; i <= entry.right; i++) {
+				findCell(i, j).remove(entry);
+			}
+		}
+	}
+
+	private int cell(double coordinate) {
+		double cell = Math.floor(coordinate / cellSize);
+		return cell < -(1 << 30) ? -(1 << 30) : cell > (1 << 30) ? (1 << 30)
+				: (int) cell;
+	}
+
+	private static int hash(int x, int y) {
+		int h = x * 73856093 ^ y * 19349663;
+		return h ^ (h >>> 16);
+	}
+
+	private Cell<T> findCell(int x, int y) {
+		for (Cell<T> cell = buckets[hash(x, y) & (buckets.length - 1)];
+				cell != null; cell = cell.next) {
+			if (cell.x == x && cell.y == y) {
+				return cell;
+			}
+		}
+		return null;
+	}
+
+	private Cell<T> createCell(int x, int y) {
+		if (cellCount >= buckets.length) {
+			Cell<T>[] old = buckets;
+			buckets = Cell.<T>newArray(old.length * 2);
+			for (int i = 0; i < old.length; i++) {
+				for (Cell<T> cell = old[i], next; cell != null; cell = next) {
+					next = cell.next;
+					int index = hash(cell.x, cell.y) & (buckets.length - 1);
+					cell.next = buckets[index];
+					buckets[index] = cell;
+				}
+			}
+		}
+		Cell<T> cell = new Cell<T>(x, y);
+		int index = hash(x, y) & (buckets.length - 1);
+		cell.next = buckets[index];
+		buckets[index] = cell;
+		cellCount++;
+		minCellX = Math.min(minCellX, x);
+		minCellY = Math.min(minCellY, y);
+		maxCellX = Math.max(maxCellX, x);
+		maxCellY = Math.max(maxCellY, y);
+		return cell;
+	}
+
+	/**
+	 * An item, its bounds and the range of cells it is stored in.
+	 */
+	private static final class Entry<T> {
+		private final T item;
+		private double x, y, width, height;
+		private int left, top, right, bottom;
+		private int stamp;
+
+		@SuppressWarnings("unchecked")
+		private static <T> Entry<T>[] newArray(int length) {
+			return (Entry<T>[]) new Entry<?>[length];
+		}
+
+		private Entry(T item) {
+			this.item = item;
+		}
+
+		private void set(double x, double y, double width, double height) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+
+		private void setCells(int left, int top, int right, int bottom) {
+			this.left = left;
+			this.top = top;
+			this.right = right;
+			this.bottom = bottom;
+		}
+
+		private boolean isLarge() {
+			return (double) (right - left + 1) * (bottom - top + 1)
+					> MAX_CELLS_PER_ITEM;
+		}
+
+		private boolean intersects(double x, double y, double width,
+				double height) {
+			return x <= this.x + this.width && x + width >= this.x
+					&& y <= this.y + this.height && y + height >= this.y;
+		}
+
+		private boolean contains(double x, double y) {
+			return x >= this.x && y >= this.y && x <= this.x + width
+					&& y <= this.y + height;
+		}
+	}
+
+	/**
+	 * The entries stored in a cell.
+	 */
+	private static final class Cell<T> {
+		private final int x, y;
+		private Cell<T> next;
+		private Entry<T>[] entries = Entry.<T>newArray(4);
+		private int count;
+
+		@SuppressWarnings("unchecked")
+		private static <T> Cell<T>[] newArray(int length) {
+			return (Cell<T>[]) new Cell<?>[length];
+		}
+
+		private Cell(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		private void add(Entry<T> entry) {
+			if (count == entries.length) {
+				Entry<T>[] grown = Entry.<T>newArray(count * 2);
+				System.arraycopy(entries, 0, grown, 0, count);
+				entries = grown;
+			}
+			entries[count++] = entry;
+		}
+
+		private void remove(Entry<T> entry) {
+			for (int i = 0; i < count; i++) {
+				if (entries[i] == entry) {
+					entries[i] = entries[--count];
+					entries[count] = null;
+					return;
+				}
+			}
+		}
+
+		private void clear() {
+			for (int i = 0; i < count; i++) {
+				entries[i] = null;
+			}
+			count = 0;
+		}
+	}
+}
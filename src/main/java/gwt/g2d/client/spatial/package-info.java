@@ -0,0 +1,5 @@
+/**
+ * Contains spatial indexes that find the objects in a region or near a point
+ * without looping over all of them, for culling and picking.
+ */
+package gwt.g2d.client.spatial;
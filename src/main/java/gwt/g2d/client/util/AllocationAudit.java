@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the objects allocated by the library, per allocation site.
+ * <p>
+ * The methods of the library that return a new vector, matrix or rectangle,
+ * such as {@link gwt.g2d.client.math.Vector2#add(gwt.g2d.client.math.Vector2)}
+ * or {@link gwt.g2d.client.graphics.Surface#getSize()}, record themselves
+ * here, as do the pools when they have to create an object. The audit is
+ * disabled by default, in which case recording costs a single test. Enable it
+ * for a few frames to find which calls of a hot path should be replaced by
+ * their mutable counterpart, a {@link Pool} or a
+ * {@link gwt.g2d.client.math.FrameArena}.
+ */
+public final class AllocationAudit {
+	private static boolean enabled;
+	private static final Map<String, int[]> counts = new HashMap<String, int[]>();
+	private static int totalCount;
+
+	private AllocationAudit() {
+	}
+
+	/**
+	 * Checks whether allocations are being counted.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops counting allocations. The counts are kept until
+	 * {@link #reset()} is called.
+	 */
+	public static void setEnabled(boolean enabled) {
+		AllocationAudit.enabled = enabled;
+	}
+
+	/**
+	 * Records an allocation at the given site, if the audit is enabled.
+	 *
+	 * @param site the name of the allocation site, usually the class and method.
+	 */
+	public static void record(String site) {
+		if (!enabled) {
+			return;
+		}
+		int[] count = counts.get(site);
+		if (count == null) {
+			count = new int[1];
+			counts.put(site, count);
+		}
+		count[0]++;
+		totalCount++;
+	}
+
+	/**
+	 * Gets the number of allocations recorded at the given site.
+	 */
+	public static int getCount(String site) {
+		int[] count = counts.get(site);
+		return count == null ? 0 : count[0];
+	}
+
+	/**
+	 * Gets the number of allocations recorded at all sites.
+	 */
+	public static int getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Gets the sites that allocated, the most allocating first.
+	 */
+	public static List<String> getSites() {
+		List<String> sites = new ArrayList<String>(counts.keySet());
+		Collections.sort(sites, new Comparator<String>() {
+			@Override
+			public int compare(String o1, String o2) {
+				int c = getCount(o2) - getCount(o1);
+				return c != 0 ? c : o1.compareTo(o2);
+			}
+		});
+		return sites;
+	}
+
+	/**
+	 * Gets a report with one line per site, the most allocating first.
+	 */
+	public static String getReport() {
+		StringBuilder report = new StringBuilder();
+		for (String site : getSites()) {
+			report.append(site).append(": ").append(getCount(site)).append('\n');
+		}
+		return report.append("total: ").append(totalCount).toString();
+	}
+
+	/**
+	 * Clears the recorded counts.
+	 */
+	public static void reset() {
+		counts.clear();
+		totalCount = 0;
+	}
+}
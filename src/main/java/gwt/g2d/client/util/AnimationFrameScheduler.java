@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * Schedules frames with the requestAnimationFrame of the browser, so that
+ * they are synchronized with the display and throttled in background tabs.
+ * Browsers without requestAnimationFrame fall back to a 16ms timeout.
+ *
+ * The visibility of the page is tracked with the Page Visibility API when the
+ * browser supports it; otherwise the page is always considered visible.
+ */
+public class AnimationFrameScheduler implements FrameScheduler {
+	private JavaScriptObject handle;
+	private JavaScriptObject visibilityListener;
+	private FrameCallback callback;
+	private VisibilityCallback visibilityCallback;
+
+	@Override
+	public void requestFrame(FrameCallback callback) {
+		this.callback = callback;
+		if (handle == null) {
+			handle = requestFrameImpl();
+		}
+	}
+
+	@Override
+	public void cancelFrame() {
+		callback = null;
+		if (handle != null) {
+			cancelFrameImpl(handle);
+			handle = null;
+		}
+	}
+
+	@Override
+	public native boolean isHidden() /*-{
+		var doc = $doc;
+		return !!(doc.hidden || doc.webkitHidden || doc.mozHidden
+				|| doc.msHidden);
+	}-*/;
+
+	@Override
+	public void setVisibilityCallback(VisibilityCallback callback) {
+		visibilityCallback = callback;
+		if (callback != null && visibilityListener == null) {
+			visibilityListener = addVisibilityListener();
+		} else if (callback == null && visibilityListener != null) {
+			removeVisibilityListener(visibilityListener);
+			visibilityListener = null;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private void onFrame() {
+		handle = null;
+		FrameCallback pending = callback;
+		callback = null;
+		if (pending != null) {
+			pending.onFrame();
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private void onVisibilityChange() {
+		if (visibilityCallback != null) {
+			visibilityCallback.onVisibilityChange(isHidden());
+		}
+	}
+
+	private native JavaScriptObject requestFrameImpl() /*-{
+		var self = this;
+		var fn = function() {
+			self.@gwt.g2d.client.util.AnimationFrameScheduler::onFrame()();
+		};
+		var w = $wnd;
+		var raf = w.requestAnimationFrame || w.webkitRequestAnimationFrame
+				|| w.mozRequestAnimationFrame || w.msRequestAnimationFrame;
+		if (raf) {
+			return {id: raf.call(w, $entry(fn)), timeout: false};
+		}
+		return {id: w.setTimeout($entry(fn), 16), timeout: true};
+	}-*/;
+
+	private static native void cancelFrameImpl(JavaScriptObject handle) /*-{
+		var w = $wnd;
+		if (handle.timeout) {
+			w.clearTimeout(handle.id);
+			return;
+		}
+		var caf = w.cancelAnimationFrame || w.webkitCancelAnimationFrame
+				|| w.webkitCancelRequestAnimationFrame || w.mozCancelAnimationFrame
+				|| w.msCancelAnimationFrame;
+		if (caf) {
+			caf.call(w, handle.id);
+		}
+	}-*/;
+
+	private native JavaScriptObject addVisibilityListener() /*-{
+		var self = this, doc = $doc;
+		var listener = {
+			type: doc.hidden !== undefined ? 'visibilitychange'
+					: doc.webkitHidden !== undefined ? 'webkitvisibilitychange'
+					: doc.mozHidden !== undefined ? 'mozvisibilitychange'
+					: 'msvisibilitychange',
+			fn: $entry(function() {
+				self.@gwt.g2d.client.util.AnimationFrameScheduler::onVisibilityChange()();
+			})
+		};
+		if (doc.addEventListener) {
+			doc.addEventListener(listener.type, listener.fn, false);
+		}
+		return listener;
+	}-*/;
+
+	private static native void removeVisibilityListener(
+			JavaScriptObject listener) /*-{
+		var doc = $doc;
+		if (doc.removeEventListener) {
+			doc.removeEventListener(listener.type, listener.fn, false);
+		}
+	}-*/;
+}
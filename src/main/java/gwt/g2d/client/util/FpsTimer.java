@@ -15,8 +15,6 @@
  */
 package gwt.g2d.client.util;
 
-import java.util.LinkedList;
-
 import com.google.gwt.user.client.Timer;
 
 /**
@@ -26,22 +24,17 @@ import com.google.gwt.user.client.Timer;
  * The implementation of this class is based on part of utils3d.js in WebGL's 
  * Hello World demo.
  * 
+ * The time of each frame and of each update is recorded in a 
+ * {@link FrameStats}, which gives the frame rate as well as the distribution 
+ * of the frame times. For a loop synchronized with the display, see 
+ * {@link GameLoop}.
+ * 
  * @author hao1300@gmail.com
  */
 public abstract class FpsTimer {
-	private static final int FRAMERATE_UPDATE_INTERVAL = 500; 
+	private static final int STATS_CAPACITY = 120;
 	private FpsTimerImpl timer = new FpsTimerImpl();
-	private Timer fpsUpdateTimer = new Timer() {
-		@Override
-		public void run() {
-			float tot = 0;
-	    for (Float fps : timer.framerates) {
-	      tot += fps;
-	    }
-	    fps = tot / timer.framerates.size();
-		}
-	};
-	private float fps;
+	private FrameStats stats;
 	private int desiredFps;
 	
 	public FpsTimer() {
@@ -50,6 +43,7 @@ public abstract class FpsTimer {
 	
 	public FpsTimer(int desiredFps) {
 		this.desiredFps = desiredFps;
+		this.stats = new FrameStats(STATS_CAPACITY, desiredFps);
 	}
 	
 	/**
@@ -58,7 +52,6 @@ public abstract class FpsTimer {
 	public void start() {
 		timer.renderTime = System.currentTimeMillis();
 		timer.scheduleRepeating(1000 / desiredFps);
-		fpsUpdateTimer.scheduleRepeating(FRAMERATE_UPDATE_INTERVAL);
 	}
 
 	/**
@@ -66,7 +59,6 @@ public abstract class FpsTimer {
 	 */
 	public void cancel() {
 		timer.cancel();
-		fpsUpdateTimer.cancel();
 	}
 
 	/**
@@ -76,6 +68,7 @@ public abstract class FpsTimer {
 	 */
 	public void setDesiredFps(int desiredFps) {
 		this.desiredFps = desiredFps;
+		stats.setDesiredFps(desiredFps);
 	}
 
 	/**
@@ -89,7 +82,14 @@ public abstract class FpsTimer {
 	 * Gets the current FPS, which may be different from the desired fps.
 	 */
 	public float getFps() {
-		return fps;
+		return (float) stats.getFps();
+	}
+	
+	/**
+	 * Gets the statistics of the recent frames.
+	 */
+	public FrameStats getStats() {
+		return stats;
 	}
 	
 	/**
@@ -101,20 +101,15 @@ public abstract class FpsTimer {
 	 * Helper class for checking the FPS.
 	 */
 	private class FpsTimerImpl extends Timer {
-		private LinkedList<Float> framerates = new LinkedList<Float>();
 		private long renderTime;
     
 		@Override
 		public void run() {
 			long newTime = System.currentTimeMillis();
-			int t = (int) (newTime - this.renderTime);
-			float framerate = 1000f / t;
-			framerates.addLast(framerate);
-			while (framerates.size() > desiredFps) {
-				framerates.removeFirst();
-			}
+			long frameTime = newTime - renderTime;
 			renderTime = newTime;
 			update();
+			stats.addFrame(frameTime, System.currentTimeMillis() - newTime, 0);
 		}
 	}
 }
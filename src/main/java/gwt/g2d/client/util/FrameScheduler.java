@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+/**
+ * Schedules the frames of a {@link GameLoop}.
+ *
+ * @see AnimationFrameScheduler
+ * @see ManualFrameScheduler
+ */
+public interface FrameScheduler {
+
+	/**
+	 * Called when a requested frame is due.
+	 */
+	interface FrameCallback {
+		void onFrame();
+	}
+
+	/**
+	 * Called when the page becomes hidden or visible.
+	 */
+	interface VisibilityCallback {
+		void onVisibilityChange(boolean hidden);
+	}
+
+	/**
+	 * Requests the callback to be called once, on the next frame. A pending
+	 * request is replaced by the new one.
+	 */
+	void requestFrame(FrameCallback callback);
+
+	/**
+	 * Cancels the pending frame request, if any.
+	 */
+	void cancelFrame();
+
+	/**
+	 * Checks whether the page is currently hidden.
+	 */
+	boolean isHidden();
+
+	/**
+	 * Sets the callback to be notified when the page becomes hidden or visible.
+	 *
+	 * @param callback the callback, or null to stop being notified.
+	 */
+	void setVisibilityCallback(VisibilityCallback callback);
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+import java.util.Arrays;
+
+/**
+ * Statistics over the most recent frames, kept in ring buffers of primitive
+ * values so that recording a frame does not allocate.
+ * <p>
+ * For each frame, the total frame time and the time spent updating and
+ * rendering are recorded in milliseconds. The minimum, average, maximum and
+ * percentiles of the frame times are computed over the window of recorded
+ * frames. The percentiles sort a copy of the window, which is done at most
+ * once per recorded frame however many percentiles are read.
+ * <p>
+ * A frame that took longer than the desired frame time counts as the number
+ * of frames that were skipped in the meantime: a 50ms frame at 60 frames per
+ * second drops two frames.
+ */
+public class FrameStats {
+	private final double[] frameTimes, updateTimes, renderTimes, sorted;
+	private int head, count;
+	private double frameTimeSum, updateTimeSum, renderTimeSum;
+	private boolean sortedValid;
+	private double desiredFrameTime;
+	private int windowDroppedFrames;
+	private long frameCount, droppedFrameCount;
+
+	/**
+	 * Creates statistics over the last 120 frames, for a desired frame rate of
+	 * 60 frames per second.
+	 */
+	public FrameStats() {
+		this(120, 60);
+	}
+
+	/**
+	 * Creates statistics over the given number of frames.
+	 *
+	 * @param capacity the number of frames in the window.
+	 * @param desiredFps the frame rate used to count dropped frames.
+	 */
+	public FrameStats(int capacity, int desiredFps) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: "
+					+ capacity);
+		}
+		frameTimes = new double[capacity];
+		updateTimes = new double[capacity];
+		renderTimes = new double[capacity];
+		sorted = new double[capacity];
+		setDesiredFps(desiredFps);
+	}
+
+	/**
+	 * Gets the maximum number of frames in the window.
+	 */
+	public int getCapacity() {
+		return frameTimes.length;
+	}
+
+	/**
+	 * Gets the number of frames currently in the window.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Sets the frame rate used to count dropped frames. The frames already in
+	 * the window are counted again.
+	 */
+	public void setDesiredFps(int desiredFps) {
+		desiredFrameTime = desiredFps > 0 ? 1000.0 / desiredFps : 0;
+		windowDroppedFrames = 0;
+		for (int i = 0; i < count; i++) {
+			windowDroppedFrames += droppedFrames(frameTimes[index(i)]);
+		}
+	}
+
+	/**
+	 * Gets the desired frame time, in milliseconds.
+	 */
+	public double getDesiredFrameTime() {
+		return desiredFrameTime;
+	}
+
+	/**
+	 * Records a frame with no update and render split.
+	 */
+	public void addFrame(double frameTime) {
+		addFrame(frameTime, 0, 0);
+	}
+
+	/**
+	 * Records a frame.
+	 *
+	 * @param frameTime the time since the previous frame, in milliseconds.
+	 * @param updateTime the time spent updating during the frame.
+	 * @param renderTime the time spent rendering during the frame.
+	 */
+	public void addFrame(double frameTime, double updateTime,
+			double renderTime) {
+		int i;
+		if (count == frameTimes.length) {
+			i = head;
+			frameTimeSum -= frameTimes[i];
+			updateTimeSum -= updateTimes[i];
+			renderTimeSum -= renderTimes[i];
+			windowDroppedFrames -= droppedFrames(frameTimes[i]);
+			head = (head + 1) % frameTimes.length;
+		} else {
+			i = index(count);
+			count++;
+		}
+		frameTimes[i] = frameTime;
+		updateTimes[i] = updateTime;
+		renderTimes[i] = renderTime;
+		frameTimeSum += frameTime;
+		updateTimeSum += updateTime;
+		renderTimeSum += renderTime;
+		int dropped = droppedFrames(frameTime);
+		windowDroppedFrames += dropped;
+		droppedFrameCount += dropped;
+		frameCount++;
+		sortedValid = false;
+	}
+
+	/**
+	 * Removes all the frames from the window and resets the counters.
+	 */
+	public void reset() {
+		head = count = 0;
+		frameTimeSum = updateTimeSum = renderTimeSum = 0;
+		windowDroppedFrames = 0;
+		frameCount = droppedFrameCount = 0;
+		sortedValid = false;
+	}
+
+	/**
+	 * Gets the frame time at the given age in the window, 0 being the oldest
+	 * frame.
+	 */
+	public double getFrameTime(int age) {
+		return frameTimes[index(age)];
+	}
+
+	/**
+	 * Gets the update time at the given age in the window.
+	 */
+	public double getUpdateTime(int age) {
+		return updateTimes[index(age)];
+	}
+
+	/**
+	 * Gets the render time at the given age in the window.
+	 */
+	public double getRenderTime(int age) {
+		return renderTimes[index(age)];
+	}
+
+	/**
+	 * Gets the average frame rate over the window.
+	 */
+	public double getFps() {
+		return frameTimeSum > 0 ? 1000 * count / frameTimeSum : 0;
+	}
+
+	/**
+	 * Gets the average frame time, in milliseconds.
+	 */
+	public double getAverage() {
+		return count > 0 ? frameTimeSum / count : 0;
+	}
+
+	/**
+	 * Gets the average time spent updating per frame, in milliseconds.
+	 */
+	public double getAverageUpdateTime() {
+		return count > 0 ? updateTimeSum / count : 0;
+	}
+
+	/**
+	 * Gets the average time spent rendering per frame, in milliseconds.
+	 */
+	public double getAverageRenderTime() {
+		return count > 0 ? renderTimeSum / count : 0;
+	}
+
+	/**
+	 * Gets the shortest frame time in the window.
+	 */
+	public double getMin() {
+		return getPercentile(0);
+	}
+
+	/**
+	 * Gets the longest frame time in the window.
+	 */
+	public double getMax() {
+		return getPercentile(100);
+	}
+
+	/**
+	 * Gets the median frame time in the window.
+	 */
+	public double getP50() {
+		return getPercentile(50);
+	}
+
+	/**
+	 * Gets the 95th percentile of the frame times in the window.
+	 */
+	public double getP95() {
+		return getPercentile(95);
+	}
+
+	/**
+	 * Gets the 99th percentile of the frame times in the window.
+	 */
+	public double getP99() {
+		return getPercentile(99);
+	}
+
+	/**
+	 * Gets a percentile of the frame times in the window, using the nearest
+	 * rank.
+	 *
+	 * @param percentile from 0 to 100.
+	 * @return the frame time, or 0 if no frame was recorded.
+	 */
+	public double getPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		if (!sortedValid) {
+			for (int i = 0; i < count; i++) {
+				sorted[i] = frameTimes[index(i)];
+			}
+			Arrays.sort(sorted, 0, count);
+			sortedValid = true;
+		}
+		int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+		return sorted[Math.max(0, Math.min(count - 1, rank))];
+	}
+
+	/**
+	 * Gets the number of frames dropped within the window.
+	 */
+	public int getWindowDroppedFrameCount() {
+		return windowDroppedFrames;
+	}
+
+	/**
+	 * Gets the number of frames dropped since the last reset.
+	 */
+	public long getDroppedFrameCount() {
+		return droppedFrameCount;
+	}
+
+	/**
+	 * Gets the number of frames recorded since the last reset.
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	private int index(int age) {
+		return (head + age) % frameTimes.length;
+	}
+
+	private int droppedFrames(double frameTime) {
+		if (desiredFrameTime <= 0) {
+			return 0;
+		}
+		// Half a frame of tolerance absorbs the jitter of the timers.
+		return Math.max(0, (int) (frameTime / desiredFrameTime + 0.5) - 1);
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+import gwt.g2d.client.graphics.Color;
+import gwt.g2d.client.graphics.Surface;
+import gwt.g2d.client.graphics.TextAlign;
+import gwt.g2d.client.graphics.TextBaseline;
+import gwt.g2d.client.graphics.canvas.Context;
+
+/**
+ * Draws a {@link FrameStats} as a graph of the recent frame times, with a line
+ * at the desired frame time and a line of text with the main statistics.
+ * <p>
+ * Each frame is a bar, green when on time, yellow when it dropped a frame and
+ * red when it dropped more. The part of the bar spent updating is drawn in
+ * blue. Bars of the same color are filled as a single path. The text only
+ * changes every {@link #getTextInterval()} frames to keep the overlay cheap.
+ */
+public class FrameStatsOverlay {
+	private static final Color BACKGROUND = new Color(0, 0, 0, 0.6);
+	private static final Color ON_TIME = new Color(80, 200, 80);
+	private static final Color DROPPED_ONE = new Color(230, 200, 40);
+	private static final Color DROPPED_MORE = new Color(230, 60, 40);
+	private static final Color UPDATE = new Color(70, 130, 230);
+	private static final Color TEXT = new Color(255, 255, 255);
+	private static final int TEXT_HEIGHT = 14;
+
+	private final FrameStats stats;
+	private double x = 4, y = 4, width = 240, height = 80;
+	private double maxFrameTime;
+	private int textInterval = 30;
+	private long textFrame = -1;
+	private String text = "";
+
+	/**
+	 * Creates an overlay that draws the given statistics.
+	 */
+	public FrameStatsOverlay(FrameStats stats) {
+		this.stats = stats;
+	}
+
+	/**
+	 * Gets the statistics drawn by the overlay.
+	 */
+	public final FrameStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Sets the position and size of the overlay, in pixels.
+	 *
+	 * @return self to support chaining.
+	 */
+	public FrameStatsOverlay setBounds(double x, double y, double width,
+			double height) {
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		return this;
+	}
+
+	/**
+	 * Gets the frame time at the top of the graph, in milliseconds.
+	 *
+	 * @return the frame time, or 0 if it is three times the desired frame time.
+	 */
+	public double getMaxFrameTime() {
+		return maxFrameTime;
+	}
+
+	/**
+	 * Sets the frame time at the top of the graph, in milliseconds, or 0 to use
+	 * three times the desired frame time.
+	 *
+	 * @return self to support chaining.
+	 */
+	public FrameStatsOverlay setMaxFrameTime(double maxFrameTime) {
+		this.maxFrameTime = maxFrameTime;
+		return this;
+	}
+
+	/**
+	 * Gets the number of frames between two updates of the text.
+	 */
+	public int getTextInterval() {
+		return textInterval;
+	}
+
+	/**
+	 * Sets the number of frames between two updates of the text. Default: 30.
+	 *
+	 * @return self to support chaining.
+	 */
+	public FrameStatsOverlay setTextInterval(int textInterval) {
+		this.textInterval = Math.max(1, textInterval);
+		return this;
+	}
+
+	/**
+	 * Draws the overlay in device pixels, regardless of the current
+	 * transformation of the surface.
+	 */
+	public void draw(Surface surface) {
+		double desired = stats.getDesiredFrameTime();
+		double top = maxFrameTime > 0 ? maxFrameTime
+				: desired > 0 ? 3 * desired : 50;
+		double graphTop = y + TEXT_HEIGHT, graphHeight = height - TEXT_HEIGHT;
+		int capacity = stats.getCapacity(), count = stats.getCount();
+		double barWidth = width / capacity;
+		// The newest frame is always on the right edge.
+		double left = x + width - count * barWidth;
+
+		surface.save().setTransform(1, 0, 0, 1, 0, 0);
+		surface.setGlobalAlpha(1);
+		surface.setFillStyle(BACKGROUND).fillRectangle(x, y, width, height);
+
+		Context context = surface.getContext();
+		for (int pass = 0; pass < 4; pass++) {
+			context.beginPath();
+			for (int i = 0; i < count; i++) {
+				double frameTime = stats.getFrameTime(i);
+				double value;
+				if (pass == 3) {
+					value = stats.getUpdateTime(i);
+				} else if (pass == color(frameTime, desired)) {
+					value = frameTime;
+				} else {
+					continue;
+				}
+				double barHeight = Math.min(graphHeight, value / top * graphHeight);
+				context.rect(left + i * barWidth, graphTop + graphHeight - barHeight,
+						barWidth, barHeight);
+			}
+			surface.setFillStyle(pass == 0 ? ON_TIME : pass == 1 ? DROPPED_ONE
+					: pass == 2 ? DROPPED_MORE : UPDATE);
+			context.fill();
+		}
+
+		if (desired > 0 && desired < top) {
+			double lineY = graphTop + graphHeight - desired / top * graphHeight;
+			surface.setFillStyle(TEXT).fillRectangle(x, Math.floor(lineY), width, 1);
+		}
+
+		if (textFrame < 0 || stats.getFrameCount() - textFrame >= textInterval
+				|| stats.getFrameCount() < textFrame) {
+			text = "fps " + format(stats.getFps())
+					+ "  p50 " + format(stats.getP50())
+					+ "  p95 " + format(stats.getP95())
+					+ "  p99 " + format(stats.getP99())
+					+ "  max " + format(stats.getMax())
+					+ "  drop " + stats.getWindowDroppedFrameCount()
+					+ "  upd " + format(stats.getAverageUpdateTime())
+					+ "  rnd " + format(stats.getAverageRenderTime());
+			textFrame = stats.getFrameCount();
+		}
+		surface.setFillStyle(TEXT).setFont("10px monospace")
+				.setTextAlign(TextAlign.LEFT).setTextBaseline(TextBaseline.TOP)
+				.fillText(text, x + 2, y + 2, width - 4);
+		surface.restore();
+	}
+
+	/**
+	 * Gets the pass that draws a frame: 0 when on time, 1 when it dropped one
+	 * frame and 2 when it dropped more.
+	 */
+	private static int color(double frameTime, double desired) {
+		if (desired <= 0 || frameTime < 1.5 * desired) {
+			return 0;
+		}
+		return frameTime < 2.5 * desired ? 1 : 2;
+	}
+
+	/**
+	 * Formats a value with one decimal.
+	 */
+	private static String format(double value) {
+		long tenths = Math.round(value * 10);
+		return (tenths / 10) + "." + Math.abs(tenths % 10);
+	}
+}
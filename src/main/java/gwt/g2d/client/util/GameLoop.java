@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+/**
+ * A game loop that updates the simulation with a fixed time step and renders
+ * once per display frame.
+ * <p>
+ * On every frame, the time elapsed since the previous frame is added to an
+ * accumulator, and {@link #update(double)} is called once per whole time step
+ * in the accumulator. {@link #render(double)} is then called with the
+ * fraction of a time step left in the accumulator, so that the rendering can
+ * interpolate between the last two simulation states.
+ * <p>
+ * To avoid the spiral of death, where updates take longer than the time they
+ * simulate, the elapsed time of a frame is clamped to
+ * {@link #getMaxFrameTime()} and at most {@link #getMaxUpdatesPerFrame()}
+ * updates are run per frame. The time that could not be simulated is
+ * dropped, and the simulation runs slower than real time instead.
+ * <p>
+ * The loop pauses while the page is hidden, and resumes without simulating
+ * the time spent hidden.
+ * <p>
+ * Unlike {@link FpsTimer}, the frames come from a {@link FrameScheduler},
+ * by default requestAnimationFrame, and the time from a {@link Clock}. Using
+ * {@link ManualFrameScheduler} and {@link ManualClock} instead allows the loop
+ * to run deterministically outside of the browser.
+ */
+public abstract class GameLoop {
+	private final FrameScheduler scheduler;
+	private final Clock clock;
+	private final FrameScheduler.FrameCallback frameCallback =
+			new FrameScheduler.FrameCallback() {
+		@Override
+		public void onFrame() {
+			runFrame();
+		}
+	};
+	private final FrameScheduler.VisibilityCallback visibilityCallback =
+			new FrameScheduler.VisibilityCallback() {
+		@Override
+		public void onVisibilityChange(boolean hidden) {
+			hidden(hidden);
+		}
+	};
+	private double stepTime;
+	private double maxFrameTime = 250;
+	private int maxUpdatesPerFrame = 10;
+	private boolean running, paused, hidden;
+	private double lastTime, accumulator, simulationTime, droppedTime;
+	private long frameCount, updateCount;
+	private final FrameStats stats = new FrameStats();
+
+	/**
+	 * Creates a game loop that updates 60 times per second.
+	 */
+	public GameLoop() {
+		this(60);
+	}
+
+	/**
+	 * Creates a game loop scheduled with requestAnimationFrame.
+	 *
+	 * @param updatesPerSecond the number of simulation steps per second.
+	 */
+	public GameLoop(double updatesPerSecond) {
+		this(updatesPerSecond, new AnimationFrameScheduler(), Clock.SYSTEM);
+	}
+
+	/**
+	 * Creates a game loop with the given scheduler and clock.
+	 *
+	 * @param updatesPerSecond the number of simulation steps per second.
+	 */
+	public GameLoop(double updatesPerSecond, FrameScheduler scheduler,
+			Clock clock) {
+		this.scheduler = scheduler;
+		this.clock = clock;
+		setUpdatesPerSecond(updatesPerSecond);
+	}
+
+	/**
+	 * Starts the loop. The first frame only measures the time, so the first
+	 * update happens one time step after the loop starts.
+	 */
+	public void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		accumulator = 0;
+		scheduler.setVisibilityCallback(visibilityCallback);
+		hidden = scheduler.isHidden();
+		resume();
+	}
+
+	/**
+	 * Stops the loop.
+	 */
+	public void stop() {
+		running = false;
+		scheduler.cancelFrame();
+		scheduler.setVisibilityCallback(null);
+	}
+
+	/**
+	 * Checks whether the loop has been started and not stopped.
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Checks whether the loop is paused, either explicitly or because the page
+	 * is hidden.
+	 */
+	public boolean isPaused() {
+		return paused || hidden;
+	}
+
+	/**
+	 * Pauses or resumes the loop. The time spent paused is not simulated.
+	 */
+	public void setPaused(boolean paused) {
+		boolean wasPaused = isPaused();
+		this.paused = paused;
+		updateScheduling(wasPaused);
+	}
+
+	/**
+	 * Gets the duration of a simulation step, in milliseconds.
+	 */
+	public double getStepTime() {
+		return stepTime;
+	}
+
+	/**
+	 * Sets the number of simulation steps per second.
+	 */
+	public void setUpdatesPerSecond(double updatesPerSecond) {
+		if (!(updatesPerSecond > 0)) {
+			throw new IllegalArgumentException(
+					"updatesPerSecond must be positive: " + updatesPerSecond);
+		}
+		stepTime = 1000 / updatesPerSecond;
+	}
+
+	/**
+	 * Gets the longest elapsed time, in milliseconds, that a single frame may
+	 * simulate.
+	 */
+	public double getMaxFrameTime() {
+		return maxFrameTime;
+	}
+
+	/**
+	 * Sets the longest elapsed time, in milliseconds, that a single frame may
+	 * simulate. Default: 250.
+	 */
+	public void setMaxFrameTime(double maxFrameTime) {
+		this.maxFrameTime = maxFrameTime;
+	}
+
+	/**
+	 * Gets the maximum number of updates run in a single frame.
+	 */
+	public int getMaxUpdatesPerFrame() {
+		return maxUpdatesPerFrame;
+	}
+
+	/**
+	 * Sets the maximum number of updates run in a single frame. Default: 10.
+	 */
+	public void setMaxUpdatesPerFrame(int maxUpdatesPerFrame) {
+		this.maxUpdatesPerFrame = Math.max(1, maxUpdatesPerFrame);
+	}
+
+	/**
+	 * Gets the simulated time, in milliseconds, which is the number of updates
+	 * times the step time.
+	 */
+	public double getSimulationTime() {
+		return simulationTime;
+	}
+
+	/**
+	 * Gets the total elapsed time, in milliseconds, that was dropped instead of
+	 * being simulated because frames took too long.
+	 */
+	public double getDroppedTime() {
+		return droppedTime;
+	}
+
+	/**
+	 * Gets the number of frames run since the loop was created.
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Gets the number of updates run since the loop was created.
+	 */
+	public long getUpdateCount() {
+		return updateCount;
+	}
+
+	/**
+	 * Gets the statistics of the recent frames, with the time spent in
+	 * {@link #update(double)} and {@link #render(double)} measured with the
+	 * clock of the loop. The desired frame rate of the statistics is 60 frames
+	 * per second, the usual refresh rate of displays.
+	 */
+	public final FrameStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Gets the clock of the loop.
+	 */
+	public final Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Advances the simulation by one time step.
+	 *
+	 * @param stepTime the duration of the step, in milliseconds.
+	 */
+	protected abstract void update(double stepTime);
+
+	/**
+	 * Renders the current state of the simulation.
+	 *
+	 * @param alpha the fraction of a time step, from 0 inclusive to 1
+	 * 				exclusive, elapsed since the last update.
+	 */
+	protected abstract void render(double alpha);
+
+	/**
+	 * Runs one frame: the updates that are due, then the rendering.
+	 */
+	private void runFrame() {
+		if (!running || isPaused()) {
+			return;
+		}
+		double now = clock.now();
+		double elapsed = now - lastTime;
+		double frameTime = elapsed;
+		lastTime = now;
+		if (elapsed < 0) {
+			elapsed = 0;
+		} else if (elapsed > maxFrameTime) {
+			droppedTime += elapsed - maxFrameTime;
+			elapsed = maxFrameTime;
+		}
+		accumulator += elapsed;
+		int updates = 0;
+		while (accumulator >= stepTime && running) {
+			if (updates == maxUpdatesPerFrame) {
+				double dropped = Math.floor(accumulator / stepTime) * stepTime;
+				droppedTime += dropped;
+				accumulator -= dropped;
+				break;
+			}
+			update(stepTime);
+			accumulator -= stepTime;
+			simulationTime += stepTime;
+			updates++;
+			updateCount++;
+		}
+		frameCount++;
+		double updated = clock.now();
+		if (running) {
+			render(accumulator / stepTime);
+		}
+		stats.addFrame(frameTime, updated - now, clock.now() - updated);
+		if (running && !isPaused()) {
+			scheduler.requestFrame(frameCallback);
+		}
+	}
+
+	private void hidden(boolean hidden) {
+		boolean wasPaused = isPaused();
+		this.hidden = hidden;
+		updateScheduling(wasPaused);
+	}
+
+	private void updateScheduling(boolean wasPaused) {
+		if (!running || wasPaused == isPaused()) {
+			return;
+		}
+		if (isPaused()) {
+			scheduler.cancelFrame();
+		} else {
+			resume();
+		}
+	}
+
+	private void resume() {
+		lastTime = clock.now();
+		if (!isPaused()) {
+			scheduler.requestFrame(frameCallback);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+/**
+ * A clock that only moves when told to, for driving a {@link GameLoop}
+ * deterministically.
+ */
+public class ManualClock implements Clock {
+	private double time;
+
+	public ManualClock() {
+	}
+
+	public ManualClock(double time) {
+		this.time = time;
+	}
+
+	@Override
+	public double now() {
+		return time;
+	}
+
+	/**
+	 * Sets the current time in milliseconds.
+	 */
+	public void setTime(double time) {
+		this.time = time;
+	}
+
+	/**
+	 * Moves the clock forward by the given number of milliseconds.
+	 */
+	public void advance(double millis) {
+		time += millis;
+	}
+}
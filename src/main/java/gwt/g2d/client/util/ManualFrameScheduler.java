@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+/**
+ * A frame scheduler whose frames only run when told to. Together with
+ * {@link ManualClock}, it drives a {@link GameLoop} deterministically, for
+ * example in a JVM test.
+ */
+public class ManualFrameScheduler implements FrameScheduler {
+	private FrameCallback pending;
+	private VisibilityCallback visibilityCallback;
+	private boolean hidden;
+
+	@Override
+	public void requestFrame(FrameCallback callback) {
+		pending = callback;
+	}
+
+	@Override
+	public void cancelFrame() {
+		pending = null;
+	}
+
+	@Override
+	public boolean isHidden() {
+		return hidden;
+	}
+
+	@Override
+	public void setVisibilityCallback(VisibilityCallback callback) {
+		visibilityCallback = callback;
+	}
+
+	/**
+	 * Checks whether a frame has been requested.
+	 */
+	public boolean hasPendingFrame() {
+		return pending != null;
+	}
+
+	/**
+	 * Runs the pending frame, if any.
+	 *
+	 * @return true if a frame was run.
+	 */
+	public boolean runFrame() {
+		FrameCallback callback = pending;
+		if (callback == null) {
+			return false;
+		}
+		pending = null;
+		callback.onFrame();
+		return true;
+	}
+
+	/**
+	 * Hides or shows the simulated page, notifying the visibility callback if
+	 * the state changes.
+	 */
+	public void setHidden(boolean hidden) {
+		if (this.hidden == hidden) {
+			return;
+		}
+		this.hidden = hidden;
+		if (visibilityCallback != null) {
+			visibilityCallback.onVisibilityChange(hidden);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+/**
+ * A pool of reusable objects.
+ * <p>
+ * {@link #obtain()} returns a free object, or creates one if none is free, and
+ * {@link #free(Object)} gives it back to the pool once it is no longer used.
+ * An object must not be used after it has been freed, nor freed twice. At most
+ * {@link #getMaxFree()} objects are kept; the ones freed beyond that are left
+ * to the garbage collector.
+ * <p>
+ * Objects created by the pool are recorded by {@link AllocationAudit} under
+ * the name of the pool, so that a pool that keeps allocating shows up in the
+ * audit.
+ *
+ * @param <T> the type of the pooled objects.
+ */
+public abstract class Pool<T> {
+	private final String name;
+	private final int maxFree;
+	private Object[] free;
+	private int freeCount;
+	private int createdCount;
+
+	/**
+	 * Creates a pool that keeps at most 256 free objects.
+	 *
+	 * @param name the name of the pool in the allocation audit.
+	 */
+	public Pool(String name) {
+		this(name, 256);
+	}
+
+	/**
+	 * Creates a pool.
+	 *
+	 * @param name the name of the pool in the allocation audit.
+	 * @param maxFree the maximum number of free objects kept by the pool.
+	 */
+	public Pool(String name, int maxFree) {
+		if (maxFree < 0) {
+			throw new IllegalArgumentException("maxFree must not be negative: "
+					+ maxFree);
+		}
+		this.name = name;
+		this.maxFree = maxFree;
+		free = new Object[Math.min(16, maxFree)];
+	}
+
+	/**
+	 * Creates a new object for the pool.
+	 */
+	protected abstract T newObject();
+
+	/**
+	 * Resets an object that is being freed, so that it is in its initial state
+	 * when it is obtained again. Does nothing by default.
+	 */
+	protected void reset(T object) {
+	}
+
+	/**
+	 * Gets a free object from the pool, creating one if none is free.
+	 */
+	@SuppressWarnings("unchecked")
+	public T obtain() {
+		if (freeCount == 0) {
+			createdCount++;
+			AllocationAudit.record(name);
+			return newObject();
+		}
+		T object = (T) free[--freeCount];
+		free[freeCount] = null;
+		return object;
+	}
+
+	/**
+	 * Gives an object back to the pool.
+	 *
+	 * @param object the object to free, which must have been obtained from this
+	 * 				pool and not already freed.
+	 */
+	public void free(T object) {
+		if (object == null) {
+			throw new IllegalArgumentException("object must not be null");
+		}
+		reset(object);
+		if (freeCount == maxFree) {
+			return;
+		}
+		if (freeCount == free.length) {
+			Object[] grown = new Object[Math.min(maxFree, free.length * 2)];
+			System.arraycopy(free, 0, grown, 0, freeCount);
+			free = grown;
+		}
+		free[freeCount++] = object;
+	}
+
+	/**
+	 * Gives the given objects back to the pool.
+	 */
+	public void freeAll(T[] objects, int offset, int count) {
+		for (int i = offset, end = offset + count; i < end; i++) {
+			free(objects[i]);
+		}
+	}
+
+	/**
+	 * Discards all the free objects.
+	 */
+	public void clear() {
+		for (int i = 0; i < freeCount; i++) {
+			free[i] = null;
+		}
+		freeCount = 0;
+	}
+
+	/**
+	 * Gets the name of the pool.
+	 */
+	public final String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the number of free objects in the pool.
+	 */
+	public int getFreeCount() {
+		return freeCount;
+	}
+
+	/**
+	 * Gets the maximum number of free objects kept by the pool.
+	 */
+	public int getMaxFree() {
+		return maxFree;
+	}
+
+	/**
+	 * Gets the number of objects created by the pool.
+	 */
+	public int getCreatedCount() {
+		return createdCount;
+	}
+}
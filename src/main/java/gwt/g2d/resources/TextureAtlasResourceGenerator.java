@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.resources;
+
+import gwt.g2d.resources.client.TextureAtlas;
+import gwt.g2d.resources.client.TextureAtlasResource;
+import gwt.g2d.resources.client.TextureAtlasResource.AtlasOptions;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.core.ext.UnableToCompleteException;
+import com.google.gwt.core.ext.typeinfo.JMethod;
+import com.google.gwt.resources.client.ResourceCallback;
+import com.google.gwt.resources.ext.AbstractResourceGenerator;
+import com.google.gwt.resources.ext.ResourceContext;
+import com.google.gwt.resources.ext.ResourceGeneratorUtil;
+import com.google.gwt.user.rebind.SourceWriter;
+import com.google.gwt.user.rebind.StringSourceWriter;
+
+/**
+ * Provides the generator for {@link TextureAtlasResource}.
+ *
+ * The images are sorted by decreasing height and packed into shelves: each
+ * image goes on the first shelf of the current page that has room for it, or
+ * on a new shelf below the others, or on a new page. Each page is written as
+ * a PNG that is just large enough for its images.
+ */
+public final class TextureAtlasResourceGenerator extends
+		AbstractResourceGenerator {
+
+	@Override
+	public String createAssignment(TreeLogger logger, ResourceContext context,
+			JMethod method) throws UnableToCompleteException {
+		URL[] resources = ResourceGeneratorUtil.findResources(logger, context,
+				method);
+		AtlasOptions options = method.getAnnotation(AtlasOptions.class);
+		int maxSize = options == null ? 1024 : options.maxSize();
+		int padding = options == null ? 1 : Math.max(0, options.padding());
+
+		Region[] regions = readRegions(logger, resources);
+		List<Page> pages = pack(regions, maxSize, padding);
+
+		String[] pageUrlExpressions = new String[pages.size()];
+		for (int i = 0; i < pages.size(); i++) {
+			byte[] data = pages.get(i).toPng(logger);
+			pageUrlExpressions[i] = context.deploy(
+					method.getName() + "-atlas-" + i + ".png", "image/png", data, false);
+		}
+
+		String atlasClassName = TextureAtlas.class.getName();
+		SourceWriter sw = new StringSourceWriter();
+		sw.println("new " + TextureAtlasResource.class.getName() + "() {");
+		sw.indent();
+		sw.println("private " + atlasClassName + " atlas;");
+
+		sw.println(String.format("public void getAtlas(%s<%s> callback) {",
+				ResourceCallback.class.getName(), atlasClassName));
+		sw.indent();
+		sw.println("if (atlas == null) {");
+		sw.indent();
+		sw.println("atlas = new " + atlasClassName + "(\"" + method.getName()
+				+ "\",");
+		sw.indent();
+		sw.println("new String[] {" + join(pageUrlExpressions) + "},");
+
+		String[] names = new String[regions.length];
+		String[] pageIndices = new String[regions.length];
+		String[] bounds = new String[regions.length];
+		for (int i = 0; i < regions.length; i++) {
+			Region region = regions[i];
+			names[i] = "\"" + region.name.replace("\\", "\\\\").replace("\"", "\\\"")
+					+ "\"";
+			pageIndices[i] = String.valueOf(region.page);
+			bounds[i] = region.x + ", " + region.y + ", " + region.width + ", "
+					+ region.height;
+		}
+		sw.println("new String[] {" + join(names) + "},");
+		sw.println("new int[] {" + join(pageIndices) + "},");
+		sw.println("new double[] {" + join(bounds) + "});");
+		sw.outdent();
+		sw.outdent();
+		sw.println("}");
+		sw.println("atlas.load(callback);");
+		sw.outdent();
+		sw.println("}");
+
+		sw.println("public String getName() {");
+		sw.indent();
+		sw.println("return \"" + method.getName() + "\";");
+		sw.outdent();
+		sw.println("}");
+
+		sw.outdent();
+		sw.println("}");
+
+		return sw.toString();
+	}
+
+	/**
+	 * Reads the images and names each region after the file name of its image.
+	 */
+	private static Region[] readRegions(TreeLogger logger, URL[] resources)
+			throws UnableToCompleteException {
+		Region[] regions = new Region[resources.length];
+		Set<String> names = new HashSet<String>();
+		for (int i = 0; i < resources.length; i++) {
+			String name = ResourceGeneratorUtil.baseName(resources[i]);
+			int extension = name.lastIndexOf('.');
+			if (extension > 0) {
+				name = name.substring(0, extension);
+			}
+			if (!names.add(name)) {
+				logger.log(TreeLogger.ERROR, "Duplicate region name " + name
+						+ " in texture atlas", null);
+				throw new UnableToCompleteException();
+			}
+			BufferedImage image;
+			try {
+				image = ImageIO.read(resources[i]);
+			} catch (IOException e) {
+				logger.log(TreeLogger.ERROR, "Unable to read " + resources[i], e);
+				throw new UnableToCompleteException();
+			}
+			if (image == null) {
+				logger.log(TreeLogger.ERROR, "Unsupported image format: "
+						+ resources[i], null);
+				throw new UnableToCompleteException();
+			}
+			regions[i] = new Region(name, image);
+		}
+		return regions;
+	}
+
+	/**
+	 * Assigns a page and a position to each region.
+	 */
+	private static List<Page> pack(Region[] regions, int maxSize, int padding) {
+		Region[] sorted = regions.clone();
+		Arrays.sort(sorted, new Comparator<Region>() {
+			@Override
+			public int compare(Region a, Region b) {
+				if (a.height != b.height) {
+					return b.height - a.height;
+				}
+				return b.width - a.width;
+			}
+		});
+		List<Page> pages = new ArrayList<Page>();
+		for (Region region : sorted) {
+			boolean placed = false;
+			for (int i = 0; i < pages.size() && !placed; i++) {
+				placed = pages.get(i).place(region, i, maxSize, padding);
+			}
+			if (!placed) {
+				Page page = new Page();
+				pages.add(page);
+				// A region larger than the maximum size fills a page by itself.
+				page.place(region, pages.size() - 1,
+						Math.max(maxSize, Math.max(region.width, region.height)), padding);
+			}
+		}
+		return pages;
+	}
+
+	private static String join(String[] values) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(values[i]);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * An image to pack and its position in the atlas.
+	 */
+	private static final class Region {
+		final String name;
+		final BufferedImage image;
+		final int width, height;
+		int page, x, y;
+
+		Region(String name, BufferedImage image) {
+			this.name = name;
+			this.image = image;
+			this.width = image.getWidth();
+			this.height = image.getHeight();
+		}
+	}
+
+	/**
+	 * A page of the atlas, made of shelves stacked from the top.
+	 */
+	private static final class Page {
+		// The y-coordinate, height and used width of each shelf.
+		private final List<int[]> shelves = new ArrayList<int[]>();
+		private final List<Region> regions = new ArrayList<Region>();
+		private int width, height;
+
+		boolean place(Region region, int pageIndex, int maxSize, int padding) {
+			for (int[] shelf : shelves) {
+				if (region.height <= shelf[1]
+						&& shelf[2] + region.width <= maxSize) {
+					put(region, pageIndex, shelf[2], shelf[0]);
+					shelf[2] += region.width + padding;
+					return true;
+				}
+			}
+			int top = height == 0 ? 0 : height + padding;
+			if (top + region.height > maxSize || region.width > maxSize) {
+				return false;
+			}
+			shelves.add(new int[] {top, region.height, region.width + padding});
+			put(region, pageIndex, 0, top);
+			return true;
+		}
+
+		private void put(Region region, int pageIndex, int x, int y) {
+			regions.add(region);
+			region.page = pageIndex;
+			region.x = x;
+			region.y = y;
+			width = Math.max(width, x + region.width);
+			height = Math.max(height, y + region.height);
+		}
+
+		byte[] toPng(TreeLogger logger) throws UnableToCompleteException {
+			BufferedImage atlas = new BufferedImage(Math.max(1, width),
+					Math.max(1, height), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D graphics = atlas.createGraphics();
+			for (Region region : regions) {
+				graphics.drawImage(region.image, region.x, region.y, null);
+			}
+			graphics.dispose();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try {
+				ImageIO.write(atlas, "png", out);
+			} catch (IOException e) {
+				logger.log(TreeLogger.ERROR, "Unable to write the atlas image", e);
+				throw new UnableToCompleteException();
+			}
+			return out.toByteArray();
+		}
+	}
+}
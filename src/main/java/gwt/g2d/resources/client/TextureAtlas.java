@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.resources.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.dom.client.ImageElement;
+import com.google.gwt.resources.client.ResourceCallback;
+import com.google.gwt.resources.client.ResourceException;
+import com.google.gwt.resources.client.ResourcePrototype;
+
+/**
+ * A set of named regions packed into one or more atlas images, as generated
+ * for a {@link TextureAtlasResource}.
+ * <p>
+ * The regions are drawn with
+ * {@link gwt.g2d.client.graphics.Surface#drawImage(TextureAtlas, int, double, double)}
+ * or registered in a sprite batch with
+ * {@link gwt.g2d.client.graphics.SpriteBatch#addRegions(TextureAtlas)}.
+ */
+public class TextureAtlas implements ResourcePrototype {
+	private final String name;
+	private final String[] pageUrls;
+	private final ImageElement[] pages;
+	private final String[] regionNames;
+	private final int[] regionPages;
+	// x, y, width, height of each region.
+	private final double[] regions;
+	private Map<String, Integer> regionMap;
+	private List<ResourceCallback<TextureAtlas>> callbacks;
+	private int loadedPageCount;
+	private ResourceException error;
+
+	/**
+	 * Creates an atlas. This is called by the generated code of
+	 * {@link TextureAtlasResource}.
+	 *
+	 * @param name the name of the resource.
+	 * @param pageUrls the urls of the atlas images.
+	 * @param regionNames the names of the regions.
+	 * @param regionPages the index of the page of each region.
+	 * @param regions the x, y, width and height of each region in its page.
+	 */
+	public TextureAtlas(String name, String[] pageUrls, String[] regionNames,
+			int[] regionPages, double[] regions) {
+		this.name = name;
+		this.pageUrls = pageUrls;
+		this.pages = new ImageElement[pageUrls.length];
+		this.regionNames = regionNames;
+		this.regionPages = regionPages;
+		this.regions = regions;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Checks whether all the pages of the atlas are loaded.
+	 */
+	public boolean isLoaded() {
+		return loadedPageCount == pages.length;
+	}
+
+	/**
+	 * Gets the number of atlas images.
+	 */
+	public int getPageCount() {
+		return pages.length;
+	}
+
+	/**
+	 * Gets the atlas image at the given index.
+	 */
+	public ImageElement getPage(int page) {
+		return pages[page];
+	}
+
+	/**
+	 * Gets the number of regions.
+	 */
+	public int getRegionCount() {
+		return regionNames.length;
+	}
+
+	/**
+	 * Gets the name of the region at the given index.
+	 */
+	public String getRegionName(int index) {
+		return regionNames[index];
+	}
+
+	/**
+	 * Gets the index of the region with the given name.
+	 *
+	 * @return the index of the region, or -1 if there is no such region.
+	 */
+	public int indexOf(String regionName) {
+		if (regionMap == null) {
+			regionMap = new HashMap<String, Integer>();
+			for (int i = 0; i < regionNames.length; i++) {
+				regionMap.put(regionNames[i], i);
+			}
+		}
+		Integer index = regionMap.get(regionName);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Gets the atlas image that contains the given region.
+	 */
+	public ImageElement getRegionImage(int index) {
+		return pages[regionPages[index]];
+	}
+
+	/**
+	 * Gets the x-coordinate of the given region in its atlas image.
+	 */
+	public double getRegionX(int index) {
+		return regions[index * 4];
+	}
+
+	/**
+	 * Gets the y-coordinate of the given region in its atlas image.
+	 */
+	public double getRegionY(int index) {
+		return regions[index * 4 + 1];
+	}
+
+	/**
+	 * Gets the width of the given region.
+	 */
+	public double getRegionWidth(int index) {
+		return regions[index * 4 + 2];
+	}
+
+	/**
+	 * Gets the height of the given region.
+	 */
+	public double getRegionHeight(int index) {
+		return regions[index * 4 + 3];
+	}
+
+	/**
+	 * Loads the pages of the atlas if needed, and calls the callback once all
+	 * of them are loaded.
+	 */
+	public void load(ResourceCallback<TextureAtlas> callback) {
+		if (error != null) {
+			callback.onError(error);
+			return;
+		}
+		if (isLoaded()) {
+			callback.onSuccess(this);
+			return;
+		}
+		if (callbacks != null) {
+			callbacks.add(callback);
+			return;
+		}
+		callbacks = new ArrayList<ResourceCallback<TextureAtlas>>();
+		callbacks.add(callback);
+		ResourceCallback<ImageElementResource> pageCallback =
+				new ResourceCallback<ImageElementResource>() {
+			@Override
+			public void onError(ResourceException e) {
+				if (error == null) {
+					error = new ResourceException(TextureAtlas.this, e.getMessage());
+					notifyCallbacks();
+				}
+			}
+
+			@Override
+			public void onSuccess(ImageElementResource resource) {
+				pages[resource.getIndex()] = resource.getImage();
+				loadedPageCount++;
+				if (isLoaded()) {
+					notifyCallbacks();
+				}
+			}
+		};
+		for (int i = 0; i < pageUrls.length; i++) {
+			final int index = i;
+			ImageLoader.loadImageAsync(pageUrls[i],
+					new AbstractImageElementResource() {
+						@Override
+						public String getName() {
+							return name;
+						}
+
+						@Override
+						public String getBaseUrl() {
+							return pageUrls[index];
+						}
+
+						@Override
+						public int getIndex() {
+							return index;
+						}
+					}, pageCallback);
+		}
+	}
+
+	private void notifyCallbacks() {
+		List<ResourceCallback<TextureAtlas>> pending = callbacks;
+		callbacks = null;
+		for (ResourceCallback<TextureAtlas> callback : pending) {
+			if (error != null) {
+				callback.onError(error);
+			} else {
+				callback.onSuccess(this);
+			}
+		}
+	}
+}
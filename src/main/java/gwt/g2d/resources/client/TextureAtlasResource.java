@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.resources.client;
+
+import gwt.g2d.resources.TextureAtlasResourceGenerator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.google.gwt.resources.client.ClientBundle;
+import com.google.gwt.resources.client.ResourceCallback;
+import com.google.gwt.resources.client.ResourcePrototype;
+import com.google.gwt.resources.ext.DefaultExtensions;
+import com.google.gwt.resources.ext.ResourceGeneratorType;
+
+/**
+ * A resource in {@link ClientBundle} that packs all the images of the method
+ * into one or more atlas images at compile time, and asynchronously loads them
+ * as a {@link TextureAtlas}.
+ *
+ * Each image becomes a region of the atlas named after its file name without
+ * the extension. This replaces one download per image, as with
+ * {@link ExternalImageResource}, by one download per atlas page.
+ */
+@DefaultExtensions(value = {".png", ".jpg", ".gif", ".bmp"})
+@ResourceGeneratorType(TextureAtlasResourceGenerator.class)
+public interface TextureAtlasResource extends ResourcePrototype {
+
+	/**
+	 * Options for packing the images of a {@link TextureAtlasResource}.
+	 */
+	@Documented
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
+	public @interface AtlasOptions {
+		/**
+		 * The maximum width and height of an atlas page. Images larger than this
+		 * get a page of their own.
+		 */
+		int maxSize() default 1024;
+
+		/**
+		 * The number of transparent pixels between two regions, which prevents
+		 * neighboring regions from bleeding into each other when scaled.
+		 */
+		int padding() default 1;
+	}
+
+	/**
+	 * Asynchronously loads the pages of the atlas. The callback is called once
+	 * all of them are loaded.
+	 *
+	 * @param callback
+	 */
+	void getAtlas(ResourceCallback<TextureAtlas> callback);
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.server;
+
+import gwt.g2d.client.job.Bands;
+import gwt.g2d.client.job.Job;
+import gwt.g2d.client.job.JobCallback;
+import gwt.g2d.client.job.JobExecutor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs jobs in a thread pool, splitting them into bands so that a job uses
+ * all the threads. This is the counterpart of the executors of the browser
+ * when running in a JVM.
+ * <p>
+ * The callbacks are called by {@link #dispatchCompleted()} on the thread that
+ * calls it, like in the browser. {@link #run(Job)} runs a job and waits for
+ * it, for server-side work that has no frames.
+ */
+public class ThreadPoolJobExecutor implements JobExecutor {
+	private final ExecutorService executor;
+	private final int threadCount;
+	private final Queue<Task> completed = new ConcurrentLinkedQueue<Task>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private int bandsPerThread = 4;
+	private int minBandSize = 8;
+
+	/**
+	 * Creates an executor with a thread per available processor.
+	 */
+	public ThreadPoolJobExecutor() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an executor with the given number of threads.
+	 */
+	public ThreadPoolJobExecutor(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be positive: "
+					+ threadCount);
+		}
+		this.threadCount = threadCount;
+		this.executor = Executors.newFixedThreadPool(threadCount);
+	}
+
+	/**
+	 * Gets the number of threads.
+	 */
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Gets the number of bands per thread that a job is split into, 4 by
+	 * default, so that the threads stay busy when bands take different times.
+	 */
+	public int getBandsPerThread() {
+		return bandsPerThread;
+	}
+
+	/**
+	 * Sets the number of bands per thread that a job is split into.
+	 */
+	public void setBandsPerThread(int bandsPerThread) {
+		this.bandsPerThread = Math.max(1, bandsPerThread);
+	}
+
+	/**
+	 * Gets the smallest number of items of a band, 8 by default.
+	 */
+	public int getMinBandSize() {
+		return minBandSize;
+	}
+
+	/**
+	 * Sets the smallest number of items of a band.
+	 */
+	public void setMinBandSize(int minBandSize) {
+		this.minBandSize = Math.max(1, minBandSize);
+	}
+
+	@Override
+	public void execute(Job job, JobCallback callback) {
+		pendingCount.incrementAndGet();
+		submit(new Task(job, callback, null));
+	}
+
+	/**
+	 * Runs a job on the threads and waits for it.
+	 *
+	 * @throws RuntimeException the exception thrown by a band, if any; a
+	 *         checked exception is wrapped in a RuntimeException.
+	 */
+	public void run(Job job) {
+		Task task = new Task(job, null, new CountDownLatch(1));
+		submit(task);
+		try {
+			task.done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+		Throwable failure = task.failure.get();
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		} else if (failure != null) {
+			throw new RuntimeException(failure);
+		}
+	}
+
+	@Override
+	public int dispatchCompleted() {
+		int count = 0;
+		for (Task task; (task = completed.poll()) != null; count++) {
+			pendingCount.decrementAndGet();
+			task.dispatch();
+		}
+		return count;
+	}
+
+	@Override
+	public int getPendingCount() {
+		return pendingCount.get();
+	}
+
+	/**
+	 * Stops the threads once the scheduled bands are run.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Waits for the threads to stop after {@link #shutdown()}.
+	 *
+	 * @return false if the timeout elapsed first.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	private void submit(final Task task) {
+		final Job job = task.job;
+		final int size = job.getSize();
+		int bandSize = Bands.getBandSize(size, threadCount * bandsPerThread,
+				minBandSize);
+		int bandCount = Bands.getBandCount(size, bandSize);
+		if (bandCount == 0) {
+			task.finish(this);
+			return;
+		}
+		task.remaining.set(bandCount);
+		for (int start = 0; start < size; start += bandSize) {
+			final int bandStart = start;
+			final int bandEnd = Math.min(size, start + bandSize);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						if (task.failure.get() == null) {
+							job.run(bandStart, bandEnd);
+						}
+					} catch (Throwable e) {
+						task.failure.compareAndSet(null, e);
+					} finally {
+						if (task.remaining.decrementAndGet() == 0) {
+							task.finish(ThreadPoolJobExecutor.this);
+						}
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * A scheduled job and its progress.
+	 */
+	private static final class Task {
+		private final Job job;
+		private final JobCallback callback;
+		private final CountDownLatch done;
+		private final AtomicInteger remaining = new AtomicInteger();
+		private final AtomicReference<Throwable> failure =
+				new AtomicReference<Throwable>();
+
+		private Task(Job job, JobCallback callback, CountDownLatch done) {
+			this.job = job;
+			this.callback = callback;
+			this.done = done;
+		}
+
+		private void finish(ThreadPoolJobExecutor executor) {
+			if (done != null) {
+				done.countDown();
+			} else {
+				executor.completed.add(this);
+			}
+		}
+
+		private void dispatch() {
+			if (callback == null) {
+				return;
+			}
+			Throwable caught = failure.get();
+			if (caught == null) {
+				callback.onComplete(job);
+			} else {
+				callback.onFailure(job, caught);
+			}
+		}
+	}
+}
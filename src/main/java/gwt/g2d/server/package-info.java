@@ -0,0 +1,5 @@
+/**
+ * Contains classes that run the client code in a plain JVM, such as in tests
+ * or on the server. They are not translated to JavaScript.
+ */
+package gwt.g2d.server;
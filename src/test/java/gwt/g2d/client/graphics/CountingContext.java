@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import gwt.g2d.client.graphics.canvas.CanvasElement;
+import gwt.g2d.client.graphics.canvas.CanvasGradient;
+import gwt.g2d.client.graphics.canvas.CanvasPattern;
+import gwt.g2d.client.graphics.canvas.Context;
+import gwt.g2d.client.graphics.canvas.ImageData;
+import gwt.g2d.client.media.VideoElement;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * A {@link Context} that draws nothing and only counts the calls that
+ * {@link SpriteBatch} makes, so that batches can run on the JVM.
+ */
+class CountingContext implements Context {
+	int drawImageCount, transformCount, stateCount, saveCount;
+
+	/**
+	 * Resets the counters.
+	 */
+	void reset() {
+		drawImageCount = transformCount = stateCount = saveCount = 0;
+	}
+
+	public void arc(double x, double y, double radius, double startAngle,
+			double endAngle, boolean antiClockwise) {
+	}
+
+	public void arcTo(double x1, double y1, double x2, double y2,
+			double radius) {
+	}
+
+	public void beginPath() {
+	}
+
+	public void bezierCurveTo(double cp1x, double cp1y, double cp2x,
+			double cp2y, double x, double y) {
+	}
+
+	public void clear() {
+	}
+
+	public void clearRect(double x, double y, double width, double height) {
+	}
+
+	public void clip() {
+	}
+
+	public void closePath() {
+	}
+
+	public ImageData createImageData(ImageData imageData) {
+		return null;
+	}
+
+	public ImageData createImageData(int width, int height) {
+		return null;
+	}
+
+	public CanvasGradient createLinearGradient(double x0, double y0, double x1,
+			double y1) {
+		return null;
+	}
+
+	public CanvasPattern createPattern(CanvasElement image, String repetition) {
+		return null;
+	}
+
+	public CanvasPattern createPattern(ImageElement image, String repetition) {
+		return null;
+	}
+
+	public CanvasPattern createPattern(VideoElement image, String repetition) {
+		return null;
+	}
+
+	public CanvasGradient createRadialGradient(double x0, double y0,
+			double radius0, double x1, double y1, double radius1) {
+		return null;
+	}
+
+	public boolean drawFocusRing(Element element, double x, double y) {
+		return false;
+	}
+
+	public boolean drawFocusRing(Element element, double x, double y,
+			boolean canDrawCustom) {
+		return false;
+	}
+
+	public void drawImage(CanvasElement image, double x, double y) {
+		drawImageCount++;
+	}
+
+	public void drawImage(CanvasElement image, double x, double y, double width,
+			double height) {
+		drawImageCount++;
+	}
+
+	public void drawImage(CanvasElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth,
+			double destinationHeight) {
+		drawImageCount++;
+	}
+
+	public void drawImage(ImageElement image, double x, double y) {
+		drawImageCount++;
+	}
+
+	public void drawImage(ImageElement image, double x, double y, double width,
+			double height) {
+		drawImageCount++;
+	}
+
+	public void drawImage(ImageElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth,
+			double destinationHeight) {
+		drawImageCount++;
+	}
+
+	public void drawImage(VideoElement image, double x, double y) {
+		drawImageCount++;
+	}
+
+	public void drawImage(VideoElement image, double x, double y, double width,
+			double height) {
+		drawImageCount++;
+	}
+
+	public void drawImage(VideoElement image, double sourceX, double sourceY,
+			double sourceWidth, double sourceHeight, double destinationX,
+			double destinationY, double destinationWidth,
+			double destinationHeight) {
+		drawImageCount++;
+	}
+
+	public void fill() {
+	}
+
+	public void fillRect(double x, double y, double width, double height) {
+	}
+
+	public void fillText(String text, double x, double y) {
+	}
+
+	public void fillText(String text, double x, double y, double maxWidth) {
+	}
+
+	public String getFont() {
+		return null;
+	}
+
+	public double getGlobalAlpha() {
+		return 0;
+	}
+
+	public String getGlobalCompositeOperation() {
+		return null;
+	}
+
+	public ImageData getImageData(double x, double y, double width,
+			double height) {
+		return null;
+	}
+
+	public String getLineCap() {
+		return null;
+	}
+
+	public String getLineJoin() {
+		return null;
+	}
+
+	public double getLineWidth() {
+		return 0;
+	}
+
+	public double getMiterLimit() {
+		return 0;
+	}
+
+	public double getShadowBlur() {
+		return 0;
+	}
+
+	public String getShadowColor() {
+		return null;
+	}
+
+	public double getShadowOffsetX() {
+		return 0;
+	}
+
+	public double getShadowOffsetY() {
+		return 0;
+	}
+
+	public String getTextAlign() {
+		return null;
+	}
+
+	public String getTextBaseline() {
+		return null;
+	}
+
+	public boolean isPointInPath(double x, double y) {
+		return false;
+	}
+
+	public void lineTo(double x, double y) {
+	}
+
+	public double measureText(String text) {
+		return 0;
+	}
+
+	public void moveTo(double x, double y) {
+	}
+
+	public void putImageData(ImageData imageData, double x, double y,
+			double dirtyX, double dirtyY, double dirtyWidth,
+			double dirtyHeight) {
+	}
+
+	public void quadraticCurveTo(double cpx, double cpy, double x, double y) {
+	}
+
+	public void rect(double x, double y, double w, double h) {
+	}
+
+	public void restore() {
+		saveCount--;
+	}
+
+	public void rotate(double angle) {
+	}
+
+	public void save() {
+		saveCount++;
+	}
+
+	public void scale(double x, double y) {
+	}
+
+	public void setFillStyle(CanvasGradient gradient) {
+	}
+
+	public void setFillStyle(CanvasPattern pattern) {
+	}
+
+	public void setFillStyle(String color) {
+	}
+
+	public void setFont(String font) {
+	}
+
+	public void setGlobalAlpha(double globalAlpha) {
+		stateCount++;
+	}
+
+	public void setGlobalCompositeOperation(String globalCompositeOperation) {
+		stateCount++;
+	}
+
+	public void setLineCap(String lineCap) {
+	}
+
+	public void setLineJoin(String lineJoin) {
+	}
+
+	public void setLineWidth(double lineWidth) {
+	}
+
+	public void setMiterLimit(double miterLimit) {
+	}
+
+	public void setShadowBlur(double shadowBlur) {
+	}
+
+	public void setShadowColor(String shadowColor) {
+	}
+
+	public void setShadowOffsetX(double shadowOffsetX) {
+	}
+
+	public void setShadowOffsetY(double shadowOffsetY) {
+	}
+
+	public void setStrokeStyle(CanvasGradient gradient) {
+	}
+
+	public void setStrokeStyle(CanvasPattern pattern) {
+	}
+
+	public void setStrokeStyle(String color) {
+	}
+
+	public void setTextAlign(String textAlign) {
+	}
+
+	public void setTextBaseline(String textBaseline) {
+	}
+
+	public void setTransform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+		transformCount++;
+	}
+
+	public void stroke() {
+	}
+
+	public void strokeRect(double x, double y, double width, double height) {
+	}
+
+	public void strokeText(String text, double x, double y) {
+	}
+
+	public void strokeText(String text, double x, double y, double maxWidth) {
+	}
+
+	public void transform(double m11, double m12, double m21, double m22,
+			double dx, double dy) {
+	}
+
+	public void translate(double x, double y) {
+	}
+}
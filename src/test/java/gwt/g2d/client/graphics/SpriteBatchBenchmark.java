@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import java.util.Random;
+
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * Measures the time {@link SpriteBatch} takes to record, sort and draw 10k,
+ * 50k and 100k sprites on the JVM, against a {@link CountingContext} so that
+ * only the batch itself is measured.
+ * <p>
+ * A quarter of the sprites are rotated, one in eight is drawn with
+ * {@link Composition#LIGHTER} and the alpha takes four values, so the sort,
+ * the transformation changes and the state changes are all exercised. Run it
+ * with {@code java gwt.g2d.client.graphics.SpriteBatchBenchmark}.
+ */
+public class SpriteBatchBenchmark {
+	private static final int[] SPRITE_COUNTS = {10000, 50000, 100000};
+	private static final int WARM_UP_FRAMES = 30;
+	private static final int FRAMES = 100;
+
+	public static void main(String[] args) {
+		for (int count : SPRITE_COUNTS) {
+			run(count);
+		}
+	}
+
+	private static void run(int count) {
+		SpriteBatch batch = new SpriteBatch(null);
+		int[] regions = new int[8];
+		for (int i = 0; i < regions.length; i++) {
+			regions[i] = batch.addRegion((ImageElement) null, i * 32, 0, 32, 32,
+					16, 16);
+		}
+		double[] sprites = createSprites(count, regions.length);
+		CountingContext context = new CountingContext();
+		for (int i = 0; i < WARM_UP_FRAMES; i++) {
+			drawFrame(batch, context, sprites, regions);
+		}
+		context.reset();
+		long start = System.nanoTime();
+		for (int i = 0; i < FRAMES; i++) {
+			drawFrame(batch, context, sprites, regions);
+		}
+		double milliseconds = (System.nanoTime() - start) / 1e6 / FRAMES;
+		System.out.printf(
+				"%6d sprites: %7.3f ms/frame, %d transforms, %d state changes%n",
+				count, milliseconds, context.transformCount / FRAMES,
+				context.stateCount / FRAMES);
+	}
+
+	/**
+	 * Creates the sprites as x, y, rotation, alpha, region and composition.
+	 */
+	private static double[] createSprites(int count, int regionCount) {
+		Random random = new Random(42);
+		double[] sprites = new double[count * 6];
+		for (int i = 0, j = 0; i < count; i++, j += 6) {
+			sprites[j] = random.nextDouble() * 1920;
+			sprites[j + 1] = random.nextDouble() * 1080;
+			sprites[j + 2] = random.nextInt(4) == 0
+					? random.nextDouble() * 2 * Math.PI : 0;
+			sprites[j + 3] = 0.25 * (1 + random.nextInt(4));
+			sprites[j + 4] = random.nextInt(regionCount);
+			sprites[j + 5] = random.nextInt(8) == 0 ? 1 : 0;
+		}
+		return sprites;
+	}
+
+	private static void drawFrame(SpriteBatch batch, CountingContext context,
+			double[] sprites, int[] regions) {
+		batch.begin();
+		for (int j = 0; j < sprites.length; j += 6) {
+			batch.setComposition(sprites[j + 5] == 0
+					? Composition.SOURCE_OVER : Composition.LIGHTER);
+			batch.draw(regions[(int) sprites[j + 4]], sprites[j], sprites[j + 1],
+					sprites[j + 2], 1, sprites[j + 3]);
+		}
+		batch.end(context);
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * Checks the calls {@link SpriteBatch} makes on a {@link CountingContext}.
+ */
+public class SpriteBatchTest {
+
+	@Test
+	public void unrotatedSpritesShareTheViewTransform() {
+		SpriteBatch batch = new SpriteBatch(null);
+		int region = batch.addRegion((ImageElement) null, 0, 0, 16, 16);
+		CountingContext context = new CountingContext();
+		batch.begin();
+		for (int i = 0; i < 100000; i++) {
+			batch.draw(region, i % 640, i / 640);
+		}
+		batch.end(context);
+		assertEquals(100000, context.drawImageCount);
+		assertEquals(1, context.transformCount);
+		assertEquals(0, context.saveCount);
+		assertEquals(100000, batch.getLastSpriteCount());
+		assertEquals(1, batch.getLastTransformCount());
+	}
+
+	@Test
+	public void rotatedSpritesSetTheirOwnTransform() {
+		SpriteBatch batch = new SpriteBatch(null);
+		int region = batch.addRegion((ImageElement) null, 0, 0, 16, 16);
+		CountingContext context = new CountingContext();
+		batch.begin();
+		for (int i = 0; i < 10000; i++) {
+			batch.draw(region, i, 0, i % 2 == 0 ? 0 : 1, 1, 1);
+		}
+		batch.end(context);
+		assertEquals(10000, context.drawImageCount);
+		// Each rotated sprite sets its transform, and each unrotated one that
+		// follows it restores the view transform.
+		assertEquals(10000, context.transformCount);
+	}
+
+	@Test
+	public void sortingGroupsCompositions() {
+		SpriteBatch batch = new SpriteBatch(null);
+		int region = batch.addRegion((ImageElement) null, 0, 0, 16, 16);
+		CountingContext context = new CountingContext();
+		drawAlternatingCompositions(batch, context);
+		// Two compositions and one alpha.
+		assertEquals(3, context.stateCount);
+
+		context.reset();
+		batch.setSorted(false);
+		drawAlternatingCompositions(batch, context);
+		assertEquals(50001, context.stateCount);
+		assertEquals(50000, context.drawImageCount);
+	}
+
+	private static void drawAlternatingCompositions(SpriteBatch batch,
+			CountingContext context) {
+		batch.begin();
+		for (int i = 0; i < 50000; i++) {
+			batch.setComposition(i % 2 == 0
+					? Composition.SOURCE_OVER : Composition.LIGHTER);
+			batch.draw(0, i, 0);
+		}
+		batch.end(context);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.chart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import gwt.g2d.client.math.Polyline;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the minimum and maximum of ranges and of the columns of
+ * {@link TimeSeries} against a linear scan, including after the series is
+ * cleared and appended to.
+ */
+public class TimeSeriesTest {
+	private final Random random = new Random(24);
+
+	@Test
+	public void extremesMatchLinearScan() {
+		TimeSeries series = new TimeSeries(16);
+		append(series, 1000);
+		checkRanges(series);
+		append(series, 2345);
+		checkRanges(series);
+
+		series.clear();
+		assertEquals(0, series.size());
+		assertEquals(-1, series.getMinIndex(0, 0));
+		append(series, 77);
+		checkRanges(series);
+		append(series, 3000);
+		checkRanges(series);
+	}
+
+	@Test
+	public void columnsKeepTheirExtremes() {
+		TimeSeries series = new TimeSeries();
+		append(series, 5000);
+		checkColumns(series);
+		series.clear();
+		append(series, 333);
+		checkColumns(series);
+		append(series, 4000);
+		checkColumns(series);
+	}
+
+	/**
+	 * Appends samples at irregular times with few distinct values, so that the
+	 * extremes are often tied.
+	 */
+	private void append(TimeSeries series, int count) {
+		double time = series.size() == 0 ? 0 : series.getTime(series.size() - 1);
+		for (int i = 0; i < count; i++) {
+			time += 1 + random.nextInt(3);
+			series.add(time, random.nextInt(50) - 25);
+		}
+	}
+
+	private void checkRanges(TimeSeries series) {
+		int size = series.size();
+		for (int k = 0; k < 500; k++) {
+			int from = random.nextInt(size + 1);
+			int to = from + random.nextInt(size - from + 1);
+			if (k < 10) {
+				// Whole runs of the pyramid.
+				from = 0;
+				to = size >> k;
+			}
+			int minIndex = series.getMinIndex(from, to);
+			int maxIndex = series.getMaxIndex(from, to);
+			if (from == to) {
+				assertEquals(-1, minIndex);
+				assertEquals(-1, maxIndex);
+				continue;
+			}
+			double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for (int i = from; i < to; i++) {
+				min = Math.min(min, series.getValue(i));
+				max = Math.max(max, series.getValue(i));
+			}
+			assertTrue(minIndex >= from && minIndex < to);
+			assertTrue(maxIndex >= from && maxIndex < to);
+			assertEquals(min, series.getValue(minIndex), 0);
+			assertEquals(max, series.getValue(maxIndex), 0);
+			double startTime = series.getTime(from), endTime = series.getTime(to - 1);
+			assertEquals(min, series.getMinValue(startTime, endTime), 0);
+			assertEquals(max, series.getMaxValue(startTime, endTime), 0);
+		}
+	}
+
+	/**
+	 * Checks that each column of a decimation holds the least and greatest
+	 * values of the samples in it.
+	 */
+	private void checkColumns(TimeSeries series) {
+		double lastTime = series.getTime(series.size() - 1);
+		for (int columnCount : new int[] {1, 7, 100, 800}) {
+			double startTime = random.nextDouble() * lastTime / 2;
+			double endTime = startTime + random.nextDouble() * lastTime / 2;
+			Polyline result = new Polyline();
+			series.decimate(startTime, endTime, columnCount, result);
+			double columnDuration = (endTime - startTime) / columnCount;
+			for (int column = 0; column < columnCount; column++) {
+				double columnStart = startTime + column * columnDuration;
+				double columnEnd = column == columnCount - 1 ? endTime
+						: startTime + (column + 1) * columnDuration;
+				boolean last = column == columnCount - 1;
+				double min = Double.POSITIVE_INFINITY;
+				double max = Double.NEGATIVE_INFINITY;
+				for (int i = 0; i < series.size(); i++) {
+					if (inColumn(series.getTime(i), columnStart, columnEnd, last)) {
+						min = Math.min(min, series.getValue(i));
+						max = Math.max(max, series.getValue(i));
+					}
+				}
+				double decimatedMin = Double.POSITIVE_INFINITY;
+				double decimatedMax = Double.NEGATIVE_INFINITY;
+				for (int i = 0; i < result.getPointCount(); i++) {
+					if (inColumn(result.getX(i), columnStart, columnEnd, last)) {
+						decimatedMin = Math.min(decimatedMin, result.getY(i));
+						decimatedMax = Math.max(decimatedMax, result.getY(i));
+					}
+				}
+				assertEquals(min, decimatedMin, 0);
+				assertEquals(max, decimatedMax, 0);
+			}
+			assertTrue(result.getPointCount() <= 4 * columnCount + 2);
+		}
+	}
+
+	private static boolean inColumn(double time, double start, double end,
+			boolean last) {
+		return time >= start && (last ? time <= end : time < end);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks on the JVM that tiling does not change the output of the filters,
+ * and that the blurs and sharpening keep constant images unchanged.
+ */
+public class FilterTest {
+	private static final int WIDTH = 97, HEIGHT = 83;
+	private static final int[] CONSTANT_COLORS = {
+			0xFF336699, 0x80336699, 0x01FFFFFF, 0x00000000};
+
+	@Test
+	public void tiledOutputIsIdentical() {
+		PixelBuffer source = randomImage(new Random(7));
+		for (ImageFilter filter : createFilters()) {
+			PixelBuffer untiled = new FilterChain(filter).setTileSize(1000)
+					.apply(source);
+			for (int tileSize : new int[] {1, 7, 16, 64}) {
+				PixelBuffer tiled = new FilterChain(filter).setTileSize(tileSize)
+						.apply(source);
+				assertTrue(filter.getClass().getName() + " with " + tileSize
+						+ " pixel tiles", Arrays.equals(untiled.getPixels(),
+						tiled.getPixels()));
+			}
+		}
+	}
+
+	@Test
+	public void chainedTiledOutputIsIdentical() {
+		PixelBuffer source = randomImage(new Random(11));
+		PixelBuffer untiled = createChain().setTileSize(1000).apply(source);
+		for (int tileSize : new int[] {5, 16, 64}) {
+			PixelBuffer tiled = createChain().setTileSize(tileSize).apply(source);
+			assertTrue(tileSize + " pixel tiles",
+					Arrays.equals(untiled.getPixels(), tiled.getPixels()));
+		}
+	}
+
+	@Test
+	public void constantImagesArePreserved() {
+		ImageFilter[] filters = {
+				SeparableFilter.gaussian(0.8), SeparableFilter.gaussian(3),
+				new BoxBlurFilter(2), BoxBlurFilter.approximateGaussian(6),
+				ConvolutionFilter.sharpen(0.5), createChain()};
+		for (int color : CONSTANT_COLORS) {
+			PixelBuffer source = constantImage(color);
+			for (ImageFilter filter : filters) {
+				PixelBuffer result = new FilterChain(filter).setTileSize(16)
+						.apply(source);
+				for (int pixel : result.getPixels()) {
+					assertEquals(filter.getClass().getName() + " of "
+							+ Integer.toHexString(color), color, pixel);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void edgesOfConstantImagesAreBlack() {
+		PixelBuffer result = new FilterChain(new EdgeDetectFilter())
+				.apply(constantImage(0x80336699));
+		for (int pixel : result.getPixels()) {
+			assertEquals(0x80000000, pixel);
+		}
+	}
+
+	private static ImageFilter[] createFilters() {
+		return new ImageFilter[] {
+				SeparableFilter.gaussian(1.5), new BoxBlurFilter(3, 2),
+				ConvolutionFilter.sharpen(1), new EdgeDetectFilter(),
+				ColorMatrixFilter.saturation(0.5), new ThresholdFilter(100)};
+	}
+
+	private static FilterChain createChain() {
+		return new FilterChain(SeparableFilter.gaussian(1),
+				ConvolutionFilter.sharpen(0.5), new BoxBlurFilter(1));
+	}
+
+	private static PixelBuffer randomImage(Random random) {
+		PixelBuffer image = new PixelBuffer(WIDTH, HEIGHT);
+		int[] pixels = image.getPixels();
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = random.nextInt();
+		}
+		return image;
+	}
+
+	private static PixelBuffer constantImage(int color) {
+		PixelBuffer image = new PixelBuffer(WIDTH, HEIGHT);
+		Arrays.fill(image.getPixels(), color);
+		return image;
+	}
+}
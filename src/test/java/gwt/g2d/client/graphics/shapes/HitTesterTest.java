@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.shapes;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gwt.g2d.client.graphics.FillRule;
+import gwt.g2d.client.math.Matrix;
+
+import org.junit.Test;
+
+/**
+ * Checks that {@link HitTester} maps points back through transformations the
+ * way a surface applies them: x' = m11 * x + m21 * y + dx,
+ * y' = m12 * x + m22 * y + dy.
+ */
+public class HitTesterTest {
+	private final CompiledPath rectangle = new ShapeBuilder()
+			.drawRect(0, 0, 10, 20).build();
+	private final HitTester tester = new HitTester();
+
+	@Test
+	public void containsUnderTransform() {
+		// A quarter turn clockwise, then a translation by (100, 50), which draws
+		// the rectangle over x in [80, 100] and y in [50, 60].
+		Matrix transform = new Matrix(0, 1, -1, 0, 100, 50);
+		assertTrue(tester.contains(rectangle, transform, 85, 55,
+				FillRule.NON_ZERO));
+		assertTrue(tester.contains(rectangle, transform, 99, 51,
+				FillRule.NON_ZERO));
+		assertFalse(tester.contains(rectangle, transform, 105, 55,
+				FillRule.NON_ZERO));
+		assertFalse(tester.contains(rectangle, transform, 85, 65,
+				FillRule.NON_ZERO));
+	}
+
+	@Test
+	public void strokeContainsUnderTransform() {
+		// Scaled by 2 and translated by (30, 40): the left edge is at x = 30.
+		Matrix transform = new Matrix(2, 0, 0, 2, 30, 40);
+		assertTrue(tester.strokeContains(rectangle, transform, 30.5, 60, 1));
+		assertFalse(tester.strokeContains(rectangle, transform, 40, 60, 1));
+		assertTrue(tester.strokeContains(rectangle, transform, 50, 79.5, 1));
+	}
+
+	@Test
+	public void compiledPathContainsPoint() {
+		assertTrue(rectangle.containsPoint(5, 5));
+		assertFalse(rectangle.containsPoint(15, 5));
+		assertTrue(rectangle.strokeContainsPoint(10, 5, 1));
+		assertFalse(rectangle.strokeContainsPoint(5, 5, 1));
+	}
+}
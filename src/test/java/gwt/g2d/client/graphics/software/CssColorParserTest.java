@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import gwt.g2d.client.graphics.KnownColor;
+
+import org.junit.Test;
+
+/**
+ * Checks the CSS colors understood by {@link CssColorParser}.
+ */
+public class CssColorParserTest {
+
+	@Test
+	public void hexadecimal() {
+		assertEquals(0xFF112233, CssColorParser.parse("#112233"));
+		assertEquals(0xFF112233, CssColorParser.parse("#123"));
+	}
+
+	@Test
+	public void functions() {
+		assertEquals(0xFF0A141E, CssColorParser.parse("rgb(10, 20, 30)"));
+		assertEquals(0x800A141E, CssColorParser.parse("rgba(10,20,30,0.5)"));
+		assertEquals(0xFF00FF00, CssColorParser.parse("hsl(120, 100%, 50%)"));
+		assertEquals(0xFFFF0000, CssColorParser.parse("hsl(360, 100%, 50%)"));
+		assertEquals(0xFF808080, CssColorParser.parse("hsl(0, 0%, 50.2%)"));
+		assertEquals(0x400000FF, CssColorParser.parse("hsla(240, 100%, 50%, 0.25)"));
+	}
+
+	@Test
+	public void names() {
+		assertEquals(0xFF6495ED, CssColorParser.parse("cornflowerblue"));
+		assertEquals(0xFF6495ED, CssColorParser.parse("CornflowerBlue"));
+		assertEquals(0xFFD3D3D3, CssColorParser.parse("lightgray"));
+		assertEquals(0xFFD3D3D3, CssColorParser.parse("lightgrey"));
+		assertEquals(0, CssColorParser.parse("transparent"));
+		for (KnownColor color : KnownColor.getKnownColors()) {
+			if (color.getName().length() > 0) {
+				assertEquals(color.getArgb(), CssColorParser.parse(color.getName()));
+			}
+		}
+	}
+
+	@Test
+	public void invalidColorsThrow() {
+		String[] invalid = {"", "#12", "#gggggg", "rgb(1, 2)", "rgb(a, b, c)",
+				"hsl(120, 100, 50)", "cmyk(1, 2, 3)", "notacolor"};
+		for (String color : invalid) {
+			try {
+				CssColorParser.parse(color);
+				fail("Parsed " + color);
+			} catch (IllegalArgumentException e) {
+				// Expected.
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.graphics.software;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gwt.g2d.client.graphics.Color;
+import gwt.g2d.client.graphics.FillRule;
+import gwt.g2d.client.graphics.LinearGradient;
+import gwt.g2d.client.graphics.RadialGradient;
+
+import org.junit.Test;
+
+/**
+ * Checks the paths, gradients and images of {@link SoftwareContext} on the
+ * JVM.
+ */
+public class SoftwareContextTest {
+
+	/**
+	 * After closePath, the current point is the first point of the closed
+	 * sub-path, so the curves that follow start there.
+	 */
+	@Test
+	public void curveAfterClosePathStartsAtSubPathStart() {
+		PathBuffer path = new PathBuffer();
+		path.moveTo(0, 0);
+		path.lineTo(20, 0);
+		path.lineTo(20, 20);
+		path.close();
+		assertEquals(0, path.getCurrentX(), 0);
+		assertEquals(0, path.getCurrentY(), 0);
+
+		// A closed triangle, then a straight quadratic from (0, 0) down the left
+		// edge, which makes a second triangle if it starts at (0, 0).
+		SoftwareContext context = new SoftwareContext(40, 40);
+		context.beginPath();
+		context.moveTo(0, 0);
+		context.lineTo(20, 0);
+		context.lineTo(20, 20);
+		context.closePath();
+		context.quadraticCurveTo(0, 10, 0, 20);
+		context.lineTo(20, 20);
+		assertTrue(context.isPointInPath(5, 15, FillRule.NON_ZERO));
+		assertFalse(context.isPointInPath(30, 30, FillRule.NON_ZERO));
+
+		context.beginPath();
+		context.moveTo(0, 0);
+		context.lineTo(20, 0);
+		context.lineTo(20, 20);
+		context.closePath();
+		context.bezierCurveTo(0, 5, 0, 15, 0, 20);
+		context.lineTo(20, 20);
+		assertTrue(context.isPointInPath(5, 15, FillRule.NON_ZERO));
+	}
+
+	@Test
+	public void linearGradient() {
+		SoftwareContext context = new SoftwareContext(100, 10);
+		context.setFillStyle(new LinearGradient(0, 0, 100, 0)
+				.addColorStop(0, new Color(255, 0, 0))
+				.addColorStop(1, new Color(0, 0, 255)));
+		context.fillRect(0, 0, 100, 10);
+		assertEquals(0xFF, (context.getPixel(0, 5) >> 16) & 0xFF, 2);
+		assertEquals(0xFF, context.getPixel(99, 5) & 0xFF, 2);
+		int middle = context.getPixel(50, 5);
+		assertEquals(0x80, (middle >> 16) & 0xFF, 3);
+		assertEquals(0x80, middle & 0xFF, 3);
+
+		// The gradient is in the user space at the time of the filling.
+		context.translate(50, 0);
+		context.fillRect(-50, 0, 50, 10);
+		assertEquals(0xFF, (context.getPixel(0, 5) >> 16) & 0xFF);
+	}
+
+	@Test
+	public void radialGradient() {
+		SoftwareContext context = new SoftwareContext(41, 41);
+		context.setFillStyle(new RadialGradient(20.5, 20.5, 0, 20.5, 20.5, 20)
+				.addColorStop(0, new Color(255, 255, 255))
+				.addColorStop(1, new Color(0, 0, 0)));
+		context.fillRect(0, 0, 41, 41);
+		assertEquals(0xFFFFFFFF, context.getPixel(20, 20));
+		assertEquals(0xFF000000, context.getPixel(0, 0));
+		int half = context.getPixel(30, 20) & 0xFF;
+		assertEquals(0x80, half, 8);
+	}
+
+	@Test
+	public void drawImage() {
+		SoftwareContext image = new SoftwareContext(4, 4);
+		for (int y = 0; y < 4; y++) {
+			for (int x = 0; x < 4; x++) {
+				image.setPixel(x, y, 0xFF000000 | (x * 60 << 16) | (y * 60));
+			}
+		}
+		SoftwareContext context = new SoftwareContext(10, 10);
+		context.drawImage(image, 3, 2);
+		for (int y = 0; y < 4; y++) {
+			for (int x = 0; x < 4; x++) {
+				assertEquals(image.getPixel(x, y), context.getPixel(x + 3, y + 2));
+			}
+		}
+		assertEquals(0, context.getPixel(2, 2));
+
+		// Scaling up by two repeats the pixels away from the edges.
+		context.fillPixels(0);
+		context.drawImage(image, 0, 0, 8, 8);
+		assertEquals(image.getPixel(0, 0), context.getPixel(0, 0));
+		assertEquals(image.getPixel(3, 3), context.getPixel(7, 7));
+
+		// The global alpha applies to the image.
+		context.fillPixels(0);
+		context.setGlobalAlpha(0.5);
+		context.drawImage(image, 0, 0);
+		assertEquals(0x80, context.getPixel(1, 1) >>> 24, 1);
+
+		// A context can draw onto itself.
+		context.setGlobalAlpha(1);
+		context.fillPixels(0);
+		context.drawImage(image, 0, 0);
+		context.drawImage(context, 0, 0, 4, 4, 4, 4, 4, 4);
+		assertEquals(image.getPixel(2, 1), context.getPixel(6, 5));
+	}
+}
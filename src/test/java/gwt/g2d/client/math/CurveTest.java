@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the bounds, flattening, length and arc length parameters of the
+ * curves against dense sampling, on random curves and on cubics close to a
+ * cusp, where the speed almost vanishes.
+ */
+public class CurveTest {
+	private static final int SAMPLES = 100000;
+
+	@Test
+	public void boundsAreTight() {
+		Rectangle bounds = new Rectangle();
+		for (Curve curve : createCurves()) {
+			curve.getBounds(bounds);
+			double minX = Double.POSITIVE_INFINITY, minY = minX;
+			double maxX = Double.NEGATIVE_INFINITY, maxY = maxX;
+			for (int i = 0; i <= SAMPLES; i++) {
+				double t = i / (double) SAMPLES;
+				minX = Math.min(minX, curve.getX(t));
+				minY = Math.min(minY, curve.getY(t));
+				maxX = Math.max(maxX, curve.getX(t));
+				maxY = Math.max(maxY, curve.getY(t));
+			}
+			assertEquals(minX, bounds.getX(), 1e-6);
+			assertEquals(minY, bounds.getY(), 1e-6);
+			assertEquals(maxX, bounds.getRight(), 1e-6);
+			assertEquals(maxY, bounds.getBottom(), 1e-6);
+			assertTrue(bounds.getX() <= minX + 1e-9);
+			assertTrue(bounds.getY() <= minY + 1e-9);
+			assertTrue(bounds.getRight() >= maxX - 1e-9);
+			assertTrue(bounds.getBottom() >= maxY - 1e-9);
+		}
+	}
+
+	@Test
+	public void flatteningStaysWithinTolerance() {
+		for (double tolerance : new double[] {0.1, 0.25, 1}) {
+			for (Curve curve : createCurves()) {
+				Polyline polyline = curve.flatten(tolerance, new Polyline());
+				double[] points = polyline.getCoordinates();
+				int count = polyline.getPointCount();
+				assertEquals(curve.getX(0), points[0], 0);
+				assertEquals(curve.getY(1), points[2 * count - 1], 1e-9);
+				for (int i = 0; i <= 2000; i++) {
+					double t = i / 2000.0;
+					assertTrue(distanceToPolyline(curve.getX(t), curve.getY(t), points,
+							count) <= tolerance + 1e-9);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void lengthMatchesDenseSampling() {
+		for (Curve curve : createCurves()) {
+			double[] lengths = sampleLengths(curve);
+			assertEquals(lengths[SAMPLES], curve.getLength(), 1e-5);
+			assertEquals(lengths[SAMPLES / 4], curve.getLength(0, 0.25), 1e-5);
+		}
+	}
+
+	@Test
+	public void arcLengthIsExact() {
+		ArcCurve arc = new ArcCurve(10, 20, 30, 1, -4);
+		assertEquals(120, arc.getLength(), 1e-12);
+		assertEquals(120, new ArcLengthTable(arc).getLength(), 1e-9);
+	}
+
+	/**
+	 * The point found at a distance is within 1e-6 px of it along the curve,
+	 * including near cusps. The polyline of 100000 points that it is measured
+	 * on adds up to 1e-6 px of error.
+	 */
+	@Test
+	public void parametersMatchDenseSampling() {
+		for (Curve curve : createCurves()) {
+			double[] lengths = sampleLengths(curve);
+			ArcLengthTable table = new ArcLengthTable(curve);
+			for (int i = 0; i <= 100; i++) {
+				double distance = lengths[SAMPLES] * i / 100;
+				double t = table.getParameter(distance);
+				assertEquals(distance, lengthAt(curve, lengths, t), 2e-6);
+			}
+		}
+	}
+
+	/**
+	 * Creates random quadratics, cubics and arcs, and cubics whose control
+	 * points cross so that they almost have a cusp.
+	 */
+	private static List<Curve> createCurves() {
+		Random random = new Random(22);
+		List<Curve> curves = new ArrayList<Curve>();
+		for (int i = 0; i < 8; i++) {
+			curves.add(new QuadraticCurve(random.nextDouble() * 200,
+					random.nextDouble() * 200, random.nextDouble() * 200,
+					random.nextDouble() * 200, random.nextDouble() * 200,
+					random.nextDouble() * 200));
+			curves.add(new CubicCurve(random.nextDouble() * 200,
+					random.nextDouble() * 200, random.nextDouble() * 200,
+					random.nextDouble() * 200, random.nextDouble() * 200,
+					random.nextDouble() * 200, random.nextDouble() * 200,
+					random.nextDouble() * 200));
+			double e = random.nextDouble() * 2;
+			curves.add(new CubicCurve(0, 0, 100, 100 + e, 0, 100, 100, e));
+			curves.add(new ArcCurve(random.nextDouble() * 200,
+					random.nextDouble() * 200, 1 + random.nextDouble() * 100,
+					random.nextDouble() * 7, random.nextDouble() * 14 - 7));
+		}
+		return curves;
+	}
+
+	/**
+	 * Gets the lengths of the curve at the samples, along a dense polyline.
+	 */
+	private static double[] sampleLengths(Curve curve) {
+		double[] lengths = new double[SAMPLES + 1];
+		double x = curve.getX(0), y = curve.getY(0);
+		for (int i = 1; i <= SAMPLES; i++) {
+			double t = i / (double) SAMPLES;
+			double nextX = curve.getX(t), nextY = curve.getY(t);
+			lengths[i] = lengths[i - 1] + Math.hypot(nextX - x, nextY - y);
+			x = nextX;
+			y = nextY;
+		}
+		return lengths;
+	}
+
+	private static double lengthAt(Curve curve, double[] lengths, double t) {
+		int i = (int) Math.min(SAMPLES - 1, Math.floor(t * SAMPLES));
+		double t0 = i / (double) SAMPLES;
+		return lengths[i] + Math.hypot(curve.getX(t) - curve.getX(t0),
+				curve.getY(t) - curve.getY(t0));
+	}
+
+	private static double distanceToPolyline(double x, double y,
+			double[] points, int count) {
+		double best = Double.POSITIVE_INFINITY;
+		for (int i = 2; i < 2 * count; i += 2) {
+			double x0 = points[i - 2], y0 = points[i - 1];
+			double dx = points[i] - x0, dy = points[i + 1] - y0;
+			double squaredLength = dx * dx + dy * dy;
+			double s = squaredLength > 0
+					? ((x - x0) * dx + (y - y0) * dy) / squaredLength : 0;
+			s = Math.max(0, Math.min(1, s));
+			best = Math.min(best, Math.hypot(x - x0 - s * dx, y - y0 - s * dy));
+		}
+		return best;
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the ranks of {@link LodPolyline} against a naive Visvalingam-Whyatt
+ * simplification, and the vertex budget of the simplification.
+ */
+public class LodPolylineTest {
+
+	@Test
+	public void ranksMatchNaiveAlgorithm() {
+		Random random = new Random(23);
+		for (int pointCount : new int[] {1, 2, 3, 50, LodPolyline.BLOCK_SIZE,
+				2 * LodPolyline.BLOCK_SIZE + 300}) {
+			LodPolyline polyline = createPolyline(random, pointCount);
+			for (int start = 0; start < pointCount;
+					start += LodPolyline.BLOCK_SIZE) {
+				int end = Math.min(pointCount, start + LodPolyline.BLOCK_SIZE);
+				double[] expected = naiveImportances(polyline, start, end);
+				for (int i = start; i < end; i++) {
+					assertEquals(expected[i - start], polyline.getImportance(i), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void ranksAreUpdatedAfterAppending() {
+		Random random = new Random(24);
+		LodPolyline polyline = createPolyline(random, 700);
+		polyline.getImportance(0);
+		for (int i = 700; i < 1500; i++) {
+			polyline.add(i, random.nextDouble() * 100);
+		}
+		for (int start = 0; start < 1500; start += LodPolyline.BLOCK_SIZE) {
+			int end = Math.min(1500, start + LodPolyline.BLOCK_SIZE);
+			double[] expected = naiveImportances(polyline, start, end);
+			for (int i = start; i < end; i++) {
+				assertEquals(expected[i - start], polyline.getImportance(i), 0);
+			}
+		}
+	}
+
+	@Test
+	public void simplificationKeepsTheMostImportantVerticesWithinBudget() {
+		int pointCount = 3 * LodPolyline.BLOCK_SIZE + 100;
+		LodPolyline polyline = createPolyline(new Random(25), pointCount);
+		// The first and last vertices of the 4 blocks.
+		int alwaysKept = 8;
+		for (int budget : new int[] {0, 5, 10, 100, 1000, 3000, pointCount}) {
+			Polyline result = new Polyline();
+			int count = polyline.simplify(0, null, budget, result);
+			assertEquals(result.getPointCount(), count);
+			assertTrue(count <= Math.max(budget, alwaysKept));
+			if (budget >= pointCount) {
+				assertEquals(pointCount, count);
+			}
+			// The x-coordinates are the indices of the vertices.
+			boolean[] kept = new boolean[pointCount];
+			for (int i = 0; i < count; i++) {
+				kept[(int) result.getX(i)] = true;
+			}
+			double minKept = Double.POSITIVE_INFINITY, maxDropped = 0;
+			for (int i = 0; i < pointCount; i++) {
+				double importance = polyline.getImportance(i);
+				if (importance == Double.POSITIVE_INFINITY) {
+					assertTrue(kept[i]);
+				} else if (kept[i]) {
+					minKept = Math.min(minKept, importance);
+				} else {
+					maxDropped = Math.max(maxDropped, importance);
+				}
+			}
+			assertTrue(maxDropped <= minKept);
+		}
+	}
+
+	@Test
+	public void simplificationDropsSmallTriangles() {
+		LodPolyline polyline = createPolyline(new Random(26), 500);
+		Polyline result = new Polyline();
+		polyline.simplify(10, null, Integer.MAX_VALUE, result);
+		for (int i = 0; i < result.getPointCount(); i++) {
+			assertTrue(polyline.getImportance((int) result.getX(i)) >= 10);
+		}
+		int expected = 0;
+		for (int i = 0; i < 500; i++) {
+			if (polyline.getImportance(i) >= 10) {
+				expected++;
+			}
+		}
+		assertEquals(expected, result.getPointCount());
+	}
+
+	/**
+	 * Only the vertices of the block in view are kept, with a transformation
+	 * applied as on a surface: x' = m11 * x + m21 * y + dx,
+	 * y' = m12 * x + m22 * y + dy.
+	 */
+	@Test
+	public void blocksOutsideOfTheCanvasAreReduced() {
+		LodPolyline polyline = createPolyline(new Random(27),
+				3 * LodPolyline.BLOCK_SIZE).setPixelArea(0);
+		// Shows x from 1100 to 1900, which is in the second block only.
+		Matrix[] transforms = {
+				new Matrix(1, 0, 0, 1, -1100, 0),
+				// A quarter turn clockwise: x' = 100 - y, y' = x - 1100.
+				new Matrix(0, 1, -1, 0, 100, -1100)};
+		double[][] sizes = {{800, 100}, {100, 800}};
+		for (int i = 0; i < transforms.length; i++) {
+			Polyline result = new Polyline();
+			int count = polyline.simplify(transforms[i], sizes[i][0], sizes[i][1],
+					Integer.MAX_VALUE, result);
+			assertEquals(LodPolyline.BLOCK_SIZE + 4, count);
+			assertEquals(LodPolyline.BLOCK_SIZE - 1, (int) result.getX(1));
+			assertEquals(2 * LodPolyline.BLOCK_SIZE, (int) result.getX(count - 2));
+		}
+	}
+
+	/**
+	 * Creates a polyline whose x-coordinates are the indices of its vertices.
+	 */
+	private static LodPolyline createPolyline(Random random, int pointCount) {
+		LodPolyline polyline = new LodPolyline();
+		for (int i = 0; i < pointCount; i++) {
+			polyline.add(i, random.nextDouble() * 100);
+		}
+		return polyline;
+	}
+
+	/**
+	 * Ranks the vertices of a block by removing, again and again, the vertex
+	 * whose triangle is the smallest, found by a linear scan. A vertex is at
+	 * least as important as the ones removed before it.
+	 */
+	private static double[] naiveImportances(LodPolyline polyline, int start,
+			int end) {
+		double[] importances = new double[end - start];
+		List<Integer> remaining = new ArrayList<Integer>();
+		for (int i = start; i < end; i++) {
+			remaining.add(i);
+		}
+		importances[0] = Double.POSITIVE_INFINITY;
+		importances[end - start - 1] = Double.POSITIVE_INFINITY;
+		double max = 0;
+		while (remaining.size() > 2) {
+			int smallest = 1;
+			double smallestArea = Double.POSITIVE_INFINITY;
+			for (int i = 1; i < remaining.size() - 1; i++) {
+				double area = area(polyline, remaining.get(i - 1), remaining.get(i),
+						remaining.get(i + 1));
+				if (area < smallestArea) {
+					smallest = i;
+					smallestArea = area;
+				}
+			}
+			max = Math.max(max, smallestArea);
+			importances[remaining.remove(smallest) - start] = max;
+		}
+		return importances;
+	}
+
+	private static double area(LodPolyline polyline, int a, int b, int c) {
+		return Math.abs((polyline.getX(b) - polyline.getX(a))
+				* (polyline.getY(c) - polyline.getY(a))
+				- (polyline.getX(c) - polyline.getX(a))
+				* (polyline.getY(b) - polyline.getY(a))) / 2;
+	}
+}
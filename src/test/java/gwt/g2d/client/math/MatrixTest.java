@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.math;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that {@link Matrix#invert()} is consistent with the other operations
+ * of {@link Matrix}.
+ */
+public class MatrixTest {
+
+	@Test
+	public void inverseUndoesTransform() {
+		Random random = new Random(19);
+		for (int i = 0; i < 100; i++) {
+			Matrix matrix = randomMatrix(random);
+			Matrix inverse = matrix.invert();
+			Vector2 point = new Vector2(random.nextDouble() * 100,
+					random.nextDouble() * 100);
+			Vector2 result = inverse.transform(matrix.transform(point));
+			assertEquals(point.getX(), result.getX(), 1e-9);
+			assertEquals(point.getY(), result.getY(), 1e-9);
+		}
+	}
+
+	@Test
+	public void productWithInverseIsIdentity() {
+		Random random = new Random(20);
+		for (int i = 0; i < 100; i++) {
+			Matrix matrix = randomMatrix(random);
+			assertIdentity(matrix.multiply(matrix.invert()));
+			assertIdentity(matrix.invert().mutableMultiply(matrix));
+		}
+	}
+
+	@Test
+	public void inverseOfTranslation() {
+		Matrix inverse = new Matrix().mutableTranslate(3, 4).mutableRotate(1)
+				.mutableInvert();
+		Vector2 result = inverse.transform(new Vector2(3, 4));
+		assertEquals(0, result.getX(), 1e-12);
+		assertEquals(0, result.getY(), 1e-12);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void singularMatrixCannotBeInverted() {
+		new Matrix(1, 2, 2, 4, 5, 6).invert();
+	}
+
+	private static Matrix randomMatrix(Random random) {
+		Matrix matrix;
+		do {
+			matrix = new Matrix(random.nextDouble() * 4 - 2,
+					random.nextDouble() * 4 - 2, random.nextDouble() * 4 - 2,
+					random.nextDouble() * 4 - 2, random.nextDouble() * 200 - 100,
+					random.nextDouble() * 200 - 100);
+		} while (Math.abs(matrix.getDeterminant()) < 0.1);
+		return matrix;
+	}
+
+	private static void assertIdentity(Matrix matrix) {
+		assertEquals(1, matrix.getM11(), 1e-9);
+		assertEquals(0, matrix.getM12(), 1e-9);
+		assertEquals(0, matrix.getM21(), 1e-9);
+		assertEquals(1, matrix.getM22(), 1e-9);
+		assertEquals(0, matrix.getDx(), 1e-9);
+		assertEquals(0, matrix.getDy(), 1e-9);
+	}
+}
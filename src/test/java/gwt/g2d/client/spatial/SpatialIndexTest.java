@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.spatial;
+
+import static org.junit.Assert.assertEquals;
+
+import gwt.g2d.client.math.Circle;
+import gwt.g2d.client.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Checks the spatial indexes, {@link NearestItems} and the intersection of
+ * rectangles and circles against brute force on random data.
+ */
+public class SpatialIndexTest {
+	private static final int ITEMS = 600, QUERIES = 300, ROUNDS = 4;
+
+	@Test
+	public void looseQuadtreeMatchesBruteForce() {
+		checkIndex(new LooseQuadtree<Integer>(0, 0, 1000, 1000, 6), new Random(1));
+	}
+
+	@Test
+	public void uniformGridMatchesBruteForce() {
+		checkIndex(new UniformGrid<Integer>(40), new Random(2));
+	}
+
+	@Test
+	public void nearestItemsKeepsTheSmallestDistances() {
+		Random random = new Random(3);
+		NearestItems nearest = new NearestItems();
+		List<Integer> result = new ArrayList<Integer>();
+		for (int round = 0; round < 200; round++) {
+			int count = 1 + random.nextInt(10), offered = random.nextInt(40);
+			double[] distances = new double[offered];
+			nearest.reset(count);
+			for (int i = 0; i < offered; i++) {
+				// Few distinct values, so that ties are common.
+				distances[i] = random.nextInt(20);
+				nearest.offer(i, distances[i]);
+			}
+			result.clear();
+			assertEquals(Math.min(count, offered), nearest.drainTo(result));
+			double[] sorted = distances.clone();
+			Arrays.sort(sorted);
+			for (int i = 0; i < result.size(); i++) {
+				assertEquals(sorted[i], distances[result.get(i)], 0);
+			}
+		}
+	}
+
+	@Test
+	public void rectangleCircleIntersectionMatchesBruteForce() {
+		Random random = new Random(4);
+		for (int i = 0; i < 20000; i++) {
+			Rectangle rect = new Rectangle(random.nextDouble() * 100,
+					random.nextDouble() * 100, random.nextDouble() * 40,
+					random.nextDouble() * 40);
+			Circle circle = new Circle(random.nextDouble() * 140 - 20,
+					random.nextDouble() * 140 - 20, random.nextDouble() * 30);
+			boolean expected = intersects(rect, circle);
+			assertEquals(expected, circle.intersects(rect));
+			assertEquals(expected, rect.intersects(circle));
+		}
+	}
+
+	/**
+	 * Adds, moves and removes random items, and compares the queries with a
+	 * linear scan of the items after each round.
+	 */
+	private static void checkIndex(SpatialIndex<Integer> index, Random random) {
+		double[][] bounds = new double[ITEMS][];
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int item = 0; item < ITEMS; item++) {
+				int action = random.nextInt(4);
+				if (action == 0) {
+					assertEquals(bounds[item] != null, index.remove(item));
+					bounds[item] = null;
+				} else if (action == 1 && bounds[item] != null) {
+					double[] b = bounds[item];
+					b[0] += random.nextDouble() * 20 - 10;
+					b[1] += random.nextDouble() * 20 - 10;
+					assertEquals(true, index.update(item, b[0], b[1], b[2], b[3]));
+				} else {
+					bounds[item] = randomBounds(random);
+					double[] b = bounds[item];
+					index.insert(item, b[0], b[1], b[2], b[3]);
+				}
+			}
+			int size = 0;
+			for (int item = 0; item < ITEMS; item++) {
+				if (bounds[item] != null) {
+					size++;
+				}
+				assertEquals(bounds[item] != null, index.contains(item));
+			}
+			assertEquals(size, index.size());
+			for (int i = 0; i < QUERIES; i++) {
+				checkQueries(index, bounds, random);
+			}
+		}
+		index.clear();
+		assertEquals(0, index.size());
+		assertEquals(0, index.queryPoint(500, 500, new Collector()));
+	}
+
+	private static void checkQueries(SpatialIndex<Integer> index,
+			double[][] bounds, Random random) {
+		double x = random.nextDouble() * 1200 - 100;
+		double y = random.nextDouble() * 1200 - 100;
+		double width = random.nextDouble() * 200, height = random.nextDouble() * 200;
+		Set<Integer> inRect = new HashSet<Integer>();
+		Set<Integer> atPoint = new HashSet<Integer>();
+		for (int item = 0; item < bounds.length; item++) {
+			double[] b = bounds[item];
+			if (b == null) {
+				continue;
+			}
+			if (b[0] <= x + width && x <= b[0] + b[2] && b[1] <= y + height
+					&& y <= b[1] + b[3]) {
+				inRect.add(item);
+			}
+			if (b[0] <= x && x <= b[0] + b[2] && b[1] <= y && y <= b[1] + b[3]) {
+				atPoint.add(item);
+			}
+		}
+		Collector collector = new Collector();
+		assertEquals(inRect.size(), index.query(x, y, width, height, collector));
+		assertEquals(inRect, collector.items);
+		collector = new Collector();
+		assertEquals(atPoint.size(), index.queryPoint(x, y, collector));
+		assertEquals(atPoint, collector.items);
+
+		int count = 1 + random.nextInt(8);
+		List<Integer> nearest = new ArrayList<Integer>();
+		double[] distances = new double[bounds.length];
+		int found = 0;
+		for (int item = 0; item < bounds.length; item++) {
+			double[] b = bounds[item];
+			if (b != null) {
+				distances[found++] = NearestItems.distance(x, y, b[0], b[1], b[2],
+						b[3]);
+			}
+		}
+		Arrays.sort(distances, 0, found);
+		assertEquals(Math.min(count, found), index.nearest(x, y, count, nearest));
+		for (int i = 0; i < nearest.size(); i++) {
+			double[] b = bounds[nearest.get(i)];
+			assertEquals(distances[i],
+					NearestItems.distance(x, y, b[0], b[1], b[2], b[3]), 0);
+		}
+	}
+
+	/**
+	 * Creates mostly small bounds, some large ones and some partly or fully
+	 * outside of the world of the quadtree.
+	 */
+	private static double[] randomBounds(Random random) {
+		int kind = random.nextInt(10);
+		double size = kind == 0 ? 400 : kind == 1 ? 1500 : 30;
+		double margin = kind == 2 ? 300 : 0;
+		return new double[] {
+				random.nextDouble() * (1000 + 2 * margin) - margin,
+				random.nextDouble() * (1000 + 2 * margin) - margin,
+				random.nextDouble() * size, random.nextDouble() * size};
+	}
+
+	/**
+	 * Checks the intersection through the rounded rectangle swept by the
+	 * circle: the rectangle grown by the radius horizontally or vertically, or
+	 * a corner within the radius of the center.
+	 */
+	private static boolean intersects(Rectangle rect, Circle circle) {
+		double cx = circle.getCenterX(), cy = circle.getCenterY();
+		double r = circle.getRadius();
+		double left = rect.getX(), top = rect.getY();
+		double right = rect.getRight(), bottom = rect.getBottom();
+		if (left - r <= cx && cx <= right + r && top <= cy && cy <= bottom) {
+			return true;
+		}
+		if (left <= cx && cx <= right && top - r <= cy && cy <= bottom + r) {
+			return true;
+		}
+		double[] corners = {left, top, right, top, left, bottom, right, bottom};
+		for (int i = 0; i < corners.length; i += 2) {
+			double dx = corners[i] - cx, dy = corners[i + 1] - cy;
+			if (dx * dx + dy * dy <= r * r) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class Collector implements SpatialVisitor<Integer> {
+		final Set<Integer> items = new HashSet<Integer>();
+
+		@Override
+		public boolean visit(Integer item) {
+			assertEquals(true, items.add(item));
+			return true;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 the g2d contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package gwt.g2d.client.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Runs a {@link GameLoop} deterministically with a {@link ManualClock} and a
+ * {@link ManualFrameScheduler}. The loop updates 100 times per second, so
+ * that the 10 ms steps add up exactly.
+ */
+public class GameLoopTest {
+	private final ManualClock clock = new ManualClock(1000);
+	private final ManualFrameScheduler scheduler = new ManualFrameScheduler();
+	private final RecordingLoop loop = new RecordingLoop(scheduler, clock);
+
+	@Test
+	public void fixedStepCatchUp() {
+		loop.start();
+		runFrame(0);
+		assertEquals(0L, loop.getUpdateCount());
+
+		runFrame(35);
+		assertEquals(3L, loop.getUpdateCount());
+		assertEquals(30, loop.getSimulationTime(), 0);
+		assertEquals(10, loop.lastStepTime, 0);
+
+		// The 5 ms left over add up with the next frame.
+		runFrame(5);
+		assertEquals(4L, loop.getUpdateCount());
+		runFrame(4);
+		assertEquals(4L, loop.getUpdateCount());
+		assertEquals(4L, loop.getFrameCount());
+		assertEquals(0, loop.getDroppedTime(), 0);
+	}
+
+	@Test
+	public void maxUpdatesPerFrameClamp() {
+		loop.setMaxUpdatesPerFrame(4);
+		loop.start();
+		runFrame(0);
+		runFrame(105);
+		assertEquals(4L, loop.getUpdateCount());
+		// The whole steps that were not run are dropped, the rest is kept.
+		assertEquals(60, loop.getDroppedTime(), 0);
+		assertEquals(0.5, loop.lastAlpha, 1e-12);
+
+		runFrame(5);
+		assertEquals(5L, loop.getUpdateCount());
+	}
+
+	@Test
+	public void maxFrameTimeClamp() {
+		loop.setMaxFrameTime(50);
+		loop.start();
+		runFrame(0);
+		runFrame(1000);
+		assertEquals(5L, loop.getUpdateCount());
+		assertEquals(950, loop.getDroppedTime(), 0);
+		assertEquals(50, loop.getSimulationTime(), 0);
+	}
+
+	@Test
+	public void interpolationAlpha() {
+		loop.start();
+		runFrame(0);
+		assertEquals(0, loop.lastAlpha, 0);
+		runFrame(25);
+		assertEquals(2L, loop.getUpdateCount());
+		assertEquals(0.5, loop.lastAlpha, 1e-12);
+		runFrame(2.5);
+		assertEquals(0.75, loop.lastAlpha, 1e-12);
+		runFrame(2.5);
+		assertEquals(3L, loop.getUpdateCount());
+		assertEquals(0, loop.lastAlpha, 1e-12);
+	}
+
+	@Test
+	public void pauseAndResume() {
+		loop.start();
+		runFrame(0);
+		runFrame(20);
+		assertEquals(2L, loop.getUpdateCount());
+
+		loop.setPaused(true);
+		assertTrue(loop.isPaused());
+		assertFalse(scheduler.hasPendingFrame());
+		clock.advance(5000);
+
+		// The time spent paused is neither simulated nor counted as dropped.
+		loop.setPaused(false);
+		assertTrue(scheduler.hasPendingFrame());
+		runFrame(0);
+		assertEquals(2L, loop.getUpdateCount());
+		assertEquals(0, loop.getDroppedTime(), 0);
+		runFrame(10);
+		assertEquals(3L, loop.getUpdateCount());
+	}
+
+	@Test
+	public void hiddenPageDoesNotSimulate() {
+		loop.start();
+		runFrame(0);
+		scheduler.setHidden(true);
+		assertTrue(loop.isPaused());
+		assertFalse(scheduler.hasPendingFrame());
+		clock.advance(5000);
+
+		scheduler.setHidden(false);
+		assertFalse(loop.isPaused());
+		runFrame(10);
+		assertEquals(1L, loop.getUpdateCount());
+		assertEquals(0, loop.getDroppedTime(), 0);
+	}
+
+	/**
+	 * Moves the clock forward and runs the pending frame, which must exist.
+	 */
+	private void runFrame(double millis) {
+		clock.advance(millis);
+		assertTrue(scheduler.runFrame());
+	}
+
+	private static class RecordingLoop extends GameLoop {
+		double lastStepTime, lastAlpha = Double.NaN;
+
+		RecordingLoop(FrameScheduler scheduler, Clock clock) {
+			super(100, scheduler, clock);
+		}
+
+		@Override
+		protected void update(double stepTime) {
+			lastStepTime = stepTime;
+		}
+
+		@Override
+		protected void render(double alpha) {
+			lastAlpha = alpha;
+		}
+	}
+}